@@ -0,0 +1,128 @@
+package com.game.management.benchmark;
+
+import com.game.management.GameManagementApp;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaderValues;
+import reactor.core.publisher.Mono;
+import reactor.netty.ByteBufFlux;
+import reactor.netty.http.client.HttpClient;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The application started in a JVM of its own from the test class path on a free local port, for the programs
+ * driving it over HTTP. Persistence and admission control are disabled, every request of the load comes from the
+ * same address. Output and logs go to the given directory.
+ */
+final class ApplicationServer implements AutoCloseable {
+
+    private final Process process;
+    private final String url;
+
+    private ApplicationServer(Process process, String url) {
+        this.process = process;
+        this.url = url;
+    }
+
+    static ApplicationServer start(String name, File directory, String jvmArgs, List<String> arguments) throws IOException {
+        int port = freePort();
+        List<String> command = new ArrayList<>();
+        command.add(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+        command.addAll(Arrays.asList(jvmArgs.trim().split("\\s+")));
+        command.addAll(Arrays.asList("-cp", System.getProperty("java.class.path"), GameManagementApp.class.getName(),
+                "--server.port=" + port,
+                "--game.persistence.enabled=false",
+                "--game.logging.read-sample-rate=0",
+                "--game.rate-limit.enabled=false",
+                "--logging.file.name=" + new File(directory, name + ".log").getPath()));
+        command.addAll(arguments);
+
+        directory.mkdirs();
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(new File(directory, name + ".out"))
+                .start();
+        return new ApplicationServer(process, "http://localhost:" + port);
+    }
+
+    String url() {
+        return url;
+    }
+
+    /**
+     * Stops the server, forcibly once it did not stop within 10 seconds or the calling thread is interrupted while
+     * waiting, which keeps its interrupt status.
+     */
+    @Override
+    public void close() {
+        process.destroy();
+        try {
+            if (!process.waitFor(10, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        } catch (InterruptedException e) {
+            process.destroyForcibly();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    static void awaitReady(HttpClient client) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(120);
+        while (System.nanoTime() < deadline) {
+            Integer status = client.get().uri("/actuator/health")
+                    .responseSingle((response, body) -> body.then(Mono.just(response.status().code())))
+                    .onErrorReturn(0)
+                    .block();
+            if (status != null && status == 200) {
+                return;
+            }
+            sleep(500);
+        }
+        throw new IllegalStateException("The server did not become ready");
+    }
+
+    /**
+     * Creates the active games 0 to catalogSize - 1 named like the games of the JMH benchmarks.
+     */
+    static void loadCatalog(HttpClient client, int catalogSize) {
+        int batchSize = 1000;
+        for (int first = 0; first < catalogSize; first += batchSize) {
+            StringBuilder batch = new StringBuilder("[");
+            for (int i = first; i < Math.min(first + batchSize, catalogSize); i++) {
+                if (i > first) {
+                    batch.append(',');
+                }
+                batch.append("{\"name\":\"").append(GameCatalogState.gameName(i)).append("\",\"isActive\":true}");
+            }
+            batch.append(']');
+            client.headers(headers -> headers.set(HttpHeaderNames.CONTENT_TYPE, HttpHeaderValues.APPLICATION_JSON))
+                    .post().uri("/games/batch")
+                    .send(ByteBufFlux.fromString(Mono.just(batch.toString()), StandardCharsets.UTF_8, ByteBufAllocator.DEFAULT))
+                    .responseSingle((response, body) -> body.then())
+                    .block();
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.game.management.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.game.management.controller.GameController;
+import com.game.management.exception.GlobalExceptionHandler;
+import com.game.management.exception.ResourceNotFoundException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of lookups by name when a share of them miss, including the error handling and the JSON serialization
+ * of the error body. Missed names come from a small set, like clients polling games that do not exist.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ErrorPathBenchmark {
+
+    private static final int MISSING_NAMES = 64;
+
+    @Param({"0", "0.5", "0.9"})
+    public double missRatio;
+
+    private ObjectMapper objectMapper;
+    private GameController gameController;
+    private GlobalExceptionHandler exceptionHandler;
+    private String[] missingNames;
+
+    @Setup(Level.Trial)
+    public void setUp(GameCatalogState catalog) {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        gameController = new GameController(catalog.gameService, objectMapper);
+        exceptionHandler = new GlobalExceptionHandler();
+        missingNames = new String[MISSING_NAMES];
+        for (int i = 0; i < MISSING_NAMES; i++) {
+            missingNames[i] = "Missing-" + i;
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class ThreadRandom {
+        final SplittableRandom random = new SplittableRandom();
+    }
+
+    @Benchmark
+    public byte[] getGameByName(GameCatalogState catalog, ThreadRandom threadRandom) throws JsonProcessingException {
+        SplittableRandom random = threadRandom.random;
+        String name = random.nextDouble() < missRatio ? missingNames[random.nextInt(MISSING_NAMES)] : catalog.nextName();
+        Object body;
+        try {
+            body = gameController.getGameByName(name, null, null).getBody();
+        } catch (ResourceNotFoundException e) {
+            body = exceptionHandler.handleResourceNotFoundException(e).getBody();
+        }
+        return objectMapper.writeValueAsBytes(body);
+    }
+}
@@ -0,0 +1,121 @@
+package com.game.management.benchmark;
+
+import com.game.management.model.Game;
+import com.game.management.service.GameServiceImpl;
+import com.game.management.store.CompactGameStore;
+import com.game.management.store.FileGameStore;
+import com.game.management.store.GameStore;
+import com.game.management.store.GameStoreEngine;
+import com.game.management.store.HeapGameStore;
+import com.game.management.store.OffHeapGameStore;
+import com.game.management.store.ShardedGameStore;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A game service preloaded with a catalog of active games, shared by all benchmark threads.
+ * The games are named Game-0000000, Game-0000001, ... and picked with the configured key distribution.
+ */
+@State(Scope.Benchmark)
+public class GameCatalogState {
+
+    @Param({"1000", "100000", "1000000"})
+    public int catalogSize;
+
+    @Param({"HEAP"})
+    public GameStoreEngine engine;
+
+    @Param({"UNIFORM", "ZIPFIAN"})
+    public KeyDistribution distribution;
+
+    /**
+     * Level of the application loggers, OFF leaves the logging cost out of the measurement.
+     */
+    @Param({"INFO"})
+    public String logLevel;
+
+    public GameServiceImpl gameService;
+
+    private String[] names;
+    private KeyDistribution.KeySampler sampler;
+    private GameStore gameStore;
+    private Path storeDirectory;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        ch.qos.logback.classic.Logger applicationLogger =
+                (ch.qos.logback.classic.Logger) LoggerFactory.getLogger("com.game.management");
+        applicationLogger.setLevel(ch.qos.logback.classic.Level.toLevel(logLevel));
+
+        gameStore = createGameStore();
+        gameService = new GameServiceImpl(gameStore);
+        names = new String[catalogSize];
+        List<Game> games = new ArrayList<>(catalogSize);
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < catalogSize; i++) {
+            names[i] = gameName(i);
+            Game game = new Game(names[i], true);
+            game.setCreationDate(now);
+            games.add(game);
+        }
+        gameService.loadGames(games);
+        sampler = distribution.newSampler(catalogSize);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        if (gameStore instanceof Closeable) {
+            ((Closeable) gameStore).close();
+        }
+        if (storeDirectory != null) {
+            Files.deleteIfExists(storeDirectory.resolve("games.dat"));
+            Files.deleteIfExists(storeDirectory);
+        }
+    }
+
+    public int nextIndex() {
+        return sampler.next();
+    }
+
+    public String nextName() {
+        return names[sampler.next()];
+    }
+
+    public String name(int index) {
+        return names[index];
+    }
+
+    public static String gameName(int index) {
+        return String.format("Game-%07d", index);
+    }
+
+    private GameStore createGameStore() throws IOException {
+        switch (engine) {
+            case OFF_HEAP:
+                return new OffHeapGameStore();
+            case COMPACT:
+                return new CompactGameStore();
+            case SHARDED:
+                return new ShardedGameStore();
+            case FILE:
+                storeDirectory = Files.createTempDirectory("game-benchmark");
+                return new FileGameStore(storeDirectory.resolve("games.dat"));
+            case HEAP:
+            default:
+                return new HeapGameStore();
+        }
+    }
+}
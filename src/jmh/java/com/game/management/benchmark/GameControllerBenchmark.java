@@ -0,0 +1,67 @@
+package com.game.management.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.game.management.controller.GameController;
+import com.game.management.model.GameQuery;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the controller read endpoints including the GameDTO conversion and the JSON serialization
+ * of the response body, without the servlet stack around them.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GameControllerBenchmark {
+
+    @Param({"100"})
+    public int pageSize;
+
+    private ObjectMapper objectMapper;
+    private GameController gameController;
+
+    @Setup(Level.Trial)
+    public void setUp(GameCatalogState catalog) {
+        // configured like the ObjectMapper of the application
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        gameController = new GameController(catalog.gameService, objectMapper);
+    }
+
+    @Benchmark
+    public byte[] getGameByName(GameCatalogState catalog) throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(gameController.getGameByName(catalog.nextName(), null, null).getBody());
+    }
+
+    @Benchmark
+    public byte[] getAllGames() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(gameController.getAllGames(null).getBody());
+    }
+
+    @Benchmark
+    public byte[] getGamesPage(GameCatalogState catalog) throws JsonProcessingException {
+        GameQuery query = new GameQuery(pageSize, null);
+        query.setFrom(catalog.nextName());
+        return objectMapper.writeValueAsBytes(gameController.getGamesPage(query, null).getBody());
+    }
+}
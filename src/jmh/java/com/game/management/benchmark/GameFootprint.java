@@ -0,0 +1,106 @@
+package com.game.management.benchmark;
+
+import com.game.management.model.Game;
+import com.game.management.store.CompactGameStore;
+import com.game.management.store.GameStore;
+import com.game.management.store.GameStoreEngine;
+import com.game.management.store.HeapGameStore;
+import com.game.management.store.OffHeapGameStore;
+import org.openjdk.jol.info.GraphLayout;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Measures the memory footprint of the in-memory store engines holding catalogs of active games named like the
+ * games of the JMH benchmarks. The heap footprint is walked with JOL, which keeps track of every object it visits
+ * and so is only used up to --jol-max-games; the growth of the used heap after a full GC is reported for every
+ * size. Direct memory of the off-heap engine is reported separately. Every game gets a creation date of its own,
+ * as games created one by one would.
+ * <p>
+ * Options (defaults in brackets): --engines [heap,off_heap,compact], --games [1000000,10000000],
+ * --jol-max-games [2000000]. Catalogs of 10M games need a heap of about 4 GB for the heap engine.
+ */
+public class GameFootprint {
+
+    public static void main(String[] args) {
+        Map<String, String> options = parseOptions(args);
+        long jolMaxGames = Long.parseLong(options.getOrDefault("jol-max-games", "2000000"));
+
+        List<String> report = new ArrayList<>();
+        report.add(String.format("%-10s %10s %14s %10s %14s %10s %14s", "engine", "games", "JOL bytes", "B/game",
+                "heap growth", "B/game", "direct bytes"));
+        for (String engineName : options.getOrDefault("engines", "heap,off_heap,compact").split(",")) {
+            GameStoreEngine engine = GameStoreEngine.valueOf(engineName.trim().toUpperCase(Locale.ROOT));
+            for (String games : options.getOrDefault("games", "1000000,10000000").split(",")) {
+                report.add(measure(engine, Integer.parseInt(games.trim()), jolMaxGames));
+                System.out.println(report.get(report.size() - 1));
+            }
+        }
+        System.out.println();
+        report.forEach(System.out::println);
+    }
+
+    private static String measure(GameStoreEngine engine, int games, long jolMaxGames) {
+        long usedHeapBefore = usedHeapAfterGc();
+        GameStore store = createGameStore(engine);
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < games; i++) {
+            String name = GameCatalogState.gameName(i);
+            Game game = new Game(name, true);
+            game.setCreationDate(now.plusNanos(i));
+            game.setVersion(i + 1);
+            store.putIfAbsent(name, game);
+        }
+        long heapGrowth = usedHeapAfterGc() - usedHeapBefore;
+        long jolBytes = games <= jolMaxGames ? GraphLayout.parseInstance(store).totalSize() : -1;
+        long directBytes = store instanceof OffHeapGameStore ? ((OffHeapGameStore) store).offHeapBytes() : 0;
+
+        String result = String.format("%-10s %10d %14s %10s %14d %10.1f %14d", engine, games,
+                jolBytes < 0 ? "-" : String.valueOf(jolBytes),
+                jolBytes < 0 ? "-" : String.format("%.1f", (double) jolBytes / games),
+                heapGrowth, (double) heapGrowth / games, directBytes);
+        if (store.size() != games) {
+            throw new IllegalStateException("Expected " + games + " games in the " + engine + " store");
+        }
+        return result;
+    }
+
+    private static GameStore createGameStore(GameStoreEngine engine) {
+        switch (engine) {
+            case OFF_HEAP:
+                return new OffHeapGameStore();
+            case COMPACT:
+                return new CompactGameStore();
+            case HEAP:
+                return new HeapGameStore();
+            default:
+                throw new IllegalArgumentException("Only the in-memory engines are measured, not " + engine);
+        }
+    }
+
+    private static long usedHeapAfterGc() {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            if (!args[i].startsWith("--") || i + 1 == args.length) {
+                throw new IllegalArgumentException("Expected --option value pairs, got: " + String.join(" ", args));
+            }
+            options.put(args[i].substring(2), args[++i]);
+        }
+        return options;
+    }
+}
@@ -0,0 +1,442 @@
+package com.game.management.benchmark;
+
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaderValues;
+import io.netty.handler.codec.http.HttpMethod;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+import org.HdrHistogram.Recorder;
+import reactor.core.publisher.Mono;
+import reactor.netty.ByteBufFlux;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives the /games API with a mix of operations at a fixed rate and reports the latency percentiles per operation.
+ * Requests are sent on schedule whether or not the earlier ones were answered, and every latency is measured from
+ * the time the request was due rather than from when it could be sent, so a stalled server shows in the tail as
+ * it would for users, instead of the load backing off (coordinated omission). The service time, measured from the
+ * actual send, is reported next to it. At most --connections requests are on the wire, later ones wait for a
+ * connection and that wait counts.
+ * <p>
+ * Reads and updates pick games of a preloaded catalog with the given key distribution, the catalog is not changed
+ * otherwise. Creates add games of their own, which renames and deletes then take, one request at a time per game,
+ * so every operation is expected to succeed and any other status counts as an error. A rename or delete with none
+ * of these games left creates one instead.
+ * <p>
+ * Every run is saved to a directory of its own under --reports: the summary as CSV, the percentile distribution of
+ * every operation as .hgrm and all histograms as an HdrHistogram log. --compare prints the change against the
+ * summary of an earlier run, e.g. one of the previous build.
+ * <p>
+ * Options (defaults in brackets): --rate [2000] requests per second, --warmup [10] and --duration [30] seconds,
+ * --mix [get=70,list=10,create=5,update=10,rename=3,delete=2], --catalog [10000] games, --distribution [zipfian]
+ * (uniform or zipfian), --connections [64], --server-jvm-args [-Xmx1g], --url to drive an already running server
+ * instead of starting one, --reports [target/load-reports], --label, --compare [directory of an earlier run].
+ */
+public class GameLoadGenerator {
+
+    enum Operation {
+        GET, LIST, CREATE, UPDATE, RENAME, DELETE
+    }
+
+    private static final int LIST_PAGE_SIZE = 20;
+    private static final String SUMMARY_FILE = "summary.csv";
+    private static final String[] SUMMARY_COLUMNS = {"operation", "requests/s", "errors", "p50 ms", "p90 ms", "p99 ms",
+            "p99.9 ms", "max ms", "service p99 ms"};
+
+    private final int rate;
+    private final Duration warmup;
+    private final Duration duration;
+    private final Map<Operation, Integer> mix;
+    private final int totalWeight;
+    private final int catalogSize;
+    private final KeyDistribution.KeySampler sampler;
+    private final int connections;
+
+    private final String runId = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong createdGames = new AtomicLong();
+    private final Queue<String> ownGames = new ConcurrentLinkedQueue<>();
+    private final AtomicLong inFlight = new AtomicLong();
+
+    private Map<Operation, Recorder> responseTimes;
+    private Map<Operation, Recorder> serviceTimes;
+    private Map<Operation, LongAdder> errors;
+
+    private GameLoadGenerator(int rate, Duration warmup, Duration duration, Map<Operation, Integer> mix, int catalogSize,
+                              KeyDistribution distribution, int connections) {
+        this.rate = rate;
+        this.warmup = warmup;
+        this.duration = duration;
+        this.mix = mix;
+        this.totalWeight = mix.values().stream().mapToInt(Integer::intValue).sum();
+        this.catalogSize = catalogSize;
+        this.sampler = distribution.newSampler(catalogSize);
+        this.connections = connections;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+        GameLoadGenerator generator = new GameLoadGenerator(
+                Integer.parseInt(options.getOrDefault("rate", "2000")),
+                Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmup", "10"))),
+                Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration", "30"))),
+                parseMix(options.getOrDefault("mix", "get=70,list=10,create=5,update=10,rename=3,delete=2")),
+                Integer.parseInt(options.getOrDefault("catalog", "10000")),
+                KeyDistribution.valueOf(options.getOrDefault("distribution", "zipfian").toUpperCase(Locale.ROOT)),
+                Integer.parseInt(options.getOrDefault("connections", "64")));
+
+        String label = options.get("label");
+        Path reportDirectory = Paths.get(options.getOrDefault("reports", "target/load-reports"),
+                LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + (label == null ? "" : "-" + label));
+        Files.createDirectories(reportDirectory);
+
+        List<String[]> summary;
+        if (options.containsKey("url")) {
+            summary = generator.run(options.get("url"), reportDirectory);
+        } else {
+            try (ApplicationServer server = ApplicationServer.start("server", reportDirectory.toFile(),
+                    options.getOrDefault("server-jvm-args", "-Xmx1g"), new ArrayList<>())) {
+                summary = generator.run(server.url(), reportDirectory);
+            }
+        }
+
+        Files.write(reportDirectory.resolve("options.txt"), (String.join(" ", args) + System.lineSeparator())
+                .getBytes(StandardCharsets.UTF_8));
+        System.out.println();
+        printSummary(summary);
+        if (options.containsKey("compare")) {
+            System.out.println();
+            printComparison(readSummary(Paths.get(options.get("compare"))), summary);
+        }
+        System.out.println();
+        System.out.println("Saved to " + reportDirectory);
+    }
+
+    private List<String[]> run(String url, Path reportDirectory) throws IOException {
+        ConnectionProvider connectionProvider = ConnectionProvider.builder("game-load-generator")
+                .maxConnections(connections)
+                .pendingAcquireMaxCount(-1)
+                .pendingAcquireTimeout(Duration.ofMinutes(1))
+                .build();
+        HttpClient client = HttpClient.create(connectionProvider).baseUrl(url)
+                .headers(headers -> headers.set(HttpHeaderNames.CONTENT_TYPE, HttpHeaderValues.APPLICATION_JSON));
+        try {
+            ApplicationServer.awaitReady(client);
+            ApplicationServer.loadCatalog(client, catalogSize);
+
+            resetRecorders();
+            drive(client, warmup);
+            resetRecorders();
+
+            long start = System.nanoTime();
+            drive(client, duration);
+            double seconds = (System.nanoTime() - start) / 1e9;
+
+            return report(seconds, reportDirectory);
+        } finally {
+            connectionProvider.disposeLater().block();
+        }
+    }
+
+    /**
+     * Sends the requests on schedule from a single thread, catching up at once when it fell behind, then waits for
+     * the requests still in flight.
+     */
+    private void drive(HttpClient client, Duration time) {
+        long start = System.nanoTime();
+        long end = start + time.toNanos();
+        for (long request = 0; ; request++) {
+            long due = start + (long) (request * 1e9 / rate);
+            if (due >= end) {
+                break;
+            }
+            long wait = due - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            send(client, nextOperation(), due);
+        }
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(60);
+        while (inFlight.get() > 0 && System.nanoTime() < deadline) {
+            ApplicationServer.sleep(10);
+        }
+    }
+
+    private void send(HttpClient client, Operation operation, long due) {
+        long[] sent = new long[1];
+        Mono<Integer> exchange;
+        Runnable onSuccess = null;
+        Runnable onFailure = null;
+        switch (operation) {
+            case GET:
+                exchange = exchange(client, HttpMethod.GET, sent, "/games/" + catalogGame(), null);
+                break;
+            case LIST:
+                exchange = exchange(client, HttpMethod.GET, sent, "/games?limit=" + LIST_PAGE_SIZE + "&from=" + catalogGame(), null);
+                break;
+            case UPDATE:
+                exchange = exchange(client, HttpMethod.PUT, sent, "/games",
+                        gameJson(catalogGame(), null, ThreadLocalRandom.current().nextBoolean()));
+                break;
+            case RENAME: {
+                String name = ownGames.poll();
+                if (name == null) {
+                    send(client, Operation.CREATE, due);
+                    return;
+                }
+                String newName = newGameName();
+                exchange = exchange(client, HttpMethod.PUT, sent, "/games", gameJson(name, newName, true));
+                onSuccess = () -> ownGames.add(newName);
+                onFailure = () -> ownGames.add(name);
+                break;
+            }
+            case DELETE: {
+                String name = ownGames.poll();
+                if (name == null) {
+                    send(client, Operation.CREATE, due);
+                    return;
+                }
+                exchange = exchange(client, HttpMethod.DELETE, sent, "/games/" + name, null);
+                onFailure = () -> ownGames.add(name);
+                break;
+            }
+            case CREATE:
+            default: {
+                String name = newGameName();
+                exchange = exchange(client, HttpMethod.POST, sent, "/games", gameJson(name, null, true));
+                onSuccess = () -> ownGames.add(name);
+                break;
+            }
+        }
+
+        Runnable succeeded = onSuccess;
+        Runnable failed = onFailure;
+        inFlight.incrementAndGet();
+        exchange.onErrorReturn(0)
+                .subscribe(status -> {
+                    long now = System.nanoTime();
+                    if (status >= 200 && status < 300) {
+                        responseTimes.get(operation).recordValue((now - due) / 1000);
+                        serviceTimes.get(operation).recordValue((now - sent[0]) / 1000);
+                        if (succeeded != null) {
+                            succeeded.run();
+                        }
+                    } else {
+                        errors.get(operation).increment();
+                        if (failed != null) {
+                            failed.run();
+                        }
+                    }
+                }, error -> inFlight.decrementAndGet(), inFlight::decrementAndGet);
+    }
+
+    /**
+     * @param sent receives the time the request is written, once it got a connection
+     */
+    private static Mono<Integer> exchange(HttpClient client, HttpMethod method, long[] sent, String uri, String body) {
+        return client.request(method).uri(uri)
+                .send((request, outbound) -> {
+                    sent[0] = System.nanoTime();
+                    return body == null ? outbound
+                            : outbound.send(ByteBufFlux.fromString(Mono.just(body), StandardCharsets.UTF_8, ByteBufAllocator.DEFAULT));
+                })
+                .responseSingle((response, content) -> content.then(Mono.just(response.status().code())));
+    }
+
+    private Operation nextOperation() {
+        int pick = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (Map.Entry<Operation, Integer> entry : mix.entrySet()) {
+            pick -= entry.getValue();
+            if (pick < 0) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalStateException("Empty operation mix");
+    }
+
+    private String catalogGame() {
+        return GameCatalogState.gameName(sampler.next());
+    }
+
+    private String newGameName() {
+        return "Load-" + runId + "-" + createdGames.incrementAndGet();
+    }
+
+    private static String gameJson(String name, String newName, boolean active) {
+        return "{\"name\":\"" + name + "\"" + (newName == null ? "" : ",\"newName\":\"" + newName + "\"")
+                + ",\"isActive\":" + active + "}";
+    }
+
+    private void resetRecorders() {
+        responseTimes = new EnumMap<>(Operation.class);
+        serviceTimes = new EnumMap<>(Operation.class);
+        errors = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            responseTimes.put(operation, new Recorder(3));
+            serviceTimes.put(operation, new Recorder(3));
+            errors.put(operation, new LongAdder());
+        }
+    }
+
+    /**
+     * Writes the histograms of the run and returns its summary, one row per operation and one for all of them.
+     */
+    private List<String[]> report(double seconds, Path reportDirectory) throws IOException {
+        Histogram allResponseTimes = new Histogram(3);
+        Histogram allServiceTimes = new Histogram(3);
+        long allErrors = 0;
+        List<String[]> summary = new ArrayList<>();
+        try (PrintStream log = new PrintStream(new FileOutputStream(reportDirectory.resolve("histograms.hlog").toFile()), false, "UTF-8")) {
+            HistogramLogWriter logWriter = new HistogramLogWriter(log);
+            logWriter.outputLogFormatVersion();
+            logWriter.outputLegend();
+            for (Operation operation : Operation.values()) {
+                Histogram responseTime = responseTimes.get(operation).getIntervalHistogram();
+                Histogram serviceTime = serviceTimes.get(operation).getIntervalHistogram();
+                long operationErrors = errors.get(operation).sum();
+                if (responseTime.getTotalCount() == 0 && operationErrors == 0) {
+                    continue;
+                }
+                String name = operation.name().toLowerCase(Locale.ROOT);
+                responseTime.setTag(name);
+                logWriter.outputIntervalHistogram(responseTime);
+                writePercentiles(responseTime, reportDirectory.resolve(name + ".hgrm"));
+                summary.add(summaryRow(name, responseTime, serviceTime, operationErrors, seconds));
+                allResponseTimes.add(responseTime);
+                allServiceTimes.add(serviceTime);
+                allErrors += operationErrors;
+            }
+        }
+        writePercentiles(allResponseTimes, reportDirectory.resolve("all.hgrm"));
+        summary.add(summaryRow("all", allResponseTimes, allServiceTimes, allErrors, seconds));
+
+        List<String> lines = new ArrayList<>();
+        lines.add(String.join(",", SUMMARY_COLUMNS));
+        for (String[] row : summary) {
+            lines.add(String.join(",", row));
+        }
+        Files.write(reportDirectory.resolve(SUMMARY_FILE), lines, StandardCharsets.UTF_8);
+        return summary;
+    }
+
+    private static String[] summaryRow(String name, Histogram responseTime, Histogram serviceTime, long errors, double seconds) {
+        return new String[]{name,
+                String.format(Locale.ROOT, "%.1f", responseTime.getTotalCount() / seconds),
+                Long.toString(errors),
+                millis(responseTime.getValueAtPercentile(50)),
+                millis(responseTime.getValueAtPercentile(90)),
+                millis(responseTime.getValueAtPercentile(99)),
+                millis(responseTime.getValueAtPercentile(99.9)),
+                millis(responseTime.getMaxValue()),
+                millis(serviceTime.getValueAtPercentile(99))};
+    }
+
+    private static void writePercentiles(Histogram histogram, Path file) throws IOException {
+        try (PrintStream output = new PrintStream(new FileOutputStream(file.toFile()), false, "UTF-8")) {
+            // values are recorded in microseconds and printed in milliseconds
+            histogram.outputPercentileDistribution(output, 1000.0);
+        }
+    }
+
+    private static void printSummary(List<String[]> summary) {
+        System.out.println(String.format("%-10s %12s %8s %10s %10s %10s %10s %10s %15s", (Object[]) SUMMARY_COLUMNS));
+        for (String[] row : summary) {
+            System.out.println(String.format("%-10s %12s %8s %10s %10s %10s %10s %10s %15s", (Object[]) row));
+        }
+    }
+
+    /**
+     * Prints the throughput and the percentiles of the run relative to those of an earlier run, in percent.
+     */
+    private static void printComparison(Map<String, String[]> baseline, List<String[]> summary) {
+        System.out.println(String.format("%-10s %12s %10s %10s %10s %10s   (change against the compared run)",
+                "operation", "requests/s", "p50", "p90", "p99", "p99.9"));
+        for (String[] row : summary) {
+            String[] baselineRow = baseline.get(row[0]);
+            if (baselineRow == null) {
+                continue;
+            }
+            System.out.println(String.format("%-10s %12s %10s %10s %10s %10s", row[0], change(baselineRow[1], row[1]),
+                    change(baselineRow[3], row[3]), change(baselineRow[4], row[4]), change(baselineRow[5], row[5]),
+                    change(baselineRow[6], row[6])));
+        }
+    }
+
+    private static Map<String, String[]> readSummary(Path directory) throws IOException {
+        Map<String, String[]> summary = new LinkedHashMap<>();
+        List<String> lines = Files.readAllLines(directory.resolve(SUMMARY_FILE), StandardCharsets.UTF_8);
+        for (String line : lines.subList(1, lines.size())) {
+            String[] row = line.split(",");
+            summary.put(row[0], row);
+        }
+        return summary;
+    }
+
+    private static String change(String before, String after) {
+        double beforeValue = Double.parseDouble(before);
+        if (beforeValue == 0) {
+            return "-";
+        }
+        return String.format(Locale.ROOT, "%+.1f%%", (Double.parseDouble(after) - beforeValue) * 100 / beforeValue);
+    }
+
+    private static String millis(long micros) {
+        return String.format(Locale.ROOT, "%.3f", micros / 1000.0);
+    }
+
+    private static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Expected operation=weight pairs, got: " + mix);
+            }
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight > 0) {
+                weights.put(Operation.valueOf(parts[0].trim().toUpperCase(Locale.ROOT)), weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("The operation mix is empty: " + mix + ", operations are "
+                    + Arrays.toString(Operation.values()).toLowerCase(Locale.ROOT));
+        }
+        return weights;
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            if (!args[i].startsWith("--") || i + 1 == args.length) {
+                throw new IllegalArgumentException("Expected --option value pairs, got: " + String.join(" ", args));
+            }
+            options.put(args[i].substring(2), args[++i]);
+        }
+        return options;
+    }
+}
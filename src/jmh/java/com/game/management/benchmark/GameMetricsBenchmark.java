@@ -0,0 +1,102 @@
+package com.game.management.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.game.management.controller.GameController;
+import com.game.management.metrics.MeteredGameService;
+import com.game.management.model.Game;
+import com.game.management.service.GameService;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import io.micrometer.prometheus.PrometheusConfig;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Overhead of the {@link MeteredGameService} on the cheapest service operations, with the Prometheus registry
+ * and the percentile histograms configured in application.properties. Compare metered=false with metered=true,
+ * histogram=false leaves out the cost of the histogram buckets.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GameMetricsBenchmark {
+
+    @Param({"false", "true"})
+    public boolean metered;
+
+    @Param({"true"})
+    public boolean histogram; // percentile histogram buckets as configured in application.properties
+
+    private GameService gameService;
+    private GameController gameController;
+    private ObjectMapper objectMapper;
+
+    @Setup(Level.Trial)
+    public void setUp(GameCatalogState catalog) {
+        gameService = metered ? meter(catalog.gameService) : catalog.gameService;
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        gameController = new GameController(gameService, objectMapper);
+    }
+
+    @Benchmark
+    public Game getGame(GameCatalogState catalog) {
+        return gameService.getGame(catalog.nextName());
+    }
+
+    @Benchmark
+    public Game updateGameSameData(GameCatalogState catalog) {
+        return gameService.updateGame(new Game(catalog.nextName(), true));
+    }
+
+    /**
+     * The overhead relative to the work done for a response, without the servlet stack.
+     */
+    @Benchmark
+    public byte[] getGameByName(GameCatalogState catalog) throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(gameController.getGameByName(catalog.nextName(), null, null).getBody());
+    }
+
+    @Benchmark
+    public long countGames() {
+        return gameService.countGames(null);
+    }
+
+    private GameService meter(GameService gameService) {
+        PrometheusMeterRegistry registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        registry.config().meterFilter(new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                return DistributionStatisticConfig.builder()
+                        .percentilesHistogram(histogram)
+                        .minimumExpectedValue((double) Duration.ofNanos(1000).toNanos())
+                        .maximumExpectedValue((double) Duration.ofSeconds(10).toNanos())
+                        .build()
+                        .merge(config);
+            }
+        });
+        return new MeteredGameService(gameService, registry);
+    }
+}
@@ -0,0 +1,129 @@
+package com.game.management.benchmark;
+
+import com.game.management.exception.GameAlreadyExistsException;
+import com.game.management.exception.ResourceNotFoundException;
+import com.game.management.model.Game;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Throughput of the {@link com.game.management.service.GameService} operations on a preloaded catalog.
+ * Thread counts are set by {@link GameBenchmarkRunner}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GameServiceBenchmark {
+
+    private static final AtomicLong transientGameCounter = new AtomicLong();
+
+    @Benchmark
+    public Game getGame(GameCatalogState catalog) {
+        return catalog.gameService.getGame(catalog.nextName());
+    }
+
+    @Benchmark
+    public List<Game> getAllGames(GameCatalogState catalog) {
+        return catalog.gameService.getAllGames();
+    }
+
+    /**
+     * All the catalog games are active, so the update carries the same data and is skipped.
+     */
+    @Benchmark
+    public Game updateGameSameData(GameCatalogState catalog) {
+        return catalog.gameService.updateGame(new Game(catalog.nextName(), true));
+    }
+
+    /**
+     * Renames the picked game back and forth between its name and the name with a suffix.
+     * Threads picking the same hot game make each other fail, which is part of the measured cost.
+     */
+    @Benchmark
+    public Game updateGameRename(GameCatalogState catalog) {
+        String name = catalog.nextName();
+        String renamedName = name + "-renamed";
+        try {
+            return rename(catalog, name, renamedName);
+        } catch (ResourceNotFoundException e) {
+            try {
+                return rename(catalog, renamedName, name);
+            } catch (ResourceNotFoundException | GameAlreadyExistsException ignored) {
+                return null;
+            }
+        } catch (GameAlreadyExistsException e) {
+            return null;
+        }
+    }
+
+    @Benchmark
+    public Game createGame(GameCatalogState catalog, CreatedGame createdGame) {
+        return catalog.gameService.createGame(new Game(createdGame.name, true));
+    }
+
+    @Benchmark
+    public void deleteGame(GameCatalogState catalog, GameToDelete gameToDelete) {
+        catalog.gameService.deleteGame(gameToDelete.name);
+    }
+
+    private Game rename(GameCatalogState catalog, String name, String newName) {
+        Game game = new Game(name, true);
+        game.setNewName(newName);
+        return catalog.gameService.updateGame(game);
+    }
+
+    private static String nextTransientName() {
+        return "Transient-" + transientGameCounter.incrementAndGet();
+    }
+
+    /**
+     * Name of the game created by a single invocation, deleted afterwards to keep the catalog size constant.
+     * Invocation level fixtures add timer overhead, negligible next to the microseconds a write takes.
+     */
+    @State(Scope.Thread)
+    public static class CreatedGame {
+
+        String name;
+
+        @Setup(Level.Invocation)
+        public void pickName() {
+            name = nextTransientName();
+        }
+
+        @TearDown(Level.Invocation)
+        public void deleteGame(GameCatalogState catalog) {
+            catalog.gameService.deleteGame(name);
+        }
+    }
+
+    /**
+     * Game created before a single invocation for it to delete.
+     */
+    @State(Scope.Thread)
+    public static class GameToDelete {
+
+        String name;
+
+        @Setup(Level.Invocation)
+        public void createGame(GameCatalogState catalog) {
+            name = nextTransientName();
+            catalog.gameService.createGame(new Game(name, true));
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.game.management.benchmark;
+
+import com.game.management.model.Game;
+import com.game.management.store.GameStore;
+import com.game.management.store.GameStoreEngine;
+import com.game.management.store.HeapGameStore;
+import com.game.management.store.ShardedGameStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write throughput of the shared ConcurrentHashMap of the heap engine against the shards with a writer each of the
+ * sharded engine, by the number of writing threads set by {@link GameBenchmarkRunner}. Every write replaces a game
+ * of the catalog with its next version, as the updates of the game service do. Run it with as many threads as the
+ * machine has cores, and beyond, to see how the writes scale.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GameStoreWriteBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class StoreState {
+
+        @Param({"100000"})
+        public int catalogSize;
+
+        @Param({"HEAP", "SHARDED"})
+        public GameStoreEngine engine;
+
+        @Param({"UNIFORM", "ZIPFIAN"})
+        public KeyDistribution distribution;
+
+        /**
+         * Shards of the sharded engine, 0 for one per core.
+         */
+        @Param({"0"})
+        public int shards;
+
+        public GameStore store;
+        private KeyDistribution.KeySampler sampler;
+        private String[] names;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            switch (engine) {
+                case SHARDED:
+                    store = shards > 0 ? new ShardedGameStore(shards) : new ShardedGameStore();
+                    break;
+                case HEAP:
+                    store = new HeapGameStore();
+                    break;
+                default:
+                    throw new IllegalArgumentException("Only the heap and the sharded engines are compared, not " + engine);
+            }
+            names = new String[catalogSize];
+            for (int i = 0; i < catalogSize; i++) {
+                names[i] = GameCatalogState.gameName(i);
+                store.putIfAbsent(names[i], new Game(names[i], true));
+            }
+            sampler = distribution.newSampler(catalogSize);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            if (store instanceof ShardedGameStore) {
+                ((ShardedGameStore) store).close();
+            }
+        }
+
+        String nextName() {
+            return names[sampler.next()];
+        }
+    }
+
+    @Benchmark
+    public Game updateGame(StoreState state) {
+        return state.store.compute(state.nextName(), (name, game) -> {
+            Game updatedGame = new Game(name, !game.getIsActive());
+            updatedGame.setCreationDate(game.getCreationDate());
+            updatedGame.setVersion(game.getVersion() + 1);
+            return updatedGame;
+        });
+    }
+
+    @Benchmark
+    public Game getGame(StoreState state) {
+        return state.store.get(state.nextName());
+    }
+}
@@ -0,0 +1,77 @@
+package com.game.management.benchmark;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Distribution of the keys picked by the benchmarks from a catalog of n games.
+ * ZIPFIAN concentrates most of the operations on a few hot games to expose contention on them.
+ */
+public enum KeyDistribution {
+
+    UNIFORM {
+        @Override
+        public KeySampler newSampler(int keyCount) {
+            return () -> ThreadLocalRandom.current().nextInt(keyCount);
+        }
+    },
+
+    ZIPFIAN {
+        @Override
+        public KeySampler newSampler(int keyCount) {
+            return new ZipfianSampler(keyCount, ZipfianSampler.DEFAULT_THETA);
+        }
+    };
+
+    public abstract KeySampler newSampler(int keyCount);
+
+    /**
+     * Supplies indexes of keys in [0, keyCount), safe to call from multiple threads.
+     */
+    public interface KeySampler {
+        int next();
+    }
+
+    /**
+     * Zipfian sampler of Gray et al. as used by YCSB, index 0 is the hottest key.
+     */
+    static final class ZipfianSampler implements KeySampler {
+
+        static final double DEFAULT_THETA = 0.99;
+
+        private final int keyCount;
+        private final double theta;
+        private final double zetaN;
+        private final double alpha;
+        private final double eta;
+
+        ZipfianSampler(int keyCount, double theta) {
+            this.keyCount = keyCount;
+            this.theta = theta;
+            this.zetaN = zeta(keyCount, theta);
+            this.alpha = 1.0 / (1.0 - theta);
+            this.eta = (1 - Math.pow(2.0 / keyCount, 1 - theta)) / (1 - zeta(2, theta) / zetaN);
+        }
+
+        @Override
+        public int next() {
+            double u = ThreadLocalRandom.current().nextDouble();
+            double uz = u * zetaN;
+            if (uz < 1.0) {
+                return 0;
+            }
+            if (uz < 1.0 + Math.pow(0.5, theta)) {
+                return 1;
+            }
+            int index = (int) (keyCount * Math.pow(eta * u - eta + 1, alpha));
+            return Math.min(index, keyCount - 1);
+        }
+
+        private static double zeta(int n, double theta) {
+            double sum = 0;
+            for (int i = 1; i <= n; i++) {
+                sum += 1 / Math.pow(i, theta);
+            }
+            return sum;
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.game.management.benchmark;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.io.File;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Compares the throughput and the latency of the serving modes under many concurrent connections.
+ * Every mode runs in its own JVM, started from the test class path, and is driven by a closed loop: each of the
+ * connections sends its next request once the previous response arrived, optionally after a think time.
+ * The requests read games by name, uniformly spread over a preloaded catalog with the names of the JMH benchmarks.
+ * <p>
+ * Options (defaults in brackets): --modes [servlet,reactive] (servlet, virtual or reactive, virtual needs Java 21),
+ * --connections [10000], --warmup [10] and --duration [30] seconds, --catalog [10000] games, --think-ms [0],
+ * --server-jvm-args [-Xmx1g], or --url to drive an already running server instead of starting one.
+ */
+public class ServingModeComparison {
+
+    private static final Map<String, List<String>> MODE_ARGUMENTS = new LinkedHashMap<>();
+
+    static {
+        MODE_ARGUMENTS.put("servlet", Arrays.asList());
+        MODE_ARGUMENTS.put("virtual", Arrays.asList("--game.server.virtual-threads=true"));
+        MODE_ARGUMENTS.put("reactive", Arrays.asList("--spring.main.web-application-type=reactive"));
+    }
+
+    private final int connections;
+    private final Duration warmup;
+    private final Duration duration;
+    private final int catalogSize;
+    private final Duration thinkTime;
+
+    private ServingModeComparison(int connections, Duration warmup, Duration duration, int catalogSize, Duration thinkTime) {
+        this.connections = connections;
+        this.warmup = warmup;
+        this.duration = duration;
+        this.catalogSize = catalogSize;
+        this.thinkTime = thinkTime;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+        ServingModeComparison comparison = new ServingModeComparison(
+                Integer.parseInt(options.getOrDefault("connections", "10000")),
+                Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmup", "10"))),
+                Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration", "30"))),
+                Integer.parseInt(options.getOrDefault("catalog", "10000")),
+                Duration.ofMillis(Long.parseLong(options.getOrDefault("think-ms", "0"))));
+
+        List<String> report = new ArrayList<>();
+        report.add(String.format("%-10s %12s %10s %10s %10s %10s %10s %10s", "mode", "requests/s", "errors",
+                "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms"));
+        if (options.containsKey("url")) {
+            report.add(comparison.run("url", options.get("url")));
+        } else {
+            for (String mode : options.getOrDefault("modes", "servlet,reactive").split(",")) {
+                report.add(comparison.runMode(mode.trim(), options.getOrDefault("server-jvm-args", "-Xmx1g")));
+            }
+        }
+        report.forEach(System.out::println);
+    }
+
+    private String runMode(String mode, String serverJvmArgs) throws Exception {
+        if (!MODE_ARGUMENTS.containsKey(mode)) {
+            throw new IllegalArgumentException("Unknown serving mode: " + mode + ", expected one of " + MODE_ARGUMENTS.keySet());
+        }
+        List<String> arguments = new ArrayList<>(Arrays.asList(
+                "--server.tomcat.max-connections=" + (connections + 1000),
+                "--server.tomcat.accept-count=" + connections));
+        arguments.addAll(MODE_ARGUMENTS.get(mode));
+        try (ApplicationServer server = ApplicationServer.start(mode, new File("target/serving-modes"), serverJvmArgs, arguments)) {
+            return run(mode, server.url());
+        }
+    }
+
+    private String run(String mode, String url) {
+        ConnectionProvider connectionProvider = ConnectionProvider.builder("serving-mode-comparison")
+                .maxConnections(connections)
+                .pendingAcquireMaxCount(-1)
+                .pendingAcquireTimeout(Duration.ofMinutes(1))
+                .build();
+        HttpClient client = HttpClient.create(connectionProvider).baseUrl(url);
+        try {
+            ApplicationServer.awaitReady(client);
+            ApplicationServer.loadCatalog(client, catalogSize);
+
+            Recorder recorder = new Recorder(3);
+            LongAdder errors = new LongAdder();
+            drive(client, warmup, recorder, errors);
+            recorder.getIntervalHistogram();
+            errors.reset();
+
+            long start = System.nanoTime();
+            drive(client, duration, recorder, errors);
+            double seconds = (System.nanoTime() - start) / 1e9;
+
+            Histogram histogram = recorder.getIntervalHistogram();
+            return String.format("%-10s %12.0f %10d %10.2f %10.2f %10.2f %10.2f %10.2f", mode,
+                    histogram.getTotalCount() / seconds, errors.sum(),
+                    millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(90)),
+                    millis(histogram.getValueAtPercentile(99)), millis(histogram.getValueAtPercentile(99.9)),
+                    millis(histogram.getMaxValue()));
+        } finally {
+            connectionProvider.disposeLater().block();
+        }
+    }
+
+    /**
+     * Every connection sends requests back to back until the time is up. Latencies are recorded in microseconds.
+     */
+    private void drive(HttpClient client, Duration time, Recorder recorder, LongAdder errors) {
+        long end = System.nanoTime() + time.toNanos();
+        Mono<Void> request = Mono.defer(() -> {
+            long start = System.nanoTime();
+            String name = GameCatalogState.gameName(ThreadLocalRandom.current().nextInt(catalogSize));
+            return client.get().uri("/games/" + name)
+                    .responseSingle((response, body) -> body.then(Mono.just(response.status().code())))
+                    .doOnNext(status -> {
+                        if (status == 200) {
+                            recorder.recordValue((System.nanoTime() - start) / 1000);
+                        } else {
+                            errors.increment();
+                        }
+                    })
+                    .onErrorResume(e -> {
+                        errors.increment();
+                        return Mono.empty();
+                    })
+                    .then(thinkTime.isZero() ? Mono.empty() : Mono.delay(thinkTime).then());
+        });
+        Flux.range(0, connections)
+                .flatMap(connection -> request.repeat(() -> System.nanoTime() < end), connections)
+                .blockLast();
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            if (!args[i].startsWith("--") || i + 1 == args.length) {
+                throw new IllegalArgumentException("Expected --option value pairs, got: " + String.join(" ", args));
+            }
+            options.put(args[i].substring(2), args[++i]);
+        }
+        return options;
+    }
+}
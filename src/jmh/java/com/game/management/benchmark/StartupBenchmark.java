@@ -0,0 +1,258 @@
+package com.game.management.benchmark;
+
+import com.game.management.GameManagementApp;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.ServerSocket;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Measures the startup of the application and the latency of the first requests it serves, the time an autoscaled
+ * node takes to be useful. Every run starts a new JVM and records when the server first answers, when it reports
+ * ready on /actuator/health, and the latency of the first create, read, page and update request sent once ready,
+ * followed by the median read latency of the next requests for comparison. The medians of all runs are reported.
+ * <p>
+ * The modes are default, fast-startup (the profile with lazy initialization and warm-up), and both of them with the
+ * class-data sharing archive built by mvn -Pcds package, which also provides the class path every mode runs with.
+ * Without the archive the modes using it are skipped and the others run with the test class path.
+ * <p>
+ * Options (defaults in brackets): --modes [default,fast-startup,cds,fast-startup-cds], --runs [5],
+ * --server-jvm-args [-Xmx1g], --cds-directory [target/cds].
+ */
+public class StartupBenchmark {
+
+    private static final Map<String, List<String>> MODE_ARGUMENTS = new LinkedHashMap<>();
+
+    static {
+        MODE_ARGUMENTS.put("default", Arrays.asList());
+        MODE_ARGUMENTS.put("fast-startup", Arrays.asList("--spring.profiles.active=fast-startup"));
+        MODE_ARGUMENTS.put("cds", Arrays.asList());
+        MODE_ARGUMENTS.put("fast-startup-cds", Arrays.asList("--spring.profiles.active=fast-startup"));
+    }
+
+    private static final int STEADY_REQUESTS = 1000;
+    private static final long READY_TIMEOUT_SECONDS = 120;
+
+    private final String serverJvmArgs;
+    private final Path cdsArchive;
+    private final String classPath;
+
+    private StartupBenchmark(String serverJvmArgs, Path cdsArchive, String classPath) {
+        this.serverJvmArgs = serverJvmArgs;
+        this.cdsArchive = cdsArchive;
+        this.classPath = classPath;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+        Path cdsDirectory = Paths.get(options.getOrDefault("cds-directory", "target/cds"));
+        Path cdsArchive = cdsDirectory.resolve("app.jsa");
+        Path cdsClassPath = cdsDirectory.resolve("classpath.txt");
+        Path classesJar = findClassesJar();
+
+        String classPath = System.getProperty("java.class.path");
+        if (Files.exists(cdsArchive) && Files.exists(cdsClassPath) && classesJar != null) {
+            classPath = classesJar + File.pathSeparator + new String(Files.readAllBytes(cdsClassPath), StandardCharsets.UTF_8).trim();
+        } else {
+            System.out.println("No class-data sharing archive in " + cdsDirectory + ", build it with mvn -Pcds package -DskipTests");
+            cdsArchive = null;
+        }
+        StartupBenchmark benchmark = new StartupBenchmark(options.getOrDefault("server-jvm-args", "-Xmx1g"), cdsArchive, classPath);
+        int runs = Integer.parseInt(options.getOrDefault("runs", "5"));
+
+        List<String> report = new ArrayList<>();
+        report.add(String.format("%-18s %12s %10s %10s %10s %10s %10s %12s", "mode", "answers ms", "ready ms",
+                "create ms", "get ms", "page ms", "update ms", "steady get"));
+        for (String mode : options.getOrDefault("modes", "default,fast-startup,cds,fast-startup-cds").split(",")) {
+            mode = mode.trim();
+            if (!MODE_ARGUMENTS.containsKey(mode)) {
+                throw new IllegalArgumentException("Unknown mode: " + mode + ", expected one of " + MODE_ARGUMENTS.keySet());
+            }
+            if (mode.endsWith("cds") && cdsArchive == null) {
+                continue;
+            }
+            report.add(benchmark.measure(mode, runs));
+            System.out.println(report.get(report.size() - 1));
+        }
+        System.out.println();
+        report.forEach(System.out::println);
+    }
+
+    private String measure(String mode, int runs) throws Exception {
+        double[][] samples = new double[7][runs];
+        for (int run = 0; run < runs; run++) {
+            double[] sample = startOnce(mode, run);
+            for (int i = 0; i < sample.length; i++) {
+                samples[i][run] = sample[i];
+            }
+        }
+        return String.format("%-18s %12.0f %10.0f %10.2f %10.2f %10.2f %10.2f %12.3f", mode, median(samples[0]),
+                median(samples[1]), median(samples[2]), median(samples[3]), median(samples[4]), median(samples[5]),
+                median(samples[6]));
+    }
+
+    /**
+     * @return milliseconds until the server answered and was ready, then the latencies of the first requests
+     */
+    private double[] startOnce(String mode, int run) throws Exception {
+        int port = freePort();
+        List<String> command = new ArrayList<>();
+        command.add(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+        command.addAll(Arrays.asList(serverJvmArgs.trim().split("\\s+")));
+        if (mode.endsWith("cds")) {
+            command.add("-XX:SharedArchiveFile=" + cdsArchive);
+        }
+        command.addAll(Arrays.asList("-cp", classPath, GameManagementApp.class.getName(),
+                "--server.port=" + port,
+                "--game.persistence.enabled=false",
+                "--game.rate-limit.enabled=false",
+                "--logging.file.name=target/startup/" + mode + ".log"));
+        command.addAll(MODE_ARGUMENTS.get(mode));
+
+        new File("target/startup").mkdirs();
+        long start = System.nanoTime();
+        Process server = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(new File("target/startup/" + mode + "-" + run + ".out"))
+                .start();
+        try {
+            String baseUrl = "http://localhost:" + port;
+            long answered = 0;
+            long deadline = start + TimeUnit.SECONDS.toNanos(READY_TIMEOUT_SECONDS);
+            while (true) {
+                int status = statusOf(baseUrl + "/actuator/health");
+                if (status > 0 && answered == 0) {
+                    answered = System.nanoTime();
+                }
+                if (status == 200) {
+                    break;
+                }
+                if (System.nanoTime() > deadline || !server.isAlive()) {
+                    throw new IllegalStateException("The server did not become ready in mode " + mode);
+                }
+                Thread.sleep(5);
+            }
+            long ready = System.nanoTime();
+
+            double create = timed(() -> send(baseUrl + "/games", "POST", "{\"name\":\"Game0\",\"isActive\":true}"));
+            double get = timed(() -> send(baseUrl + "/games/Game0", "GET", null));
+            double page = timed(() -> send(baseUrl + "/games?limit=100", "GET", null));
+            double update = timed(() -> send(baseUrl + "/games", "PUT", "{\"name\":\"Game0\",\"isActive\":false}"));
+            double[] steady = new double[STEADY_REQUESTS];
+            for (int i = 0; i < STEADY_REQUESTS; i++) {
+                steady[i] = timed(() -> send(baseUrl + "/games/Game0", "GET", null));
+            }
+            return new double[]{millis(answered - start), millis(ready - start), create, get, page, update, median(steady)};
+        } finally {
+            server.destroy();
+            if (!server.waitFor(10, TimeUnit.SECONDS)) {
+                server.destroyForcibly();
+            }
+        }
+    }
+
+    private interface Request {
+        void send() throws IOException;
+    }
+
+    private static double timed(Request request) throws IOException {
+        long start = System.nanoTime();
+        request.send();
+        return millis(System.nanoTime() - start);
+    }
+
+    private static int statusOf(String url) {
+        try {
+            HttpURLConnection connection = (HttpURLConnection) new URL(url).openConnection();
+            connection.setConnectTimeout(1000);
+            connection.setReadTimeout(10000);
+            int status = connection.getResponseCode();
+            drain(status < 400 ? connection.getInputStream() : connection.getErrorStream());
+            return status;
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private static void send(String url, String method, String body) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL(url).openConnection();
+        connection.setRequestMethod(method);
+        if (body != null) {
+            connection.setDoOutput(true);
+            connection.setRequestProperty("Content-Type", "application/json");
+            try (OutputStream outputStream = connection.getOutputStream()) {
+                outputStream.write(body.getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        int status = connection.getResponseCode();
+        if (status >= 400) {
+            drain(connection.getErrorStream());
+            throw new IllegalStateException(method + " " + url + " failed with status " + status);
+        }
+        drain(connection.getInputStream());
+    }
+
+    private static void drain(InputStream inputStream) throws IOException {
+        if (inputStream == null) {
+            return;
+        }
+        byte[] buffer = new byte[8192];
+        try (InputStream stream = inputStream) {
+            while (stream.read(buffer) >= 0) {
+                // drained so that the connection is reused
+            }
+        }
+    }
+
+    private static Path findClassesJar() throws IOException {
+        Path target = Paths.get("target");
+        if (!Files.isDirectory(target)) {
+            return null;
+        }
+        try (Stream<Path> files = Files.list(target)) {
+            return files.filter(file -> file.getFileName().toString().endsWith("-classes.jar")).findFirst().orElse(null);
+        }
+    }
+
+    private static double median(double[] values) {
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            if (!args[i].startsWith("--") || i + 1 == args.length) {
+                throw new IllegalArgumentException("Expected --option value pairs, got: " + String.join(" ", args));
+            }
+            options.put(args[i].substring(2), args[++i]);
+        }
+        return options;
+    }
+}
@@ -0,0 +1,137 @@
+package com.game.management.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.module.paramnames.ParameterNamesModule;
+import com.game.management.model.Game;
+import com.game.management.model.GameDTO;
+import com.game.management.wire.GameProtobufCodec;
+import com.game.management.wire.WireFormatConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Encoding and decoding time of a GET /games response body in every wire format. The size of the encoded body
+ * is printed at the end of each trial.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WireFormatBenchmark {
+
+    public enum Format {
+        JSON, JSON_GZIP, CBOR, SMILE, PROTOBUF
+    }
+
+    private static final TypeReference<List<GameDTO>> GAME_LIST = new TypeReference<List<GameDTO>>() {
+    };
+
+    @Param({"JSON", "JSON_GZIP", "CBOR", "SMILE", "PROTOBUF"})
+    public Format format;
+
+    @Param({"1", "100", "10000"})
+    public int games;
+
+    private List<GameDTO> body;
+    private ObjectMapper objectMapper;
+    private byte[] encoded;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        // configured like the ObjectMappers of the application
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json()
+                .modulesToInstall(new ParameterNamesModule())
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        switch (format) {
+            case CBOR:
+                objectMapper = WireFormatConfig.binaryObjectMapper(builder, new CBORFactory());
+                break;
+            case SMILE:
+                objectMapper = WireFormatConfig.binaryObjectMapper(builder, new SmileFactory());
+                break;
+            default:
+                objectMapper = builder.build();
+        }
+
+        body = new ArrayList<>(games);
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < games; i++) {
+            Game game = new Game(GameCatalogState.gameName(i), i % 3 != 0);
+            game.setCreationDate(now.minusMinutes(i));
+            if (i % 2 == 0) {
+                game.setUpdateDate(now);
+            }
+            game.setVersion(now.getNano() + i);
+            body.add(game.toDTO());
+        }
+        encoded = encode();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        System.out.printf("%n%s: %d games in %d bytes, %.1f bytes per game%n",
+                format, games, encoded.length, (double) encoded.length / games);
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        switch (format) {
+            case PROTOBUF:
+                GameProtobufCodec.write(body, outputStream);
+                break;
+            case JSON_GZIP:
+                try (GZIPOutputStream gzipStream = new GZIPOutputStream(outputStream)) {
+                    objectMapper.writeValue(gzipStream, body);
+                }
+                break;
+            default:
+                objectMapper.writeValue(outputStream, body);
+        }
+        return outputStream.toByteArray();
+    }
+
+    @Benchmark
+    public List<GameDTO> decode() throws IOException {
+        InputStream inputStream = new ByteArrayInputStream(encoded);
+        switch (format) {
+            case PROTOBUF:
+                return GameProtobufCodec.readGames(inputStream);
+            case JSON_GZIP:
+                try (InputStream gzipStream = new GZIPInputStream(inputStream)) {
+                    return objectMapper.readValue(gzipStream, GAME_LIST);
+                }
+            default:
+                return objectMapper.readValue(inputStream, GAME_LIST);
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.game.management.cache;
+
+import com.game.management.model.BatchItemResult;
+import com.game.management.model.Game;
+import com.game.management.model.GameChange;
+import com.game.management.model.GameChangeType;
+import com.game.management.model.GamePage;
+import com.game.management.model.GameQuery;
+import com.game.management.service.GameChangeListener;
+import com.game.management.service.GameService;
+import com.game.management.service.GameServiceImpl;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * {@link GameService} decorator keeping the hot games read by name in a bounded near-cache, together with their
+ * {@link Game#toDTO() DTO}, so that a hit neither reads the store nor converts the game. The cache is a Caffeine
+ * cache with the W-TinyLFU policy: a new game only displaces a cached one if it was read more often recently, so
+ * a scan of cold games does not flush the hot ones.
+ * <p>
+ * The cache is bounded in entries and in the estimated bytes of the cached games. Every game weighs at least
+ * maxBytes / maxEntries, so neither bound can be exceeded.
+ * <p>
+ * A changed game is invalidated once the change is visible to reads. A read that missed the cache and loaded the
+ * game while it changed does not cache it: the game is only cached if the invalidation stamp of its name did not
+ * move during the load, checked atomically with the invalidations of the name.
+ */
+public class CachingGameService implements GameService, GameChangeListener {
+
+    private static final int STAMP_STRIPES = 64;
+
+    /**
+     * Rough heap size of a cached game apart from its name: the game, its two dates, its DTO and the cache entry.
+     */
+    private static final int GAME_OVERHEAD_BYTES = 360;
+
+    private final GameService gameService;
+    private final Cache<String, Game> cache;
+    private final AtomicLongArray invalidationStamps = new AtomicLongArray(STAMP_STRIPES);
+    /**
+     * Names changed per calling thread and not yet visible to reads.
+     */
+    private final Map<Thread, List<String>> changedNames = new ConcurrentHashMap<>();
+
+    public CachingGameService(GameService gameService, GameCacheProperties properties) {
+        this.gameService = gameService;
+        Caffeine<Object, Object> builder = Caffeine.newBuilder().recordStats();
+        if (properties.getMaxBytes() > 0) {
+            long minWeight = properties.getMaxEntries() > 0 ? Math.max(1, properties.getMaxBytes() / properties.getMaxEntries()) : 1;
+            builder.maximumWeight(properties.getMaxBytes())
+                    .weigher((String name, Game game) -> (int) Math.max(minWeight, estimateBytes(name)));
+        } else {
+            builder.maximumSize(properties.getMaxEntries());
+        }
+        this.cache = builder.build();
+    }
+
+    public Cache<String, Game> getCache() {
+        return cache;
+    }
+
+    @Override
+    public Game getGame(String name) {
+        Game game = cache.getIfPresent(name);
+        if (game != null) {
+            return game;
+        }
+
+        int stripe = stripe(name);
+        long stamp = invalidationStamps.get(stripe);
+        Game loadedGame = gameService.getGame(name);
+        loadedGame.toDTO();
+        cache.asMap().compute(name, (key, cachedGame) ->
+                // changed while loading, the loaded game may be outdated
+                invalidationStamps.get(stripe) == stamp ? loadedGame : cachedGame);
+        return loadedGame;
+    }
+
+    @Override
+    public void onChange(GameChange change) {
+        List<String> names = changedNames.computeIfAbsent(GameServiceImpl.callingThread(), thread -> new ArrayList<>());
+        names.add(change.getName());
+        if (change.getType() == GameChangeType.RENAMED) {
+            names.add(change.getPreviousName());
+        }
+    }
+
+    @Override
+    public void onChangesVisible() {
+        List<String> names = changedNames.remove(GameServiceImpl.callingThread());
+        if (names == null) {
+            return;
+        }
+        for (String name : names) {
+            invalidationStamps.incrementAndGet(stripe(name));
+            cache.invalidate(name);
+        }
+    }
+
+    @Override
+    public Game createGame(Game game) {
+        return gameService.createGame(game);
+    }
+
+    @Override
+    public List<Game> getAllGames() {
+        return gameService.getAllGames();
+    }
+
+    @Override
+    public GamePage<Game> getGamesPage(GameQuery query) {
+        return gameService.getGamesPage(query);
+    }
+
+    @Override
+    public List<Game> getGamesByStatus(boolean active) {
+        return gameService.getGamesByStatus(active);
+    }
+
+    @Override
+    public long countGames(Boolean active) {
+        return gameService.countGames(active);
+    }
+
+    @Override
+    public long getCatalogVersion() {
+        return gameService.getCatalogVersion();
+    }
+
+    @Override
+    public Game updateGame(Game game) {
+        return gameService.updateGame(game);
+    }
+
+    @Override
+    public void deleteGame(String name) {
+        gameService.deleteGame(name);
+    }
+
+    @Override
+    public List<BatchItemResult<Game>> createGames(List<Game> games, boolean allOrNothing) {
+        return gameService.createGames(games, allOrNothing);
+    }
+
+    @Override
+    public List<BatchItemResult<Game>> updateGames(List<Game> games, boolean allOrNothing) {
+        return gameService.updateGames(games, allOrNothing);
+    }
+
+    @Override
+    public List<BatchItemResult<Game>> deleteGames(List<String> names, boolean allOrNothing) {
+        return gameService.deleteGames(names, allOrNothing);
+    }
+
+    static long estimateBytes(String name) {
+        // the name is shared by the key, the game and its DTO
+        return GAME_OVERHEAD_BYTES + 40 + 2L * name.length();
+    }
+
+    private static int stripe(String name) {
+        int hash = name.hashCode();
+        return (hash ^ (hash >>> 16)) & (STAMP_STRIPES - 1);
+    }
+}
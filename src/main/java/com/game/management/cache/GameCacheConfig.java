@@ -0,0 +1,29 @@
+package com.game.management.cache;
+
+import com.game.management.service.GameServiceImpl;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Puts the near-cache in front of the reads of single games, unless game.cache.enabled=false. Its hits, misses and
+ * evictions are published as the cache.gets and cache.evictions meters tagged with cache=games.
+ */
+
+@Configuration
+@ConditionalOnProperty(prefix = "game.cache", name = "enabled", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties(GameCacheProperties.class)
+public class GameCacheConfig {
+
+    @Bean
+    public CachingGameService cachingGameService(GameServiceImpl gameService, GameCacheProperties properties,
+                                                 MeterRegistry registry) {
+        CachingGameService cachingGameService = new CachingGameService(gameService, properties);
+        gameService.addChangeListener(cachingGameService);
+        CaffeineCacheMetrics.monitor(registry, cachingGameService.getCache(), "games");
+        return cachingGameService;
+    }
+}
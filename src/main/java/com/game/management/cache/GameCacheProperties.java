@@ -0,0 +1,22 @@
+package com.game.management.cache;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration of the near-cache of the games read by name, bound from the game.cache.* properties.
+ */
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "game.cache")
+public class GameCacheProperties {
+
+    private boolean enabled = true;
+    private long maxEntries = 10000;
+    /**
+     * Estimated heap size of the cached games, 0 for no limit.
+     */
+    private long maxBytes = 8 * 1024 * 1024;
+}
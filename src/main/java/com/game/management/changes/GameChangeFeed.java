@@ -0,0 +1,107 @@
+package com.game.management.changes;
+
+import com.game.management.exception.ValidationException;
+import com.game.management.model.GameChangeBatch;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Serves the {@link GameChangeLog} to clients, either as long-polls answered once a change is available or the
+ * timeout elapsed, or as Server-Sent Event streams. Neither holds a request thread while waiting for changes.
+ * <p>
+ * Streams are written by stream-threads threads, and by up to max-stream-threads while clients are slow to take their
+ * changes, so that a stalled client never delays the streams of others. A client not taking a batch within the send
+ * timeout is dropped. A stream whose next batch finds all threads busy is closed as well, and its client reconnects
+ * with its Last-Event-ID, so stalled clients never pin more than max-stream-threads threads.
+ */
+public class GameChangeFeed {
+
+    private final GameChangeLog changeLog;
+    private final GameChangeFeedProperties properties;
+    private final ExecutorService streamExecutor;
+    private final ScheduledExecutorService sendTimeoutScheduler;
+
+    public GameChangeFeed(GameChangeLog changeLog, GameChangeFeedProperties properties) {
+        this.changeLog = changeLog;
+        this.properties = properties;
+        AtomicInteger threadNumber = new AtomicInteger();
+        int maxStreamThreads = Math.max(properties.getStreamThreads(), properties.getMaxStreamThreads());
+        // rejects a batch once all threads are busy, which closes its stream
+        this.streamExecutor = new ThreadPoolExecutor(properties.getStreamThreads(), maxStreamThreads,
+                60, TimeUnit.SECONDS, new SynchronousQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "game-changes-stream-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.sendTimeoutScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "game-changes-send-timeout");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Answers with the changes following the given sequence number as soon as there are any.
+     *
+     * @param since     sequence number to read after, or null to wait for the changes made from now on
+     * @param timeoutMs time to wait for a change before answering with an empty batch, or null for the default
+     */
+    public DeferredResult<GameChangeBatch> poll(Long since, Long timeoutMs) {
+        long start = startSequence(since);
+        long timeout = timeoutMs == null ? properties.getPollTimeoutMs() : Math.min(timeoutMs, properties.getPollTimeoutMs());
+        if (timeout < 0) {
+            throw new ValidationException("Poll timeout cannot be negative.");
+        }
+
+        DeferredResult<GameChangeBatch> result = new DeferredResult<>(timeout, () -> GameChangeBatch.empty(start));
+        GameChangeBatch batch = changeLog.read(start, properties.getMaxBatchSize());
+        if (!batch.isEmpty() || timeout == 0) {
+            result.setResult(batch);
+            return result;
+        }
+
+        Runnable cancelWait = changeLog.awaitChanges(start,
+                () -> result.setResult(changeLog.read(start, properties.getMaxBatchSize())));
+        result.onCompletion(cancelWait);
+        return result;
+    }
+
+    /**
+     * Opens a stream of the changes following the given sequence number.
+     *
+     * @param since sequence number to read after, or null to stream the changes made from now on
+     */
+    public SseEmitter stream(Long since) {
+        return stream(since, new SseEmitter(properties.getStreamTimeoutMs()));
+    }
+
+    SseEmitter stream(Long since, SseEmitter emitter) {
+        new GameChangeStream(changeLog, emitter, streamExecutor, sendTimeoutScheduler, properties.getStreamSendTimeoutMs(),
+                properties.getMaxBatchSize(), startSequence(since)).start();
+        return emitter;
+    }
+
+    public void close() throws InterruptedException {
+        sendTimeoutScheduler.shutdownNow();
+        streamExecutor.shutdownNow();
+        streamExecutor.awaitTermination(1, TimeUnit.SECONDS);
+    }
+
+    private long startSequence(Long since) {
+        if (since == null) {
+            return changeLog.getLastSequence();
+        }
+        if (since < 0) {
+            throw new ValidationException("Change sequence number cannot be negative.");
+        }
+        return since;
+    }
+}
@@ -0,0 +1,35 @@
+package com.game.management.changes;
+
+import com.game.management.service.GameServiceImpl;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Publishes the game changes to the change log served at /games/changes, by the servlet or the reactive stack.
+ */
+
+@Configuration
+@EnableConfigurationProperties(GameChangeFeedProperties.class)
+public class GameChangeFeedConfig {
+
+    @Bean
+    public GameChangeLog gameChangeLog(GameServiceImpl gameService, GameChangeFeedProperties properties) {
+        GameChangeLog changeLog = new GameChangeLog(properties.getCapacity());
+        gameService.addChangeListener(changeLog);
+        return changeLog;
+    }
+
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    public GameChangeFeed gameChangeFeed(GameChangeLog changeLog, GameChangeFeedProperties properties) {
+        return new GameChangeFeed(changeLog, properties);
+    }
+
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+    public ReactiveGameChangeFeed reactiveGameChangeFeed(GameChangeLog changeLog, GameChangeFeedProperties properties) {
+        return new ReactiveGameChangeFeed(changeLog, properties);
+    }
+}
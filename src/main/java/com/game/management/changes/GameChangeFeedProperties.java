@@ -0,0 +1,23 @@
+package com.game.management.changes;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration of the game change feed, bound from the game.changes.* properties.
+ */
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "game.changes")
+public class GameChangeFeedProperties {
+
+    private int capacity = 65536;
+    private int maxBatchSize = 1000;
+    private long pollTimeoutMs = 30000;
+    private long streamTimeoutMs = 600000;
+    private int streamThreads = 4; // kept for writing streams, more are started while clients are slow
+    private int maxStreamThreads = 64; // streams that need a thread beyond these are closed, their clients reconnect
+    private long streamSendTimeoutMs = 10000; // a client not taking a batch of changes in this time is dropped
+}
@@ -0,0 +1,172 @@
+package com.game.management.changes;
+
+import com.game.management.model.GameChange;
+import com.game.management.model.GameChangeBatch;
+import com.game.management.model.GameChangeEvent;
+import com.game.management.service.GameChangeListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * In-memory log of the latest game changes, numbered by consecutive sequence numbers starting at 1.
+ * The changes are kept in a ring buffer of a fixed power of two capacity, so a reader that fell more than the
+ * capacity behind has to resync.
+ * <p>
+ * Appending never blocks: a writer claims a sequence number and publishes its change into the slot of that number,
+ * unless a writer a whole lap ahead already took the slot. Readers stop at the first sequence number not published
+ * yet, so they see the changes without gaps and in sequence order. Changes of a single game are appended in the
+ * order they were applied, as the service publishes them while holding the game.
+ * <p>
+ * Readers waiting for new changes are called back from a single notifier thread, never from the appending writer.
+ */
+public class GameChangeLog implements GameChangeListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(GameChangeLog.class);
+
+    private final AtomicReferenceArray<GameChangeEvent> events;
+    private final int mask;
+    private final AtomicLong lastClaimedSequence = new AtomicLong();
+
+    private final Set<Waiter> waiters = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean notificationScheduled = new AtomicBoolean();
+    private final ExecutorService notifier = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "game-changes");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public GameChangeLog(int capacity) {
+        if (Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Change log capacity must be a power of two: " + capacity);
+        }
+        this.events = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+    }
+
+    @Override
+    public void onChange(GameChange change) {
+        long sequence = lastClaimedSequence.incrementAndGet();
+        GameChangeEvent event = new GameChangeEvent(sequence, change);
+        int slot = (int) (sequence & mask);
+        while (true) {
+            GameChangeEvent current = events.get(slot);
+            if (current != null && current.getSequence() > sequence) {
+                // overtaken by a writer a whole lap ahead, readers of this sequence have to resync anyway
+                break;
+            }
+            if (events.compareAndSet(slot, current, event)) {
+                break;
+            }
+        }
+
+        if (!waiters.isEmpty() && notificationScheduled.compareAndSet(false, true)) {
+            notifier.execute(this::notifyWaiters);
+        }
+    }
+
+    /**
+     * @return sequence number of the latest change, to read the changes made from now on after it
+     */
+    public long getLastSequence() {
+        return lastClaimedSequence.get();
+    }
+
+    /**
+     * Reads up to maxChanges published changes following the given sequence number, without waiting.
+     */
+    public GameChangeBatch read(long since, int maxChanges) {
+        long lastSequence = lastClaimedSequence.get();
+        if (since > lastSequence) {
+            // a sequence number of an earlier run of the application
+            return GameChangeBatch.resync(lastSequence);
+        }
+        if (lastSequence - since > events.length()) {
+            return GameChangeBatch.resync(lastSequence);
+        }
+
+        List<GameChangeEvent> changes = new ArrayList<>((int) Math.min(maxChanges, lastSequence - since));
+        long sequence = since + 1;
+        while (changes.size() < maxChanges && sequence <= lastSequence) {
+            GameChangeEvent event = events.get((int) (sequence & mask));
+            if (event == null || event.getSequence() < sequence) {
+                // claimed, but not published yet
+                break;
+            }
+            if (event.getSequence() > sequence) {
+                // overwritten while reading
+                return GameChangeBatch.resync(lastClaimedSequence.get());
+            }
+            changes.add(event);
+            sequence++;
+        }
+        return changes.isEmpty() ? GameChangeBatch.empty(since) : new GameChangeBatch(changes, sequence - 1, false);
+    }
+
+    /**
+     * Calls the callback once a change following the given sequence number is published, or right away if it
+     * already is. The callback runs on the notifier thread, or on the calling thread when it is called right away,
+     * and must not block.
+     *
+     * @return action cancelling the wait, for example when the waiting request timed out
+     */
+    public Runnable awaitChanges(long since, Runnable callback) {
+        Waiter waiter = new Waiter(since, callback);
+        waiters.add(waiter);
+        // the change may have been published before the waiter was added
+        if (hasChangesAfter(since) && waiters.remove(waiter)) {
+            callback.run();
+        }
+        return () -> waiters.remove(waiter);
+    }
+
+    public void close() throws InterruptedException {
+        notifier.shutdown();
+        notifier.awaitTermination(1, TimeUnit.SECONDS);
+    }
+
+    private boolean hasChangesAfter(long since) {
+        long sequence = since + 1;
+        if (sequence > lastClaimedSequence.get()) {
+            return false;
+        }
+        GameChangeEvent event = events.get((int) (sequence & mask));
+        // an event of a later lap means the reader has to resync, which is news as well
+        return event != null && event.getSequence() >= sequence;
+    }
+
+    private void notifyWaiters() {
+        // cleared first, so that changes appended while notifying schedule another round
+        notificationScheduled.set(false);
+        for (Waiter waiter : waiters) {
+            if (hasChangesAfter(waiter.since) && waiters.remove(waiter)) {
+                try {
+                    waiter.callback.run();
+                } catch (RuntimeException e) {
+                    logger.warn("Could not notify a reader of the game changes", e);
+                }
+            }
+        }
+    }
+
+    private static final class Waiter {
+
+        private final long since;
+        private final Runnable callback;
+
+        private Waiter(long since, Runnable callback) {
+            this.since = since;
+            this.callback = callback;
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.game.management.changes;
+
+import com.game.management.model.GameChangeBatch;
+import com.game.management.model.GameChangeEvent;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Streams the change log to a single Server-Sent Events client, as "change" events with the sequence number as
+ * event id. A client that fell behind the log gets a "resync" event with the sequence number to continue after
+ * once it reloaded the catalog, and the stream ends.
+ * <p>
+ * The stream reads the next batch of changes only after the previous one was written to the client, so nothing is
+ * queued for a slow client besides the change log, which it eventually falls behind. Writing blocks the thread
+ * until the client took the data, so a batch that is not written within the send timeout drops the client: the
+ * stream ends and the writing thread is interrupted. The client reconnects with its Last-Event-ID and continues,
+ * or resyncs if it fell behind the log in the meantime.
+ */
+public class GameChangeStream {
+
+    private final GameChangeLog changeLog;
+    private final SseEmitter emitter;
+    private final Executor executor;
+    private final ScheduledExecutorService timeoutScheduler;
+    private final long sendTimeoutMs;
+    private final int maxBatchSize;
+
+    private volatile long since;
+    private volatile boolean closed;
+    private volatile Runnable cancelWait = () -> {
+    };
+    private Thread sender; // thread writing a batch, guarded by this
+    private boolean timedOut; // guarded by this
+
+    public GameChangeStream(GameChangeLog changeLog, SseEmitter emitter, Executor executor,
+                            ScheduledExecutorService timeoutScheduler, long sendTimeoutMs, int maxBatchSize, long since) {
+        this.changeLog = changeLog;
+        this.emitter = emitter;
+        this.executor = executor;
+        this.timeoutScheduler = timeoutScheduler;
+        this.sendTimeoutMs = sendTimeoutMs;
+        this.maxBatchSize = maxBatchSize;
+        this.since = since;
+        emitter.onCompletion(this::close);
+        emitter.onTimeout(this::close);
+        emitter.onError(error -> close());
+    }
+
+    public void start() {
+        schedule();
+    }
+
+    private void schedule() {
+        if (closed) {
+            return;
+        }
+        try {
+            executor.execute(this::sendChanges);
+        } catch (RejectedExecutionException e) {
+            emitter.completeWithError(e);
+        }
+    }
+
+    private void sendChanges() {
+        if (closed) {
+            return;
+        }
+        GameChangeBatch batch = changeLog.read(since, maxBatchSize);
+        synchronized (this) {
+            sender = Thread.currentThread();
+        }
+        ScheduledFuture<?> sendTimeout = timeoutScheduler.schedule(this::sendTimedOut, sendTimeoutMs, TimeUnit.MILLISECONDS);
+        try {
+            if (batch.isResyncRequired()) {
+                emitter.send(SseEmitter.event()
+                        .name("resync")
+                        .data(Collections.singletonMap("lastSequence", batch.getLastSequence()), MediaType.APPLICATION_JSON));
+                emitter.complete();
+                return;
+            }
+            for (GameChangeEvent event : batch.getChanges()) {
+                emitter.send(SseEmitter.event()
+                        .id(Long.toString(event.getSequence()))
+                        .name("change")
+                        .data(event, MediaType.APPLICATION_JSON));
+            }
+        } catch (IOException | RuntimeException e) {
+            // the client went away, the emitter already completed or the send timed out
+            close();
+            return;
+        } finally {
+            sendTimeout.cancel(false);
+            boolean dropped;
+            synchronized (this) {
+                sender = null;
+                dropped = timedOut;
+            }
+            // an interrupt of a timed out send that completed anyway must not hit the next task of the thread
+            Thread.interrupted();
+            if (dropped) {
+                emitter.completeWithError(new TimeoutException("Sending changes took longer than " + sendTimeoutMs + " ms"));
+            }
+        }
+        if (closed) {
+            return;
+        }
+
+        since = batch.getLastSequence();
+        if (batch.isEmpty()) {
+            cancelWait = changeLog.awaitChanges(since, this::schedule);
+        } else {
+            schedule();
+        }
+    }
+
+    private synchronized void sendTimedOut() {
+        if (sender != null) {
+            timedOut = true;
+            close();
+            sender.interrupt();
+        }
+    }
+
+    private void close() {
+        closed = true;
+        cancelWait.run();
+    }
+}
@@ -0,0 +1,87 @@
+package com.game.management.changes;
+
+import com.game.management.exception.ValidationException;
+import com.game.management.model.GameChangeBatch;
+import com.game.management.model.GameChangeEvent;
+import org.springframework.http.codec.ServerSentEvent;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Serves the {@link GameChangeLog} on the reactive stack, with the same long-poll and Server-Sent Events semantics
+ * as {@link GameChangeFeed}. A stream only reads the next batch of changes once the client requested more, so
+ * slow clients are held back by the transport's flow control instead of queueing changes.
+ */
+public class ReactiveGameChangeFeed {
+
+    private final GameChangeLog changeLog;
+    private final GameChangeFeedProperties properties;
+
+    public ReactiveGameChangeFeed(GameChangeLog changeLog, GameChangeFeedProperties properties) {
+        this.changeLog = changeLog;
+        this.properties = properties;
+    }
+
+    public Mono<GameChangeBatch> poll(Long since, Long timeoutMs) {
+        long start = startSequence(since);
+        long timeout = timeoutMs == null ? properties.getPollTimeoutMs() : Math.min(timeoutMs, properties.getPollTimeoutMs());
+        if (timeout < 0) {
+            throw new ValidationException("Poll timeout cannot be negative.");
+        }
+        if (timeout == 0) {
+            return Mono.fromCallable(() -> changeLog.read(start, properties.getMaxBatchSize()));
+        }
+        return nextBatch(start).timeout(Duration.ofMillis(timeout), Mono.fromCallable(() -> GameChangeBatch.empty(start)));
+    }
+
+    public Flux<ServerSentEvent<Object>> stream(Long since) {
+        return nextBatch(startSequence(since))
+                .expand(batch -> batch.isResyncRequired() ? Mono.empty() : nextBatch(batch.getLastSequence()))
+                .concatMapIterable(this::toEvents)
+                .take(Duration.ofMillis(properties.getStreamTimeoutMs()));
+    }
+
+    /**
+     * @return the changes following the sequence number, completing once there is at least one
+     */
+    private Mono<GameChangeBatch> nextBatch(long since) {
+        return Mono.create(sink -> {
+            Runnable cancelWait = changeLog.awaitChanges(since,
+                    () -> sink.success(changeLog.read(since, properties.getMaxBatchSize())));
+            sink.onCancel(cancelWait::run);
+        });
+    }
+
+    private Iterable<ServerSentEvent<Object>> toEvents(GameChangeBatch batch) {
+        if (batch.isResyncRequired()) {
+            return Collections.singletonList(ServerSentEvent.<Object>builder()
+                    .event("resync")
+                    .data(Collections.singletonMap("lastSequence", batch.getLastSequence()))
+                    .build());
+        }
+        List<ServerSentEvent<Object>> events = new ArrayList<>(batch.getChanges().size());
+        for (GameChangeEvent event : batch.getChanges()) {
+            events.add(ServerSentEvent.<Object>builder()
+                    .id(Long.toString(event.getSequence()))
+                    .event("change")
+                    .data(event)
+                    .build());
+        }
+        return events;
+    }
+
+    private long startSequence(Long since) {
+        if (since == null) {
+            return changeLog.getLastSequence();
+        }
+        if (since < 0) {
+            throw new ValidationException("Change sequence number cannot be negative.");
+        }
+        return since;
+    }
+}
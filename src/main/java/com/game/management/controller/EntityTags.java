@@ -0,0 +1,135 @@
+package com.game.management.controller;
+
+import com.game.management.exception.PreconditionFailedException;
+import com.game.management.exception.ValidationException;
+import com.game.management.wire.GameProtobufCodec;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Entity tags of the game resources. A game is tagged with its version and the encoding it is sent in, as a strong
+ * tag, so that the JSON, Protobuf, CBOR and Smile bodies of a version never share one. Lists of games are tagged
+ * with the catalog version they were read at as a weak tag, which lets the server compress them and holds for all
+ * encodings of the same games.
+ */
+final class EntityTags {
+
+    private static final String ANY = "*";
+    private static final String WEAK_PREFIX = "W/";
+    private static final char ENCODING_SEPARATOR = '-';
+
+    /**
+     * Tag suffixes of the encodings, in the order the converters are registered, JSON first.
+     */
+    private static final Map<MediaType, String> ENCODING_SUFFIXES = new LinkedHashMap<>();
+
+    static {
+        ENCODING_SUFFIXES.put(MediaType.APPLICATION_JSON, "");
+        ENCODING_SUFFIXES.put(MediaType.valueOf(GameProtobufCodec.MEDIA_TYPE), ENCODING_SEPARATOR + "protobuf");
+        ENCODING_SUFFIXES.put(MediaType.APPLICATION_CBOR, ENCODING_SEPARATOR + "cbor");
+        ENCODING_SUFFIXES.put(MediaType.valueOf("application/x-jackson-smile"), ENCODING_SEPARATOR + "smile");
+    }
+
+    private EntityTags() {
+    }
+
+    /**
+     * Strong tag of a game version in the encoding the Accept header selects.
+     */
+    static String of(long version, String accept) {
+        return "\"" + version + encodingSuffix(accept) + "\"";
+    }
+
+    /**
+     * Weak tag of a catalog version.
+     */
+    static String weak(long catalogVersion) {
+        return WEAK_PREFIX + "\"" + catalogVersion + "\"";
+    }
+
+    /**
+     * Weak comparison of an If-None-Match header with the current tag, as used for conditional reads.
+     */
+    static boolean matches(String ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        String opaqueTag = opaqueTag(eTag);
+        for (String candidate : ifNoneMatch.split(",")) {
+            candidate = candidate.trim();
+            if (candidate.equals(ANY)) {
+                return true;
+            }
+            if (opaqueTag(candidate).equals(opaqueTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Reads the version a conditional write expects from its If-Match header. The tag of the game in any
+     * encoding names the version.
+     *
+     * @return the expected version, or null if the write applies to any version
+     */
+    static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.trim().equals(ANY)) {
+            return null;
+        }
+        String eTag = ifMatch.trim();
+        if (eTag.indexOf(',') >= 0) {
+            throw new ValidationException("If-Match must contain a single entity tag.");
+        }
+        // If-Match uses the strong comparison, so weak or malformed tags never match
+        if (eTag.length() < 3 || eTag.charAt(0) != '"' || eTag.charAt(eTag.length() - 1) != '"') {
+            throw new PreconditionFailedException("Entity tag " + eTag + " does not match the game.");
+        }
+        String version = eTag.substring(1, eTag.length() - 1);
+        int suffixStart = version.indexOf(ENCODING_SEPARATOR, 1);
+        if (suffixStart > 0) {
+            if (!ENCODING_SUFFIXES.containsValue(version.substring(suffixStart))) {
+                throw new PreconditionFailedException("Entity tag " + eTag + " does not match the game.");
+            }
+            version = version.substring(0, suffixStart);
+        }
+        try {
+            return Long.parseLong(version);
+        } catch (NumberFormatException e) {
+            throw new PreconditionFailedException("Entity tag " + eTag + " does not match the game.");
+        }
+    }
+
+    private static String opaqueTag(String eTag) {
+        return eTag.startsWith(WEAK_PREFIX) ? eTag.substring(WEAK_PREFIX.length()) : eTag;
+    }
+
+    /**
+     * Picks the encoding of the response as content negotiation does: the most specific and preferred accepted
+     * type decides, and the first registered encoding it is compatible with is used.
+     */
+    private static String encodingSuffix(String accept) {
+        if (accept == null || accept.trim().isEmpty()) {
+            return "";
+        }
+        List<MediaType> acceptedTypes;
+        try {
+            acceptedTypes = MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException e) {
+            return "";
+        }
+        MediaType.sortBySpecificityAndQuality(acceptedTypes);
+        for (MediaType acceptedType : acceptedTypes) {
+            for (Map.Entry<MediaType, String> encoding : ENCODING_SUFFIXES.entrySet()) {
+                if (acceptedType.isCompatibleWith(encoding.getKey())) {
+                    return encoding.getValue();
+                }
+            }
+        }
+        return "";
+    }
+}
@@ -0,0 +1,49 @@
+package com.game.management.controller;
+
+import com.game.management.changes.GameChangeFeed;
+import com.game.management.logging.RequestLogger;
+import com.game.management.model.GameChangeBatch;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Feed of the game changes, numbered by sequence. Clients pass the last sequence number they have seen as
+ * "since" and get the changes following it, either streamed as Server-Sent Events (Accept: text/event-stream)
+ * or as a long-poll answered once there are any.
+ */
+
+@RestController
+@RequestMapping("/games/changes")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class GameChangeController {
+
+    private final GameChangeFeed changeFeed;
+    private final RequestLogger requestLogger;
+
+    public GameChangeController(GameChangeFeed changeFeed, RequestLogger requestLogger) {
+        this.changeFeed = changeFeed;
+        this.requestLogger = requestLogger;
+    }
+
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(@RequestParam(required = false) Long since,
+                                    @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        requestLogger.logRead("stream game changes", since);
+        // reconnecting EventSource clients send the id of the last event they received
+        return changeFeed.stream(since != null ? since : lastEventId);
+    }
+
+    @GetMapping
+    public DeferredResult<GameChangeBatch> pollChanges(@RequestParam(required = false) Long since,
+                                                       @RequestParam(required = false) Long timeoutMs) {
+        requestLogger.logRead("poll game changes", since);
+        return changeFeed.poll(since, timeoutMs);
+    }
+}
@@ -1,21 +1,27 @@
 package com.game.management.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.game.management.exception.ValidationException;
+import com.game.management.logging.RequestLogger;
+import com.game.management.logging.RequestLoggingProperties;
+import com.game.management.model.BatchItemResult;
 import com.game.management.model.Game;
 import com.game.management.model.GameDTO;
+import com.game.management.model.GamePage;
+import com.game.management.model.GameQuery;
 import com.game.management.service.GameService;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.context.support.DefaultMessageSourceResolvable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.web.context.request.RequestContextHolder;
-import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import javax.servlet.http.HttpServletRequest;
 import javax.validation.Valid;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -23,6 +29,8 @@ import java.util.stream.Collectors;
 /**
  * Controller class for handling HTTP requests related to games.
  * This class defines RESTful endpoints for retrieving, creating, updating, and deleting games.
+ * Games carry their version as ETag and lists of games the catalog version as weak ETag, so that reads can be revalidated with
+ * If-None-Match and updates made conditional with If-Match.
  *
  * @author Katarzyna Lesniak
  * @version 1.0
@@ -31,63 +39,201 @@ import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/games")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class GameController {
 
-    private static final Logger logger = LoggerFactory.getLogger(GameController.class);
+    private static final int MAX_PAGE_SIZE = 1000;
+    private static final int DEFAULT_PAGE_SIZE = 100;
+    private static final int STREAM_PAGE_SIZE = 500;
+    private static final int MAX_BATCH_SIZE = 10000;
 
     private final GameService gameService;
+    private final ObjectMapper objectMapper;
+    private final RequestLogger requestLogger;
+
+    public GameController(GameService gameService, ObjectMapper objectMapper) {
+        this(gameService, objectMapper, new RequestLogger(new RequestLoggingProperties()));
+    }
 
     @Autowired
-    public GameController(GameService gameService) {
+    public GameController(GameService gameService, ObjectMapper objectMapper, RequestLogger requestLogger) {
         this.gameService = gameService;
+        this.objectMapper = objectMapper;
+        this.requestLogger = requestLogger;
     }
 
     @PostMapping()
-    public ResponseEntity<GameDTO> createGame(@RequestBody @Valid Game game, BindingResult result) {
+    public ResponseEntity<GameDTO> createGame(@RequestBody @Valid Game game, BindingResult result,
+                                              @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
 
         checkValidationErrors(result);
-        logRequest("create game", game);
+        requestLogger.logWrite("create game", game);
 
         Game createdGame = gameService.createGame(game);
         GameDTO createdGameDTO = convertToGameDTO(createdGame);
-        return ResponseEntity.ok().body(createdGameDTO);
+        return ResponseEntity.ok().eTag(EntityTags.of(createdGame.getVersion(), accept)).body(createdGameDTO);
     }
 
     @GetMapping("/{name}")
-    public ResponseEntity<GameDTO> getGameByName(@PathVariable String name) {
-        logRequest("get game by name", name);
+    public ResponseEntity<GameDTO> getGameByName(@PathVariable String name,
+                                                 @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                                 @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        requestLogger.logRead("get game by name", name);
 
         Game retrievedGame = gameService.getGame(name);
+        String eTag = EntityTags.of(retrievedGame.getVersion(), accept);
+        if (EntityTags.matches(ifNoneMatch, eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
         GameDTO retrievedGameDTO = convertToGameDTO(retrievedGame);
-        return ResponseEntity.ok().body(retrievedGameDTO);
+        return ResponseEntity.ok().eTag(eTag).body(retrievedGameDTO);
     }
 
-    @GetMapping()
-    public ResponseEntity<List<GameDTO>> getAllGames() {
-        logRequest("get all games");
+    /**
+     * Lists of games are tagged with the catalog version taken before reading them. When the client already
+     * holds that version the games are not read at all.
+     */
+    @GetMapping(params = {"!active", "!limit", "!cursor", "!prefix", "!from", "!to", "!createdAfter", "!updatedAfter", "!stream"})
+    public ResponseEntity<List<GameDTO>> getAllGames(@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        requestLogger.logRead("get all games");
+        String eTag = EntityTags.weak(gameService.getCatalogVersion());
+        if (EntityTags.matches(ifNoneMatch, eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
         List<Game> retrievedGames = gameService.getAllGames();
         List<GameDTO> retrievedGameDTOS = retrievedGames.stream().map(this::convertToGameDTO).collect(Collectors.toList());
-        return ResponseEntity.ok().body(retrievedGameDTOS);
+        return ResponseEntity.ok().eTag(eTag).body(retrievedGameDTOS);
+    }
+
+    @GetMapping(params = {"active", "!limit", "!cursor", "!prefix", "!from", "!to", "!createdAfter", "!updatedAfter", "!stream"})
+    public ResponseEntity<List<GameDTO>> getGamesByStatus(@RequestParam boolean active,
+                                                          @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        requestLogger.logRead("get games by status", active);
+        String eTag = EntityTags.weak(gameService.getCatalogVersion());
+        if (EntityTags.matches(ifNoneMatch, eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+        List<Game> retrievedGames = gameService.getGamesByStatus(active);
+        List<GameDTO> retrievedGameDTOS = retrievedGames.stream().map(this::convertToGameDTO).collect(Collectors.toList());
+        return ResponseEntity.ok().eTag(eTag).body(retrievedGameDTOS);
     }
 
+    @GetMapping("/count")
+    public ResponseEntity<Long> countGames(@RequestParam(required = false) Boolean active) {
+        requestLogger.logRead("count games", active);
+        return ResponseEntity.ok().body(gameService.countGames(active));
+    }
+
+    /**
+     * Returns a single page of games ordered by name, optionally narrowed to a name prefix
+     * and/or a [from, to) name range, or ordered by time when createdAfter or updatedAfter is given.
+     * Any of the query parameters selects a page, of DEFAULT_PAGE_SIZE games unless limit is given; the list
+     * endpoints above only answer requests without them.
+     */
+    @GetMapping(params = "!stream")
+    public ResponseEntity<GamePage<GameDTO>> getGamesPage(GameQuery query,
+                                                          @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        requestLogger.logRead("get games page", query);
+        if (query.getLimit() == null) {
+            query.setLimit(DEFAULT_PAGE_SIZE);
+        }
+        checkPageSize(query.getLimit());
+
+        String eTag = EntityTags.weak(gameService.getCatalogVersion());
+        if (EntityTags.matches(ifNoneMatch, eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+        GamePage<Game> retrievedPage = gameService.getGamesPage(query);
+        return ResponseEntity.ok().eTag(eTag).body(retrievedPage.map(this::convertToGameDTO));
+    }
+
+    /**
+     * Streams the whole catalog as a JSON array, walking the name index one page at a time
+     * so that no more than a single page is held in memory while writing the response.
+     */
+    @GetMapping(params = "stream=true")
+    public ResponseEntity<StreamingResponseBody> streamAllGames() {
+        requestLogger.logRead("stream all games");
+
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.createGenerator(outputStream)) {
+                generator.writeStartArray();
+                String cursor = null;
+                do {
+                    GamePage<Game> page = gameService.getGamesPage(new GameQuery(STREAM_PAGE_SIZE, cursor));
+                    for (Game game : page.getGames()) {
+                        generator.writeObject(convertToGameDTO(game));
+                    }
+                    generator.flush();
+                    cursor = page.getNextCursor();
+                } while (cursor != null);
+                generator.writeEndArray();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    /**
+     * With an If-Match header the update only applies to the game version named by the entity tag and fails
+     * with 412 Precondition Failed once another update got in first.
+     */
     @PutMapping()
-    public ResponseEntity<GameDTO> updateGame(@RequestBody @Valid Game game, BindingResult result) {
+    public ResponseEntity<GameDTO> updateGame(@RequestBody @Valid Game game, BindingResult result,
+                                              @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                              @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
 
         checkValidationErrors(result);
-        logRequest("update game", game);
+        requestLogger.logWrite("update game", game);
+        if (ifMatch != null) {
+            game.setExpectedVersion(EntityTags.expectedVersion(ifMatch));
+        }
         Game updatedGame = gameService.updateGame(game);
         GameDTO updatedGameDTO = convertToGameDTO(updatedGame);
-        return ResponseEntity.ok().body(updatedGameDTO);
+        return ResponseEntity.ok().eTag(EntityTags.of(updatedGame.getVersion(), accept)).body(updatedGameDTO);
     }
 
     @DeleteMapping("/{name}")
     public ResponseEntity<Void> deleteGame(@PathVariable String name) {
 
-        logRequest("delete game by name", name);
+        requestLogger.logWrite("delete game by name", name);
         gameService.deleteGame(name);
         return ResponseEntity.ok().build();
     }
 
+    /**
+     * Batch endpoints apply a whole list of games in one request and report a result per item.
+     * With atomic=true the first failed item aborts the batch and reverts the already applied items.
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<List<BatchItemResult<GameDTO>>> createGames(@RequestBody List<Game> games,
+                                                                     @RequestParam(defaultValue = "false") boolean atomic) {
+        checkBatchSize(games);
+        requestLogger.logWrite("create games batch", games.size());
+
+        List<BatchItemResult<Game>> results = gameService.createGames(games, atomic);
+        return ResponseEntity.ok().body(convertToBatchResultDTOs(results));
+    }
+
+    @PutMapping("/batch")
+    public ResponseEntity<List<BatchItemResult<GameDTO>>> updateGames(@RequestBody List<Game> games,
+                                                                     @RequestParam(defaultValue = "false") boolean atomic) {
+        checkBatchSize(games);
+        requestLogger.logWrite("update games batch", games.size());
+
+        List<BatchItemResult<Game>> results = gameService.updateGames(games, atomic);
+        return ResponseEntity.ok().body(convertToBatchResultDTOs(results));
+    }
+
+    @DeleteMapping("/batch")
+    public ResponseEntity<List<BatchItemResult<GameDTO>>> deleteGames(@RequestBody List<String> names,
+                                                                     @RequestParam(defaultValue = "false") boolean atomic) {
+        checkBatchSize(names);
+        requestLogger.logWrite("delete games batch", names.size());
+
+        List<BatchItemResult<Game>> results = gameService.deleteGames(names, atomic);
+        return ResponseEntity.ok().body(convertToBatchResultDTOs(results));
+    }
+
     private void checkValidationErrors(BindingResult result) {
         if (result != null && result.hasErrors()) {
             throw new ValidationException(result.getAllErrors()
@@ -97,26 +243,23 @@ public class GameController {
         }
     }
 
-    private String extractRequesterIp() {
-        ServletRequestAttributes attributes = (ServletRequestAttributes) RequestContextHolder.getRequestAttributes();
-        if (attributes != null) {
-            HttpServletRequest request = attributes.getRequest();
-            return request.getRemoteAddr();
+    private void checkBatchSize(List<?> items) {
+        if (items.size() > MAX_BATCH_SIZE) {
+            throw new ValidationException("Batch cannot contain more than " + MAX_BATCH_SIZE + " items.");
         }
-        return "Unknown";
     }
 
-    private void logRequest(String action, Object... requestData) {
-        String requesterIp = extractRequesterIp();
-        String logMessage = String.format("Request from IP %s to %s", requesterIp, action);
-        if (requestData.length > 0) {
-            logMessage += String.format(": %s", requestData[0]);
+    private void checkPageSize(Integer limit) {
+        if (limit == null || limit <= 0 || limit > MAX_PAGE_SIZE) {
+            throw new ValidationException("Page limit must be between 1 and " + MAX_PAGE_SIZE + ".");
         }
-        logger.info(logMessage);
     }
+
+    private List<BatchItemResult<GameDTO>> convertToBatchResultDTOs(List<BatchItemResult<Game>> results) {
+        return results.stream().map(result -> result.map(this::convertToGameDTO)).collect(Collectors.toList());
+    }
+
     private GameDTO convertToGameDTO(Game game) {
-        GameDTO gameDTO = new GameDTO();
-        BeanUtils.copyProperties(game, gameDTO);
-        return gameDTO;
+        return game.toDTO();
     }
 }
\ No newline at end of file
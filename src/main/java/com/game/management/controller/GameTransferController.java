@@ -0,0 +1,92 @@
+package com.game.management.controller;
+
+import com.game.management.logging.RequestLogger;
+import com.game.management.model.ImportReport;
+import com.game.management.transfer.GameExporter;
+import com.game.management.transfer.GameImporter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import javax.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Bulk export and import of the whole catalog as newline-delimited JSON, gzip compressed when the client asks for
+ * it with Accept-Encoding or sends it with Content-Encoding. Both directions are streamed, so moving a catalog of
+ * any size holds no more than a few pages of games in memory.
+ */
+
+@RestController
+@RequestMapping("/games")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class GameTransferController {
+
+    public static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    private static final int GZIP_BUFFER_SIZE = 1 << 16;
+
+    private final GameExporter gameExporter;
+    private final GameImporter gameImporter;
+    private final RequestLogger requestLogger;
+
+    public GameTransferController(GameExporter gameExporter, GameImporter gameImporter, RequestLogger requestLogger) {
+        this.gameExporter = gameExporter;
+        this.gameImporter = gameImporter;
+        this.requestLogger = requestLogger;
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportGames(@RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        requestLogger.logRead("export games");
+
+        boolean gzip = acceptsGzip(acceptEncoding);
+        StreamingResponseBody body = outputStream ->
+                gameExporter.exportGames(gzip ? new GZIPOutputStream(outputStream, GZIP_BUFFER_SIZE) : outputStream);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(APPLICATION_NDJSON)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+
+    /**
+     * Applies every line of the body and reports the outcome, with the line numbers of the failed records.
+     */
+    @PostMapping("/import")
+    public ResponseEntity<ImportReport> importGames(HttpServletRequest request,
+                                                    @RequestHeader(value = HttpHeaders.CONTENT_ENCODING, required = false) String contentEncoding) throws IOException {
+        requestLogger.logWrite("import games", request.getContentLengthLong());
+
+        InputStream inputStream = request.getInputStream();
+        if ("gzip".equalsIgnoreCase(contentEncoding)) {
+            inputStream = new GZIPInputStream(inputStream, GZIP_BUFFER_SIZE);
+        }
+        return ResponseEntity.ok(gameImporter.importGames(inputStream));
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parameters = coding.split(";");
+            if (parameters[0].trim().equalsIgnoreCase("gzip")) {
+                return parameters.length == 1 || !parameters[1].trim().matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,47 @@
+package com.game.management.controller;
+
+import com.game.management.changes.ReactiveGameChangeFeed;
+import com.game.management.logging.RequestLogger;
+import com.game.management.model.GameChangeBatch;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * The change feed of {@link GameChangeController} served by the reactive stack.
+ */
+
+@RestController
+@RequestMapping("/games/changes")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveGameChangeController {
+
+    private final ReactiveGameChangeFeed changeFeed;
+    private final RequestLogger requestLogger;
+
+    public ReactiveGameChangeController(ReactiveGameChangeFeed changeFeed, RequestLogger requestLogger) {
+        this.changeFeed = changeFeed;
+        this.requestLogger = requestLogger;
+    }
+
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<Object>> streamChanges(@RequestParam(required = false) Long since,
+                                                       @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        requestLogger.logRead("stream game changes", since);
+        return changeFeed.stream(since != null ? since : lastEventId);
+    }
+
+    @GetMapping
+    public Mono<GameChangeBatch> pollChanges(@RequestParam(required = false) Long since,
+                                             @RequestParam(required = false) Long timeoutMs) {
+        requestLogger.logRead("poll game changes", since);
+        return changeFeed.poll(since, timeoutMs);
+    }
+}
@@ -0,0 +1,204 @@
+package com.game.management.controller;
+
+import com.game.management.exception.ValidationException;
+import com.game.management.logging.RequestLogger;
+import com.game.management.model.BatchItemResult;
+import com.game.management.model.Game;
+import com.game.management.model.GameDTO;
+import com.game.management.model.GamePage;
+import com.game.management.model.GameQuery;
+import com.game.management.service.ReactiveGameService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * The /games endpoints of {@link GameController} served by the reactive stack, used when the application runs with
+ * spring.main.web-application-type=reactive. Responses, entity tags and errors are the same as in servlet mode.
+ */
+
+@RestController
+@RequestMapping("/games")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveGameController {
+
+    private static final int MAX_PAGE_SIZE = 1000;
+    private static final int DEFAULT_PAGE_SIZE = 100;
+    private static final int STREAM_PAGE_SIZE = 500;
+    private static final int MAX_BATCH_SIZE = 10000;
+
+    private final ReactiveGameService gameService;
+    private final Validator validator;
+    private final RequestLogger requestLogger;
+
+    public ReactiveGameController(ReactiveGameService gameService, Validator validator, RequestLogger requestLogger) {
+        this.gameService = gameService;
+        this.validator = validator;
+        this.requestLogger = requestLogger;
+    }
+
+    @PostMapping()
+    public Mono<ResponseEntity<GameDTO>> createGame(@RequestBody Game game,
+                                                    @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        checkValidationErrors(game);
+        requestLogger.logWrite("create game", game);
+
+        return gameService.createGame(game)
+                .map(createdGame -> ResponseEntity.ok().eTag(EntityTags.of(createdGame.getVersion(), accept)).body(createdGame.toDTO()));
+    }
+
+    @GetMapping("/{name}")
+    public Mono<ResponseEntity<GameDTO>> getGameByName(@PathVariable String name,
+                                                       @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                                       @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        requestLogger.logRead("get game by name", name);
+
+        return gameService.getGame(name).map(retrievedGame -> {
+            String eTag = EntityTags.of(retrievedGame.getVersion(), accept);
+            if (EntityTags.matches(ifNoneMatch, eTag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).<GameDTO>build();
+            }
+            return ResponseEntity.ok().eTag(eTag).body(retrievedGame.toDTO());
+        });
+    }
+
+    @GetMapping(params = {"!active", "!limit", "!cursor", "!prefix", "!from", "!to", "!createdAfter", "!updatedAfter", "!stream"})
+    public Mono<ResponseEntity<Flux<GameDTO>>> getAllGames(@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        requestLogger.logRead("get all games");
+        return catalogResponse(ifNoneMatch, () -> gameService.getAllGames().map(Game::toDTO));
+    }
+
+    @GetMapping(params = {"active", "!limit", "!cursor", "!prefix", "!from", "!to", "!createdAfter", "!updatedAfter", "!stream"})
+    public Mono<ResponseEntity<Flux<GameDTO>>> getGamesByStatus(@RequestParam boolean active,
+                                                                @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        requestLogger.logRead("get games by status", active);
+        return catalogResponse(ifNoneMatch, () -> gameService.getGamesByStatus(active).map(Game::toDTO));
+    }
+
+    @GetMapping("/count")
+    public Mono<Long> countGames(@RequestParam(required = false) Boolean active) {
+        requestLogger.logRead("count games", active);
+        return gameService.countGames(active);
+    }
+
+    @GetMapping(params = "!stream")
+    public Mono<ResponseEntity<GamePage<GameDTO>>> getGamesPage(GameQuery query,
+                                                                @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        requestLogger.logRead("get games page", query);
+        if (query.getLimit() == null) {
+            query.setLimit(DEFAULT_PAGE_SIZE);
+        }
+        checkPageSize(query.getLimit());
+
+        return gameService.getCatalogVersion().flatMap(catalogVersion -> {
+            String eTag = EntityTags.weak(catalogVersion);
+            if (EntityTags.matches(ifNoneMatch, eTag)) {
+                return Mono.just(ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).<GamePage<GameDTO>>build());
+            }
+            return gameService.getGamesPage(query)
+                    .map(page -> ResponseEntity.ok().eTag(eTag).body(page.map(Game::toDTO)));
+        });
+    }
+
+    /**
+     * Streams the whole catalog as a JSON array, reading the next page of the name index only when the client
+     * took the previous one.
+     */
+    @GetMapping(params = "stream=true")
+    public ResponseEntity<Flux<GameDTO>> streamAllGames() {
+        requestLogger.logRead("stream all games");
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON)
+                .body(gameService.streamAllGames(STREAM_PAGE_SIZE).map(Game::toDTO));
+    }
+
+    @PutMapping()
+    public Mono<ResponseEntity<GameDTO>> updateGame(@RequestBody Game game,
+                                                    @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                    @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        checkValidationErrors(game);
+        requestLogger.logWrite("update game", game);
+        if (ifMatch != null) {
+            game.setExpectedVersion(EntityTags.expectedVersion(ifMatch));
+        }
+        return gameService.updateGame(game)
+                .map(updatedGame -> ResponseEntity.ok().eTag(EntityTags.of(updatedGame.getVersion(), accept)).body(updatedGame.toDTO()));
+    }
+
+    @DeleteMapping("/{name}")
+    public Mono<ResponseEntity<Void>> deleteGame(@PathVariable String name) {
+        requestLogger.logWrite("delete game by name", name);
+        return gameService.deleteGame(name).then(Mono.fromCallable(() -> ResponseEntity.ok().<Void>build()));
+    }
+
+    @PostMapping("/batch")
+    public Flux<BatchItemResult<GameDTO>> createGames(@RequestBody List<Game> games,
+                                                      @RequestParam(defaultValue = "false") boolean atomic) {
+        checkBatchSize(games);
+        requestLogger.logWrite("create games batch", games.size());
+        return gameService.createGames(games, atomic).map(result -> result.map(Game::toDTO));
+    }
+
+    @PutMapping("/batch")
+    public Flux<BatchItemResult<GameDTO>> updateGames(@RequestBody List<Game> games,
+                                                      @RequestParam(defaultValue = "false") boolean atomic) {
+        checkBatchSize(games);
+        requestLogger.logWrite("update games batch", games.size());
+        return gameService.updateGames(games, atomic).map(result -> result.map(Game::toDTO));
+    }
+
+    @DeleteMapping("/batch")
+    public Flux<BatchItemResult<GameDTO>> deleteGames(@RequestBody List<String> names,
+                                                      @RequestParam(defaultValue = "false") boolean atomic) {
+        checkBatchSize(names);
+        requestLogger.logWrite("delete games batch", names.size());
+        return gameService.deleteGames(names, atomic).map(result -> result.map(Game::toDTO));
+    }
+
+    /**
+     * Tags a list of games with the catalog version taken before reading them, which are not read at all when
+     * the client already holds that version.
+     */
+    private Mono<ResponseEntity<Flux<GameDTO>>> catalogResponse(String ifNoneMatch,
+                                                                Supplier<Flux<GameDTO>> games) {
+        return gameService.getCatalogVersion().map(catalogVersion -> {
+            String eTag = EntityTags.weak(catalogVersion);
+            if (EntityTags.matches(ifNoneMatch, eTag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).<Flux<GameDTO>>build();
+            }
+            return ResponseEntity.ok().eTag(eTag).body(games.get());
+        });
+    }
+
+    private void checkValidationErrors(Game game) {
+        Set<ConstraintViolation<Game>> violations = validator.validate(game);
+        if (!violations.isEmpty()) {
+            throw new ValidationException(violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .collect(Collectors.joining(", ")));
+        }
+    }
+
+    private void checkBatchSize(List<?> items) {
+        if (items.size() > MAX_BATCH_SIZE) {
+            throw new ValidationException("Batch cannot contain more than " + MAX_BATCH_SIZE + " items.");
+        }
+    }
+
+    private void checkPageSize(Integer limit) {
+        if (limit == null || limit <= 0 || limit > MAX_PAGE_SIZE) {
+            throw new ValidationException("Page limit must be between 1 and " + MAX_PAGE_SIZE + ".");
+        }
+    }
+}
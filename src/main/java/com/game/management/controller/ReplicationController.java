@@ -0,0 +1,67 @@
+package com.game.management.controller;
+
+import com.game.management.model.GameChange;
+import com.game.management.replication.HttpReplicationTransport;
+import com.game.management.replication.ReplicationBatch;
+import com.game.management.replication.ReplicationNode;
+import com.game.management.replication.ReplicationProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.List;
+
+/**
+ * Endpoints of the HTTP replication transport: batches of changes shipped by the other nodes, and the snapshot of
+ * the catalog fetched by a starting node. When game.replication.token is set, only requests carrying it are served.
+ */
+
+@RestController
+@RequestMapping("/replication")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(prefix = "game.replication", name = "enabled", havingValue = "true")
+public class ReplicationController {
+
+    private final ReplicationNode replicationNode;
+    private final String token;
+
+    public ReplicationController(ReplicationNode replicationNode, ReplicationProperties properties) {
+        this.replicationNode = replicationNode;
+        this.token = properties.getToken();
+    }
+
+    @PostMapping("/batches")
+    public ResponseEntity<Void> receiveBatch(@RequestBody ReplicationBatch batch,
+                                             @RequestHeader(value = HttpReplicationTransport.TOKEN_HEADER, required = false) String requestToken) {
+        if (!isAuthorized(requestToken)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        replicationNode.receive(batch);
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping("/snapshot")
+    public ResponseEntity<List<GameChange>> getSnapshot(@RequestHeader(value = HttpReplicationTransport.TOKEN_HEADER, required = false) String requestToken) {
+        if (!isAuthorized(requestToken)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return ResponseEntity.ok(replicationNode.snapshot());
+    }
+
+    private boolean isAuthorized(String requestToken) {
+        if (token == null || token.isEmpty()) {
+            return true;
+        }
+        return requestToken != null && MessageDigest.isEqual(token.getBytes(StandardCharsets.UTF_8),
+                requestToken.getBytes(StandardCharsets.UTF_8));
+    }
+}
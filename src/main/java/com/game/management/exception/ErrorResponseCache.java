@@ -0,0 +1,79 @@
+package com.game.management.exception;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.LongSupplier;
+
+/**
+ * Error responses reused for repeated errors, such as clients polling a game that does not exist or being rate
+ * limited. The responses are kept in a small table indexed by the hash of the message, a newer error replaces
+ * whatever shares its slot. A cached response is reused for up to a second, so its timestamp tells the time of the
+ * error to within a second.
+ */
+public class ErrorResponseCache {
+
+    private static final int SIZE = 1024;
+    private static final long MAX_AGE_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final AtomicReferenceArray<CachedResponse> responses = new AtomicReferenceArray<>(SIZE);
+    private final LongSupplier nanoClock;
+
+    public ErrorResponseCache() {
+        this(System::nanoTime);
+    }
+
+    ErrorResponseCache(LongSupplier nanoClock) {
+        this.nanoClock = nanoClock;
+    }
+
+    public ResponseEntity<Object> get(HttpStatus status, String message) {
+        return get(status, message, 0);
+    }
+
+    /**
+     * @param retryAfterSeconds value of the Retry-After header, or 0 for none
+     */
+    public ResponseEntity<Object> get(HttpStatus status, String message, long retryAfterSeconds) {
+        long now = nanoClock.getAsLong();
+        int hash = message.hashCode() * 31 + status.value();
+        int slot = (hash ^ (hash >>> 16)) & (SIZE - 1);
+        CachedResponse cached = responses.get(slot);
+        if (cached != null && now - cached.createdAt < MAX_AGE_NANOS && cached.matches(status, message, retryAfterSeconds)) {
+            return cached.response;
+        }
+
+        ResponseEntity.BodyBuilder builder = ResponseEntity.status(status);
+        if (retryAfterSeconds > 0) {
+            builder.header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        }
+        ResponseEntity<Object> response = builder.body(new ErrorResponse(message, status));
+        responses.set(slot, new CachedResponse(status, message, retryAfterSeconds, now, response));
+        return response;
+    }
+
+    private static final class CachedResponse {
+
+        private final HttpStatus status;
+        private final String message;
+        private final long retryAfterSeconds;
+        private final long createdAt;
+        private final ResponseEntity<Object> response;
+
+        private CachedResponse(HttpStatus status, String message, long retryAfterSeconds, long createdAt,
+                               ResponseEntity<Object> response) {
+            this.status = status;
+            this.message = message;
+            this.retryAfterSeconds = retryAfterSeconds;
+            this.createdAt = createdAt;
+            this.response = response;
+        }
+
+        private boolean matches(HttpStatus status, String message, long retryAfterSeconds) {
+            return this.status == status && this.retryAfterSeconds == retryAfterSeconds && this.message.equals(message);
+        }
+    }
+}
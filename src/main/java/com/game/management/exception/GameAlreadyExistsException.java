@@ -1,8 +1,11 @@
 package com.game.management.exception;
 
-public class GameAlreadyExistsException extends RuntimeException  {
+/**
+ * Thrown for names that are already taken. Conflicts are routine, so no stack trace is filled in.
+ */
+public class GameAlreadyExistsException extends RuntimeException {
 
     public GameAlreadyExistsException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 }
\ No newline at end of file
@@ -14,10 +14,14 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 @ControllerAdvice
 public class GlobalExceptionHandler {
 
+    /**
+     * Not-found and conflict outcomes are routine, repeated errors get the same response instead of a new one.
+     */
+    private final ErrorResponseCache errorResponses = new ErrorResponseCache();
+
     @ExceptionHandler(ResourceNotFoundException.class)
     public ResponseEntity<Object> handleResourceNotFoundException(ResourceNotFoundException ex) {
-        return new ResponseEntity<>(new ErrorResponse(ex.getMessage(),
-                HttpStatus.NOT_FOUND), HttpStatus.NOT_FOUND);
+        return errorResponses.get(HttpStatus.NOT_FOUND, ex.getMessage());
     }
 
     @ExceptionHandler(ValidationException.class)
@@ -28,7 +32,22 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler(GameAlreadyExistsException.class)
     public ResponseEntity<Object> handleGameAlreadyExistsException(GameAlreadyExistsException ex) {
+        return errorResponses.get(HttpStatus.CONFLICT, ex.getMessage());
+    }
+
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<Object> handlePreconditionFailedException(PreconditionFailedException ex) {
         return new ResponseEntity<>(new ErrorResponse(ex.getMessage(),
-                HttpStatus.CONFLICT), HttpStatus.CONFLICT);
+                HttpStatus.PRECONDITION_FAILED), HttpStatus.PRECONDITION_FAILED);
+    }
+
+    @ExceptionHandler(RateLimitExceededException.class)
+    public ResponseEntity<Object> handleRateLimitExceededException(RateLimitExceededException ex) {
+        return errorResponses.get(HttpStatus.TOO_MANY_REQUESTS, ex.getMessage(), ex.getRetryAfterSeconds());
+    }
+
+    @ExceptionHandler(ServerOverloadedException.class)
+    public ResponseEntity<Object> handleServerOverloadedException(ServerOverloadedException ex) {
+        return errorResponses.get(HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage(), ex.getRetryAfterSeconds());
     }
 }
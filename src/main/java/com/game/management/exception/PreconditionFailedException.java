@@ -0,0 +1,11 @@
+package com.game.management.exception;
+
+/**
+ * Thrown when a game no longer has the version the client expected. No stack trace is filled in.
+ */
+public class PreconditionFailedException extends RuntimeException {
+
+    public PreconditionFailedException(String message) {
+        super(message, null, false, false);
+    }
+}
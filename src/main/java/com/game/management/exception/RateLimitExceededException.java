@@ -0,0 +1,17 @@
+package com.game.management.exception;
+
+import lombok.Getter;
+
+/**
+ * Thrown for requests over the rate limit of their client. No stack trace is filled in, rejecting has to be cheap.
+ */
+@Getter
+public class RateLimitExceededException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public RateLimitExceededException(String message, long retryAfterSeconds) {
+        super(message, null, false, false);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
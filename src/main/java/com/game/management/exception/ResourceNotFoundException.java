@@ -1,8 +1,11 @@
 package com.game.management.exception;
 
+/**
+ * Thrown for games that do not exist. Misses are routine, so no stack trace is filled in.
+ */
 public class ResourceNotFoundException extends RuntimeException {
 
     public ResourceNotFoundException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 }
\ No newline at end of file
@@ -0,0 +1,17 @@
+package com.game.management.exception;
+
+import lombok.Getter;
+
+/**
+ * Thrown for requests over the concurrency cap. No stack trace is filled in, shedding load has to be cheap.
+ */
+@Getter
+public class ServerOverloadedException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public ServerOverloadedException(String message, long retryAfterSeconds) {
+        super(message, null, false, false);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
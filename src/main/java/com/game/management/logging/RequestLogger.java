@@ -0,0 +1,63 @@
+package com.game.management.logging;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Logs the requests handled by the controllers with parameterized messages.
+ * Nothing is formatted and the requester IP is not resolved unless the request is actually logged,
+ * and only a sample of the read requests is logged.
+ */
+
+@Component
+@EnableConfigurationProperties(RequestLoggingProperties.class)
+public class RequestLogger {
+
+    private static final Logger logger = LoggerFactory.getLogger(RequestLogger.class);
+
+    private final double readSampleRate;
+
+    public RequestLogger(RequestLoggingProperties properties) {
+        this.readSampleRate = properties.getReadSampleRate();
+    }
+
+    public void logRead(String action) {
+        if (isSampled()) {
+            logger.info("Request from IP {} to {}", extractRequesterIp(), action);
+        }
+    }
+
+    public void logRead(String action, Object requestData) {
+        if (isSampled()) {
+            logger.info("Request from IP {} to {}: {}", extractRequesterIp(), action, requestData);
+        }
+    }
+
+    public void logWrite(String action, Object requestData) {
+        if (logger.isInfoEnabled()) {
+            logger.info("Request from IP {} to {}: {}", extractRequesterIp(), action, requestData);
+        }
+    }
+
+    private boolean isSampled() {
+        if (!logger.isInfoEnabled() || readSampleRate <= 0) {
+            return false;
+        }
+        return readSampleRate >= 1 || ThreadLocalRandom.current().nextDouble() < readSampleRate;
+    }
+
+    private String extractRequesterIp() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes) {
+            return ((ServletRequestAttributes) attributes).getRequest().getRemoteAddr();
+        }
+        return "Unknown";
+    }
+}
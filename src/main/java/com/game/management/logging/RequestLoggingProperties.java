@@ -0,0 +1,18 @@
+package com.game.management.logging;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration of the request log, bound from the game.logging.* properties.
+ * The asynchronous appender settings of the same prefix are read by logback-spring.xml.
+ */
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "game.logging")
+public class RequestLoggingProperties {
+
+    private double readSampleRate = 1.0; // share of the read requests that are logged, between 0 and 1
+}
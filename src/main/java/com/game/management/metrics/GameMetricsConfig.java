@@ -0,0 +1,38 @@
+package com.game.management.metrics;
+
+import com.game.management.cache.CachingGameService;
+import com.game.management.service.GameService;
+import com.game.management.service.GameServiceImpl;
+import com.game.management.store.GameStore;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+/**
+ * Puts the metered {@link GameService} in front of the game service, or of its near-cache, and registers the store
+ * meters.
+ * The HTTP endpoints are timed by Spring Boot Actuator as http.server.requests.
+ */
+
+@Configuration
+public class GameMetricsConfig {
+
+    @Bean
+    @Primary
+    public GameService meteredGameService(GameServiceImpl gameService, ObjectProvider<CachingGameService> cachingGameService,
+                                          GameStore gameStore, MeterRegistry registry) {
+        Gauge.builder("game.store.size", gameStore, GameStore::size)
+                .description("Number of games held by the game store")
+                .register(registry);
+        FunctionCounter.builder("game.service.updates.skipped", gameService, GameServiceImpl::getSkippedUpdateCount)
+                .description("Updates skipped because the game already held the same data")
+                .register(registry);
+        // reads served by the near-cache are timed as well
+        CachingGameService cache = cachingGameService.getIfAvailable();
+        return new MeteredGameService(cache != null ? cache : gameService, registry);
+    }
+}
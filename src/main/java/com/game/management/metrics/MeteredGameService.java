@@ -0,0 +1,214 @@
+package com.game.management.metrics;
+
+import com.game.management.exception.GameAlreadyExistsException;
+import com.game.management.exception.PreconditionFailedException;
+import com.game.management.exception.ResourceNotFoundException;
+import com.game.management.exception.ValidationException;
+import com.game.management.model.BatchItemResult;
+import com.game.management.model.BatchItemStatus;
+import com.game.management.model.Game;
+import com.game.management.model.GamePage;
+import com.game.management.model.GameQuery;
+import com.game.management.service.GameService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Supplier;
+
+/**
+ * {@link GameService} decorator recording the latency of every operation in a timer tagged with the operation and
+ * its outcome (success, conflict, not_found, invalid, precondition_failed or error), the status of every batch item in a counter and
+ * the number of active and inactive games in gauges.
+ * Recording an operation costs two clock reads and a timer update. The timers of failed operations are registered
+ * on their first use, so that a scrape does not carry histograms of outcomes that never happened.
+ */
+public class MeteredGameService implements GameService {
+
+    static final String OPERATIONS_METER = "game.service.operations";
+    static final String BATCH_ITEMS_METER = "game.service.batch.items";
+
+    private final GameService gameService;
+
+    private final OperationMeters createMeters;
+    private final OperationMeters getMeters;
+    private final OperationMeters getAllMeters;
+    private final OperationMeters getPageMeters;
+    private final OperationMeters getByStatusMeters;
+    private final OperationMeters countMeters;
+    private final OperationMeters updateMeters;
+    private final OperationMeters deleteMeters;
+    private final OperationMeters createBatchMeters;
+    private final OperationMeters updateBatchMeters;
+    private final OperationMeters deleteBatchMeters;
+
+    public MeteredGameService(GameService gameService, MeterRegistry registry) {
+        this.gameService = gameService;
+        this.createMeters = new OperationMeters(registry, "create");
+        this.getMeters = new OperationMeters(registry, "get");
+        this.getAllMeters = new OperationMeters(registry, "get_all");
+        this.getPageMeters = new OperationMeters(registry, "get_page");
+        this.getByStatusMeters = new OperationMeters(registry, "get_by_status");
+        this.countMeters = new OperationMeters(registry, "count");
+        this.updateMeters = new OperationMeters(registry, "update");
+        this.deleteMeters = new OperationMeters(registry, "delete");
+        this.createBatchMeters = new OperationMeters(registry, "create_batch");
+        this.updateBatchMeters = new OperationMeters(registry, "update_batch");
+        this.deleteBatchMeters = new OperationMeters(registry, "delete_batch");
+
+        Gauge.builder("game.catalog.games", gameService, service -> service.countGames(true))
+                .description("Number of games by isActive status")
+                .tag("status", "active")
+                .register(registry);
+        Gauge.builder("game.catalog.games", gameService, service -> service.countGames(false))
+                .description("Number of games by isActive status")
+                .tag("status", "inactive")
+                .register(registry);
+    }
+
+    @Override
+    public Game createGame(Game game) {
+        return createMeters.record(() -> gameService.createGame(game));
+    }
+
+    @Override
+    public Game getGame(String name) {
+        return getMeters.record(() -> gameService.getGame(name));
+    }
+
+    @Override
+    public List<Game> getAllGames() {
+        return getAllMeters.record(gameService::getAllGames);
+    }
+
+    @Override
+    public GamePage<Game> getGamesPage(GameQuery query) {
+        return getPageMeters.record(() -> gameService.getGamesPage(query));
+    }
+
+    @Override
+    public List<Game> getGamesByStatus(boolean active) {
+        return getByStatusMeters.record(() -> gameService.getGamesByStatus(active));
+    }
+
+    @Override
+    public long countGames(Boolean active) {
+        return countMeters.record(() -> gameService.countGames(active));
+    }
+
+    @Override
+    public long getCatalogVersion() {
+        return gameService.getCatalogVersion();
+    }
+
+    @Override
+    public Game updateGame(Game game) {
+        return updateMeters.record(() -> gameService.updateGame(game));
+    }
+
+    @Override
+    public void deleteGame(String name) {
+        deleteMeters.record(() -> {
+            gameService.deleteGame(name);
+            return null;
+        });
+    }
+
+    @Override
+    public List<BatchItemResult<Game>> createGames(List<Game> games, boolean allOrNothing) {
+        return createBatchMeters.recordBatch(() -> gameService.createGames(games, allOrNothing));
+    }
+
+    @Override
+    public List<BatchItemResult<Game>> updateGames(List<Game> games, boolean allOrNothing) {
+        return updateBatchMeters.recordBatch(() -> gameService.updateGames(games, allOrNothing));
+    }
+
+    @Override
+    public List<BatchItemResult<Game>> deleteGames(List<String> names, boolean allOrNothing) {
+        return deleteBatchMeters.recordBatch(() -> gameService.deleteGames(names, allOrNothing));
+    }
+
+    private enum Outcome {
+        SUCCESS, CONFLICT, NOT_FOUND, INVALID, PRECONDITION_FAILED, ERROR
+    }
+
+    /**
+     * Timers of a single operation by outcome, and counters of its batch items by status.
+     */
+    private static final class OperationMeters {
+
+        private final MeterRegistry registry;
+        private final String operation;
+        private final AtomicReferenceArray<Timer> timers = new AtomicReferenceArray<>(Outcome.values().length);
+        private final Map<BatchItemStatus, Counter> batchItems = new EnumMap<>(BatchItemStatus.class);
+
+        private OperationMeters(MeterRegistry registry, String operation) {
+            this.registry = registry;
+            this.operation = operation;
+            timer(Outcome.SUCCESS);
+            if (operation.endsWith("_batch")) {
+                for (BatchItemStatus status : BatchItemStatus.values()) {
+                    batchItems.put(status, Counter.builder(BATCH_ITEMS_METER)
+                            .description("Batch items by result status")
+                            .tag("operation", operation)
+                            .tag("status", status.name().toLowerCase(Locale.ROOT))
+                            .register(registry));
+                }
+            }
+        }
+
+        private <T> T record(Supplier<T> operation) {
+            long start = System.nanoTime();
+            Outcome outcome = Outcome.ERROR;
+            try {
+                T result = operation.get();
+                outcome = Outcome.SUCCESS;
+                return result;
+            } catch (GameAlreadyExistsException e) {
+                outcome = Outcome.CONFLICT;
+                throw e;
+            } catch (ResourceNotFoundException e) {
+                outcome = Outcome.NOT_FOUND;
+                throw e;
+            } catch (ValidationException e) {
+                outcome = Outcome.INVALID;
+                throw e;
+            } catch (PreconditionFailedException e) {
+                outcome = Outcome.PRECONDITION_FAILED;
+                throw e;
+            } finally {
+                timer(outcome).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        private List<BatchItemResult<Game>> recordBatch(Supplier<List<BatchItemResult<Game>>> operation) {
+            List<BatchItemResult<Game>> results = record(operation);
+            for (BatchItemResult<Game> result : results) {
+                batchItems.get(result.getStatus()).increment();
+            }
+            return results;
+        }
+
+        private Timer timer(Outcome outcome) {
+            Timer timer = timers.get(outcome.ordinal());
+            if (timer == null) {
+                // the registry returns the same timer to racing threads
+                timer = Timer.builder(OPERATIONS_METER)
+                        .description("Latency of the game service operations")
+                        .tag("operation", operation)
+                        .tag("outcome", outcome.name().toLowerCase(Locale.ROOT))
+                        .register(registry);
+                timers.set(outcome.ordinal(), timer);
+            }
+            return timer;
+        }
+    }
+}
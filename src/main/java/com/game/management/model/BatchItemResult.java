@@ -0,0 +1,49 @@
+package com.game.management.model;
+
+import lombok.Getter;
+
+import java.util.function.Function;
+
+/**
+ * Represents the result of a single item of a batch request.
+ * The game is only defined for successfully applied items, the message only for failed ones.
+ *
+ * @param <T> type of the game view, either {@link Game} or {@link GameDTO}
+ */
+
+@Getter
+public class BatchItemResult<T> {
+
+    private final String name;
+    private final BatchItemStatus status;
+    private final T game;
+    private final String message;
+
+    public BatchItemResult(String name, BatchItemStatus status, T game, String message) {
+        this.name = name;
+        this.status = status;
+        this.game = game;
+        this.message = message;
+    }
+
+    public static <T> BatchItemResult<T> success(String name, BatchItemStatus status, T game) {
+        return new BatchItemResult<>(name, status, game, null);
+    }
+
+    public static <T> BatchItemResult<T> failure(String name, BatchItemStatus status, String message) {
+        return new BatchItemResult<>(name, status, null, message);
+    }
+
+    public <R> BatchItemResult<R> map(Function<T, R> mapper) {
+        return new BatchItemResult<>(name, status, game == null ? null : mapper.apply(game), message);
+    }
+
+    @Override
+    public String toString() {
+        return "BatchItemResult{" +
+                "name='" + name + '\'' +
+                ", status=" + status +
+                ", message='" + message + '\'' +
+                '}';
+    }
+}
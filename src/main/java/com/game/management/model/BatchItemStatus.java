@@ -0,0 +1,21 @@
+package com.game.management.model;
+
+/**
+ * Outcome of a single item of a batch create, update or delete request.
+ */
+public enum BatchItemStatus {
+    CREATED,
+    UPDATED,
+    DELETED,
+    CONFLICT,
+    NOT_FOUND,
+    INVALID,
+    // all-or-nothing batches only: the item was applied, then reverted because another item failed
+    ROLLED_BACK,
+    // all-or-nothing batches only: the item was not attempted because an earlier item failed
+    NOT_APPLIED,
+    // the game did not have the version the item expected
+    PRECONDITION_FAILED,
+    // imports only: the item could not be applied because of a server error, like the write-ahead log failing
+    FAILED
+}
@@ -1,10 +1,12 @@
 package com.game.management.model;
 
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
 import java.time.LocalDateTime;
 
 /**
@@ -16,21 +18,54 @@ import java.time.LocalDateTime;
 @Setter
 public class Game {
 
+    /**
+     * Longest game name in characters, which also bounds the size of the records written to disk.
+     */
+    public static final int MAX_NAME_LENGTH = 1000;
+
+    /**
+     * Highest version a game can be imported or replicated with, far below the largest long so that the versions
+     * drawn for local changes after it cannot overflow.
+     */
+    public static final long MAX_VERSION = 1L << 62;
+
     // unique value
     @NotNull(message = "Game name must be defined.")
     @NotBlank(message = "Game name cannot be empty.")
+    @Size(max = MAX_NAME_LENGTH, message = "Game name cannot be longer than " + MAX_NAME_LENGTH + " characters.")
     private String name;
     private String newName; // New name for updates
     private LocalDateTime creationDate;
     private LocalDateTime updateDate;
     @NotNull(message = "Game isActive field must be defined.")
     private Boolean isActive;
+    private long version; // increases with every change of the game, see GameService.getCatalogVersion()
+    private Long expectedVersion; // compare-and-set updates only apply to this version
+
+    // DTO of the last version of the game it was converted to, see toDTO()
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private GameDTO dto;
 
     public Game(String name, Boolean isActive) {
         this.name = name;
         this.isActive = isActive;
     }
 
+    /**
+     * Converts the game into a {@link GameDTO}. Stored games are replaced rather than changed, so the DTO is
+     * created once per game version and reused by every later conversion until a setter changes the game.
+     * Racing threads may each create an equal DTO, as with String.hashCode no synchronization is needed.
+     */
+    public GameDTO toDTO() {
+        GameDTO gameDTO = dto;
+        if (gameDTO == null || !gameDTO.describes(this)) {
+            gameDTO = new GameDTO(name, creationDate, updateDate, isActive, version);
+            dto = gameDTO;
+        }
+        return gameDTO;
+    }
+
     @Override
     public String toString() {
         return "Game{" +
@@ -38,6 +73,7 @@ public class Game {
                 ", creationDate=" + creationDate +
                 ", updateDate=" + updateDate +
                 ", isActive=" + isActive +
+                ", version=" + version +
                 '}';
     }
 }
\ No newline at end of file
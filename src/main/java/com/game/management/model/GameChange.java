@@ -0,0 +1,71 @@
+package com.game.management.model;
+
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Immutable record of a successful game mutation.
+ * Holds the full state of the game after the change, so that applying the changes in order rebuilds the catalog.
+ */
+
+@Getter
+public class GameChange {
+
+    private final GameChangeType type;
+    private final String name;
+    private final String previousName; // defined for renames only
+    private final Boolean isActive;
+    private final LocalDateTime creationDate;
+    private final LocalDateTime updateDate;
+    private final long version;
+
+    public GameChange(GameChangeType type, String name, String previousName, Boolean isActive,
+                      LocalDateTime creationDate, LocalDateTime updateDate, long version) {
+        this.type = type;
+        this.name = name;
+        this.previousName = previousName;
+        this.isActive = isActive;
+        this.creationDate = creationDate;
+        this.updateDate = updateDate;
+        this.version = version;
+    }
+
+    public static GameChange of(GameChangeType type, Game game) {
+        return of(type, game, null);
+    }
+
+    public static GameChange of(GameChangeType type, Game game, String previousName) {
+        return new GameChange(type, game.getName(), previousName, game.getIsActive(),
+                game.getCreationDate(), game.getUpdateDate(), game.getVersion());
+    }
+
+    /**
+     * Deletion of the game, with the version drawn for the deletion itself.
+     */
+    public static GameChange deleted(Game game, long version) {
+        return new GameChange(GameChangeType.DELETED, game.getName(), null, game.getIsActive(),
+                game.getCreationDate(), game.getUpdateDate(), version);
+    }
+
+    public Game toGame() {
+        Game game = new Game(name, isActive);
+        game.setCreationDate(creationDate);
+        game.setUpdateDate(updateDate);
+        game.setVersion(version);
+        return game;
+    }
+
+    @Override
+    public String toString() {
+        return "GameChange{" +
+                "type=" + type +
+                ", name='" + name + '\'' +
+                ", previousName='" + previousName + '\'' +
+                ", isActive=" + isActive +
+                ", creationDate=" + creationDate +
+                ", updateDate=" + updateDate +
+                ", version=" + version +
+                '}';
+    }
+}
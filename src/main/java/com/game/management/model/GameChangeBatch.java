@@ -0,0 +1,41 @@
+package com.game.management.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.Getter;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Changes read from the change feed after a given sequence number.
+ * The last sequence is the one to continue reading after. When the reader fell so far behind that the changes it
+ * missed are no longer kept, the batch holds no changes and requires a resync: the reader has to reload the whole
+ * catalog and continue after the last sequence.
+ */
+
+@Getter
+public class GameChangeBatch {
+
+    private final List<GameChangeEvent> changes;
+    private final long lastSequence;
+    private final boolean resyncRequired;
+
+    public GameChangeBatch(List<GameChangeEvent> changes, long lastSequence, boolean resyncRequired) {
+        this.changes = changes;
+        this.lastSequence = lastSequence;
+        this.resyncRequired = resyncRequired;
+    }
+
+    public static GameChangeBatch empty(long lastSequence) {
+        return new GameChangeBatch(Collections.emptyList(), lastSequence, false);
+    }
+
+    public static GameChangeBatch resync(long lastSequence) {
+        return new GameChangeBatch(Collections.emptyList(), lastSequence, true);
+    }
+
+    @JsonIgnore
+    public boolean isEmpty() {
+        return changes.isEmpty() && !resyncRequired;
+    }
+}
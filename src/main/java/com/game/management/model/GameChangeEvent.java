@@ -0,0 +1,44 @@
+package com.game.management.model;
+
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * A game change as published by the change feed, numbered by its position in the change log.
+ */
+
+@Getter
+public class GameChangeEvent {
+
+    private final long sequence;
+    private final GameChangeType type;
+    private final String name;
+    private final String previousName; // defined for renames only
+    private final Boolean isActive;
+    private final LocalDateTime creationDate;
+    private final LocalDateTime updateDate;
+    private final long version;
+
+    public GameChangeEvent(long sequence, GameChange change) {
+        this.sequence = sequence;
+        this.type = change.getType();
+        this.name = change.getName();
+        this.previousName = change.getPreviousName();
+        this.isActive = change.getIsActive();
+        this.creationDate = change.getCreationDate();
+        this.updateDate = change.getUpdateDate();
+        this.version = change.getVersion();
+    }
+
+    @Override
+    public String toString() {
+        return "GameChangeEvent{" +
+                "sequence=" + sequence +
+                ", type=" + type +
+                ", name='" + name + '\'' +
+                ", previousName='" + previousName + '\'' +
+                ", version=" + version +
+                '}';
+    }
+}
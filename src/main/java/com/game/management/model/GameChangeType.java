@@ -0,0 +1,12 @@
+package com.game.management.model;
+
+/**
+ * Type of a successful game mutation.
+ * Persisted by ordinal in the write-ahead log, so new types must only be appended.
+ */
+public enum GameChangeType {
+    CREATED,
+    UPDATED,
+    RENAMED,
+    DELETED
+}
@@ -2,7 +2,6 @@ package com.game.management.model;
 
 
 import lombok.Getter;
-import lombok.Setter;
 
 import java.time.LocalDateTime;
 
@@ -10,15 +9,35 @@ import java.time.LocalDateTime;
  * Data Transfer Object (DTO) representing a game.
  * This class is used to transfer game data between layers of the application.
  * It is used to represent custom views of the game data.
+ * Instances are immutable, so a single instance can be shared by all the responses for the same game version.
  */
 
 @Getter
-@Setter
 public class GameDTO {
-    private String name;
-    private LocalDateTime creationDate;
-    private LocalDateTime updateDate;
-    private Boolean isActive;
+    private final String name;
+    private final LocalDateTime creationDate;
+    private final LocalDateTime updateDate;
+    private final Boolean isActive;
+    private final long version;
+
+    public GameDTO(String name, LocalDateTime creationDate, LocalDateTime updateDate, Boolean isActive, long version) {
+        this.name = name;
+        this.creationDate = creationDate;
+        this.updateDate = updateDate;
+        this.isActive = isActive;
+        this.version = version;
+    }
+
+    /**
+     * @return true if this DTO was created from the current state of the game
+     */
+    boolean describes(Game game) {
+        return name == game.getName()
+                && creationDate == game.getCreationDate()
+                && updateDate == game.getUpdateDate()
+                && isActive == game.getIsActive()
+                && version == game.getVersion();
+    }
 
     @Override
     public String toString() {
@@ -27,6 +46,7 @@ public class GameDTO {
                 ", creationDate=" + creationDate +
                 ", updateDate=" + updateDate +
                 ", isActive=" + isActive +
+                ", version=" + version +
                 '}';
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,34 @@
+package com.game.management.model;
+
+import lombok.Getter;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Represents a single page of games walked from the name-ordered index.
+ * The next cursor is opaque to clients and is null when there are no more games to read.
+ *
+ * @param <T> type of the page items, either {@link Game} or {@link GameDTO}
+ */
+
+@Getter
+public class GamePage<T> {
+
+    private final List<T> games;
+    private final String nextCursor;
+
+    public GamePage(List<T> games, String nextCursor) {
+        this.games = games;
+        this.nextCursor = nextCursor;
+    }
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+
+    public <R> GamePage<R> map(Function<T, R> mapper) {
+        return new GamePage<>(games.stream().map(mapper).collect(Collectors.toList()), nextCursor);
+    }
+}
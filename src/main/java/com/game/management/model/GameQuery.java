@@ -0,0 +1,51 @@
+package com.game.management.model;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+
+/**
+ * Represents a paged query over the name-ordered game index, optionally narrowed to active or inactive games.
+ * With createdAfter or updatedAfter the query walks the time-ordered index of creation or last change instead.
+ * Bound from the query parameters of GET /games requests.
+ */
+
+@Getter
+@Setter
+public class GameQuery {
+
+    private Integer limit;
+    private String cursor; // nextCursor of the previous page
+    private String prefix; // names starting with
+    private String from; // inclusive lower name bound
+    private String to; // exclusive upper name bound
+    private Boolean active; // isActive status, both when not defined
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime createdAfter; // exclusive lower bound of the creation date
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime updatedAfter; // exclusive lower bound of the last change, the creation date if never updated
+
+    public GameQuery() {
+    }
+
+    public GameQuery(Integer limit, String cursor) {
+        this.limit = limit;
+        this.cursor = cursor;
+    }
+
+    @Override
+    public String toString() {
+        return "GameQuery{" +
+                "limit=" + limit +
+                ", cursor='" + cursor + '\'' +
+                ", prefix='" + prefix + '\'' +
+                ", from='" + from + '\'' +
+                ", to='" + to + '\'' +
+                ", active=" + active +
+                ", createdAfter=" + createdAfter +
+                ", updatedAfter=" + updatedAfter +
+                '}';
+    }
+}
@@ -0,0 +1,33 @@
+package com.game.management.model;
+
+import lombok.Getter;
+
+/**
+ * A record of a bulk import that was not applied, identified by its line number.
+ */
+
+@Getter
+public class ImportError {
+
+    private final long line;
+    private final String name;
+    private final BatchItemStatus status;
+    private final String message;
+
+    public ImportError(long line, String name, BatchItemStatus status, String message) {
+        this.line = line;
+        this.name = name;
+        this.status = status;
+        this.message = message;
+    }
+
+    @Override
+    public String toString() {
+        return "ImportError{" +
+                "line=" + line +
+                ", name='" + name + '\'' +
+                ", status=" + status +
+                ", message='" + message + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,41 @@
+package com.game.management.model;
+
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk import: the number of records read, created, updated, skipped because the stored game is at
+ * least as new, and failed. Only the first failed records are listed, see game.transfer.max-reported-errors.
+ */
+
+@Getter
+public class ImportReport {
+
+    private final long records;
+    private final long created;
+    private final long updated;
+    private final long skipped;
+    private final long failed;
+    private final List<ImportError> errors;
+
+    public ImportReport(long records, long created, long updated, long skipped, long failed, List<ImportError> errors) {
+        this.records = records;
+        this.created = created;
+        this.updated = updated;
+        this.skipped = skipped;
+        this.failed = failed;
+        this.errors = errors;
+    }
+
+    @Override
+    public String toString() {
+        return "ImportReport{" +
+                "records=" + records +
+                ", created=" + created +
+                ", updated=" + updated +
+                ", skipped=" + skipped +
+                ", failed=" + failed +
+                '}';
+    }
+}
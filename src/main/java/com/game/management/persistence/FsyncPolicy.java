@@ -0,0 +1,13 @@
+package com.game.management.persistence;
+
+/**
+ * Defines when appended write-ahead log records are forced to disk.
+ */
+public enum FsyncPolicy {
+    // every write waits until its record is on disk, concurrent writers share a single fsync
+    ALWAYS,
+    // writes return immediately, the log is forced to disk every fsync interval
+    BATCHED,
+    // the log is never forced explicitly, flushing is left to the operating system
+    NEVER
+}
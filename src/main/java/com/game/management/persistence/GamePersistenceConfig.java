@@ -0,0 +1,23 @@
+package com.game.management.persistence;
+
+import com.game.management.service.GameServiceImpl;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Enables the write-ahead log and snapshot persistence of the game catalog when game.persistence.enabled=true.
+ */
+
+@Configuration
+@ConditionalOnProperty(prefix = "game.persistence", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(GamePersistenceProperties.class)
+public class GamePersistenceConfig {
+
+    @Bean
+    public GamePersistenceManager gamePersistenceManager(GameServiceImpl gameService,
+                                                         GamePersistenceProperties properties) {
+        return new GamePersistenceManager(gameService, properties);
+    }
+}
@@ -0,0 +1,201 @@
+package com.game.management.persistence;
+
+import com.game.management.model.Game;
+import com.game.management.model.GameChange;
+import com.game.management.model.GamePage;
+import com.game.management.model.GameQuery;
+import com.game.management.service.GameChangeListener;
+import com.game.management.service.GameServiceImpl;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.OptionalLong;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Makes the game catalog durable across restarts.
+ * Every change published by the {@link GameServiceImpl} is appended to the write-ahead log, and the whole
+ * catalog is periodically written to a snapshot, after which the log segments it covers are deleted.
+ * On startup the latest snapshot is loaded and only the log segments written after it are replayed.
+ */
+public class GamePersistenceManager implements GameChangeListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(GamePersistenceManager.class);
+
+    private static final int SNAPSHOT_PAGE_SIZE = 1000;
+
+    private final GameServiceImpl gameService;
+    private final GamePersistenceProperties properties;
+    private final Path directory;
+
+    /**
+     * End of the last record appended for each writing thread and not yet forced to disk.
+     */
+    private final Map<Thread, Long> pendingSyncs = new ConcurrentHashMap<>();
+
+    private GameWriteAheadLog writeAheadLog;
+    private GameSnapshotStore snapshotStore;
+    private ScheduledExecutorService scheduler;
+
+    public GamePersistenceManager(GameServiceImpl gameService, GamePersistenceProperties properties) {
+        this.gameService = gameService;
+        this.properties = properties;
+        this.directory = Paths.get(properties.getDirectory());
+    }
+
+    @PostConstruct
+    public void start() throws IOException {
+        snapshotStore = new GameSnapshotStore(directory);
+        recover();
+
+        writeAheadLog = new GameWriteAheadLog(directory, properties.getFsyncPolicy());
+        gameService.addChangeListener(this);
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "game-persistence");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (properties.getFsyncPolicy() == FsyncPolicy.BATCHED) {
+            scheduler.scheduleWithFixedDelay(this::syncQuietly, properties.getFsyncIntervalMs(),
+                    properties.getFsyncIntervalMs(), TimeUnit.MILLISECONDS);
+        }
+        if (properties.getSnapshotIntervalMs() > 0) {
+            scheduler.scheduleWithFixedDelay(this::snapshotQuietly, properties.getSnapshotIntervalMs(),
+                    properties.getSnapshotIntervalMs(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    public void onChange(GameChange change) {
+        long position = writeAheadLog.append(change);
+        if (properties.getFsyncPolicy() == FsyncPolicy.ALWAYS) {
+            pendingSyncs.merge(GameServiceImpl.callingThread(), position, Math::max);
+        }
+    }
+
+    /**
+     * With the {@link FsyncPolicy#ALWAYS} policy forces the records of the calling thread to disk once it released
+     * the changed games, so that the fsync does not hold up writes of other games waiting for the same store lock.
+     */
+    @Override
+    public void onChangesVisible() {
+        Long position = pendingSyncs.remove(GameServiceImpl.callingThread());
+        if (position != null) {
+            writeAheadLog.syncTo(position);
+        }
+    }
+
+    /**
+     * Writes the current catalog to a new snapshot and deletes the log segments it covers.
+     * The snapshot is taken while writes continue. A change is appended to the log before the service installs it,
+     * so a change appended to the segment closed by the rotation may still be missed by the scan: the snapshot is
+     * replayed from that segment on, which is only deleted by the next snapshot. Replaying changes already in the
+     * snapshot is idempotent because every record holds the full game state.
+     */
+    public synchronized void snapshot() throws IOException {
+        long firstReplayedSegment = writeAheadLog.rotate() - 1;
+        snapshotStore.write(firstReplayedSegment, catalogIterator());
+        writeAheadLog.deleteSegmentsBefore(firstReplayedSegment);
+    }
+
+    @PreDestroy
+    public void stop() throws IOException {
+        if (scheduler != null) {
+            scheduler.shutdown();
+        }
+        if (writeAheadLog != null) {
+            writeAheadLog.close();
+        }
+    }
+
+    private void recover() throws IOException {
+        Map<String, Game> games = new HashMap<>();
+        long firstSegment = 0;
+
+        OptionalLong latestSnapshot = snapshotStore.latest();
+        if (latestSnapshot.isPresent()) {
+            firstSegment = latestSnapshot.getAsLong();
+            long count = snapshotStore.load(firstSegment, change -> applyChange(games, change));
+            logger.info("Loaded snapshot {} with {} games", firstSegment, count);
+        }
+
+        for (Path segment : GameWriteAheadLog.segmentsFrom(directory, firstSegment)) {
+            long count = GameRecordCodec.readAll(segment, change -> applyChange(games, change));
+            logger.info("Replayed {} changes from {}", count, segment.getFileName());
+        }
+
+        gameService.loadGames(games.values());
+    }
+
+    private void applyChange(Map<String, Game> games, GameChange change) {
+        switch (change.getType()) {
+            case CREATED:
+            case UPDATED:
+                games.put(change.getName(), change.toGame());
+                break;
+            case RENAMED:
+                games.remove(change.getPreviousName());
+                games.put(change.getName(), change.toGame());
+                break;
+            case DELETED:
+                games.remove(change.getName());
+                break;
+            default:
+                throw new IllegalStateException("Unknown game change type: " + change.getType());
+        }
+    }
+
+    private Iterator<Game> catalogIterator() {
+        return new Iterator<Game>() {
+
+            private GamePage<Game> page = gameService.getGamesPage(new GameQuery(SNAPSHOT_PAGE_SIZE, null));
+            private Iterator<Game> games = page.getGames().iterator();
+
+            @Override
+            public boolean hasNext() {
+                while (!games.hasNext() && page.hasNext()) {
+                    page = gameService.getGamesPage(new GameQuery(SNAPSHOT_PAGE_SIZE, page.getNextCursor()));
+                    games = page.getGames().iterator();
+                }
+                return games.hasNext();
+            }
+
+            @Override
+            public Game next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return games.next();
+            }
+        };
+    }
+
+    private void syncQuietly() {
+        try {
+            writeAheadLog.sync();
+        } catch (RuntimeException e) {
+            logger.error("Could not fsync the write-ahead log", e);
+        }
+    }
+
+    private void snapshotQuietly() {
+        try {
+            snapshot();
+        } catch (IOException | RuntimeException e) {
+            logger.error("Could not write a snapshot of the game catalog", e);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.game.management.persistence;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration of the game catalog persistence, bound from the game.persistence.* properties.
+ */
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "game.persistence")
+public class GamePersistenceProperties {
+
+    private boolean enabled;
+    private String directory = "gamedata";
+    private FsyncPolicy fsyncPolicy = FsyncPolicy.BATCHED;
+    private long fsyncIntervalMs = 10;
+    private long snapshotIntervalMs = 60000;
+}
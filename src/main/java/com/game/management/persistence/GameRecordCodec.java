@@ -0,0 +1,194 @@
+package com.game.management.persistence;
+
+import com.game.management.model.Game;
+import com.game.management.model.GameChange;
+import com.game.management.model.GameChangeType;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.function.Consumer;
+import java.util.function.ObjLongConsumer;
+import java.util.zip.CRC32;
+
+/**
+ * Binary encoding of {@link GameChange} records shared by the write-ahead log, the snapshots and the file game store.
+ * Every record is framed as [payload length][CRC32 of payload][payload], so torn or corrupted
+ * records at the tail of a file can be detected on recovery. A length beyond the largest possible record counts as
+ * corrupted too, so recovery never allocates for it.
+ * The game version is the last field of the payload and reads as 0 from records written before it was added.
+ */
+public final class GameRecordCodec {
+
+    private static final int HEADER_SIZE = 8;
+    private static final int NO_VALUE = -1;
+
+    /**
+     * Payload of a change with two names of the longest length, each char taking up to 3 bytes in UTF-8. A record
+     * header claiming more is corrupted.
+     */
+    static final int MAX_PAYLOAD_SIZE = 1 + 4 + 3 * Game.MAX_NAME_LENGTH + 4 + 3 * Game.MAX_NAME_LENGTH + 1 + 12 + 12 + 8;
+
+    private GameRecordCodec() {
+    }
+
+    public static ByteBuffer encode(GameChange change) {
+        byte[] name = change.getName().getBytes(StandardCharsets.UTF_8);
+        byte[] previousName = change.getPreviousName() == null
+                ? null
+                : change.getPreviousName().getBytes(StandardCharsets.UTF_8);
+
+        int payloadSize = 1 + 4 + name.length + 4 + (previousName == null ? 0 : previousName.length) + 1 + 12 + 12 + 8;
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + payloadSize);
+        buffer.putInt(payloadSize);
+        buffer.putInt(0); // CRC placeholder
+
+        buffer.put((byte) change.getType().ordinal());
+        putBytes(buffer, name);
+        putBytes(buffer, previousName);
+        buffer.put(change.getIsActive() == null ? 2 : (byte) (change.getIsActive() ? 1 : 0));
+        putDate(buffer, change.getCreationDate());
+        putDate(buffer, change.getUpdateDate());
+        buffer.putLong(change.getVersion());
+
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array(), HEADER_SIZE, payloadSize);
+        buffer.putInt(4, (int) crc.getValue());
+        buffer.flip();
+        return buffer;
+    }
+
+    /**
+     * Reads the records of the file in order, stopping at the first torn or corrupted record.
+     *
+     * @return number of records read
+     */
+    public static long readAll(Path file, Consumer<GameChange> consumer) throws IOException {
+        long[] count = new long[1];
+        readRecords(file, (change, position) -> {
+            consumer.accept(change);
+            count[0]++;
+        });
+        return count[0];
+    }
+
+    /**
+     * Reads the records of the file in order together with their positions in the file,
+     * stopping at the first torn or corrupted record.
+     *
+     * @return position right after the last valid record
+     */
+    public static long readRecords(Path file, ObjLongConsumer<GameChange> consumer) throws IOException {
+        long position = 0;
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), 1 << 16))) {
+            while (true) {
+                int payloadSize = input.readInt();
+                int checksum = input.readInt();
+                if (payloadSize <= 0 || payloadSize > MAX_PAYLOAD_SIZE) {
+                    break;
+                }
+                byte[] payload = new byte[payloadSize];
+                input.readFully(payload);
+                if (checksum(payload) != checksum) {
+                    break;
+                }
+                consumer.accept(decode(ByteBuffer.wrap(payload)), position);
+                position += HEADER_SIZE + payloadSize;
+            }
+        } catch (EOFException e) {
+            // torn record at the end of the file
+        }
+        return position;
+    }
+
+    /**
+     * Reads the record written at the given position of the channel.
+     */
+    public static GameChange readAt(FileChannel channel, long position) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        readFully(channel, header, position);
+        int payloadSize = header.getInt(0);
+        int checksum = header.getInt(4);
+        if (payloadSize <= 0 || payloadSize > MAX_PAYLOAD_SIZE) {
+            throw new IOException("Corrupted game record at position " + position);
+        }
+
+        ByteBuffer payload = ByteBuffer.allocate(payloadSize);
+        readFully(channel, payload, position + HEADER_SIZE);
+        if (checksum(payload.array()) != checksum) {
+            throw new IOException("Corrupted game record at position " + position);
+        }
+        return decode(payload);
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position + buffer.position());
+            if (read < 0) {
+                throw new EOFException("Unexpected end of file at position " + position);
+            }
+        }
+        buffer.flip();
+    }
+
+    private static int checksum(byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(payload, 0, payload.length);
+        return (int) crc.getValue();
+    }
+
+    private static GameChange decode(ByteBuffer payload) {
+        GameChangeType type = GameChangeType.values()[payload.get()];
+        String name = getString(payload);
+        String previousName = getString(payload);
+        byte isActive = payload.get();
+        LocalDateTime creationDate = getDate(payload);
+        LocalDateTime updateDate = getDate(payload);
+        long version = payload.remaining() >= 8 ? payload.getLong() : 0;
+        return new GameChange(type, name, previousName, isActive == 2 ? null : isActive == 1,
+                creationDate, updateDate, version);
+    }
+
+    private static void putBytes(ByteBuffer buffer, byte[] bytes) {
+        if (bytes == null) {
+            buffer.putInt(NO_VALUE);
+        } else {
+            buffer.putInt(bytes.length);
+            buffer.put(bytes);
+        }
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length == NO_VALUE) {
+            return null;
+        }
+        String value = new String(buffer.array(), buffer.position(), length, StandardCharsets.UTF_8);
+        buffer.position(buffer.position() + length);
+        return value;
+    }
+
+    private static void putDate(ByteBuffer buffer, LocalDateTime date) {
+        if (date == null) {
+            buffer.putLong(Long.MIN_VALUE);
+            buffer.putInt(0);
+        } else {
+            buffer.putLong(date.toEpochSecond(ZoneOffset.UTC));
+            buffer.putInt(date.getNano());
+        }
+    }
+
+    private static LocalDateTime getDate(ByteBuffer buffer) {
+        long epochSecond = buffer.getLong();
+        int nano = buffer.getInt();
+        return epochSecond == Long.MIN_VALUE ? null : LocalDateTime.ofEpochSecond(epochSecond, nano, ZoneOffset.UTC);
+    }
+}
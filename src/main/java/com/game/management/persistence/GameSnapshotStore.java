@@ -0,0 +1,115 @@
+package com.game.management.persistence;
+
+import com.game.management.model.Game;
+import com.game.management.model.GameChange;
+import com.game.management.model.GameChangeType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Compact snapshots of the whole game catalog (snapshot-&lt;segment&gt;.snap).
+ * The number of a snapshot is the first write-ahead log segment that has to be replayed on top of it.
+ * Snapshots are written to a temporary file and atomically moved in place once forced to disk,
+ * so a crash while writing never leaves a partial snapshot behind.
+ */
+public class GameSnapshotStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(GameSnapshotStore.class);
+
+    private static final String SNAPSHOT_PREFIX = "snapshot-";
+    private static final String SNAPSHOT_SUFFIX = ".snap";
+    private static final int WRITE_BUFFER_SIZE = 1 << 16;
+
+    private final Path directory;
+
+    public GameSnapshotStore(Path directory) throws IOException {
+        this.directory = directory;
+        Files.createDirectories(directory);
+    }
+
+    public void write(long firstSegment, Iterator<Game> games) throws IOException {
+        Path snapshot = snapshotPath(firstSegment);
+        Path temporarySnapshot = directory.resolve(snapshot.getFileName() + ".tmp");
+        long count = 0;
+
+        try (FileChannel channel = FileChannel.open(temporarySnapshot, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocate(WRITE_BUFFER_SIZE);
+            while (games.hasNext()) {
+                ByteBuffer record = GameRecordCodec.encode(GameChange.of(GameChangeType.CREATED, games.next()));
+                if (record.remaining() > buffer.remaining()) {
+                    flush(channel, buffer);
+                }
+                if (record.remaining() > buffer.capacity()) {
+                    writeFully(channel, record);
+                } else {
+                    buffer.put(record);
+                }
+                count++;
+            }
+            flush(channel, buffer);
+            channel.force(true);
+        }
+        Files.move(temporarySnapshot, snapshot, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+
+        for (long olderSnapshot : listSnapshots()) {
+            if (olderSnapshot < firstSegment) {
+                Files.deleteIfExists(snapshotPath(olderSnapshot));
+            }
+        }
+        logger.info("Written snapshot {} with {} games", firstSegment, count);
+    }
+
+    /**
+     * @return number of the latest snapshot, if any
+     */
+    public OptionalLong latest() throws IOException {
+        List<Long> snapshots = listSnapshots();
+        return snapshots.isEmpty() ? OptionalLong.empty() : OptionalLong.of(snapshots.get(snapshots.size() - 1));
+    }
+
+    public long load(long snapshotNumber, Consumer<GameChange> consumer) throws IOException {
+        return GameRecordCodec.readAll(snapshotPath(snapshotNumber), consumer);
+    }
+
+    private void flush(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        writeFully(channel, buffer);
+        buffer.clear();
+    }
+
+    private void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private Path snapshotPath(long snapshotNumber) {
+        return directory.resolve(SNAPSHOT_PREFIX + snapshotNumber + SNAPSHOT_SUFFIX);
+    }
+
+    private List<Long> listSnapshots() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(file -> file.getFileName().toString())
+                    .filter(name -> name.startsWith(SNAPSHOT_PREFIX) && name.endsWith(SNAPSHOT_SUFFIX))
+                    .map(name -> Long.parseLong(name.substring(SNAPSHOT_PREFIX.length(),
+                            name.length() - SNAPSHOT_SUFFIX.length())))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+}
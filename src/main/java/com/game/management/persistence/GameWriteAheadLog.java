@@ -0,0 +1,187 @@
+package com.game.management.persistence;
+
+import com.game.management.model.GameChange;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Append-only log of game changes, split into numbered segment files (wal-&lt;segment&gt;.log).
+ * A new segment is started on every open and on every snapshot, so that segments covered by
+ * a snapshot can simply be deleted.
+ * <p>
+ * With the {@link FsyncPolicy#ALWAYS} policy appends are group committed: a writer waiting in {@link #syncTo} for its
+ * record to be forced to disk is released by any fsync started after its append, so concurrent writers share fsyncs.
+ * Appending never waits for the disk, so the writer forces its records once it released the changed games.
+ */
+public class GameWriteAheadLog implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(GameWriteAheadLog.class);
+
+    private static final String SEGMENT_PREFIX = "wal-";
+    private static final String SEGMENT_SUFFIX = ".log";
+
+    private final Path directory;
+    private final FsyncPolicy fsyncPolicy;
+
+    // lock ordering: syncLock is always taken before writeLock
+    private final Object writeLock = new Object();
+    private final Object syncLock = new Object();
+
+    private FileChannel channel;
+    private long segment;
+    private long writtenBytes; // total bytes appended since opening, guarded by writeLock
+    private long syncedBytes; // total bytes forced to disk since opening, guarded by syncLock
+
+    public GameWriteAheadLog(Path directory, FsyncPolicy fsyncPolicy) throws IOException {
+        this.directory = directory;
+        this.fsyncPolicy = fsyncPolicy;
+        Files.createDirectories(directory);
+
+        List<Long> segments = listSegments(directory);
+        this.segment = segments.isEmpty() ? 1 : segments.get(segments.size() - 1) + 1;
+        this.channel = openSegment(segment);
+    }
+
+    /**
+     * @return position of the end of the record, to be passed to {@link #syncTo}
+     */
+    public long append(GameChange change) {
+        ByteBuffer record = GameRecordCodec.encode(change);
+        synchronized (writeLock) {
+            try {
+                while (record.hasRemaining()) {
+                    channel.write(record);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not append to write-ahead log segment " + segment, e);
+            }
+            writtenBytes += record.limit();
+            return writtenBytes;
+        }
+    }
+
+    /**
+     * Forces all records appended so far to disk.
+     */
+    public void sync() {
+        long position;
+        synchronized (writeLock) {
+            position = writtenBytes;
+        }
+        syncTo(position);
+    }
+
+    /**
+     * Starts a new segment. Records appended afterwards go to the new segment only.
+     *
+     * @return number of the new segment
+     */
+    public long rotate() throws IOException {
+        synchronized (syncLock) {
+            synchronized (writeLock) {
+                if (fsyncPolicy != FsyncPolicy.NEVER) {
+                    channel.force(false);
+                    syncedBytes = writtenBytes;
+                }
+                channel.close();
+                segment++;
+                channel = openSegment(segment);
+                return segment;
+            }
+        }
+    }
+
+    /**
+     * Deletes the segments older than the given one, once they are covered by a snapshot.
+     */
+    public void deleteSegmentsBefore(long firstRetainedSegment) throws IOException {
+        for (long oldSegment : listSegments(directory)) {
+            if (oldSegment < firstRetainedSegment) {
+                Files.deleteIfExists(segmentPath(directory, oldSegment));
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (syncLock) {
+            synchronized (writeLock) {
+                if (fsyncPolicy != FsyncPolicy.NEVER) {
+                    channel.force(false);
+                }
+                channel.close();
+            }
+        }
+    }
+
+    /**
+     * Lists the segment files of the directory from the given segment on, in append order.
+     */
+    public static List<Path> segmentsFrom(Path directory, long firstSegment) throws IOException {
+        return listSegments(directory).stream()
+                .filter(segment -> segment >= firstSegment)
+                .map(segment -> segmentPath(directory, segment))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Forces the records appended up to the given position to disk, unless an fsync already did.
+     */
+    public void syncTo(long position) {
+        synchronized (syncLock) {
+            if (syncedBytes >= position) {
+                // a concurrent fsync already covered this record
+                return;
+            }
+            FileChannel target;
+            long targetPosition;
+            synchronized (writeLock) {
+                target = channel;
+                targetPosition = writtenBytes;
+            }
+            try {
+                target.force(false);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not fsync write-ahead log segment " + segment, e);
+            }
+            syncedBytes = targetPosition;
+        }
+    }
+
+    private FileChannel openSegment(long segmentNumber) throws IOException {
+        logger.info("Opening write-ahead log segment {}", segmentNumber);
+        return FileChannel.open(segmentPath(directory, segmentNumber),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    private static Path segmentPath(Path directory, long segmentNumber) {
+        return directory.resolve(SEGMENT_PREFIX + segmentNumber + SEGMENT_SUFFIX);
+    }
+
+    private static List<Long> listSegments(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return Collections.emptyList();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(file -> file.getFileName().toString())
+                    .filter(name -> name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX))
+                    .map(name -> Long.parseLong(name.substring(SEGMENT_PREFIX.length(),
+                            name.length() - SEGMENT_SUFFIX.length())))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.game.management.ratelimit;
+
+/**
+ * A token bucket of the given capacity refilled at a constant rate, expressed in nanoseconds:
+ * one token is added every emission interval and a full bucket holds capacity intervals.
+ */
+public final class RateLimit {
+
+    private final long emissionIntervalNanos;
+    private final long burstNanos;
+
+    private RateLimit(long emissionIntervalNanos, long burstNanos) {
+        this.emissionIntervalNanos = emissionIntervalNanos;
+        this.burstNanos = burstNanos;
+    }
+
+    public static RateLimit of(int capacity, double refillPerSecond) {
+        if (capacity <= 0 || refillPerSecond <= 0) {
+            throw new IllegalArgumentException("Rate limit capacity and refill rate must be positive");
+        }
+        long emissionIntervalNanos = Math.max(1, Math.round(1_000_000_000d / refillPerSecond));
+        return new RateLimit(emissionIntervalNanos, emissionIntervalNanos * capacity);
+    }
+
+    public static RateLimit of(RateLimitProperties.Limit limit) {
+        return of(limit.getCapacity(), limit.getRefillPerSecond());
+    }
+
+    long getEmissionIntervalNanos() {
+        return emissionIntervalNanos;
+    }
+
+    long getBurstNanos() {
+        return burstNanos;
+    }
+}
@@ -0,0 +1,157 @@
+package com.game.management.ratelimit;
+
+import com.game.management.exception.RateLimitExceededException;
+import com.game.management.exception.ServerOverloadedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import javax.servlet.DispatcherType;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Admission control in front of the game controllers. Requests first count against a global cap of concurrent
+ * requests, beyond which they fail with 503 Service Unavailable instead of queuing up for a thread, without costing
+ * the client a token. Every client, identified by a configured API key or else by its IP address, then takes a token
+ * per request from its bucket, shared by all endpoints without a limit of their own. Requests over the limit fail
+ * with 429 Too Many Requests. Asynchronous requests (long polls and streams) only count until their handler returns.
+ */
+public class RateLimitInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String ADMITTED_ATTRIBUTE = RateLimitInterceptor.class.getName() + ".ADMITTED";
+    private static final String REJECTED_METER = "game.requests.rejected";
+
+    private final RateLimiter rateLimiter;
+    private final RateLimit defaultLimit;
+    private final Map<String, RateLimit> endpointLimits = new HashMap<>();
+    private final String apiKeyHeader;
+    private final Set<String> apiKeys;
+    private final int maxConcurrentRequests;
+    private final long overloadRetryAfterSeconds;
+    private final MeterRegistry registry;
+
+    private final AtomicInteger inFlightRequests = new AtomicInteger();
+    private final Map<Method, Endpoint> endpoints = new ConcurrentHashMap<>();
+
+    public RateLimitInterceptor(RateLimitProperties properties, MeterRegistry registry) {
+        this.rateLimiter = new RateLimiter(properties.getMaxClients());
+        this.defaultLimit = RateLimit.of(properties.getDefaultLimit());
+        properties.getEndpoints().forEach((endpoint, limit) -> endpointLimits.put(endpoint, RateLimit.of(limit)));
+        this.apiKeyHeader = properties.getApiKeyHeader();
+        this.apiKeys = new HashSet<>(properties.getApiKeys());
+        this.maxConcurrentRequests = properties.getMaxConcurrentRequests();
+        this.overloadRetryAfterSeconds = properties.getOverloadRetryAfterSeconds();
+        this.registry = registry;
+        Gauge.builder("game.requests.in.flight", inFlightRequests, AtomicInteger::get)
+                .description("Number of admitted requests being handled")
+                .register(registry);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getDispatcherType() == DispatcherType.ASYNC || !(handler instanceof HandlerMethod)) {
+            // the asynchronous dispatch of a request was admitted with the request itself
+            return true;
+        }
+        Endpoint endpoint = endpoints.computeIfAbsent(((HandlerMethod) handler).getMethod(), this::endpoint);
+
+        if (!tryEnter()) {
+            endpoint.overloaded.increment();
+            throw new ServerOverloadedException("Server is overloaded, retry later.", overloadRetryAfterSeconds);
+        }
+        String client = clientKey(request);
+        long waitNanos = rateLimiter.tryAcquire(endpoint.ownLimit ? endpoint.name + ' ' + client : client, endpoint.limit);
+        if (waitNanos > 0) {
+            inFlightRequests.decrementAndGet();
+            endpoint.rateLimited.increment();
+            throw new RateLimitExceededException("Too many requests to " + endpoint.name + ", retry later.",
+                    Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1)));
+        }
+        request.setAttribute(ADMITTED_ATTRIBUTE, Boolean.TRUE);
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        leave(request);
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        leave(request);
+    }
+
+    int getInFlightRequests() {
+        return inFlightRequests.get();
+    }
+
+    private boolean tryEnter() {
+        if (maxConcurrentRequests <= 0) {
+            inFlightRequests.incrementAndGet();
+            return true;
+        }
+        while (true) {
+            int current = inFlightRequests.get();
+            if (current >= maxConcurrentRequests) {
+                return false;
+            }
+            if (inFlightRequests.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    private void leave(HttpServletRequest request) {
+        if (request.getAttribute(ADMITTED_ATTRIBUTE) != null) {
+            request.removeAttribute(ADMITTED_ATTRIBUTE);
+            inFlightRequests.decrementAndGet();
+        }
+    }
+
+    private String clientKey(HttpServletRequest request) {
+        if (!apiKeys.isEmpty()) {
+            String apiKey = request.getHeader(apiKeyHeader);
+            if (apiKey != null && apiKeys.contains(apiKey)) {
+                return "key:" + apiKey;
+            }
+        }
+        return request.getRemoteAddr();
+    }
+
+    private Endpoint endpoint(Method method) {
+        String name = method.getName().replaceAll("([a-z0-9])([A-Z])", "$1-$2").toLowerCase(Locale.ROOT);
+        RateLimit limit = endpointLimits.get(name);
+        return new Endpoint(name, limit != null ? limit : defaultLimit, limit != null,
+                registry.counter(REJECTED_METER, "endpoint", name, "reason", "rate_limited"),
+                registry.counter(REJECTED_METER, "endpoint", name, "reason", "overloaded"));
+    }
+
+    private static final class Endpoint {
+
+        private final String name;
+        private final RateLimit limit;
+        private final boolean ownLimit;
+        private final Counter rateLimited;
+        private final Counter overloaded;
+
+        private Endpoint(String name, RateLimit limit, boolean ownLimit, Counter rateLimited, Counter overloaded) {
+            this.name = name;
+            this.limit = limit;
+            this.ownLimit = ownLimit;
+            this.rateLimited = rateLimited;
+            this.overloaded = overloaded;
+        }
+    }
+}
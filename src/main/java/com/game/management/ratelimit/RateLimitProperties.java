@@ -0,0 +1,46 @@
+package com.game.management.ratelimit;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Configuration of the admission control of the /games endpoints, bound from the game.rate-limit.* properties.
+ * Endpoints are named after their controller methods in kebab case, e.g. get-all-games or create-games.
+ */
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "game.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled;
+    private int maxClients = 65536;
+    private String apiKeyHeader = "X-API-Key";
+    private Set<String> apiKeys = new HashSet<>();
+    private Limit defaultLimit = new Limit(200, 100);
+    private Map<String, Limit> endpoints = new HashMap<>();
+    private int maxConcurrentRequests = 150;
+    private long overloadRetryAfterSeconds = 1;
+
+    @Getter
+    @Setter
+    public static class Limit {
+
+        private int capacity;
+        private double refillPerSecond;
+
+        public Limit() {
+        }
+
+        public Limit(int capacity, double refillPerSecond) {
+            this.capacity = capacity;
+            this.refillPerSecond = refillPerSecond;
+        }
+    }
+}
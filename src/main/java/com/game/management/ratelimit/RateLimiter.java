@@ -0,0 +1,95 @@
+package com.game.management.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.LongSupplier;
+
+/**
+ * Token buckets of many clients kept in a table of fixed size, so that memory stays flat however many distinct
+ * clients show up. A key can live in one of two slots of the table. When both are taken by other keys, the bucket
+ * closest to full is evicted, since forgetting it gives away the fewest tokens.
+ * <p>
+ * Every bucket is a single long, the time at which it will be full again (the theoretical arrival time of the
+ * generic cell rate algorithm): taking a token moves it one emission interval ahead, and a request is refused while
+ * that would put it more than the bucket capacity ahead of now. Buckets are updated with compare-and-set, no locks
+ * are taken.
+ */
+public class RateLimiter {
+
+    private final AtomicReferenceArray<TokenBucket> buckets;
+    private final int mask;
+    private final LongSupplier nanoClock;
+
+    public RateLimiter(int maxClients) {
+        this(maxClients, System::nanoTime);
+    }
+
+    RateLimiter(int maxClients, LongSupplier nanoClock) {
+        if (maxClients <= 0) {
+            throw new IllegalArgumentException("Rate limiter must track at least one client");
+        }
+        int size = Integer.highestOneBit(Math.min(maxClients, 1 << 30));
+        size = size < maxClients ? size << 1 : size;
+        this.buckets = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Takes a token from the bucket of the key.
+     *
+     * @return 0 if a token was taken, otherwise the nanoseconds until the bucket holds a token again
+     */
+    public long tryAcquire(String key, RateLimit limit) {
+        long now = nanoClock.getAsLong();
+        AtomicLong fullAt = bucket(key, now).fullAt;
+        while (true) {
+            long current = fullAt.get();
+            long next = (current - now > 0 ? current : now) + limit.getEmissionIntervalNanos();
+            long wait = next - now - limit.getBurstNanos();
+            if (wait > 0) {
+                return wait;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    int capacity() {
+        return buckets.length();
+    }
+
+    private TokenBucket bucket(String key, long now) {
+        int hash = key.hashCode();
+        int first = (hash ^ (hash >>> 16)) & mask;
+        int second = (hash * 0x9E3779B9 >>> 16 ^ hash) & mask;
+        while (true) {
+            TokenBucket firstBucket = buckets.get(first);
+            if (firstBucket != null && firstBucket.key.equals(key)) {
+                return firstBucket;
+            }
+            TokenBucket secondBucket = buckets.get(second);
+            if (secondBucket != null && secondBucket.key.equals(key)) {
+                return secondBucket;
+            }
+            boolean replaceFirst = firstBucket == null
+                    || secondBucket != null && firstBucket.fullAt.get() - secondBucket.fullAt.get() <= 0;
+            TokenBucket bucket = new TokenBucket(key, now);
+            if (buckets.compareAndSet(replaceFirst ? first : second, replaceFirst ? firstBucket : secondBucket, bucket)) {
+                return bucket;
+            }
+        }
+    }
+
+    private static final class TokenBucket {
+
+        private final String key;
+        private final AtomicLong fullAt;
+
+        private TokenBucket(String key, long now) {
+            this.key = key;
+            this.fullAt = new AtomicLong(now);
+        }
+    }
+}
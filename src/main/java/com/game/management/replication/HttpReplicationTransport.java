@@ -0,0 +1,112 @@
+package com.game.management.replication;
+
+import com.game.management.model.GameChange;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ships the replication batches to the peers over HTTP, to the /replication endpoints of their applications.
+ * A peer that could not be reached is behind: it gets the whole catalog of this node before the next batch,
+ * retried at most once a second until it succeeds.
+ */
+public class HttpReplicationTransport implements ReplicationTransport {
+
+    public static final String TOKEN_HEADER = "X-Replication-Token";
+
+    private static final Logger logger = LoggerFactory.getLogger(HttpReplicationTransport.class);
+    private static final long RETRY_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final RestTemplate restTemplate;
+    private final List<Peer> peers = new ArrayList<>();
+    private final HttpHeaders headers = new HttpHeaders();
+    private ReplicationReceiver receiver;
+
+    public HttpReplicationTransport(RestTemplate restTemplate, List<String> peerUrls, String token) {
+        this.restTemplate = restTemplate;
+        for (String peerUrl : peerUrls) {
+            peers.add(new Peer(peerUrl.endsWith("/") ? peerUrl.substring(0, peerUrl.length() - 1) : peerUrl));
+        }
+        if (token != null && !token.isEmpty()) {
+            headers.set(TOKEN_HEADER, token);
+        }
+    }
+
+    @Override
+    public void start(ReplicationReceiver receiver) {
+        this.receiver = receiver;
+    }
+
+    /**
+     * Called from the single flushing thread of the node only.
+     */
+    @Override
+    public void broadcast(ReplicationBatch batch) {
+        for (Peer peer : peers) {
+            if (peer.behind && System.nanoTime() - peer.retryAt < 0) {
+                continue;
+            }
+            try {
+                if (peer.behind) {
+                    post(peer, new ReplicationBatch(receiver.getNodeId(), receiver.snapshot()));
+                    peer.behind = false;
+                    logger.info("Caught up replication peer {}", peer.url);
+                }
+                post(peer, batch);
+            } catch (RestClientException e) {
+                if (!peer.behind) {
+                    logger.warn("Could not replicate to {}, it gets a snapshot once reachable: {}", peer.url, e.getMessage());
+                }
+                peer.behind = true;
+                peer.retryAt = System.nanoTime() + RETRY_INTERVAL_NANOS;
+            }
+        }
+    }
+
+    @Override
+    public Optional<List<GameChange>> fetchSnapshot() {
+        for (Peer peer : peers) {
+            try {
+                GameChange[] changes = restTemplate.exchange(peer.url + "/replication/snapshot", HttpMethod.GET,
+                        new HttpEntity<>(headers), GameChange[].class).getBody();
+                if (changes != null) {
+                    logger.info("Fetched snapshot of {} games from {}", changes.length, peer.url);
+                    return Optional.of(Arrays.asList(changes));
+                }
+            } catch (RestClientException e) {
+                logger.info("Could not fetch a snapshot from {}: {}", peer.url, e.getMessage());
+            }
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public void close() {
+        // the RestTemplate is shared with the application
+    }
+
+    private void post(Peer peer, ReplicationBatch batch) {
+        restTemplate.postForEntity(peer.url + "/replication/batches", new HttpEntity<>(batch, headers), Void.class);
+    }
+
+    private static final class Peer {
+
+        private final String url;
+        private boolean behind;
+        private long retryAt;
+
+        private Peer(String url) {
+            this.url = url;
+        }
+    }
+}
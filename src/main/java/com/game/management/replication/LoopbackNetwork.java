@@ -0,0 +1,114 @@
+package com.game.management.replication;
+
+import com.game.management.model.GameChange;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * In-process network of replication nodes running in the same JVM, to test convergence and failover on a single
+ * machine. Every node receives its batches in order on a thread of its own. A node can be disconnected, which drops
+ * all batches from and to it, and reconnected, after which it exchanges snapshots with the connected nodes to make
+ * up for the lost batches.
+ */
+public class LoopbackNetwork {
+
+    private static final LoopbackNetwork SHARED = new LoopbackNetwork();
+
+    private final Map<String, LoopbackTransport> transports = new ConcurrentHashMap<>();
+
+    /**
+     * @return the network of the nodes started with game.replication.transport=loopback
+     */
+    public static LoopbackNetwork shared() {
+        return SHARED;
+    }
+
+    public ReplicationTransport transport(String nodeId) {
+        return transports.computeIfAbsent(nodeId, LoopbackTransport::new);
+    }
+
+    public void disconnect(String nodeId) {
+        transports.get(nodeId).connected = false;
+    }
+
+    public void reconnect(String nodeId) {
+        LoopbackTransport reconnected = transports.get(nodeId);
+        reconnected.connected = true;
+        for (LoopbackTransport peer : transports.values()) {
+            if (peer != reconnected && peer.isReachable()) {
+                reconnected.deliver(new ReplicationBatch(peer.nodeId, peer.receiver.snapshot()));
+                peer.deliver(new ReplicationBatch(nodeId, reconnected.receiver.snapshot()));
+            }
+        }
+    }
+
+    private final class LoopbackTransport implements ReplicationTransport {
+
+        private final String nodeId;
+        private final ExecutorService delivery;
+        private volatile ReplicationReceiver receiver;
+        private volatile boolean connected = true;
+
+        private LoopbackTransport(String nodeId) {
+            this.nodeId = nodeId;
+            this.delivery = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "game-replication-loopback-" + nodeId);
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+
+        @Override
+        public void start(ReplicationReceiver receiver) {
+            this.receiver = receiver;
+        }
+
+        @Override
+        public void broadcast(ReplicationBatch batch) {
+            if (!connected) {
+                return;
+            }
+            for (LoopbackTransport peer : transports.values()) {
+                if (peer != this && peer.isReachable()) {
+                    peer.deliver(batch);
+                }
+            }
+        }
+
+        @Override
+        public Optional<List<GameChange>> fetchSnapshot() {
+            if (!connected) {
+                return Optional.empty();
+            }
+            for (LoopbackTransport peer : transports.values()) {
+                if (peer != this && peer.isReachable()) {
+                    return Optional.of(peer.receiver.snapshot());
+                }
+            }
+            return Optional.empty();
+        }
+
+        @Override
+        public void close() {
+            transports.remove(nodeId, this);
+            delivery.shutdown();
+        }
+
+        private boolean isReachable() {
+            return connected && receiver != null;
+        }
+
+        private void deliver(ReplicationBatch batch) {
+            delivery.execute(() -> {
+                if (connected) {
+                    receiver.receive(batch);
+                }
+            });
+        }
+    }
+}
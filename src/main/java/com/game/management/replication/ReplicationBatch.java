@@ -0,0 +1,22 @@
+package com.game.management.replication;
+
+import com.game.management.model.GameChange;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Changes of the game catalog shipped from one node to the others.
+ */
+
+@Getter
+public class ReplicationBatch {
+
+    private final String sourceNodeId;
+    private final List<GameChange> changes;
+
+    public ReplicationBatch(String sourceNodeId, List<GameChange> changes) {
+        this.sourceNodeId = sourceNodeId;
+        this.changes = changes;
+    }
+}
@@ -0,0 +1,48 @@
+package com.game.management.replication;
+
+import com.game.management.service.GameServiceImpl;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Replicates the game catalog to the other nodes when game.replication.enabled=true. Another transport can be
+ * plugged in as a {@link ReplicationTransport} bean.
+ */
+
+@Configuration
+@ConditionalOnProperty(prefix = "game.replication", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(ReplicationProperties.class)
+public class ReplicationConfig {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public ReplicationTransport replicationTransport(ReplicationProperties properties, RestTemplateBuilder restTemplateBuilder) {
+        if (properties.getTransport() == ReplicationTransportType.LOOPBACK) {
+            return LoopbackNetwork.shared().transport(nodeId(properties));
+        }
+        return new HttpReplicationTransport(restTemplateBuilder
+                .setConnectTimeout(Duration.ofSeconds(1))
+                .setReadTimeout(Duration.ofSeconds(10))
+                .build(), properties.getPeers(), properties.getToken());
+    }
+
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    public ReplicationNode replicationNode(GameServiceImpl gameService, ReplicationTransport transport,
+                                           ReplicationProperties properties) {
+        return new ReplicationNode(nodeId(properties), gameService, transport, properties);
+    }
+
+    private static String nodeId(ReplicationProperties properties) {
+        if (properties.getNodeId() == null || properties.getNodeId().isEmpty()) {
+            properties.setNodeId(UUID.randomUUID().toString());
+        }
+        return properties.getNodeId();
+    }
+}
@@ -0,0 +1,197 @@
+package com.game.management.replication;
+
+import com.game.management.model.Game;
+import com.game.management.model.GameChange;
+import com.game.management.model.GameChangeType;
+import com.game.management.service.GameChangeListener;
+import com.game.management.service.GameServiceImpl;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Replicates the game catalog between nodes that all accept writes. Every local change is queued and shipped to the
+ * other nodes in batches every few milliseconds, and the changes received from them are merged by last writer wins:
+ * the state with the higher version of a game is kept, see {@link GameServiceImpl#mergeGame}. Merging does not
+ * depend on the order of the changes, so all nodes converge to the same catalog once they received the same changes.
+ * <p>
+ * A starting node catches up by merging the snapshot of a peer and then sends its own snapshot to the others.
+ * When the queue overflows, the next flush sends the whole catalog instead of the lost changes. Received changes the
+ * local service rejects, like versions or dates it cannot hold, are logged and skipped.
+ */
+public class ReplicationNode implements GameChangeListener, ReplicationReceiver {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicationNode.class);
+
+    private final String nodeId;
+    private final GameServiceImpl gameService;
+    private final ReplicationTransport transport;
+    private final ReplicationProperties properties;
+
+    /**
+     * Threads merging received changes, which must not be shipped back.
+     */
+    private final Set<Thread> mergingThreads = ConcurrentHashMap.newKeySet();
+
+    private final BlockingQueue<GameChange> queue;
+    private final AtomicBoolean overflowed = new AtomicBoolean();
+    private ScheduledExecutorService scheduler;
+
+    public ReplicationNode(String nodeId, GameServiceImpl gameService, ReplicationTransport transport,
+                           ReplicationProperties properties) {
+        this.nodeId = nodeId;
+        this.gameService = gameService;
+        this.transport = transport;
+        this.properties = properties;
+        this.queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+    }
+
+    public void start() {
+        gameService.trackDeletions();
+        gameService.addChangeListener(this);
+        transport.start(this);
+
+        transport.fetchSnapshot().ifPresent(this::merge);
+        broadcast(snapshot());
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "game-replication-" + nodeId);
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::flushQuietly, properties.getFlushIntervalMs(),
+                properties.getFlushIntervalMs(), TimeUnit.MILLISECONDS);
+        scheduler.scheduleWithFixedDelay(this::pruneTombstones, properties.getTombstoneTtlMs(),
+                properties.getTombstoneTtlMs(), TimeUnit.MILLISECONDS);
+        logger.info("Started replication node {}", nodeId);
+    }
+
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdown();
+            try {
+                scheduler.awaitTermination(1, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        flush();
+        transport.close();
+    }
+
+    @Override
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * Called while the service holds the changed game, so only queues the change.
+     */
+    @Override
+    public void onChange(GameChange change) {
+        if (mergingThreads.contains(GameServiceImpl.callingThread())) {
+            return;
+        }
+        if (!queue.offer(change)) {
+            overflowed.set(true);
+        }
+    }
+
+    @Override
+    public void receive(ReplicationBatch batch) {
+        if (!nodeId.equals(batch.getSourceNodeId())) {
+            merge(batch.getChanges());
+        }
+    }
+
+    @Override
+    public List<GameChange> snapshot() {
+        List<GameChange> changes = new ArrayList<>();
+        for (Game game : gameService.getAllGames()) {
+            changes.add(GameChange.of(GameChangeType.CREATED, game));
+        }
+        gameService.getDeletedVersions().forEach((name, version) ->
+                changes.add(new GameChange(GameChangeType.DELETED, name, null, null, null, null, version)));
+        return changes;
+    }
+
+    /**
+     * Ships the queued changes.
+     */
+    public void flush() {
+        if (overflowed.getAndSet(false)) {
+            logger.warn("Replication queue of node {} overflowed, sending the whole catalog", nodeId);
+            queue.clear();
+            broadcast(snapshot());
+        }
+        List<GameChange> changes = new ArrayList<>();
+        while (queue.drainTo(changes, properties.getMaxBatchSize()) > 0) {
+            transport.broadcast(new ReplicationBatch(nodeId, changes));
+            changes = new ArrayList<>();
+        }
+    }
+
+    private void merge(List<GameChange> changes) {
+        mergingThreads.add(Thread.currentThread());
+        try {
+            for (GameChange change : changes) {
+                try {
+                    mergeChange(change);
+                } catch (RuntimeException e) {
+                    // skipped, so that one change this node cannot take does not fail the others with it
+                    logger.warn("Node {} could not merge the replicated change of game {}: {}", nodeId,
+                            change.getName(), e.getMessage(), e);
+                }
+            }
+        } finally {
+            mergingThreads.remove(Thread.currentThread());
+        }
+    }
+
+    private void mergeChange(GameChange change) {
+        switch (change.getType()) {
+            case CREATED:
+            case UPDATED:
+                gameService.mergeGame(change.getName(), change.toGame(), change.getVersion());
+                break;
+            case RENAMED:
+                gameService.mergeGame(change.getPreviousName(), null, change.getVersion());
+                gameService.mergeGame(change.getName(), change.toGame(), change.getVersion());
+                break;
+            case DELETED:
+                gameService.mergeGame(change.getName(), null, change.getVersion());
+                break;
+            default:
+                throw new IllegalStateException("Unknown game change type: " + change.getType());
+        }
+    }
+
+    private void broadcast(List<GameChange> changes) {
+        for (int from = 0; from < changes.size(); from += properties.getMaxBatchSize()) {
+            int to = Math.min(changes.size(), from + properties.getMaxBatchSize());
+            transport.broadcast(new ReplicationBatch(nodeId, new ArrayList<>(changes.subList(from, to))));
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            logger.error("Could not ship the game changes of node {}", nodeId, e);
+        }
+    }
+
+    private void pruneTombstones() {
+        gameService.pruneDeletedVersions(System.currentTimeMillis() - properties.getTombstoneTtlMs());
+    }
+}
@@ -0,0 +1,28 @@
+package com.game.management.replication;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuration of the replication of the game catalog between nodes, bound from the game.replication.* properties.
+ */
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "game.replication")
+public class ReplicationProperties {
+
+    private boolean enabled;
+    private String nodeId;
+    private ReplicationTransportType transport = ReplicationTransportType.HTTP;
+    private List<String> peers = new ArrayList<>();
+    private String token;
+    private int maxBatchSize = 500;
+    private long flushIntervalMs = 20;
+    private int queueCapacity = 65536;
+    private long tombstoneTtlMs = 3600000;
+}
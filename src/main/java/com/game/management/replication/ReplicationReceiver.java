@@ -0,0 +1,21 @@
+package com.game.management.replication;
+
+import com.game.management.model.GameChange;
+
+import java.util.List;
+
+/**
+ * Node side of a {@link ReplicationTransport}, called with the batches of the other nodes.
+ */
+public interface ReplicationReceiver {
+
+    String getNodeId();
+
+    void receive(ReplicationBatch batch);
+
+    /**
+     * @return the whole catalog of this node, its games and the versions of its deleted games, to catch up another
+     * node
+     */
+    List<GameChange> snapshot();
+}
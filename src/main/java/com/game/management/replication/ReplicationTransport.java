@@ -0,0 +1,28 @@
+package com.game.management.replication;
+
+import com.game.management.model.GameChange;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Ships replication batches between the nodes. Delivery is best effort: a transport that lost batches for a peer
+ * makes up for them by sending it a snapshot once the peer is reachable again. Merging replicated states does not
+ * depend on their order, so batches may also arrive out of order or more than once.
+ */
+public interface ReplicationTransport {
+
+    void start(ReplicationReceiver receiver);
+
+    /**
+     * Sends the batch to all other nodes, without waiting for them to apply it.
+     */
+    void broadcast(ReplicationBatch batch);
+
+    /**
+     * @return the snapshot of the first reachable peer, or empty if no peer is reachable
+     */
+    Optional<List<GameChange>> fetchSnapshot();
+
+    void close();
+}
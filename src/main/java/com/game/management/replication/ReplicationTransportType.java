@@ -0,0 +1,15 @@
+package com.game.management.replication;
+
+/**
+ * Transport of the replication batches between the nodes.
+ */
+public enum ReplicationTransportType {
+    /**
+     * Nodes running in the same JVM, for tests and local experiments.
+     */
+    LOOPBACK,
+    /**
+     * Nodes reached over HTTP at the URLs of game.replication.peers.
+     */
+    HTTP
+}
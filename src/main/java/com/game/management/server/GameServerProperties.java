@@ -0,0 +1,20 @@
+package com.game.management.server;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration of the servlet serving mode, bound from the game.server.* properties.
+ */
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "game.server")
+public class GameServerProperties {
+
+    /**
+     * Runs every request on its own virtual thread instead of the Tomcat thread pool. Requires Java 21 or newer.
+     */
+    private boolean virtualThreads;
+}
@@ -0,0 +1,20 @@
+package com.game.management.service;
+
+import com.game.management.model.GameChange;
+
+/**
+ * Listener notified about every successful game mutation.
+ * Changes of a single game are delivered in the order they were applied.
+ */
+public interface GameChangeListener {
+
+    void onChange(GameChange change);
+
+    /**
+     * Called once the changes the calling thread published so far are visible to reads. {@link #onChange} is called
+     * while the service holds the changed game, before reads see the change, possibly on a thread of the store:
+     * state kept between both calls is keyed by {@link GameServiceImpl#callingThread()}, not held in thread-locals.
+     */
+    default void onChangesVisible() {
+    }
+}
@@ -1,6 +1,9 @@
 package com.game.management.service;
 
+import com.game.management.model.BatchItemResult;
 import com.game.management.model.Game;
+import com.game.management.model.GamePage;
+import com.game.management.model.GameQuery;
 
 import java.util.List;
 
@@ -12,7 +15,24 @@ public interface GameService {
 
     List<Game> getAllGames();
 
+    GamePage<Game> getGamesPage(GameQuery query);
+
+    List<Game> getGamesByStatus(boolean active);
+
+    long countGames(Boolean active);
+
+    /**
+     * @return version of the whole catalog, increased after every completed change of any game
+     */
+    long getCatalogVersion();
+
     Game updateGame(Game game);
 
     void deleteGame(String name);
+
+    List<BatchItemResult<Game>> createGames(List<Game> games, boolean allOrNothing);
+
+    List<BatchItemResult<Game>> updateGames(List<Game> games, boolean allOrNothing);
+
+    List<BatchItemResult<Game>> deleteGames(List<String> names, boolean allOrNothing);
 }
\ No newline at end of file
@@ -1,22 +1,57 @@
 package com.game.management.service;
 
 import com.game.management.exception.GameAlreadyExistsException;
+import com.game.management.exception.PreconditionFailedException;
 import com.game.management.exception.ResourceNotFoundException;
 import com.game.management.exception.ValidationException;
+import com.game.management.model.BatchItemResult;
+import com.game.management.model.BatchItemStatus;
 import com.game.management.model.Game;
+import com.game.management.model.GameChange;
+import com.game.management.model.GameChangeType;
+import com.game.management.model.GamePage;
+import com.game.management.model.GameQuery;
+import com.game.management.store.GameStore;
+import com.game.management.store.HeapGameStore;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
 import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 /**
  * Implementation of the {@link GameService} interface providing CRUD operations for games.
- * This service manages games using an in-memory cache backed by a ConcurrentHashMap.
+ * This service manages games in a {@link GameStore}, an in-memory ConcurrentHashMap by default,
+ * and keeps name-ordered indexes of the stored games.
  *
  * @author Katarzyna Lesniak
  * @version 1.0
@@ -28,18 +63,105 @@ public class GameServiceImpl implements GameService {
 
     private static final Logger logger = LoggerFactory.getLogger(GameServiceImpl.class);
 
+    private static final long MIN_STALE_ENTRIES_TO_COMPACT = 1024;
+    private static final String TIME_CURSOR_SEPARATOR = "|";
+
+    /**
+     * Subpaths of /games served by endpoints of their own.
+     */
+    private static final Set<String> RESERVED_NAMES = Collections.unmodifiableSet(
+            new HashSet<>(Arrays.asList("batch", "changes", "count", "export", "import")));
+
+    /**
+     * Thread a remapping function runs for while a store applies it on a thread of its own.
+     */
+    private static final ThreadLocal<Thread> CALLING_THREAD = new ThreadLocal<>();
+
+    /**
+     * Store of the games with their names as keys.
+     */
+    private final GameStore gameStore;
+
+    /**
+     * Name-ordered index over the store, used to walk the catalog page by page.
+     */
+    private final ConcurrentSkipListSet<String> nameIndex = new ConcurrentSkipListSet<>();
+
+    /**
+     * Name-ordered partitions of the index by isActive status, with their sizes kept in lock-free counters.
+     */
+    private final ConcurrentSkipListSet<String> activeIndex = new ConcurrentSkipListSet<>();
+    private final ConcurrentSkipListSet<String> inactiveIndex = new ConcurrentSkipListSet<>();
+    private final LongAdder activeCount = new LongAdder();
+    private final LongAdder inactiveCount = new LongAdder();
+
+    /**
+     * Time-ordered indexes by creation date and by last change, the update date or the creation date of games never
+     * updated, for queries of the games created or changed after a given time.
+     */
+    private final GameTimeIndex creationTimeIndex = new GameTimeIndex(Game::getCreationDate);
+    private final GameTimeIndex changeTimeIndex = new GameTimeIndex(GameServiceImpl::lastChangeDate);
+    private final AtomicBoolean compactingTimeIndexes = new AtomicBoolean();
+
+    /**
+     * Runs the compactions of the time indexes off the request threads. Its thread stops while there is nothing to
+     * compact, so that a service needs no closing.
+     */
+    private final ThreadPoolExecutor timeIndexCompactor = new ThreadPoolExecutor(0, 1, 1, TimeUnit.MINUTES,
+            new LinkedBlockingQueue<>(), runnable -> {
+                Thread thread = new Thread(runnable, "game-time-index-compactor");
+                thread.setDaemon(true);
+                return thread;
+            });
+
+    /**
+     * Number of updates skipped because the game already held the same data.
+     */
+    private final LongAdder skippedUpdates = new LongAdder();
+
+    /**
+     * Source of the game versions. Every change of a game draws a new version, so the versions of a game only grow,
+     * also across its deletion and re-creation. Seeded from the clock, so that a restarted in-memory catalog does
+     * not hand out the versions of the previous run again.
+     */
+    private final AtomicLong versionSequence;
+
+    /**
+     * Version of the whole catalog, increased only after a change became visible to reads. A reader taking it
+     * before reading the games therefore never pairs it with games missing a change it covers.
+     */
+    private final AtomicLong catalogVersion;
+
+    /**
+     * Renames in progress, registered under both the current and the new name of the renamed game.
+     * Reads of these names are resolved through the rename and writes wait until it completes.
+     */
+    private final ConcurrentHashMap<String, PendingRename> pendingRenames = new ConcurrentHashMap<>();
+
+    private final List<GameChangeListener> changeListeners = new CopyOnWriteArrayList<>();
+
     /**
-     * In-memory cache to store games with their names as keys.
+     * Versions of the deleted games by name, kept once {@link #trackDeletions()} was called, so that a replicated
+     * older state of a deleted game does not bring it back.
      */
-    private final ConcurrentHashMap<String, Game> gameCache;
+    private final ConcurrentHashMap<String, Tombstone> tombstones = new ConcurrentHashMap<>();
+    private volatile boolean trackingDeletions;
 
     public GameServiceImpl() {
-        this.gameCache = new ConcurrentHashMap<>();
+        this(new HeapGameStore());
     }
 
-    // Constructor for testing with a custom cache
-    public GameServiceImpl(ConcurrentHashMap<String, Game> gameCache) {
-        this.gameCache = gameCache;
+    @Autowired
+    public GameServiceImpl(GameStore gameStore) {
+        this.gameStore = gameStore;
+        // persistent stores may already hold games
+        long[] maxVersion = {System.currentTimeMillis()};
+        gameStore.scan(game -> {
+            indexGame(game);
+            maxVersion[0] = Math.max(maxVersion[0], game.getVersion());
+        });
+        this.versionSequence = new AtomicLong(maxVersion[0]);
+        this.catalogVersion = new AtomicLong(maxVersion[0]);
     }
 
     @Override
@@ -49,31 +171,37 @@ public class GameServiceImpl implements GameService {
 
         // we have validation annotations for it, but just in case
         validateGameName(gameName);
+        validateNotReserved(gameName);
         game.setCreationDate(LocalDateTime.now());
+        validateStorable(game);
 
         // Atomically check if the key is present and put the value if absent
-        Game newGame = gameCache.putIfAbsent(gameName, game);
-
-        if (newGame == null) {
-            // The key was not present, the game was added
-            logger.info("Created game: {}", game);
+        computeGame(gameName, (key, existingGame) -> {
+            if (existingGame != null) {
+                // The key was present, indicating that the game already exists
+                throw new GameAlreadyExistsException("Game with name: " + gameName + " already exists.");
+            }
+            game.setVersion(versionSequence.incrementAndGet());
+            publishChange(GameChange.of(GameChangeType.CREATED, game));
+            indexGame(game);
             return game;
-        } else {
-            // The key was present, indicating that the game already exists
-            throw new GameAlreadyExistsException("Game with name: " + gameName + " already exists.");
-        }
+        });
+        changesVisible();
+
+        logger.info("Created game: {}", game);
+        return game;
     }
 
     @Override
     public Game getGame(String name) {
 
-        Game game = gameCache.get(name);
+        Game game = findGame(name);
 
         if (game == null) {
             throwResourceNotFoundException(name);
         }
 
-        logger.info("Retrieved game: {}", game);
+        logger.debug("Retrieved game: {}", game);
 
         return game;
     }
@@ -81,55 +209,675 @@ public class GameServiceImpl implements GameService {
     @Override
     public List<Game> getAllGames() {
 
-        List<Game> retrievedGames = new ArrayList<>(gameCache.values());
+        List<Game> retrievedGames = new ArrayList<>();
+        gameStore.scan(game -> {
+            PendingRename rename = pendingRenames.get(game.getName());
+            Game visibleGame = rename == null ? game : rename.gameUnder(game.getName());
+            if (visibleGame != null) {
+                retrievedGames.add(visibleGame);
+            }
+        });
 
-        logger.info("Retrieved game: {}", retrievedGames);
+        logger.debug("Retrieved {} games", retrievedGames.size());
 
         return retrievedGames;
     }
 
+    @Override
+    public GamePage<Game> getGamesPage(GameQuery query) {
+
+        Integer pageSize = query.getLimit();
+        if (pageSize == null || pageSize <= 0) {
+            throw new ValidationException("Page size must be greater than zero.");
+        }
+
+        if (query.getCreatedAfter() != null || query.getUpdatedAfter() != null) {
+            return getGamesPageByTime(query, pageSize);
+        }
+
+        String prefix = query.getPrefix();
+        List<Game> games = new ArrayList<>();
+        String lastName = null;
+        String nextCursor = null;
+
+        // Walk only the slice of the index between the lower and upper bounds
+        for (String name : selectNameRange(query)) {
+            if (prefix != null && !name.startsWith(prefix)) {
+                // names are sorted, so no later name can match the prefix either
+                break;
+            }
+            Game game = findGame(name);
+            if (game == null) {
+                // deleted while walking the index
+                continue;
+            }
+            if (games.size() == pageSize) {
+                nextCursor = encodeCursor(lastName);
+                break;
+            }
+            games.add(game);
+            lastName = name;
+        }
+
+        logger.debug("Retrieved page of {} games for query: {}", games.size(), query);
+
+        return new GamePage<>(games, nextCursor);
+    }
+
+    /**
+     * Walks the index of last changes when updatedAfter is given and the index of creation dates otherwise, so the
+     * page is ordered by that time and then by name. A game changed while the pages are read moves further down the
+     * index and is returned again on a later page.
+     */
+    private GamePage<Game> getGamesPageByTime(GameQuery query, int pageSize) {
+
+        LocalDateTime createdAfter = query.getCreatedAfter();
+        LocalDateTime updatedAfter = query.getUpdatedAfter();
+        GameTimeIndex index = updatedAfter != null ? changeTimeIndex : creationTimeIndex;
+        GameTimeIndex.Entry cursor = query.getCursor() == null ? null : decodeTimeCursor(query.getCursor());
+
+        List<Game> games = new ArrayList<>();
+        GameTimeIndex.Entry lastEntry = null;
+        String nextCursor = null;
+        for (GameTimeIndex.Entry entry : index.after(updatedAfter != null ? updatedAfter : createdAfter, cursor)) {
+            Game game = findGame(entry.getName());
+            if (!index.matches(entry, game) || !matchesFilters(game, query)) {
+                // stale entry of a changed or deleted game, or filtered out
+                continue;
+            }
+            if (createdAfter != null && !game.getCreationDate().isAfter(createdAfter)) {
+                continue;
+            }
+            if (games.size() == pageSize) {
+                nextCursor = encodeTimeCursor(lastEntry);
+                break;
+            }
+            games.add(game);
+            lastEntry = entry;
+        }
+
+        logger.debug("Retrieved page of {} games for query: {}", games.size(), query);
+
+        return new GamePage<>(games, nextCursor);
+    }
+
+    @Override
+    public List<Game> getGamesByStatus(boolean active) {
+
+        List<Game> retrievedGames = new ArrayList<>();
+        for (String name : statusIndex(active)) {
+            Game game = findGame(name);
+            if (game != null) {
+                retrievedGames.add(game);
+            }
+        }
+
+        logger.debug("Retrieved {} games with isActive={}", retrievedGames.size(), active);
+
+        return retrievedGames;
+    }
+
+    @Override
+    public long countGames(Boolean active) {
+        if (active == null) {
+            return activeCount.sum() + inactiveCount.sum();
+        }
+        return statusCount(active).sum();
+    }
+
+    @Override
+    public long getCatalogVersion() {
+        return catalogVersion.get();
+    }
+
     @Override
     public Game updateGame(Game game) {
+        return updateGame(game, LocalDateTime::now);
+    }
+
+    /**
+     * @param updateDate update date of the changed game, taken while holding it
+     */
+    private Game updateGame(Game game, Supplier<LocalDateTime> updateDate) {
 
         String currentName = game.getName();
+        String newName = game.getNewName();
+
+        if (newName != null && !newName.equals(currentName)) {
+            if (newName.isEmpty()) {
+                throw new ValidationException("New game name cannot be null or empty.");
+            }
+            validateNameLength(newName);
+            validateNotReserved(newName);
+            return renameGame(game, newName, updateDate);
+        }
 
         // Use compute to ensure atomicity
-        return gameCache.compute(currentName, (key, existingGame) -> {
+        boolean[] updated = new boolean[1];
+        Game result = computeGame(currentName, (key, existingGame) -> {
 
-            if(!gameCache.containsKey(currentName)) {
+            if (existingGame == null) {
                 throwResourceNotFoundException(currentName);
             }
+            checkExpectedVersion(game, existingGame);
 
             // Check if an update is needed
             if (shouldSkipUpdate(game, existingGame)) {
+                skippedUpdates.increment();
                 logger.info("Nothing to update. Game with the same data already exists: {}", existingGame);
                 return existingGame;
             }
 
             // Update the game details
-            updateGameDetails(game, existingGame);
+            Game updatedGame = updateGameDetails(game, existingGame, updateDate.get());
+            publishChange(GameChange.of(GameChangeType.UPDATED, updatedGame));
+            reindexUpdatedGame(existingGame, updatedGame);
+            updated[0] = true;
 
-            logger.info("Updated game: {}", existingGame);
-            return existingGame;
+            logger.info("Updated game: {}", updatedGame);
+            return updatedGame;
         });
+        if (updated[0]) {
+            changesVisible();
+        }
+        return result;
     }
 
     @Override
     public void deleteGame(String name) {
+        removeGame(name);
+    }
 
-        Game existingGame = gameCache.remove(name);
-        if (existingGame == null) {
-            throwResourceNotFoundException(name);
+    @Override
+    public List<BatchItemResult<Game>> createGames(List<Game> games, boolean allOrNothing) {
+        return applyBatch(games, Game::getName, game -> {
+            validateIsActive(game);
+            Game createdGame = createGame(game);
+            return new AppliedChange(BatchItemResult.success(createdGame.getName(), BatchItemStatus.CREATED, createdGame),
+                    () -> rollbackCreate(createdGame));
+        }, allOrNothing);
+    }
+
+    @Override
+    public List<BatchItemResult<Game>> updateGames(List<Game> games, boolean allOrNothing) {
+        return applyBatch(games, Game::getName, game -> {
+            validateGameName(game.getName());
+            validateIsActive(game);
+            Game existingGame = findGame(game.getName());
+            if (existingGame == null) {
+                throwResourceNotFoundException(game.getName());
+            }
+
+            Game updatedGame = updateGame(game);
+            return new AppliedChange(BatchItemResult.success(updatedGame.getName(), BatchItemStatus.UPDATED, updatedGame),
+                    () -> rollbackUpdate(updatedGame, existingGame));
+        }, allOrNothing);
+    }
+
+    @Override
+    public List<BatchItemResult<Game>> deleteGames(List<String> names, boolean allOrNothing) {
+        return applyBatch(names, Function.identity(), name -> {
+            Game deletedGame = removeGame(name);
+            return new AppliedChange(BatchItemResult.success(name, BatchItemStatus.DELETED, deletedGame),
+                    () -> rollbackDelete(deletedGame));
+        }, allOrNothing);
+    }
+
+    public long getSkippedUpdateCount() {
+        return skippedUpdates.sum();
+    }
+
+    public void addChangeListener(GameChangeListener listener) {
+        changeListeners.add(listener);
+    }
+
+    /**
+     * Puts the given games into the cache without publishing any changes.
+     * Used to restore the catalog on startup.
+     */
+    public void loadGames(Collection<Game> games) {
+        for (Game game : games) {
+            computeInStore(game.getName(), (key, replacedGame) -> {
+                if (replacedGame != null) {
+                    unindexGame(key);
+                }
+                indexGame(game);
+                return game;
+            });
+            versionSequence.accumulateAndGet(game.getVersion(), Math::max);
+        }
+        changesVisible();
+        logger.info("Loaded {} games", games.size());
+    }
+
+    /**
+     * Applies a state of the game replicated from another node, unless the local state is at least as new.
+     * States are ordered by version, a deletion wins over a game of the same version and otherwise the later update
+     * date and then the active game win, so that all nodes pick the same state. The version sequence is moved past
+     * the merged version, so that local changes made afterwards win over it. Versions above {@link Game#MAX_VERSION}
+     * and dates the store engine cannot hold are rejected with a {@link ValidationException}.
+     *
+     * @param game state of the game, or null if it was deleted
+     * @return whether the local state changed
+     */
+    public boolean mergeGame(String name, Game game, long version) {
+
+        validateVersion(version);
+        if (game != null) {
+            validateStorable(game);
+        }
+        boolean merged = mergeState(name, game, version) != null;
+        if (merged) {
+            changesVisible();
+            logger.debug("Merged replicated game: {} with version {}", name, version);
+        }
+        return merged;
+    }
+
+    /**
+     * Imports games exported from another node or from a backup, keeping their dates and versions. A game is only
+     * replaced when the imported version is newer, as with {@link #mergeGame}, so repeating an import changes
+     * nothing. Games without a version get a new one and replace the stored game, games with a version above
+     * {@link Game#MAX_VERSION} or dates the store engine cannot hold are reported as invalid, and games that could
+     * not be stored, for example as the write-ahead log failed, as failed. The imported games become visible
+     * together once the whole list was applied.
+     */
+    public List<BatchItemResult<Game>> importGames(List<Game> games) {
+        List<BatchItemResult<Game>> results = applyBatch(games, Game::getName, game -> {
+            try {
+                validateGameName(game.getName());
+                validateNotReserved(game.getName());
+                validateIsActive(game);
+                if (game.getCreationDate() == null) {
+                    game.setCreationDate(LocalDateTime.now());
+                }
+                validateStorable(game);
+                if (game.getVersion() <= 0) {
+                    game.setVersion(versionSequence.incrementAndGet());
+                } else {
+                    validateVersion(game.getVersion());
+                }
+                GameChangeType appliedChange = mergeState(game.getName(), game, game.getVersion());
+                if (appliedChange == null) {
+                    return new AppliedChange(BatchItemResult.failure(game.getName(), BatchItemStatus.CONFLICT,
+                            "Game with name: " + game.getName() + " already exists in the same or a newer version."), null);
+                }
+                BatchItemStatus status = appliedChange == GameChangeType.CREATED ? BatchItemStatus.CREATED : BatchItemStatus.UPDATED;
+                return new AppliedChange(BatchItemResult.success(game.getName(), status, game), null);
+            } catch (ValidationException | GameAlreadyExistsException | ResourceNotFoundException
+                    | PreconditionFailedException e) {
+                throw e;
+            } catch (RuntimeException e) {
+                // one game failing to be stored must not drop the rest of the imported lines
+                logger.error("Could not import game: {}", game.getName(), e);
+                return new AppliedChange(BatchItemResult.failure(game.getName(), BatchItemStatus.FAILED,
+                        "Game could not be imported: " + e.getMessage()), null);
+            }
+        }, false);
+        changesVisible();
+        return results;
+    }
+
+    /**
+     * @return type of the change applied to the local state, or null if the local state is at least as new
+     */
+    private GameChangeType mergeState(String name, Game game, long version) {
+
+        versionSequence.accumulateAndGet(version, Math::max);
+        GameChangeType[] appliedChange = new GameChangeType[1];
+        computeGame(name, (key, existingGame) -> {
+            if (!isNewerState(game, version, existingGame, key)) {
+                return existingGame;
+            }
+            if (game == null) {
+                if (existingGame != null) {
+                    publishChange(GameChange.deleted(existingGame, version));
+                    unindexGame(key);
+                } else if (trackingDeletions) {
+                    tombstones.put(key, new Tombstone(version));
+                }
+                appliedChange[0] = GameChangeType.DELETED;
+                return null;
+            }
+            Game mergedGame = new Game(key, game.getIsActive());
+            mergedGame.setCreationDate(game.getCreationDate());
+            mergedGame.setUpdateDate(game.getUpdateDate());
+            mergedGame.setVersion(version);
+            GameChangeType changeType = existingGame == null ? GameChangeType.CREATED : GameChangeType.UPDATED;
+            publishChange(GameChange.of(changeType, mergedGame));
+            if (existingGame != null) {
+                unindexGame(key);
+            }
+            indexGame(mergedGame);
+            appliedChange[0] = changeType;
+            return mergedGame;
+        });
+        return appliedChange[0];
+    }
+
+    /**
+     * Starts keeping the versions of deleted games, needed to merge replicated states.
+     */
+    public void trackDeletions() {
+        trackingDeletions = true;
+    }
+
+    /**
+     * @return versions of the deleted games by name
+     */
+    public Map<String, Long> getDeletedVersions() {
+        Map<String, Long> deletedVersions = new HashMap<>();
+        tombstones.forEach((name, tombstone) -> deletedVersions.put(name, tombstone.version));
+        return deletedVersions;
+    }
+
+    /**
+     * Forgets the games deleted before the given time. A replicated state older than a forgotten deletion brings
+     * the game back, so tombstones have to outlive the replication delay.
+     */
+    public void pruneDeletedVersions(long deletedBeforeMillis) {
+        tombstones.values().removeIf(tombstone -> tombstone.deletedAt < deletedBeforeMillis);
+    }
+
+    /**
+     * Renames the game without a moment where it is visible under both names or under neither.
+     * A {@link PendingRename} is registered under the current name and, together with the renamed game, under
+     * the new name. Until it is committed reads of both names see the game under its current name only, after
+     * that under the new name only, and the game is finally removed under its current name. Writes of either name
+     * wait for the rename to complete, while the rename itself never waits for anything once it holds both names.
+     */
+    private Game renameGame(Game game, String newName, Supplier<LocalDateTime> updateDate) {
+
+        String currentName = game.getName();
+        PendingRename rename;
+        while (true) {
+            rename = claimRenameSource(game, newName, updateDate);
+            if (rename == null) {
+                Thread.yield();
+                continue;
+            }
+            if (claimRenameTarget(rename)) {
+                break;
+            }
+            // another rename to the same name is in progress, let it complete first
+            pendingRenames.remove(currentName, rename);
+            Thread.yield();
+        }
+
+        // linearization point of the rename
+        rename.committed = true;
+
+        PendingRename committedRename = rename;
+        try {
+            computeInStore(currentName, (key, existingGame) -> {
+                publishChange(GameChange.of(GameChangeType.RENAMED, committedRename.renamedGame, currentName));
+                unindexGame(key);
+                indexGame(committedRename.renamedGame);
+                return null;
+            });
+        } catch (RuntimeException e) {
+            // the rename was not published, withdraw the renamed game it stored under the new name
+            rename.committed = false;
+            computeInStore(newName, (key, existingGame) -> existingGame != null
+                    && existingGame.getVersion() == committedRename.renamedGame.getVersion() ? null : existingGame);
+            pendingRenames.remove(newName, rename);
+            pendingRenames.remove(currentName, rename);
+            throw e;
+        }
+        pendingRenames.remove(newName, rename);
+        pendingRenames.remove(currentName, rename);
+        changesVisible();
+
+        logger.info("Updated game: {}", rename.renamedGame);
+        return rename.renamedGame;
+    }
+
+    /**
+     * @return the rename registered under the current name of the game, or null if another rename holds the name
+     */
+    private PendingRename claimRenameSource(Game game, String newName, Supplier<LocalDateTime> updateDate) {
+        PendingRename[] rename = new PendingRename[1];
+        computeInStore(game.getName(), (key, existingGame) -> {
+            if (existingGame == null) {
+                throwResourceNotFoundException(key);
+            }
+            checkExpectedVersion(game, existingGame);
+            Game renamedGame = new Game(newName, game.getIsActive());
+            renamedGame.setCreationDate(existingGame.getCreationDate());
+            renamedGame.setUpdateDate(updateDate.get());
+            renamedGame.setVersion(versionSequence.incrementAndGet());
+            PendingRename pendingRename = new PendingRename(key, newName, existingGame, renamedGame);
+            if (pendingRenames.putIfAbsent(key, pendingRename) == null) {
+                rename[0] = pendingRename;
+            }
+            return existingGame;
+        });
+        return rename[0];
+    }
+
+    /**
+     * Stores the renamed game under the new name, still hidden from reads by the pending rename. It is indexed only
+     * once the rename commits, so that counts and pages never see the game twice.
+     *
+     * @return false if another rename holds the new name
+     */
+    private boolean claimRenameTarget(PendingRename rename) {
+        boolean[] claimed = new boolean[1];
+        try {
+            computeInStore(rename.newName, (key, existingGame) -> {
+                if (pendingRenames.containsKey(key)) {
+                    return existingGame;
+                }
+                if (existingGame != null) {
+                    throw new GameAlreadyExistsException("Game with name: " + key + " already exists.");
+                }
+                pendingRenames.put(key, rename);
+                claimed[0] = true;
+                return rename.renamedGame;
+            });
+        } catch (GameAlreadyExistsException e) {
+            pendingRenames.remove(rename.name, rename);
+            throw e;
+        }
+        return claimed[0];
+    }
+
+    private Game removeGame(String name) {
+
+        Game[] deletedGame = new Game[1];
+        computeGame(name, (key, existingGame) -> {
+            if (existingGame == null) {
+                throwResourceNotFoundException(name);
+            }
+            publishChange(GameChange.deleted(existingGame, versionSequence.incrementAndGet()));
+            unindexGame(name);
+            deletedGame[0] = existingGame;
+            return null;
+        });
+        changesVisible();
+
+        logger.info("Deleted game: {}", deletedGame[0]);
+        return deletedGame[0];
+    }
+
+    /**
+     * Applies the operation to every item and collects a result per item instead of failing on the first error.
+     * In all-or-nothing mode the first failure stops the batch and the already applied items are reverted
+     * with compensating operations, newest first.
+     */
+    private <T> List<BatchItemResult<Game>> applyBatch(List<T> items, Function<T, String> nameOf,
+                                                       Function<T, AppliedChange> operation, boolean allOrNothing) {
+
+        List<BatchItemResult<Game>> results = new ArrayList<>(items.size());
+        Runnable[] rollbacks = new Runnable[items.size()];
+        Deque<Integer> appliedItems = new ArrayDeque<>();
+
+        for (int i = 0; i < items.size(); i++) {
+            T item = items.get(i);
+            String name = item == null ? null : nameOf.apply(item);
+            BatchItemResult<Game> failure = null;
+            try {
+                if (item == null) {
+                    throw new ValidationException("Batch item cannot be null.");
+                }
+                AppliedChange change = operation.apply(item);
+                results.add(change.result);
+                rollbacks[i] = change.rollback;
+                appliedItems.push(i);
+            } catch (ValidationException e) {
+                failure = BatchItemResult.failure(name, BatchItemStatus.INVALID, e.getMessage());
+            } catch (GameAlreadyExistsException e) {
+                failure = BatchItemResult.failure(name, BatchItemStatus.CONFLICT, e.getMessage());
+            } catch (ResourceNotFoundException e) {
+                failure = BatchItemResult.failure(name, BatchItemStatus.NOT_FOUND, e.getMessage());
+            } catch (PreconditionFailedException e) {
+                failure = BatchItemResult.failure(name, BatchItemStatus.PRECONDITION_FAILED, e.getMessage());
+            }
+
+            if (failure != null) {
+                results.add(failure);
+                if (allOrNothing) {
+                    rollbackBatch(results, appliedItems, rollbacks);
+                    for (int j = i + 1; j < items.size(); j++) {
+                        T skippedItem = items.get(j);
+                        results.add(BatchItemResult.failure(skippedItem == null ? null : nameOf.apply(skippedItem),
+                                BatchItemStatus.NOT_APPLIED, "Batch aborted by a failed item."));
+                    }
+                    break;
+                }
+            }
+        }
+
+        logger.info("Applied batch of {} items", items.size());
+        return results;
+    }
+
+    private void rollbackBatch(List<BatchItemResult<Game>> results, Deque<Integer> appliedItems, Runnable[] rollbacks) {
+        while (!appliedItems.isEmpty()) {
+            int index = appliedItems.pop();
+            rollbacks[index].run();
+            results.set(index, BatchItemResult.failure(results.get(index).getName(), BatchItemStatus.ROLLED_BACK,
+                    "Batch aborted by a failed item."));
+        }
+    }
+
+    private void rollbackCreate(Game createdGame) {
+        computeGame(createdGame.getName(), (key, existingGame) -> {
+            // only remove the game if it was not replaced in the meantime
+            if (existingGame == null || !Objects.equals(existingGame.getCreationDate(), createdGame.getCreationDate())) {
+                return existingGame;
+            }
+            publishChange(GameChange.deleted(existingGame, versionSequence.incrementAndGet()));
+            unindexGame(key);
+            return null;
+        });
+        changesVisible();
+        logger.info("Rolled back creation of game: {}", createdGame);
+    }
+
+    /**
+     * Restores the status, name and update date the game had before the update, unless it was changed since. The
+     * restored game still gets a new version, so that replicas and the write-ahead log apply the rollback as well.
+     */
+    private void rollbackUpdate(Game updatedGame, Game previousGame) {
+        Game previousState = new Game(updatedGame.getName(), previousGame.getIsActive());
+        previousState.setExpectedVersion(updatedGame.getVersion());
+        if (!previousGame.getName().equals(updatedGame.getName())) {
+            previousState.setNewName(previousGame.getName());
+        }
+        try {
+            updateGame(previousState, previousGame::getUpdateDate);
+            logger.info("Rolled back update of game: {}", updatedGame);
+        } catch (PreconditionFailedException | ResourceNotFoundException | GameAlreadyExistsException e) {
+            logger.warn("Could not roll back update of game: {}, it was changed in the meantime", updatedGame);
+        }
+    }
+
+    private void rollbackDelete(Game deletedGame) {
+        computeGame(deletedGame.getName(), (key, existingGame) -> {
+            if (existingGame != null) {
+                logger.warn("Could not roll back deletion of game: {}, the name was taken in the meantime", deletedGame);
+                return existingGame;
+            }
+            Game restoredGame = new Game(key, deletedGame.getIsActive());
+            restoredGame.setCreationDate(deletedGame.getCreationDate());
+            restoredGame.setUpdateDate(deletedGame.getUpdateDate());
+            restoredGame.setVersion(versionSequence.incrementAndGet());
+            publishChange(GameChange.of(GameChangeType.CREATED, restoredGame));
+            indexGame(restoredGame);
+            logger.info("Rolled back deletion of game: {}", restoredGame);
+            return restoredGame;
+        });
+        changesVisible();
+    }
+
+    /**
+     * Reads the game stored under the name, resolved through a rename in progress if the name is part of one.
+     * The rename is looked up again after reading the store, as it may have been registered in the meantime.
+     */
+    private Game findGame(String name) {
+        PendingRename rename = pendingRenames.get(name);
+        if (rename == null) {
+            Game game = gameStore.get(name);
+            rename = pendingRenames.get(name);
+            if (rename == null) {
+                return game;
+            }
         }
+        return rename.gameUnder(name);
+    }
+
+    /**
+     * Applies the remapping function through the store on behalf of the calling thread, also when the store runs it
+     * on a thread of its own, so that the listeners it publishes changes to see the thread they were made for.
+     */
+    private Game computeInStore(String name, BiFunction<String, Game, Game> remappingFunction) {
+        Thread caller = callingThread();
+        return gameStore.compute(name, (key, existingGame) -> {
+            if (Thread.currentThread() == caller) {
+                return remappingFunction.apply(key, existingGame);
+            }
+            CALLING_THREAD.set(caller);
+            try {
+                return remappingFunction.apply(key, existingGame);
+            } finally {
+                CALLING_THREAD.remove();
+            }
+        });
+    }
 
-        logger.info("Deleted game: {}", existingGame);
+    /**
+     * Applies the remapping function to the game stored under the name once no rename of the name is in progress.
+     */
+    private Game computeGame(String name, BiFunction<String, Game, Game> remappingFunction) {
+        while (true) {
+            try {
+                return computeInStore(name, (key, existingGame) -> {
+                    if (pendingRenames.containsKey(key)) {
+                        throw RenameInProgressException.INSTANCE;
+                    }
+                    return remappingFunction.apply(key, existingGame);
+                });
+            } catch (RenameInProgressException e) {
+                // a rename holding both of its names completes without waiting, so this spins only briefly
+                Thread.yield();
+            }
+        }
     }
 
     private void throwResourceNotFoundException(String name) {
-        logger.error("Game with name: {} not found.", name);
+        logger.debug("Game with name: {} not found.", name);
         throw new ResourceNotFoundException("Game with name: " + name + " not found.");
     }
 
+    private void checkExpectedVersion(Game game, Game existingGame) {
+        Long expectedVersion = game.getExpectedVersion();
+        if (expectedVersion != null && expectedVersion != existingGame.getVersion()) {
+            throw new PreconditionFailedException("Game with name: " + existingGame.getName() + " has version "
+                    + existingGame.getVersion() + ", expected " + expectedVersion + ".");
+        }
+    }
+
     private boolean shouldSkipUpdate(Game game, Game gameToUpdate) {
         boolean isActiveUnchanged = Objects.equals(game.getIsActive(), gameToUpdate.getIsActive());
 
@@ -139,18 +887,27 @@ public class GameServiceImpl implements GameService {
         return isActiveUnchanged && (newNameIsNull || newNameUnchanged);
     }
 
-    private void updateGameDetails(Game game, Game gameToUpdate) {
+    private Game updateGameDetails(Game game, Game gameToUpdate, LocalDateTime updateDate) {
 
-        gameToUpdate.setIsActive(game.getIsActive());
-        gameToUpdate.setUpdateDate(LocalDateTime.now());
+        Game updatedGame = new Game(gameToUpdate.getName(), game.getIsActive());
+        updatedGame.setCreationDate(gameToUpdate.getCreationDate());
+        updatedGame.setUpdateDate(updateDate);
+        updatedGame.setVersion(versionSequence.incrementAndGet());
+        return updatedGame;
+    }
 
-        String newName = game.getNewName();
+    private void reindexUpdatedGame(Game gameToUpdate, Game updatedGame) {
+        boolean wasActive = isActive(gameToUpdate);
+        if (wasActive != isActive(updatedGame)) {
+            moveToStatusPartition(updatedGame.getName(), wasActive);
+        }
+        changeTimeIndex.add(updatedGame);
+        changeTimeIndex.superseded();
+    }
 
-        if (newName != null && !newName.equals(game.getName())) {
-            if (newName.isEmpty()) {
-                throw new ValidationException("New game name cannot be null or empty.");
-            }
-            handleNewNameUpdate(gameToUpdate, newName);
+    private void validateIsActive(Game game) {
+        if (game.getIsActive() == null) {
+            throw new ValidationException("Game isActive field must be defined.");
         }
     }
 
@@ -158,14 +915,362 @@ public class GameServiceImpl implements GameService {
         if (name == null || name.isEmpty()) {
             throw new ValidationException("Game name cannot be null or empty.");
         }
+        validateNameLength(name);
+    }
+
+    private void validateNameLength(String name) {
+        if (name.length() > Game.MAX_NAME_LENGTH) {
+            throw new ValidationException("Game name cannot be longer than " + Game.MAX_NAME_LENGTH + " characters.");
+        }
+    }
+
+    /**
+     * Keeps new games from taking a name that GET and DELETE /games/{name} cannot reach, since the subpaths of the
+     * same name are mapped first. Games stored under them before are still read and changed by the other endpoints.
+     */
+    private void validateNotReserved(String name) {
+        if (RESERVED_NAMES.contains(name)) {
+            throw new ValidationException("Game name " + name + " is reserved.");
+        }
+    }
+
+    /**
+     * Rejects a game the store engine cannot hold before the store runs the remapping function, which indexes the
+     * game and publishes its change.
+     */
+    private void validateStorable(Game game) {
+        if (!gameStore.supports(game)) {
+            throw new ValidationException("Game dates are out of the range of the game store: " + game.getCreationDate()
+                    + ", " + game.getUpdateDate());
+        }
+    }
+
+    private void validateVersion(long version) {
+        if (version > Game.MAX_VERSION) {
+            throw new ValidationException("Game version cannot be greater than " + Game.MAX_VERSION + ".");
+        }
     }
 
-    private void handleNewNameUpdate(Game gameToUpdate, String newName) {
-        if (gameCache.containsKey(newName)) {
-            throw new GameAlreadyExistsException("Game with name: " + newName + " already exists.");
+    private boolean isNewerState(Game game, long version, Game existingGame, String name) {
+        if (existingGame == null) {
+            Tombstone tombstone = tombstones.get(name);
+            long deletedVersion = tombstone == null ? 0 : tombstone.version;
+            return version > deletedVersion;
+        }
+        if (version != existingGame.getVersion()) {
+            return version > existingGame.getVersion();
+        }
+        if (game == null) {
+            return true;
+        }
+        int byUpdateDate = compareDates(game.getUpdateDate(), existingGame.getUpdateDate());
+        if (byUpdateDate != 0) {
+            return byUpdateDate > 0;
+        }
+        return isActive(game) && !isActive(existingGame);
+    }
+
+    private int compareDates(LocalDateTime date, LocalDateTime otherDate) {
+        if (date == null || otherDate == null) {
+            return date == null ? (otherDate == null ? 0 : -1) : 1;
+        }
+        return date.compareTo(otherDate);
+    }
+
+    /**
+     * The thread a change is made for: the current thread, or the thread waiting for it while a store applies its
+     * change on a thread of its own. Listeners keeping state per thread between {@link GameChangeListener#onChange}
+     * and {@link GameChangeListener#onChangesVisible} key it by this thread.
+     */
+    public static Thread callingThread() {
+        Thread thread = CALLING_THREAD.get();
+        return thread != null ? thread : Thread.currentThread();
+    }
+
+    /**
+     * Increases the catalog version once a change became visible to reads, and tells the listeners. All listeners
+     * are told even when one of them fails, whose exception is thrown afterwards.
+     */
+    private void changesVisible() {
+        catalogVersion.incrementAndGet();
+        RuntimeException failure = null;
+        for (GameChangeListener listener : changeListeners) {
+            try {
+                listener.onChangesVisible();
+            } catch (RuntimeException e) {
+                if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+        compactTimeIndexesIfNeeded();
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * Compacts the time indexes in the background once the stale entries of one outnumber the games, so that the cost
+     * of the compaction is spread over at least as many changes as it has entries to walk, and is not paid by the
+     * request making the last of them.
+     */
+    private void compactTimeIndexesIfNeeded() {
+        long threshold = Math.max(MIN_STALE_ENTRIES_TO_COMPACT, activeCount.sum() + inactiveCount.sum());
+        if ((creationTimeIndex.getStaleEntries() > threshold || changeTimeIndex.getStaleEntries() > threshold)
+                && compactingTimeIndexes.compareAndSet(false, true)) {
+            timeIndexCompactor.execute(() -> {
+                try {
+                    removeStaleTimeIndexEntries();
+                } catch (RuntimeException e) {
+                    logger.warn("Failed to compact the time indexes", e);
+                } finally {
+                    compactingTimeIndexes.set(false);
+                }
+            });
+        }
+    }
+
+    /**
+     * Removes the stale entries of the time indexes, those of games changed or deleted since, on the calling thread.
+     * Does nothing while a compaction is running already.
+     */
+    void compactTimeIndexes() {
+        if (!compactingTimeIndexes.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            removeStaleTimeIndexEntries();
+        } finally {
+            compactingTimeIndexes.set(false);
+        }
+    }
+
+    private void removeStaleTimeIndexEntries() {
+        for (GameTimeIndex index : new GameTimeIndex[]{creationTimeIndex, changeTimeIndex}) {
+            long removed = index.compact(this::findGame, entry -> {
+                boolean[] stale = new boolean[1];
+                computeGame(entry.getName(), (key, existingGame) -> {
+                    stale[0] = !index.matches(entry, existingGame);
+                    return existingGame;
+                });
+                return stale[0];
+            });
+            logger.debug("Removed {} stale entries from a time index", removed);
+        }
+    }
+
+    long getStaleTimeIndexEntries() {
+        return creationTimeIndex.getStaleEntries() + changeTimeIndex.getStaleEntries();
+    }
+
+    /**
+     * Tells the listeners about a change before the indexes and tombstones are changed, so that a listener failing to
+     * take it, like the write-ahead log failing to append it, abandons the store write with the indexes still matching
+     * the store.
+     */
+    private void publishChange(GameChange change) {
+        for (GameChangeListener listener : changeListeners) {
+            listener.onChange(change);
+        }
+        if (trackingDeletions) {
+            trackDeletion(change);
+        }
+    }
+
+    /**
+     * Called while holding the changed game, so the tombstones follow the changes of every name in order.
+     */
+    private void trackDeletion(GameChange change) {
+        switch (change.getType()) {
+            case DELETED:
+                tombstones.put(change.getName(), new Tombstone(change.getVersion()));
+                break;
+            case RENAMED:
+                tombstones.put(change.getPreviousName(), new Tombstone(change.getVersion()));
+                tombstones.remove(change.getName());
+                break;
+            default:
+                tombstones.remove(change.getName());
+        }
+    }
+
+    private void indexGame(Game game) {
+        boolean active = isActive(game);
+        nameIndex.add(game.getName());
+        if (statusIndex(active).add(game.getName())) {
+            statusCount(active).increment();
+        }
+        creationTimeIndex.add(game);
+        changeTimeIndex.add(game);
+    }
+
+    private void unindexGame(String name) {
+        creationTimeIndex.superseded();
+        changeTimeIndex.superseded();
+        nameIndex.remove(name);
+        if (activeIndex.remove(name)) {
+            activeCount.decrement();
+        }
+        if (inactiveIndex.remove(name)) {
+            inactiveCount.decrement();
+        }
+    }
+
+    private void moveToStatusPartition(String name, boolean wasActive) {
+        if (statusIndex(wasActive).remove(name)) {
+            statusCount(wasActive).decrement();
+        }
+        if (statusIndex(!wasActive).add(name)) {
+            statusCount(!wasActive).increment();
+        }
+    }
+
+    private boolean isActive(Game game) {
+        return Boolean.TRUE.equals(game.getIsActive());
+    }
+
+    private static LocalDateTime lastChangeDate(Game game) {
+        return game.getUpdateDate() != null ? game.getUpdateDate() : game.getCreationDate();
+    }
+
+    private boolean matchesFilters(Game game, GameQuery query) {
+        String name = game.getName();
+        return (query.getActive() == null || query.getActive() == isActive(game))
+                && (query.getPrefix() == null || name.startsWith(query.getPrefix()))
+                && (query.getFrom() == null || name.compareTo(query.getFrom()) >= 0)
+                && (query.getTo() == null || name.compareTo(query.getTo()) < 0);
+    }
+
+    private ConcurrentSkipListSet<String> statusIndex(boolean active) {
+        return active ? activeIndex : inactiveIndex;
+    }
+
+    private LongAdder statusCount(boolean active) {
+        return active ? activeCount : inactiveCount;
+    }
+
+    private NavigableSet<String> selectNameRange(GameQuery query) {
+
+        // lower bound is the greatest of the prefix, the inclusive "from" name and the exclusive cursor name
+        String lowerBound = query.getPrefix();
+        boolean lowerInclusive = true;
+        if (query.getFrom() != null && (lowerBound == null || query.getFrom().compareTo(lowerBound) > 0)) {
+            lowerBound = query.getFrom();
+        }
+        if (query.getCursor() != null) {
+            String lastName = decodeCursor(query.getCursor());
+            if (lowerBound == null || lastName.compareTo(lowerBound) >= 0) {
+                lowerBound = lastName;
+                lowerInclusive = false;
+            }
+        }
+
+        String upperBound = query.getTo();
+        ConcurrentSkipListSet<String> index = query.getActive() == null ? nameIndex : statusIndex(query.getActive());
+
+        if (lowerBound == null) {
+            return upperBound == null ? index : index.headSet(upperBound, false);
+        }
+        if (upperBound == null) {
+            return index.tailSet(lowerBound, lowerInclusive);
+        }
+        if (lowerBound.compareTo(upperBound) >= 0) {
+            return Collections.emptyNavigableSet();
+        }
+        return index.subSet(lowerBound, lowerInclusive, upperBound, false);
+    }
+
+    private String encodeCursor(String name) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(name.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String encodeTimeCursor(GameTimeIndex.Entry entry) {
+        return encodeCursor(entry.getTime() + TIME_CURSOR_SEPARATOR + entry.getName());
+    }
+
+    private GameTimeIndex.Entry decodeTimeCursor(String cursor) {
+        String decodedCursor = decodeCursor(cursor);
+        int separator = decodedCursor.indexOf(TIME_CURSOR_SEPARATOR);
+        try {
+            return new GameTimeIndex.Entry(LocalDateTime.parse(decodedCursor.substring(0, Math.max(separator, 0))),
+                    decodedCursor.substring(separator + 1));
+        } catch (DateTimeParseException e) {
+            throw new ValidationException("Invalid page cursor: " + cursor);
+        }
+    }
+
+    private String decodeCursor(String cursor) {
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("Invalid page cursor: " + cursor);
+        }
+    }
+
+    /**
+     * A successfully applied batch item together with the compensating operation that reverts it.
+     */
+    private static final class AppliedChange {
+
+        private final BatchItemResult<Game> result;
+        private final Runnable rollback;
+
+        private AppliedChange(BatchItemResult<Game> result, Runnable rollback) {
+            this.result = result;
+            this.rollback = rollback;
+        }
+    }
+
+    /**
+     * Rename of a game from its current name to a new name, visible under the new name once committed.
+     */
+    private static final class PendingRename {
+
+        private final String name;
+        private final String newName;
+        private final Game game;
+        private final Game renamedGame;
+        private volatile boolean committed;
+
+        private PendingRename(String name, String newName, Game game, Game renamedGame) {
+            this.name = name;
+            this.newName = newName;
+            this.game = game;
+            this.renamedGame = renamedGame;
+        }
+
+        private Game gameUnder(String gameName) {
+            if (gameName.equals(newName)) {
+                return committed ? renamedGame : null;
+            }
+            return committed ? null : game;
+        }
+    }
+
+    /**
+     * Version of a deleted game and the time of its deletion.
+     */
+    private static final class Tombstone {
+
+        private final long version;
+        private final long deletedAt = System.currentTimeMillis();
+
+        private Tombstone(long version) {
+            this.version = version;
+        }
+    }
+
+    /**
+     * Signals that a write has to wait for a rename in progress. Preallocated, as it only steers the retry loop.
+     */
+    private static final class RenameInProgressException extends RuntimeException {
+
+        private static final RenameInProgressException INSTANCE = new RenameInProgressException();
+
+        private RenameInProgressException() {
+            super("Rename in progress", null, false, false);
         }
-        gameCache.remove(gameToUpdate.getName());
-        gameToUpdate.setName(newName);
-        gameCache.put(newName, gameToUpdate);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,124 @@
+package com.game.management.service;
+
+import com.game.management.model.Game;
+
+import java.time.LocalDateTime;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Time-ordered index of the game names by one of their timestamps. Entries are only added: a change of the game
+ * adds an entry for its new time and leaves the entry of the previous time behind, so updates never search the
+ * index. Readers skip the stale entries, which no longer match the time of the game, and {@link #compact} removes
+ * them once they outnumber the games.
+ */
+final class GameTimeIndex {
+
+    private final ConcurrentSkipListSet<Entry> entries = new ConcurrentSkipListSet<>();
+    private final LongAdder staleEntries = new LongAdder();
+    private final Function<Game, LocalDateTime> timeOf;
+
+    GameTimeIndex(Function<Game, LocalDateTime> timeOf) {
+        this.timeOf = timeOf;
+    }
+
+    void add(Game game) {
+        LocalDateTime time = timeOf.apply(game);
+        if (time != null) {
+            entries.add(new Entry(time, game.getName()));
+        }
+    }
+
+    /**
+     * Counts an entry left behind by a change of the time or the name of a game, or by its deletion.
+     */
+    void superseded() {
+        staleEntries.increment();
+    }
+
+    long getStaleEntries() {
+        return staleEntries.sum();
+    }
+
+    /**
+     * @param cursor last entry of the previous page, or null for the first page
+     * @return the entries with a time after the given time, or after the cursor, in time order
+     */
+    NavigableSet<Entry> after(LocalDateTime time, Entry cursor) {
+        if (cursor != null && cursor.time.isAfter(time)) {
+            return entries.tailSet(cursor, false);
+        }
+        return entries.tailSet(new Entry(time.plusNanos(1), ""), true);
+    }
+
+    /**
+     * @return whether the entry describes the current state of the game
+     */
+    boolean matches(Entry entry, Game game) {
+        return game != null && entry.time.equals(timeOf.apply(game));
+    }
+
+    /**
+     * Removes the stale entries. An entry that does not match the game read without locking is checked again by
+     * the given function, which must lock the game, as the entry may belong to a change not yet stored.
+     *
+     * @param lookup        game currently stored under a name, read without locking
+     * @param isStaleLocked whether the entry is still stale with the game locked
+     * @return number of removed entries
+     */
+    long compact(Function<String, Game> lookup, Predicate<Entry> isStaleLocked) {
+        // entries re-added for an unchanged time were counted as stale too, so the count is reset rather than
+        // lowered by the removed entries
+        long countedStaleEntries = staleEntries.sum();
+        long removed = 0;
+        for (Entry entry : entries) {
+            if (!matches(entry, lookup.apply(entry.name)) && isStaleLocked.test(entry) && entries.remove(entry)) {
+                removed++;
+            }
+        }
+        staleEntries.add(-countedStaleEntries);
+        return removed;
+    }
+
+    static final class Entry implements Comparable<Entry> {
+
+        private final LocalDateTime time;
+        private final String name;
+
+        Entry(LocalDateTime time, String name) {
+            this.time = time;
+            this.name = name;
+        }
+
+        LocalDateTime getTime() {
+            return time;
+        }
+
+        String getName() {
+            return name;
+        }
+
+        @Override
+        public int compareTo(Entry other) {
+            int timeOrder = time.compareTo(other.time);
+            return timeOrder != 0 ? timeOrder : name.compareTo(other.name);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof Entry)) {
+                return false;
+            }
+            Entry otherEntry = (Entry) other;
+            return time.equals(otherEntry.time) && name.equals(otherEntry.name);
+        }
+
+        @Override
+        public int hashCode() {
+            return time.hashCode() * 31 + name.hashCode();
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.game.management.service;
+
+import com.game.management.model.BatchItemResult;
+import com.game.management.model.Game;
+import com.game.management.model.GamePage;
+import com.game.management.model.GameQuery;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Non-blocking variant of the {@link GameService} operations, used by the reactive serving mode.
+ */
+public interface ReactiveGameService {
+
+    Mono<Game> createGame(Game game);
+
+    Mono<Game> getGame(String name);
+
+    Flux<Game> getAllGames();
+
+    /**
+     * Walks the whole catalog page by page, reading the next page only when the previous one was consumed.
+     */
+    Flux<Game> streamAllGames(int pageSize);
+
+    Mono<GamePage<Game>> getGamesPage(GameQuery query);
+
+    Flux<Game> getGamesByStatus(boolean active);
+
+    Mono<Long> countGames(Boolean active);
+
+    Mono<Long> getCatalogVersion();
+
+    Mono<Game> updateGame(Game game);
+
+    Mono<Void> deleteGame(String name);
+
+    Flux<BatchItemResult<Game>> createGames(List<Game> games, boolean allOrNothing);
+
+    Flux<BatchItemResult<Game>> updateGames(List<Game> games, boolean allOrNothing);
+
+    Flux<BatchItemResult<Game>> deleteGames(List<String> names, boolean allOrNothing);
+}
@@ -0,0 +1,128 @@
+package com.game.management.service;
+
+import com.game.management.model.BatchItemResult;
+import com.game.management.model.Game;
+import com.game.management.model.GamePage;
+import com.game.management.model.GameQuery;
+import com.game.management.store.GameStoreEngine;
+import com.game.management.store.GameStoreProperties;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+
+/**
+ * Implementation of the {@link ReactiveGameService} on top of the {@link GameService}.
+ * Reads of the in-memory engines only touch the indexes and the store, so they run right on the subscribing event
+ * loop thread. Reads of an engine that {@link GameStoreEngine#readsFromDisk() reads from disk} are moved to the read
+ * scheduler, bounded elastic then. Writes may wait for the write-ahead log to be forced to disk or for the file
+ * store, so they are moved to the write scheduler, bounded elastic by default, to never block an event loop.
+ */
+
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveGameServiceImpl implements ReactiveGameService {
+
+    private final GameService gameService;
+    private final Scheduler readScheduler;
+    private final Scheduler writeScheduler;
+
+    @Autowired
+    public ReactiveGameServiceImpl(GameService gameService, GameStoreProperties storeProperties) {
+        this(gameService, storeProperties.getEngine().readsFromDisk() ? Schedulers.boundedElastic() : Schedulers.immediate(),
+                Schedulers.boundedElastic());
+    }
+
+    public ReactiveGameServiceImpl(GameService gameService, Scheduler writeScheduler) {
+        this(gameService, Schedulers.immediate(), writeScheduler);
+    }
+
+    public ReactiveGameServiceImpl(GameService gameService, Scheduler readScheduler, Scheduler writeScheduler) {
+        this.gameService = gameService;
+        this.readScheduler = readScheduler;
+        this.writeScheduler = writeScheduler;
+    }
+
+    @Override
+    public Mono<Game> createGame(Game game) {
+        return write(() -> gameService.createGame(game));
+    }
+
+    @Override
+    public Mono<Game> getGame(String name) {
+        return read(() -> gameService.getGame(name));
+    }
+
+    @Override
+    public Flux<Game> getAllGames() {
+        return read(gameService::getAllGames).flatMapIterable(games -> games);
+    }
+
+    @Override
+    public Flux<Game> streamAllGames(int pageSize) {
+        return read(() -> gameService.getGamesPage(new GameQuery(pageSize, null)))
+                .expand(page -> page.hasNext()
+                        ? read(() -> gameService.getGamesPage(new GameQuery(pageSize, page.getNextCursor())))
+                        : Mono.empty())
+                .concatMapIterable(GamePage::getGames);
+    }
+
+    @Override
+    public Mono<GamePage<Game>> getGamesPage(GameQuery query) {
+        return read(() -> gameService.getGamesPage(query));
+    }
+
+    @Override
+    public Flux<Game> getGamesByStatus(boolean active) {
+        return read(() -> gameService.getGamesByStatus(active)).flatMapIterable(games -> games);
+    }
+
+    @Override
+    public Mono<Long> countGames(Boolean active) {
+        return read(() -> gameService.countGames(active));
+    }
+
+    @Override
+    public Mono<Long> getCatalogVersion() {
+        return Mono.fromCallable(gameService::getCatalogVersion);
+    }
+
+    @Override
+    public Mono<Game> updateGame(Game game) {
+        return write(() -> gameService.updateGame(game));
+    }
+
+    @Override
+    public Mono<Void> deleteGame(String name) {
+        return Mono.<Void>fromRunnable(() -> gameService.deleteGame(name)).subscribeOn(writeScheduler);
+    }
+
+    @Override
+    public Flux<BatchItemResult<Game>> createGames(List<Game> games, boolean allOrNothing) {
+        return write(() -> gameService.createGames(games, allOrNothing)).flatMapIterable(results -> results);
+    }
+
+    @Override
+    public Flux<BatchItemResult<Game>> updateGames(List<Game> games, boolean allOrNothing) {
+        return write(() -> gameService.updateGames(games, allOrNothing)).flatMapIterable(results -> results);
+    }
+
+    @Override
+    public Flux<BatchItemResult<Game>> deleteGames(List<String> names, boolean allOrNothing) {
+        return write(() -> gameService.deleteGames(names, allOrNothing)).flatMapIterable(results -> results);
+    }
+
+    private <T> Mono<T> read(Callable<T> operation) {
+        return Mono.fromCallable(operation).subscribeOn(readScheduler);
+    }
+
+    private <T> Mono<T> write(Callable<T> operation) {
+        return Mono.fromCallable(operation).subscribeOn(writeScheduler);
+    }
+}
@@ -0,0 +1,58 @@
+package com.game.management.startup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.game.management.changes.GameChangeLog;
+import com.game.management.persistence.GamePersistenceManager;
+import com.game.management.replication.ReplicationNode;
+import com.game.management.store.GameStoreProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+
+import javax.validation.Validator;
+
+/**
+ * Startup of the application: the beans that must start with it when the context is initialized lazily
+ * (spring.main.lazy-initialization=true, set by the fast-startup profile), the warm-up before the application reports
+ * ready, and the exit once ready of the run that records the class-data sharing archive.
+ */
+
+@Configuration
+@EnableConfigurationProperties(GameStartupProperties.class)
+public class GameStartupConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(GameStartupConfig.class);
+
+    /**
+     * Beans that do their work when they are created rather than when they are first used: the recovery of the
+     * catalog, the start of the replication and the change log, which must see every change.
+     */
+    @Bean
+    public static LazyInitializationExcludeFilter eagerGameBeans() {
+        return LazyInitializationExcludeFilter.forBeanTypes(GamePersistenceManager.class, ReplicationNode.class,
+                GameChangeLog.class);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "game.startup.warmup", name = "enabled", havingValue = "true")
+    public GameWarmup gameWarmup(GameStartupProperties properties, GameStoreProperties storeProperties,
+                                 ObjectMapper objectMapper, ObjectProvider<Validator> validator) {
+        return new GameWarmup(properties.getWarmup(), storeProperties.getEngine(), objectMapper, validator.getIfAvailable());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void exitOnReady(ApplicationReadyEvent event) {
+        if (event.getApplicationContext().getBean(GameStartupProperties.class).isExitOnReady()) {
+            logger.info("Ready, exiting as game.startup.exit-on-ready is set");
+            System.exit(SpringApplication.exit(event.getApplicationContext()));
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.game.management.startup;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration of the startup of the application, bound from the game.startup.* properties.
+ */
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "game.startup")
+public class GameStartupProperties {
+
+    /**
+     * Stops the application once it is ready, used by the run that records the class-data sharing archive.
+     */
+    private boolean exitOnReady;
+    private Warmup warmup = new Warmup();
+
+    @Getter
+    @Setter
+    public static class Warmup {
+
+        private boolean enabled;
+        private int iterations = 20000; // operations on every service path, enough for the JIT to compile them
+        private int games = 1000; // games of the scratch catalog the service paths run on
+        private int httpRequests = 10; // requests of every kind sent to the server itself
+        private long maxDurationMs = 15000;
+    }
+}
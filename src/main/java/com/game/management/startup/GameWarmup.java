@@ -0,0 +1,210 @@
+package com.game.management.startup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.game.management.model.Game;
+import com.game.management.model.GameDTO;
+import com.game.management.model.GamePage;
+import com.game.management.model.GameQuery;
+import com.game.management.service.GameServiceImpl;
+import com.game.management.store.CompactGameStore;
+import com.game.management.store.GameStore;
+import com.game.management.store.GameStoreEngine;
+import com.game.management.store.HeapGameStore;
+import com.game.management.store.OffHeapGameStore;
+import com.game.management.store.ShardedGameStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ApplicationListener;
+
+import javax.validation.Validator;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Warms up the application after the context started and before it is ready, while the readiness probe still refuses
+ * traffic. The service paths run on a scratch catalog of their own until the JIT compiled them, games are serialized
+ * and validated, and a few requests of every kind are sent to the server itself, which initializes the dispatcher,
+ * the message converters and the error handling. None of it changes the catalog, the requests only read or are
+ * rejected by validation.
+ */
+public class GameWarmup implements ApplicationListener<ApplicationStartedEvent> {
+
+    private static final Logger logger = LoggerFactory.getLogger(GameWarmup.class);
+
+    private static final String GAME_PREFIX = "warmup-";
+    private static final String RENAMED_SUFFIX = "-renamed";
+    private static final String[] ACCEPTED_TYPES = {"application/json", "application/x-protobuf", "application/cbor",
+            "application/x-jackson-smile"};
+    private static final int HTTP_TIMEOUT_MS = 5000;
+
+    private final GameStartupProperties.Warmup properties;
+    private final GameStoreEngine engine;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+
+    public GameWarmup(GameStartupProperties.Warmup properties, GameStoreEngine engine, ObjectMapper objectMapper,
+                      Validator validator) {
+        this.properties = properties;
+        this.engine = engine;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationStartedEvent event) {
+        Integer port = null;
+        if (event.getApplicationContext() instanceof WebServerApplicationContext) {
+            port = ((WebServerApplicationContext) event.getApplicationContext()).getWebServer().getPort();
+        }
+        run(port);
+    }
+
+    /**
+     * @param port local port of the server, or null without a web server
+     */
+    public void run(Integer port) {
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(properties.getMaxDurationMs());
+
+        int serviceIterations = warmUpService(deadline);
+        int serializations = warmUpSerialization(deadline);
+        int requests = port == null || port <= 0 ? 0 : warmUpRequests(port, deadline);
+
+        logger.info("Warmed up in {} ms: {} service iterations, {} serializations, {} requests",
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), serviceIterations, serializations, requests);
+    }
+
+    /**
+     * Creates, reads, updates, renames, pages and deletes games of a scratch catalog held by a store of the
+     * configured engine, or by a heap store in place of the file engine.
+     */
+    private int warmUpService(long deadline) {
+        GameStore scratchStore = createScratchStore();
+        try {
+            return warmUpService(new GameServiceImpl(scratchStore), deadline);
+        } finally {
+            if (scratchStore instanceof ShardedGameStore) {
+                ((ShardedGameStore) scratchStore).close();
+            }
+        }
+    }
+
+    private int warmUpService(GameServiceImpl gameService, long deadline) {
+        int games = Math.max(1, properties.getGames());
+        int iteration = 0;
+        for (; iteration < properties.getIterations() && System.nanoTime() < deadline; iteration++) {
+            String name = GAME_PREFIX + (iteration % games);
+            if (iteration >= games) {
+                // renamed in the previous round over the games
+                gameService.deleteGame(name + RENAMED_SUFFIX);
+            }
+            gameService.createGame(new Game(name, true));
+            gameService.getGame(name);
+            gameService.updateGame(new Game(name, false));
+            Game rename = new Game(name, true);
+            rename.setNewName(name + RENAMED_SUFFIX);
+            gameService.updateGame(rename);
+            if (iteration % 16 == 0) {
+                gameService.getGamesPage(new GameQuery(100, null));
+                gameService.countGames(true);
+            }
+        }
+        return iteration;
+    }
+
+    private int warmUpSerialization(long deadline) {
+        Game game = new Game(GAME_PREFIX + "serialized", true);
+        game.setCreationDate(LocalDateTime.now());
+        game.setVersion(1);
+        List<GameDTO> page = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            page.add(game.toDTO());
+        }
+        int serializations = 0;
+        try {
+            for (; serializations < properties.getIterations() / 10 && System.nanoTime() < deadline; serializations++) {
+                byte[] serialized = objectMapper.writeValueAsBytes(game.toDTO());
+                Game deserialized = objectMapper.readValue(serialized, Game.class);
+                if (validator != null) {
+                    validator.validate(deserialized);
+                }
+                if (serializations % 10 == 0) {
+                    objectMapper.writeValueAsBytes(new GamePage<>(page, null));
+                }
+            }
+        } catch (IOException e) {
+            logger.warn("Could not warm up the serialization of games", e);
+        }
+        return serializations;
+    }
+
+    private int warmUpRequests(int port, long deadline) {
+        String baseUrl = "http://localhost:" + port + "/games";
+        int requests = 0;
+        for (int i = 0; i < properties.getHttpRequests() && System.nanoTime() < deadline; i++) {
+            for (String acceptedType : ACCEPTED_TYPES) {
+                send(baseUrl + "?limit=10", "GET", acceptedType, null);
+                send(baseUrl + "/" + GAME_PREFIX + "missing", "GET", acceptedType, null);
+                requests += 2;
+            }
+            send(baseUrl + "/count", "GET", ACCEPTED_TYPES[0], null);
+            // rejected by validation, the name is blank
+            send(baseUrl, "POST", ACCEPTED_TYPES[0], "{\"name\":\" \",\"isActive\":true}");
+            requests += 2;
+        }
+        return requests;
+    }
+
+    private void send(String url, String method, String acceptedType, String body) {
+        try {
+            HttpURLConnection connection = (HttpURLConnection) new URL(url).openConnection();
+            connection.setRequestMethod(method);
+            connection.setConnectTimeout(HTTP_TIMEOUT_MS);
+            connection.setReadTimeout(HTTP_TIMEOUT_MS);
+            connection.setRequestProperty("Accept", acceptedType);
+            if (body != null) {
+                connection.setDoOutput(true);
+                connection.setRequestProperty("Content-Type", "application/json");
+                try (OutputStream outputStream = connection.getOutputStream()) {
+                    outputStream.write(body.getBytes(StandardCharsets.UTF_8));
+                }
+            }
+            InputStream response = connection.getResponseCode() < 400 ? connection.getInputStream() : connection.getErrorStream();
+            if (response != null) {
+                byte[] buffer = new byte[8192];
+                try (InputStream inputStream = response) {
+                    while (inputStream.read(buffer) >= 0) {
+                        // drained so that the connection is reused
+                    }
+                }
+            }
+        } catch (IOException e) {
+            logger.debug("Warm-up request {} {} failed", method, url, e);
+        }
+    }
+
+    private GameStore createScratchStore() {
+        switch (engine) {
+            case OFF_HEAP:
+                return new OffHeapGameStore();
+            case COMPACT:
+                return new CompactGameStore();
+            case SHARDED:
+                return new ShardedGameStore();
+            case HEAP:
+            case FILE:
+            default:
+                return new HeapGameStore();
+        }
+    }
+}
@@ -0,0 +1,462 @@
+package com.game.management.store;
+
+import com.game.management.model.Game;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+
+/**
+ * {@link GameStore} keeping the games on the heap in a compact record format instead of as objects: the names as
+ * UTF-8 bytes in an arena, the dates as epoch nanoseconds and the isActive flag as bits, all in a few primitive
+ * arrays. {@link Game} instances only exist while they are read or written, so a game costs about 60 bytes and the
+ * garbage collector has a handful of arrays to trace instead of several objects per game.
+ * <p>
+ * The games are spread over segments by the hash of their names. A segment is an open addressing hash table of
+ * record numbers, guarded by its own lock like the lock stripes of {@link OffHeapGameStore}: writes hold the write
+ * lock and reads are optimistic, retried under the read lock if a write raced with them. Dates must lie between the
+ * years 1678 and 2261 to fit in a long of nanoseconds.
+ */
+public class CompactGameStore implements GameStore {
+
+    private static final int SEGMENTS = 64;
+    private static final int SEGMENT_SHIFT = Integer.SIZE - Integer.numberOfTrailingZeros(SEGMENTS);
+
+    private static final byte IS_ACTIVE_DEFINED = 1;
+    private static final byte IS_ACTIVE = 2;
+    private static final long NO_DATE = Long.MIN_VALUE;
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private final Segment[] segments = new Segment[SEGMENTS];
+
+    public CompactGameStore() {
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = new Segment();
+        }
+    }
+
+    @Override
+    public Game get(String name) {
+        int hash = hash(name);
+        Segment segment = segmentFor(hash);
+        byte[] key = name.getBytes(StandardCharsets.UTF_8);
+        long stamp = segment.tryOptimisticRead();
+        if (stamp != 0) {
+            try {
+                Game game = segment.read(name, key, hash);
+                if (segment.validate(stamp)) {
+                    return game;
+                }
+            } catch (RuntimeException e) {
+                // inconsistent arrays read while racing with a write, retried under the read lock
+            }
+        }
+
+        stamp = segment.readLock();
+        try {
+            return segment.read(name, key, hash);
+        } finally {
+            segment.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public Game putIfAbsent(String name, Game game) {
+        Game[] existingGame = new Game[1];
+        compute(name, (key, currentGame) -> {
+            existingGame[0] = currentGame;
+            return currentGame == null ? game : currentGame;
+        });
+        return existingGame[0];
+    }
+
+    @Override
+    public Game compute(String name, BiFunction<String, Game, Game> remappingFunction) {
+        int hash = hash(name);
+        Segment segment = segmentFor(hash);
+        byte[] key = name.getBytes(StandardCharsets.UTF_8);
+        long stamp = segment.writeLock();
+        try {
+            int position = segment.find(key, hash);
+            int record = position < 0 ? -1 : segment.index[position] - 1;
+            Game currentGame = record < 0 ? null : segment.decode(name, record);
+            Game newGame = remappingFunction.apply(name, currentGame);
+
+            if (newGame == null) {
+                if (record >= 0) {
+                    segment.delete(position);
+                }
+                return null;
+            }
+            if (newGame == currentGame) {
+                return currentGame;
+            }
+
+            // converted before anything is written, so a date out of range leaves the store unchanged, callers check
+            // supports(Game) before as the remapping function has already run here
+            long creationDate = toEpochNanos(newGame.getCreationDate());
+            long updateDate = toEpochNanos(newGame.getUpdateDate());
+            if (record < 0) {
+                record = segment.insert(key, hash);
+            }
+            segment.encode(record, creationDate, updateDate, flags(newGame.getIsActive()), newGame.getVersion());
+            return newGame;
+        } finally {
+            segment.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public boolean supports(Game game) {
+        return fitsEpochNanos(game.getCreationDate()) && fitsEpochNanos(game.getUpdateDate());
+    }
+
+    @Override
+    public Game remove(String name) {
+        Game[] removedGame = new Game[1];
+        compute(name, (key, currentGame) -> {
+            removedGame[0] = currentGame;
+            return null;
+        });
+        return removedGame[0];
+    }
+
+    /**
+     * Decodes the games of one segment at a time under its read lock and passes them to the consumer after
+     * releasing it, so the consumer may write to the store.
+     */
+    @Override
+    public void scan(Consumer<Game> consumer) {
+        for (Segment segment : segments) {
+            List<Game> games;
+            long stamp = segment.readLock();
+            try {
+                games = segment.decodeAll();
+            } finally {
+                segment.unlockRead(stamp);
+            }
+            games.forEach(consumer);
+        }
+    }
+
+    @Override
+    public long size() {
+        long size = 0;
+        for (Segment segment : segments) {
+            size += segment.size;
+        }
+        return size;
+    }
+
+    private Segment segmentFor(int hash) {
+        return segments[hash >>> SEGMENT_SHIFT];
+    }
+
+    /**
+     * Mixes all bits of the name hash code, the high bits select the segment and the low bits the table position.
+     */
+    private static int hash(String name) {
+        int hash = name.hashCode();
+        hash ^= hash >>> 16;
+        hash *= 0x85ebca6b;
+        hash ^= hash >>> 13;
+        hash *= 0xc2b2ae35;
+        return hash ^ (hash >>> 16);
+    }
+
+    private static byte flags(Boolean isActive) {
+        if (isActive == null) {
+            return 0;
+        }
+        return isActive ? IS_ACTIVE_DEFINED | IS_ACTIVE : IS_ACTIVE_DEFINED;
+    }
+
+    private static long toEpochNanos(LocalDateTime date) {
+        if (date == null) {
+            return NO_DATE;
+        }
+        if (!fitsEpochNanos(date)) {
+            throw new IllegalArgumentException("Date out of the range of the compact store: " + date);
+        }
+        return date.toEpochSecond(ZoneOffset.UTC) * NANOS_PER_SECOND + date.getNano();
+    }
+
+    private static boolean fitsEpochNanos(LocalDateTime date) {
+        if (date == null) {
+            return true;
+        }
+        try {
+            long epochNanos = Math.addExact(Math.multiplyExact(date.toEpochSecond(ZoneOffset.UTC), NANOS_PER_SECOND),
+                    date.getNano());
+            return epochNanos != NO_DATE;
+        } catch (ArithmeticException e) {
+            return false;
+        }
+    }
+
+    private static LocalDateTime toDate(long epochNanos) {
+        if (epochNanos == NO_DATE) {
+            return null;
+        }
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(epochNanos, NANOS_PER_SECOND),
+                (int) Math.floorMod(epochNanos, NANOS_PER_SECOND), ZoneOffset.UTC);
+    }
+
+    /**
+     * Hash table of the records of one segment. The table holds record numbers plus one, 0 marks an empty position,
+     * and collisions are resolved by linear probing. A record is a position in the parallel record arrays, free
+     * records are chained through their name offsets. Names are appended to the arena prefixed with their length
+     * as a varint, the arena is compacted once deleted names take up more than half of it.
+     */
+    @SuppressWarnings("serial")
+    private static final class Segment extends StampedLock {
+
+        private static final int INITIAL_CAPACITY = 16;
+
+        private int[] index = new int[INITIAL_CAPACITY];
+        private int[] hashes = new int[INITIAL_CAPACITY];
+        private int[] nameOffsets = new int[INITIAL_CAPACITY];
+        private long[] creationDates = new long[INITIAL_CAPACITY];
+        private long[] updateDates = new long[INITIAL_CAPACITY];
+        private long[] versions = new long[INITIAL_CAPACITY];
+        private byte[] flags = new byte[INITIAL_CAPACITY];
+        private int records;
+        private int freeRecord = -1;
+        private volatile int size;
+
+        private byte[] names = new byte[INITIAL_CAPACITY * 16];
+        private int namesLength;
+        private int deletedNamesLength;
+
+        private Game read(String name, byte[] key, int hash) {
+            int position = find(key, hash);
+            return position < 0 ? null : decode(name, index[position] - 1);
+        }
+
+        /**
+         * @return the table position of the record with the name, or -1
+         */
+        private int find(byte[] key, int hash) {
+            int[] index = this.index;
+            int mask = index.length - 1;
+            for (int position = hash & mask, probes = 0; probes <= mask; position = (position + 1) & mask, probes++) {
+                int record = index[position] - 1;
+                if (record < 0) {
+                    return -1;
+                }
+                if (hashes[record] == hash && nameEquals(nameOffsets[record], key)) {
+                    return position;
+                }
+            }
+            return -1;
+        }
+
+        private boolean nameEquals(int offset, byte[] key) {
+            int length = nameLength(offset);
+            if (length != key.length) {
+                return false;
+            }
+            byte[] names = this.names;
+            int start = offset + lengthSize(length);
+            for (int i = 0; i < length; i++) {
+                if (names[start + i] != key[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private Game decode(String name, int record) {
+            byte recordFlags = flags[record];
+            Boolean isActive = (recordFlags & IS_ACTIVE_DEFINED) == 0 ? null : (recordFlags & IS_ACTIVE) != 0;
+            Game game = new Game(name, isActive);
+            game.setCreationDate(toDate(creationDates[record]));
+            game.setUpdateDate(toDate(updateDates[record]));
+            game.setVersion(versions[record]);
+            return game;
+        }
+
+        private List<Game> decodeAll() {
+            List<Game> games = new ArrayList<>(size);
+            for (int position : index) {
+                if (position != 0) {
+                    int record = position - 1;
+                    games.add(decode(decodeName(nameOffsets[record]), record));
+                }
+            }
+            return games;
+        }
+
+        private String decodeName(int offset) {
+            int length = nameLength(offset);
+            return new String(names, offset + lengthSize(length), length, StandardCharsets.UTF_8);
+        }
+
+        private void encode(int record, long creationDate, long updateDate, byte recordFlags, long version) {
+            creationDates[record] = creationDate;
+            updateDates[record] = updateDate;
+            flags[record] = recordFlags;
+            versions[record] = version;
+        }
+
+        /**
+         * Adds a record with the name, which must not be stored yet.
+         *
+         * @return the record number
+         */
+        private int insert(byte[] key, int hash) {
+            if ((size + 1) * 4L > index.length * 3L) {
+                resizeIndex(index.length * 2);
+            }
+            int record = allocateRecord();
+            hashes[record] = hash;
+            nameOffsets[record] = appendName(key);
+
+            int mask = index.length - 1;
+            int position = hash & mask;
+            while (index[position] != 0) {
+                position = (position + 1) & mask;
+            }
+            index[position] = record + 1;
+            size++;
+            return record;
+        }
+
+        /**
+         * Removes the record at the table position, shifting back the records probed past it.
+         */
+        private void delete(int position) {
+            int record = index[position] - 1;
+            deletedNamesLength += encodedNameLength(nameOffsets[record]);
+            nameOffsets[record] = freeRecord;
+            freeRecord = record;
+
+            int[] index = this.index;
+            int mask = index.length - 1;
+            int hole = position;
+            index[hole] = 0;
+            for (int next = (hole + 1) & mask; index[next] != 0; next = (next + 1) & mask) {
+                int home = hashes[index[next] - 1] & mask;
+                boolean homeBetween = hole <= next ? hole < home && home <= next : hole < home || home <= next;
+                if (!homeBetween) {
+                    index[hole] = index[next];
+                    index[next] = 0;
+                    hole = next;
+                }
+            }
+            size--;
+
+            if (deletedNamesLength > namesLength / 2 && namesLength > INITIAL_CAPACITY * 16) {
+                compactNames();
+            }
+        }
+
+        private int allocateRecord() {
+            if (freeRecord >= 0) {
+                int record = freeRecord;
+                freeRecord = nameOffsets[record];
+                return record;
+            }
+            if (records == hashes.length) {
+                int capacity = records + (records >> 1);
+                hashes = Arrays.copyOf(hashes, capacity);
+                nameOffsets = Arrays.copyOf(nameOffsets, capacity);
+                creationDates = Arrays.copyOf(creationDates, capacity);
+                updateDates = Arrays.copyOf(updateDates, capacity);
+                versions = Arrays.copyOf(versions, capacity);
+                flags = Arrays.copyOf(flags, capacity);
+            }
+            return records++;
+        }
+
+        private int appendName(byte[] key) {
+            int required = namesLength + 5 + key.length;
+            if (required > names.length) {
+                names = Arrays.copyOf(names, Math.max(required, names.length + (names.length >> 1)));
+            }
+            int offset = namesLength;
+            int position = offset;
+            int length = key.length;
+            while (length >= 0x80) {
+                names[position++] = (byte) (length | 0x80);
+                length >>>= 7;
+            }
+            names[position++] = (byte) length;
+            System.arraycopy(key, 0, names, position, key.length);
+            namesLength = position + key.length;
+            return offset;
+        }
+
+        private int encodedNameLength(int offset) {
+            int length = nameLength(offset);
+            return lengthSize(length) + length;
+        }
+
+        /**
+         * @return the length of the name at the arena offset, read from its varint prefix
+         */
+        private int nameLength(int offset) {
+            byte[] names = this.names;
+            int length = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = names[offset++];
+                length |= (b & 0x7f) << shift;
+                shift += 7;
+            } while (b < 0);
+            return length;
+        }
+
+        private static int lengthSize(int length) {
+            int size = 1;
+            while (length >= 0x80) {
+                length >>>= 7;
+                size++;
+            }
+            return size;
+        }
+
+        private void resizeIndex(int capacity) {
+            int[] resized = new int[capacity];
+            int mask = capacity - 1;
+            for (int position : index) {
+                if (position != 0) {
+                    int slot = hashes[position - 1] & mask;
+                    while (resized[slot] != 0) {
+                        slot = (slot + 1) & mask;
+                    }
+                    resized[slot] = position;
+                }
+            }
+            index = resized;
+        }
+
+        /**
+         * Copies the names of the stored records into a new arena, leaving out the deleted ones.
+         */
+        private void compactNames() {
+            byte[] compacted = new byte[Math.max(INITIAL_CAPACITY * 16, (namesLength - deletedNamesLength) * 5 / 4)];
+            int compactedLength = 0;
+            for (int position : index) {
+                if (position != 0) {
+                    int record = position - 1;
+                    int offset = nameOffsets[record];
+                    int length = encodedNameLength(offset);
+                    System.arraycopy(names, offset, compacted, compactedLength, length);
+                    nameOffsets[record] = compactedLength;
+                    compactedLength += length;
+                }
+            }
+            names = compacted;
+            namesLength = compactedLength;
+            deletedNamesLength = 0;
+        }
+    }
+}
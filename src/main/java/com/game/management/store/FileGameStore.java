@@ -0,0 +1,206 @@
+package com.game.management.store;
+
+import com.game.management.model.Game;
+import com.game.management.model.GameChange;
+import com.game.management.model.GameChangeType;
+import com.game.management.persistence.GameRecordCodec;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+
+/**
+ * Persistent {@link GameStore} appending game records to a data file.
+ * Only the names and the positions of their latest records are kept in memory, every read is a positional
+ * read of the file. Deletes append a tombstone record.
+ * <p>
+ * On open the file is scanned to rebuild the positions, a torn record at its end is cut off, and the file is
+ * compacted when most of its records are stale. Records are written with positional writes that reach the
+ * operating system page cache immediately, so a crash of the process does not lose acknowledged writes;
+ * the file is forced to disk on close.
+ */
+public class FileGameStore implements GameStore, Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(FileGameStore.class);
+
+    private static final long COMPACTION_MIN_RECORDS = 10000;
+
+    private final Path file;
+    private final ConcurrentHashMap<String, Long> positions = new ConcurrentHashMap<>();
+
+    private final FileChannel channel;
+
+    // guarded by appendLock
+    private final Object appendLock = new Object();
+    private long appendPosition;
+
+    public FileGameStore(Path file) throws IOException {
+        this.file = file;
+        Path directory = file.toAbsolutePath().getParent();
+        if (directory != null) {
+            Files.createDirectories(directory);
+        }
+
+        long validEnd = 0;
+        long[] recordCount = new long[1];
+        if (Files.exists(file)) {
+            validEnd = GameRecordCodec.readRecords(file, (change, position) -> {
+                recordCount[0]++;
+                if (change.getType() == GameChangeType.DELETED) {
+                    positions.remove(change.getName());
+                } else {
+                    positions.put(change.getName(), position);
+                }
+            });
+        }
+
+        if (recordCount[0] > COMPACTION_MIN_RECORDS && recordCount[0] > 2L * positions.size()) {
+            validEnd = compact();
+        }
+
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        channel.truncate(validEnd);
+        appendPosition = validEnd;
+        logger.info("Opened game store file {} with {} games in {} records", file, positions.size(), recordCount[0]);
+    }
+
+    @Override
+    public Game get(String name) {
+        Long position = positions.get(name);
+        return position == null ? null : read(position);
+    }
+
+    @Override
+    public Game putIfAbsent(String name, Game game) {
+        Game[] existingGame = new Game[1];
+        compute(name, (key, currentGame) -> {
+            existingGame[0] = currentGame;
+            return currentGame == null ? game : currentGame;
+        });
+        return existingGame[0];
+    }
+
+    @Override
+    public Game compute(String name, BiFunction<String, Game, Game> remappingFunction) {
+        Game[] newGame = new Game[1];
+        positions.compute(name, (key, position) -> {
+            Game currentGame = position == null ? null : read(position);
+            newGame[0] = remappingFunction.apply(key, currentGame);
+
+            if (newGame[0] == null) {
+                if (position != null) {
+                    append(new GameChange(GameChangeType.DELETED, key, null, null, null, null, 0));
+                }
+                return null;
+            }
+            if (newGame[0] == currentGame) {
+                return position;
+            }
+            return append(new GameChange(GameChangeType.UPDATED, key, null, newGame[0].getIsActive(),
+                    newGame[0].getCreationDate(), newGame[0].getUpdateDate(), newGame[0].getVersion()));
+        });
+        return newGame[0];
+    }
+
+    @Override
+    public Game remove(String name) {
+        Game[] removedGame = new Game[1];
+        compute(name, (key, currentGame) -> {
+            removedGame[0] = currentGame;
+            return null;
+        });
+        return removedGame[0];
+    }
+
+    @Override
+    public void scan(Consumer<Game> consumer) {
+        for (String name : positions.keySet()) {
+            Game game = get(name);
+            if (game != null) {
+                consumer.accept(game);
+            }
+        }
+    }
+
+    @Override
+    public long size() {
+        return positions.mappingCount();
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (appendLock) {
+            channel.force(true);
+            channel.close();
+        }
+    }
+
+    private Game read(long position) {
+        try {
+            return GameRecordCodec.readAt(channel, position).toGame();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read game record from " + file, e);
+        }
+    }
+
+    private long append(GameChange change) {
+        ByteBuffer record = GameRecordCodec.encode(change);
+        synchronized (appendLock) {
+            long position = appendPosition;
+            try {
+                writeFully(channel, record, position);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not append game record to " + file, e);
+            }
+            appendPosition += record.limit();
+            return position;
+        }
+    }
+
+    /**
+     * Rewrites the file with the latest record of every game only. Called on open, before the store is shared.
+     *
+     * @return size of the compacted file
+     */
+    private long compact() throws IOException {
+        Path compactedFile = file.resolveSibling(file.getFileName() + ".compact");
+        Map<String, Long> compactedPositions = new HashMap<>();
+        long position = 0;
+
+        try (FileChannel source = FileChannel.open(file, StandardOpenOption.READ);
+             FileChannel target = FileChannel.open(compactedFile, StandardOpenOption.CREATE,
+                     StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            for (Map.Entry<String, Long> entry : positions.entrySet()) {
+                ByteBuffer record = GameRecordCodec.encode(GameRecordCodec.readAt(source, entry.getValue()));
+                writeFully(target, record, position);
+                compactedPositions.put(entry.getKey(), position);
+                position += record.limit();
+            }
+            target.force(true);
+        }
+
+        Files.move(compactedFile, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        positions.putAll(compactedPositions);
+        logger.info("Compacted game store file {} to {} records", file, compactedPositions.size());
+        return position;
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer, position + buffer.position());
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.game.management.store;
+
+import com.game.management.model.Game;
+
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+
+/**
+ * Storage engine for games, keyed by game name.
+ * <p>
+ * All operations on a single key are atomic. Engines that do not keep games on the heap return a new
+ * {@link Game} instance on every read, so changes must be written back through {@link #compute} instead of
+ * mutating a previously returned instance. Remapping functions must not access other keys of the same store.
+ */
+public interface GameStore {
+
+    Game get(String name);
+
+    /**
+     * @return the game already stored under the name, or null if the given game was stored
+     */
+    Game putIfAbsent(String name, Game game);
+
+    /**
+     * Atomically replaces the game stored under the name with the result of the remapping function,
+     * which receives null when no game is stored. Returning null removes the game and returning the very
+     * instance the function received keeps the stored game as it is, so a changed game must be returned as a
+     * new instance. An exception thrown by the function leaves the stored game unchanged.
+     *
+     * @return the game stored after the call, or null
+     */
+    Game compute(String name, BiFunction<String, Game, Game> remappingFunction);
+
+    /**
+     * Tells whether the engine can hold the game, so that callers can reject it before running a remapping function
+     * that has side effects. Engines with a limited range of dates override it.
+     *
+     * @return false if {@link #compute} would fail to store the game
+     */
+    default boolean supports(Game game) {
+        return true;
+    }
+
+    /**
+     * @return the removed game, or null if no game was stored under the name
+     */
+    Game remove(String name);
+
+    /**
+     * Passes every stored game to the consumer. Weakly consistent: changes made during the scan may or may not
+     * be observed.
+     */
+    void scan(Consumer<Game> consumer);
+
+    long size();
+}
@@ -0,0 +1,34 @@
+package com.game.management.store;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+
+/**
+ * Creates the {@link GameStore} engine selected with the game.store.engine property.
+ */
+
+@Configuration
+@EnableConfigurationProperties(GameStoreProperties.class)
+public class GameStoreConfig {
+
+    @Bean
+    public GameStore gameStore(GameStoreProperties properties) throws IOException {
+        switch (properties.getEngine()) {
+            case OFF_HEAP:
+                return new OffHeapGameStore(properties.getOffHeapSlotsPerSlab());
+            case COMPACT:
+                return new CompactGameStore();
+            case SHARDED:
+                return new ShardedGameStore(properties.getShards());
+            case FILE:
+                return new FileGameStore(Paths.get(properties.getFile()));
+            case HEAP:
+            default:
+                return new HeapGameStore();
+        }
+    }
+}
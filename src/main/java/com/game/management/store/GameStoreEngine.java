@@ -0,0 +1,24 @@
+package com.game.management.store;
+
+/**
+ * Available {@link GameStore} engines, selected with the game.store.engine property.
+ */
+public enum GameStoreEngine {
+    // games kept as objects in a ConcurrentHashMap
+    HEAP,
+    // compact game records kept in direct ByteBuffers outside of the Java heap
+    OFF_HEAP,
+    // compact game records kept in primitive arrays on the Java heap, names included
+    COMPACT,
+    // games kept as objects in shards by name hash, each shard changed only by a writer thread of its own
+    SHARDED,
+    // game records appended to a data file, only the names and record offsets are kept in memory
+    FILE;
+
+    /**
+     * @return whether reads of the engine may wait for the disk
+     */
+    public boolean readsFromDisk() {
+        return this == FILE;
+    }
+}
@@ -0,0 +1,20 @@
+package com.game.management.store;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration of the game store engine, bound from the game.store.* properties.
+ */
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "game.store")
+public class GameStoreProperties {
+
+    private GameStoreEngine engine = GameStoreEngine.HEAP;
+    private String file = "gamedata/games.dat"; // data file of the file engine
+    private int offHeapSlotsPerSlab = OffHeapGameStore.DEFAULT_SLOTS_PER_SLAB;
+    private int shards = Runtime.getRuntime().availableProcessors(); // shards of the sharded engine
+}
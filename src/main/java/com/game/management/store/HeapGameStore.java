@@ -0,0 +1,53 @@
+package com.game.management.store;
+
+import com.game.management.model.Game;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+
+/**
+ * {@link GameStore} keeping the games as objects in an in-memory ConcurrentHashMap.
+ */
+public class HeapGameStore implements GameStore {
+
+    private final ConcurrentHashMap<String, Game> games;
+
+    public HeapGameStore() {
+        this(new ConcurrentHashMap<>());
+    }
+
+    public HeapGameStore(ConcurrentHashMap<String, Game> games) {
+        this.games = games;
+    }
+
+    @Override
+    public Game get(String name) {
+        return games.get(name);
+    }
+
+    @Override
+    public Game putIfAbsent(String name, Game game) {
+        return games.putIfAbsent(name, game);
+    }
+
+    @Override
+    public Game compute(String name, BiFunction<String, Game, Game> remappingFunction) {
+        return games.compute(name, remappingFunction);
+    }
+
+    @Override
+    public Game remove(String name) {
+        return games.remove(name);
+    }
+
+    @Override
+    public void scan(Consumer<Game> consumer) {
+        games.values().forEach(consumer);
+    }
+
+    @Override
+    public long size() {
+        return games.mappingCount();
+    }
+}
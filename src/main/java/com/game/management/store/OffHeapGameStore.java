@@ -0,0 +1,234 @@
+package com.game.management.store;
+
+import com.game.management.model.Game;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+
+/**
+ * {@link GameStore} keeping compact fixed-size game records in direct ByteBuffer slabs outside of the Java heap.
+ * Only the names and the slot numbers of the records stay on the heap, which keeps the heap small and GC pauses
+ * short for large catalogs.
+ * <p>
+ * Writes to a name hold the write lock of the name's lock stripe. Reads are optimistic: they validate the stripe
+ * stamp after decoding the record and retry under the read lock if a write raced with them. Since a slot is only
+ * freed under the write lock of the name owning it, a validated read never observes a slot reused by another game.
+ */
+public class OffHeapGameStore implements GameStore {
+
+    public static final int DEFAULT_SLOTS_PER_SLAB = 1 << 16;
+
+    // record layout: flags, creation date (epoch second, nano), update date (epoch second, nano), version
+    private static final int RECORD_SIZE = 40;
+    private static final int FLAGS_OFFSET = 0;
+    private static final int CREATION_DATE_OFFSET = 1;
+    private static final int UPDATE_DATE_OFFSET = 13;
+    private static final int VERSION_OFFSET = 32;
+    private static final byte IS_ACTIVE_DEFINED = 1;
+    private static final byte IS_ACTIVE = 2;
+    private static final long NO_DATE = Long.MIN_VALUE;
+
+    private static final int LOCK_STRIPES = 64;
+
+    private final ConcurrentHashMap<String, Integer> slots = new ConcurrentHashMap<>();
+    private final StampedLock[] locks = new StampedLock[LOCK_STRIPES];
+
+    private final int slabShift;
+    private final int slabMask;
+    private volatile ByteBuffer[] slabs = new ByteBuffer[0];
+
+    // slot allocation, guarded by allocationLock
+    private final Object allocationLock = new Object();
+    private int[] freeSlots = new int[64];
+    private int freeSlotCount;
+    private int nextSlot;
+
+    public OffHeapGameStore() {
+        this(DEFAULT_SLOTS_PER_SLAB);
+    }
+
+    public OffHeapGameStore(int slotsPerSlab) {
+        if (Integer.bitCount(slotsPerSlab) != 1) {
+            throw new IllegalArgumentException("Slots per slab must be a power of two: " + slotsPerSlab);
+        }
+        this.slabShift = Integer.numberOfTrailingZeros(slotsPerSlab);
+        this.slabMask = slotsPerSlab - 1;
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new StampedLock();
+        }
+    }
+
+    @Override
+    public Game get(String name) {
+        StampedLock lock = lockFor(name);
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0) {
+            try {
+                Game game = read(name);
+                if (lock.validate(stamp)) {
+                    return game;
+                }
+            } catch (RuntimeException e) {
+                // torn record decoded while racing with a write, retried under the read lock
+            }
+        }
+
+        stamp = lock.readLock();
+        try {
+            return read(name);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public Game putIfAbsent(String name, Game game) {
+        Game[] existingGame = new Game[1];
+        compute(name, (key, currentGame) -> {
+            existingGame[0] = currentGame;
+            return currentGame == null ? game : currentGame;
+        });
+        return existingGame[0];
+    }
+
+    @Override
+    public Game compute(String name, BiFunction<String, Game, Game> remappingFunction) {
+        StampedLock lock = lockFor(name);
+        long stamp = lock.writeLock();
+        try {
+            Integer slot = slots.get(name);
+            Game currentGame = slot == null ? null : decode(name, slot);
+            Game newGame = remappingFunction.apply(name, currentGame);
+
+            if (newGame == null) {
+                if (slot != null) {
+                    slots.remove(name);
+                    freeSlot(slot);
+                }
+                return null;
+            }
+            if (newGame == currentGame) {
+                return currentGame;
+            }
+
+            int targetSlot = slot == null ? allocateSlot() : slot;
+            encode(targetSlot, newGame);
+            if (slot == null) {
+                slots.put(name, targetSlot);
+            }
+            return newGame;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public Game remove(String name) {
+        Game[] removedGame = new Game[1];
+        compute(name, (key, currentGame) -> {
+            removedGame[0] = currentGame;
+            return null;
+        });
+        return removedGame[0];
+    }
+
+    @Override
+    public void scan(Consumer<Game> consumer) {
+        for (String name : slots.keySet()) {
+            Game game = get(name);
+            if (game != null) {
+                consumer.accept(game);
+            }
+        }
+    }
+
+    @Override
+    public long size() {
+        return slots.mappingCount();
+    }
+
+    /**
+     * @return bytes of direct memory allocated for the record slabs
+     */
+    public long offHeapBytes() {
+        return (long) slabs.length * (slabMask + 1) * RECORD_SIZE;
+    }
+
+    private Game read(String name) {
+        Integer slot = slots.get(name);
+        return slot == null ? null : decode(name, slot);
+    }
+
+    private Game decode(String name, int slot) {
+        ByteBuffer slab = slabs[slot >>> slabShift];
+        int offset = (slot & slabMask) * RECORD_SIZE;
+
+        byte flags = slab.get(offset + FLAGS_OFFSET);
+        Boolean isActive = (flags & IS_ACTIVE_DEFINED) == 0 ? null : (flags & IS_ACTIVE) != 0;
+        Game game = new Game(name, isActive);
+        game.setCreationDate(getDate(slab, offset + CREATION_DATE_OFFSET));
+        game.setUpdateDate(getDate(slab, offset + UPDATE_DATE_OFFSET));
+        game.setVersion(slab.getLong(offset + VERSION_OFFSET));
+        return game;
+    }
+
+    private void encode(int slot, Game game) {
+        ByteBuffer slab = slabs[slot >>> slabShift];
+        int offset = (slot & slabMask) * RECORD_SIZE;
+
+        byte flags = 0;
+        if (game.getIsActive() != null) {
+            flags = game.getIsActive() ? IS_ACTIVE_DEFINED | IS_ACTIVE : IS_ACTIVE_DEFINED;
+        }
+        slab.put(offset + FLAGS_OFFSET, flags);
+        putDate(slab, offset + CREATION_DATE_OFFSET, game.getCreationDate());
+        putDate(slab, offset + UPDATE_DATE_OFFSET, game.getUpdateDate());
+        slab.putLong(offset + VERSION_OFFSET, game.getVersion());
+    }
+
+    private static void putDate(ByteBuffer slab, int offset, LocalDateTime date) {
+        slab.putLong(offset, date == null ? NO_DATE : date.toEpochSecond(ZoneOffset.UTC));
+        slab.putInt(offset + 8, date == null ? 0 : date.getNano());
+    }
+
+    private static LocalDateTime getDate(ByteBuffer slab, int offset) {
+        long epochSecond = slab.getLong(offset);
+        return epochSecond == NO_DATE ? null : LocalDateTime.ofEpochSecond(epochSecond, slab.getInt(offset + 8), ZoneOffset.UTC);
+    }
+
+    private int allocateSlot() {
+        synchronized (allocationLock) {
+            if (freeSlotCount > 0) {
+                return freeSlots[--freeSlotCount];
+            }
+            int slot = nextSlot++;
+            ByteBuffer[] currentSlabs = slabs;
+            if ((slot >>> slabShift) >= currentSlabs.length) {
+                ByteBuffer[] grownSlabs = Arrays.copyOf(currentSlabs, currentSlabs.length + 1);
+                grownSlabs[currentSlabs.length] = ByteBuffer.allocateDirect((slabMask + 1) * RECORD_SIZE);
+                slabs = grownSlabs;
+            }
+            return slot;
+        }
+    }
+
+    private void freeSlot(int slot) {
+        synchronized (allocationLock) {
+            if (freeSlotCount == freeSlots.length) {
+                freeSlots = Arrays.copyOf(freeSlots, freeSlots.length * 2);
+            }
+            freeSlots[freeSlotCount++] = slot;
+        }
+    }
+
+    private StampedLock lockFor(String name) {
+        int hash = name.hashCode();
+        return locks[(hash ^ (hash >>> 16)) & (LOCK_STRIPES - 1)];
+    }
+}
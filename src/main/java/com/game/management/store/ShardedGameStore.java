@@ -0,0 +1,239 @@
+package com.game.management.store;
+
+import com.game.management.model.Game;
+
+import java.io.Closeable;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+
+/**
+ * {@link GameStore} partitioning the games into shards by the hash of their names, by default one shard per core.
+ * Every shard is owned by a writer thread of its own, which applies the changes of the shard one after another from
+ * a queue, so writes to a shard never contend with each other and writes to different shards run in parallel on
+ * their cores. A writing thread queues its change and parks until the writer applied it, the writer works through
+ * all queued changes before it parks again. Reads go straight to the table of the shard without locking.
+ * <p>
+ * Renames across shards need no support from the store: the game service claims the current and the new name, each
+ * with a change of its own shard, and commits the rename once it holds both. Remapping functions run on the writer
+ * thread of the shard; one calling back into the same shard is applied in place, one calling into another shard
+ * could deadlock with that shard's writer and is not allowed, as the {@link GameStore} contract states. Thread-locals
+ * of the caller are not visible to them; the game service tells its change listeners whom a change was made for.
+ */
+public class ShardedGameStore implements GameStore, Closeable {
+
+    private static final boolean MULTI_CORE = Runtime.getRuntime().availableProcessors() > 1;
+    // waiting threads spin this long before they park, only worth it when the thread they wait for runs in parallel
+    private static final int SPINS = MULTI_CORE ? 256 : 0;
+
+    private final Shard[] shards;
+
+    public ShardedGameStore() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    public ShardedGameStore(int shardCount) {
+        if (shardCount < 1) {
+            throw new IllegalArgumentException("At least one shard is needed, got " + shardCount);
+        }
+        shards = new Shard[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new Shard(i);
+        }
+        for (Shard shard : shards) {
+            shard.writer.start();
+        }
+    }
+
+    public int shardCount() {
+        return shards.length;
+    }
+
+    @Override
+    public Game get(String name) {
+        return shardOf(name).games.get(name);
+    }
+
+    @Override
+    public Game putIfAbsent(String name, Game game) {
+        Game[] existingGame = new Game[1];
+        shardOf(name).apply(name, (key, storedGame) -> {
+            existingGame[0] = storedGame;
+            return storedGame != null ? storedGame : game;
+        });
+        return existingGame[0];
+    }
+
+    @Override
+    public Game compute(String name, BiFunction<String, Game, Game> remappingFunction) {
+        return shardOf(name).apply(name, remappingFunction);
+    }
+
+    @Override
+    public Game remove(String name) {
+        Game[] removedGame = new Game[1];
+        shardOf(name).apply(name, (key, storedGame) -> {
+            removedGame[0] = storedGame;
+            return null;
+        });
+        return removedGame[0];
+    }
+
+    @Override
+    public void scan(Consumer<Game> consumer) {
+        for (Shard shard : shards) {
+            shard.games.values().forEach(consumer);
+        }
+    }
+
+    @Override
+    public long size() {
+        long size = 0;
+        for (Shard shard : shards) {
+            size += shard.games.mappingCount();
+        }
+        return size;
+    }
+
+    /**
+     * Stops the writers once they applied the changes already queued. Later changes fail.
+     */
+    @Override
+    public void close() {
+        for (Shard shard : shards) {
+            shard.running = false;
+            LockSupport.unpark(shard.writer);
+        }
+        for (Shard shard : shards) {
+            try {
+                shard.writer.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            // changes queued while the writer stopped
+            for (Change change; (change = shard.changes.poll()) != null; ) {
+                change.complete(null, new IllegalStateException("The game store is closed"));
+            }
+        }
+    }
+
+    private Shard shardOf(String name) {
+        int hash = name.hashCode() * 0x9E3779B9;
+        return shards[(int) (((hash >>> 1) * (long) shards.length) >>> 31)];
+    }
+
+    /**
+     * A change waiting for the writer of its shard, and its outcome once applied.
+     */
+    private static final class Change {
+
+        private final String name;
+        private final BiFunction<String, Game, Game> remappingFunction;
+        private final Thread caller;
+        private Game result;
+        private Throwable failure;
+        private volatile boolean applied;
+
+        private Change(String name, BiFunction<String, Game, Game> remappingFunction, Thread caller) {
+            this.name = name;
+            this.remappingFunction = remappingFunction;
+            this.caller = caller;
+        }
+
+        private void complete(Game result, Throwable failure) {
+            this.result = result;
+            this.failure = failure;
+            applied = true;
+            LockSupport.unpark(caller);
+        }
+    }
+
+    private static final class Shard implements Runnable {
+
+        private final ConcurrentHashMap<String, Game> games = new ConcurrentHashMap<>();
+        private final Queue<Change> changes = new ConcurrentLinkedQueue<>();
+        private final Thread writer;
+        private volatile boolean waiting; // the writer is parked, or about to, until a change is queued
+        private volatile boolean running = true;
+
+        private Shard(int index) {
+            writer = new Thread(this, "game-shard-" + index);
+            writer.setDaemon(true);
+        }
+
+        private Game apply(String name, BiFunction<String, Game, Game> remappingFunction) {
+            if (Thread.currentThread() == writer) {
+                return games.compute(name, remappingFunction);
+            }
+            if (!running) {
+                throw new IllegalStateException("The game store is closed");
+            }
+            Change change = new Change(name, remappingFunction, Thread.currentThread());
+            changes.offer(change);
+            if (!running && changes.remove(change)) {
+                // closed in the meantime, neither the writer nor the close will take the change anymore
+                throw new IllegalStateException("The game store is closed");
+            }
+            if (waiting) {
+                LockSupport.unpark(writer);
+            }
+            // the change cannot be withdrawn once queued, so an interrupt is kept for after it was applied instead of
+            // making every park return right away
+            boolean interrupted = false;
+            for (int spins = 0; !change.applied; spins++) {
+                if (spins >= SPINS) {
+                    LockSupport.park(this);
+                    interrupted |= Thread.interrupted();
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+
+            if (change.failure instanceof RuntimeException) {
+                throw (RuntimeException) change.failure;
+            }
+            if (change.failure instanceof Error) {
+                throw (Error) change.failure;
+            }
+            return change.result;
+        }
+
+        @Override
+        public void run() {
+            int idleSpins = 0;
+            while (true) {
+                Change change = changes.poll();
+                if (change != null) {
+                    idleSpins = 0;
+                    applyChange(change);
+                    continue;
+                }
+                if (!running) {
+                    return;
+                }
+                if (idleSpins++ < SPINS) {
+                    continue;
+                }
+                // a change queued after this flag is set unparks the writer, one queued before is found by the check
+                waiting = true;
+                if (changes.isEmpty() && running) {
+                    LockSupport.park(this);
+                }
+                waiting = false;
+            }
+        }
+
+        private void applyChange(Change change) {
+            try {
+                change.complete(games.compute(change.name, change.remappingFunction), null);
+            } catch (Throwable e) {
+                change.complete(null, e);
+            }
+        }
+    }
+}
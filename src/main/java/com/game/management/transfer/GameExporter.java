@@ -0,0 +1,52 @@
+package com.game.management.transfer;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.game.management.model.Game;
+import com.game.management.model.GamePage;
+import com.game.management.model.GameQuery;
+import com.game.management.service.GameService;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Exports the catalog as newline-delimited JSON, one {@link com.game.management.model.GameDTO} per line in the
+ * order of the names. The name index is walked one page at a time, so only a single page is held in memory
+ * however large the catalog is. Games changed during the export may or may not be included in their new state.
+ */
+public class GameExporter {
+
+    private static final int PAGE_SIZE = 1000;
+
+    private final GameService gameService;
+    private final ObjectMapper objectMapper;
+
+    public GameExporter(GameService gameService, ObjectMapper objectMapper) {
+        this.gameService = gameService;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Writes the catalog and closes the output stream.
+     *
+     * @return number of exported games
+     */
+    public long exportGames(OutputStream outputStream) throws IOException {
+        long exportedGames = 0;
+        try (JsonGenerator generator = objectMapper.createGenerator(outputStream)) {
+            generator.setRootValueSeparator(null);
+            String cursor = null;
+            do {
+                GamePage<Game> page = gameService.getGamesPage(new GameQuery(PAGE_SIZE, cursor));
+                for (Game game : page.getGames()) {
+                    generator.writeObject(game.toDTO());
+                    generator.writeRaw('\n');
+                }
+                exportedGames += page.getGames().size();
+                cursor = page.getNextCursor();
+            } while (cursor != null);
+        }
+        return exportedGames;
+    }
+}
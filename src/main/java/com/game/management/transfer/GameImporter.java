@@ -0,0 +1,308 @@
+package com.game.management.transfer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.game.management.model.BatchItemResult;
+import com.game.management.model.BatchItemStatus;
+import com.game.management.model.Game;
+import com.game.management.model.ImportError;
+import com.game.management.model.ImportReport;
+import com.game.management.service.GameServiceImpl;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Phaser;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Imports games from newline-delimited JSON, one game per line as written by {@link GameExporter}. The request
+ * thread only splits the input into batches of lines, the workers parse them and apply them with
+ * {@link GameServiceImpl#importGames}. Once all workers are busy and their queue is full the request thread applies
+ * the next batch itself, which stops it from reading ahead, so an import of any size holds a bounded number of lines.
+ * With a single import thread the request thread applies all batches itself, handing them to a worker would only
+ * add context switches.
+ * <p>
+ * Every line is applied on its own, a malformed or invalid line, or one that fails to be stored, is reported with its
+ * line number and the import goes on. The report lists the failed lines with the lowest line numbers. Batches are applied in parallel, so two lines of the same game only have a defined outcome when they
+ * carry versions. A line longer than the configured maximum is skipped without being held in memory and reported
+ * as invalid.
+ */
+public class GameImporter {
+
+    private static final Logger logger = LoggerFactory.getLogger(GameImporter.class);
+
+    private static final int READ_BUFFER_SIZE = 1 << 16;
+
+    private final GameServiceImpl gameService;
+    private final ObjectReader gameReader;
+    private final int batchSize;
+    private final int maxReportedErrors;
+    private final int maxLineLength;
+    private final ThreadPoolExecutor workers;
+
+    public GameImporter(GameServiceImpl gameService, ObjectMapper objectMapper, GameTransferProperties properties) {
+        this.gameService = gameService;
+        this.gameReader = objectMapper.readerFor(Game.class);
+        this.batchSize = properties.getImportBatchSize();
+        this.maxReportedErrors = properties.getMaxReportedErrors();
+        this.maxLineLength = properties.getMaxLineLength();
+
+        if (properties.getImportThreads() <= 1) {
+            this.workers = null;
+            return;
+        }
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(properties.getImportThreads(), properties.getImportThreads(),
+                0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(properties.getImportQueueCapacity()),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "game-import-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                (batch, executor) -> {
+                    if (executor.isShutdown()) {
+                        throw new RejectedExecutionException("Game import is shut down");
+                    }
+                    batch.run();
+                });
+    }
+
+    /**
+     * Reads the input to its end and returns once every line was applied. The input is not closed.
+     */
+    public ImportReport importGames(InputStream inputStream) throws IOException {
+        long start = System.nanoTime();
+        ImportProgress progress = new ImportProgress(maxReportedErrors);
+        Phaser pendingBatches = new Phaser(1);
+        LineReader reader = new LineReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8), maxLineLength);
+        try {
+            List<String> lines = new ArrayList<>(batchSize);
+            long firstLine = 1;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                // over-long lines are kept as null to be reported with their line number
+                lines.add(reader.isOverLong() ? null : line);
+                if (lines.size() == batchSize) {
+                    submit(lines, firstLine, progress, pendingBatches);
+                    firstLine += lines.size();
+                    lines = new ArrayList<>(batchSize);
+                }
+            }
+            if (!lines.isEmpty()) {
+                submit(lines, firstLine, progress, pendingBatches);
+            }
+        } finally {
+            pendingBatches.arriveAndAwaitAdvance();
+        }
+
+        ImportReport report = progress.toReport();
+        logger.info("Imported games in {} ms: {}", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), report);
+        return report;
+    }
+
+    public void close() {
+        if (workers != null) {
+            workers.shutdown();
+        }
+    }
+
+    private void submit(List<String> lines, long firstLine, ImportProgress progress, Phaser pendingBatches) {
+        if (workers == null) {
+            applyBatch(lines, firstLine, progress);
+            return;
+        }
+        pendingBatches.register();
+        try {
+            workers.execute(() -> {
+                try {
+                    applyBatch(lines, firstLine, progress);
+                } finally {
+                    pendingBatches.arriveAndDeregister();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            pendingBatches.arriveAndDeregister();
+            throw e;
+        }
+    }
+
+    private void applyBatch(List<String> lines, long firstLine, ImportProgress progress) {
+        List<Game> games = new ArrayList<>(lines.size());
+        long[] gameLines = new long[lines.size()];
+        for (int i = 0; i < lines.size(); i++) {
+            String line = lines.get(i);
+            if (line == null) {
+                progress.records.increment();
+                progress.failed(firstLine + i, null, BatchItemStatus.INVALID,
+                        "Line is longer than " + maxLineLength + " characters.");
+                continue;
+            }
+            if (isBlank(line)) {
+                continue;
+            }
+            progress.records.increment();
+            try {
+                gameLines[games.size()] = firstLine + i;
+                games.add(gameReader.readValue(line));
+            } catch (JsonProcessingException e) {
+                progress.failed(firstLine + i, null, BatchItemStatus.INVALID, "Malformed game: " + e.getOriginalMessage());
+            }
+        }
+
+        List<BatchItemResult<Game>> results;
+        try {
+            results = gameService.importGames(games);
+        } catch (RuntimeException e) {
+            // reported for every line of the batch instead of ending the worker or the import
+            logger.error("Could not import a batch of games from line {}", firstLine, e);
+            for (int i = 0; i < games.size(); i++) {
+                progress.failed(gameLines[i], games.get(i).getName(), BatchItemStatus.FAILED,
+                        "Game could not be imported: " + e.getMessage());
+            }
+            return;
+        }
+        for (int i = 0; i < results.size(); i++) {
+            BatchItemResult<Game> result = results.get(i);
+            switch (result.getStatus()) {
+                case CREATED:
+                    progress.created.increment();
+                    break;
+                case UPDATED:
+                    progress.updated.increment();
+                    break;
+                case CONFLICT:
+                    progress.skipped.increment();
+                    break;
+                default:
+                    progress.failed(gameLines[i], result.getName(), result.getStatus(), result.getMessage());
+            }
+        }
+    }
+
+    private static boolean isBlank(String line) {
+        for (int i = 0; i < line.length(); i++) {
+            if (!Character.isWhitespace(line.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Splits the input into lines at "\n" or "\r\n" like {@link java.io.BufferedReader#readLine}, but holds at most maxLength
+     * characters of a line. The rest of an over-long line is read and dropped.
+     */
+    private static final class LineReader {
+
+        private final Reader reader;
+        private final int maxLength;
+        private final char[] buffer = new char[READ_BUFFER_SIZE];
+        private int position;
+        private int limit;
+        private boolean overLong;
+
+        private LineReader(Reader reader, int maxLength) {
+            this.reader = reader;
+            this.maxLength = maxLength;
+        }
+
+        /**
+         * @return the next line without its terminator, or null at the end of the input
+         */
+        String readLine() throws IOException {
+            StringBuilder line = new StringBuilder();
+            boolean started = false;
+            overLong = false;
+            while (true) {
+                if (position == limit) {
+                    int read = reader.read(buffer, 0, buffer.length);
+                    if (read < 0) {
+                        return started ? line.toString() : null;
+                    }
+                    position = 0;
+                    limit = read;
+                }
+                started = true;
+                int start = position;
+                while (position < limit && buffer[position] != '\n') {
+                    position++;
+                }
+                int kept = Math.min(position - start, maxLength - line.length());
+                if (kept < position - start) {
+                    overLong = true;
+                }
+                line.append(buffer, start, kept);
+                if (position < limit) {
+                    position++;
+                    if (line.length() > 0 && line.charAt(line.length() - 1) == '\r') {
+                        line.setLength(line.length() - 1);
+                    }
+                    return line.toString();
+                }
+            }
+        }
+
+        /**
+         * @return whether the line last read was cut at maxLength characters
+         */
+        boolean isOverLong() {
+            return overLong;
+        }
+    }
+
+    /**
+     * Counts of a running import, updated by all its workers.
+     */
+    private static final class ImportProgress {
+
+        private final LongAdder records = new LongAdder();
+        private final LongAdder created = new LongAdder();
+        private final LongAdder updated = new LongAdder();
+        private final LongAdder skipped = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+        // the failed lines with the highest line number first, only the lowest maxReportedErrors of them are kept
+        private final PriorityQueue<ImportError> errors = new PriorityQueue<>(
+                (first, second) -> Long.compare(second.getLine(), first.getLine()));
+        private final int maxReportedErrors;
+
+        private ImportProgress(int maxReportedErrors) {
+            this.maxReportedErrors = maxReportedErrors;
+        }
+
+        private void failed(long line, String name, BatchItemStatus status, String message) {
+            failed.increment();
+            synchronized (errors) {
+                // batches complete in any order, so a lower line may still replace the highest one kept
+                if (errors.size() < maxReportedErrors) {
+                    errors.add(new ImportError(line, name, status, message));
+                } else if (!errors.isEmpty() && line < errors.peek().getLine()) {
+                    errors.poll();
+                    errors.add(new ImportError(line, name, status, message));
+                }
+            }
+        }
+
+        private ImportReport toReport() {
+            List<ImportError> reportedErrors;
+            synchronized (errors) {
+                reportedErrors = new ArrayList<>(errors);
+            }
+            reportedErrors.sort((first, second) -> Long.compare(first.getLine(), second.getLine()));
+            return new ImportReport(records.sum(), created.sum(), updated.sum(), skipped.sum(), failed.sum(), reportedErrors);
+        }
+    }
+}
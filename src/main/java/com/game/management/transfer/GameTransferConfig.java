@@ -0,0 +1,27 @@
+package com.game.management.transfer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.game.management.service.GameService;
+import com.game.management.service.GameServiceImpl;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Creates the bulk import and export of the catalog, configured with the game.transfer.* properties.
+ */
+
+@Configuration
+@EnableConfigurationProperties(GameTransferProperties.class)
+public class GameTransferConfig {
+
+    @Bean(destroyMethod = "close")
+    public GameImporter gameImporter(GameServiceImpl gameService, ObjectMapper objectMapper, GameTransferProperties properties) {
+        return new GameImporter(gameService, objectMapper, properties);
+    }
+
+    @Bean
+    public GameExporter gameExporter(GameService gameService, ObjectMapper objectMapper) {
+        return new GameExporter(gameService, objectMapper);
+    }
+}
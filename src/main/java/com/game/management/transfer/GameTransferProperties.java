@@ -0,0 +1,21 @@
+package com.game.management.transfer;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration of the bulk import of games, bound from the game.transfer.* properties.
+ */
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "game.transfer")
+public class GameTransferProperties {
+
+    private int importThreads = Runtime.getRuntime().availableProcessors();
+    private int importBatchSize = 1000; // lines parsed and applied together by a worker
+    private int importQueueCapacity = 8; // batches waiting for a worker before the request thread applies one itself
+    private int maxReportedErrors = 100;
+    private int maxLineLength = 16384; // characters of an import line, longer lines are skipped and reported as invalid
+}
@@ -0,0 +1,66 @@
+package com.game.management.wire;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.std.StdScalarDeserializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdScalarSerializer;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Jackson module writing {@link LocalDateTime} values as epoch milliseconds in the time zone of the server,
+ * used by the binary encodings where a number takes a fraction of the size of the ISO text.
+ * Sub-millisecond precision is dropped.
+ */
+public class EpochMillisModule extends SimpleModule {
+
+    private static final ZoneId ZONE = ZoneId.systemDefault();
+
+    public EpochMillisModule() {
+        super("EpochMillisModule");
+        addSerializer(LocalDateTime.class, new EpochMillisSerializer());
+        addDeserializer(LocalDateTime.class, new EpochMillisDeserializer());
+    }
+
+    public static long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZONE).toInstant().toEpochMilli();
+    }
+
+    public static LocalDateTime fromEpochMillis(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZONE);
+    }
+
+    private static class EpochMillisSerializer extends StdScalarSerializer<LocalDateTime> {
+
+        EpochMillisSerializer() {
+            super(LocalDateTime.class);
+        }
+
+        @Override
+        public void serialize(LocalDateTime value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            generator.writeNumber(toEpochMillis(value));
+        }
+    }
+
+    private static class EpochMillisDeserializer extends StdScalarDeserializer<LocalDateTime> {
+
+        EpochMillisDeserializer() {
+            super(LocalDateTime.class);
+        }
+
+        @Override
+        public LocalDateTime deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+            if (parser.currentToken() != JsonToken.VALUE_NUMBER_INT) {
+                return (LocalDateTime) context.handleUnexpectedToken(LocalDateTime.class, parser);
+            }
+            return fromEpochMillis(parser.getLongValue());
+        }
+    }
+}
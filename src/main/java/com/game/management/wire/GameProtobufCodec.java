@@ -0,0 +1,257 @@
+package com.game.management.wire;
+
+import com.game.management.exception.ErrorResponse;
+import com.game.management.model.BatchItemResult;
+import com.game.management.model.GameDTO;
+import com.game.management.model.GamePage;
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.WireFormat;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Protobuf encoding of the /games responses as described by src/main/proto/games.proto.
+ * The messages are written straight from the DTOs, without building generated message objects first.
+ * A list is encoded as a sequence of its items in field 1, so a list can be streamed item by item and
+ * an empty list is an empty message.
+ */
+public final class GameProtobufCodec {
+
+    public static final String MEDIA_TYPE = "application/x-protobuf";
+
+    private static final int BUFFER_SIZE = 8192;
+
+    // Game
+    private static final int NAME = 1;
+    private static final int CREATION_DATE = 2;
+    private static final int UPDATE_DATE = 3;
+    private static final int IS_ACTIVE = 4;
+    private static final int VERSION = 5;
+
+    // GameList, GamePage and BatchResult
+    private static final int ITEMS = 1;
+    private static final int NEXT_CURSOR = 2;
+
+    // BatchItemResult
+    private static final int RESULT_NAME = 1;
+    private static final int RESULT_STATUS = 2;
+    private static final int RESULT_GAME = 3;
+    private static final int RESULT_MESSAGE = 4;
+
+    // Count
+    private static final int COUNT = 1;
+
+    // Error
+    private static final int ERROR_MESSAGE = 1;
+    private static final int ERROR_STATUS = 2;
+    private static final int ERROR_TIMESTAMP = 3;
+
+    private GameProtobufCodec() {
+    }
+
+    /**
+     * @return true if values of the type can be written as a message, lists are checked by {@link #supportsListItem}
+     */
+    public static boolean supports(Class<?> type) {
+        return GameDTO.class.isAssignableFrom(type)
+                || GamePage.class.isAssignableFrom(type)
+                || Long.class == type
+                || ErrorResponse.class.isAssignableFrom(type);
+    }
+
+    public static boolean supportsListItem(Class<?> type) {
+        return GameDTO.class.isAssignableFrom(type) || BatchItemResult.class.isAssignableFrom(type);
+    }
+
+    public static void write(Object body, OutputStream outputStream) throws IOException {
+        CodedOutputStream output = CodedOutputStream.newInstance(outputStream, BUFFER_SIZE);
+        if (body instanceof GameDTO) {
+            writeGameFields(output, (GameDTO) body);
+        } else if (body instanceof List) {
+            for (Object item : (List<?>) body) {
+                writeListItem(output, item);
+            }
+        } else if (body instanceof GamePage) {
+            GamePage<?> page = (GamePage<?>) body;
+            for (Object game : page.getGames()) {
+                writeListItem(output, game);
+            }
+            if (page.getNextCursor() != null) {
+                output.writeString(NEXT_CURSOR, page.getNextCursor());
+            }
+        } else if (body instanceof Long) {
+            output.writeInt64(COUNT, (Long) body);
+        } else if (body instanceof ErrorResponse) {
+            writeErrorFields(output, (ErrorResponse) body);
+        } else {
+            throw new IllegalArgumentException("No protobuf message for " + body.getClass().getName());
+        }
+        output.flush();
+    }
+
+    /**
+     * Writes a single item of a list, so that the items written one after another make up the list message.
+     */
+    public static void writeListItem(Object item, OutputStream outputStream) throws IOException {
+        CodedOutputStream output = CodedOutputStream.newInstance(outputStream, BUFFER_SIZE);
+        writeListItem(output, item);
+        output.flush();
+    }
+
+    public static GameDTO readGame(InputStream inputStream) throws IOException {
+        return readGameFields(CodedInputStream.newInstance(inputStream));
+    }
+
+    public static List<GameDTO> readGames(InputStream inputStream) throws IOException {
+        return readPage(inputStream).getGames();
+    }
+
+    public static GamePage<GameDTO> readPage(InputStream inputStream) throws IOException {
+        CodedInputStream input = CodedInputStream.newInstance(inputStream);
+        List<GameDTO> games = new ArrayList<>();
+        String nextCursor = null;
+        int tag;
+        while ((tag = input.readTag()) != 0) {
+            if (tag == tag(ITEMS, WireFormat.WIRETYPE_LENGTH_DELIMITED)) {
+                int limit = input.pushLimit(input.readRawVarint32());
+                games.add(readGameFields(input));
+                input.popLimit(limit);
+            } else if (tag == tag(NEXT_CURSOR, WireFormat.WIRETYPE_LENGTH_DELIMITED)) {
+                nextCursor = input.readString();
+            } else {
+                input.skipField(tag);
+            }
+        }
+        return new GamePage<>(games, nextCursor);
+    }
+
+    private static void writeListItem(CodedOutputStream output, Object item) throws IOException {
+        if (item instanceof GameDTO) {
+            GameDTO game = (GameDTO) item;
+            output.writeTag(ITEMS, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+            output.writeUInt32NoTag(gameSize(game));
+            writeGameFields(output, game);
+        } else if (item instanceof BatchItemResult) {
+            BatchItemResult<?> result = (BatchItemResult<?>) item;
+            output.writeTag(ITEMS, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+            output.writeUInt32NoTag(batchItemSize(result));
+            writeBatchItemFields(output, result);
+        } else {
+            throw new IllegalArgumentException("No protobuf message for list item " + item.getClass().getName());
+        }
+    }
+
+    private static void writeGameFields(CodedOutputStream output, GameDTO game) throws IOException {
+        if (game.getName() != null) {
+            output.writeString(NAME, game.getName());
+        }
+        if (game.getCreationDate() != null) {
+            output.writeInt64(CREATION_DATE, EpochMillisModule.toEpochMillis(game.getCreationDate()));
+        }
+        if (game.getUpdateDate() != null) {
+            output.writeInt64(UPDATE_DATE, EpochMillisModule.toEpochMillis(game.getUpdateDate()));
+        }
+        if (game.getIsActive() != null) {
+            output.writeBool(IS_ACTIVE, game.getIsActive());
+        }
+        if (game.getVersion() != 0) {
+            output.writeInt64(VERSION, game.getVersion());
+        }
+    }
+
+    private static int gameSize(GameDTO game) {
+        int size = 0;
+        if (game.getName() != null) {
+            size += CodedOutputStream.computeStringSize(NAME, game.getName());
+        }
+        if (game.getCreationDate() != null) {
+            size += CodedOutputStream.computeInt64Size(CREATION_DATE, EpochMillisModule.toEpochMillis(game.getCreationDate()));
+        }
+        if (game.getUpdateDate() != null) {
+            size += CodedOutputStream.computeInt64Size(UPDATE_DATE, EpochMillisModule.toEpochMillis(game.getUpdateDate()));
+        }
+        if (game.getIsActive() != null) {
+            size += CodedOutputStream.computeBoolSize(IS_ACTIVE, game.getIsActive());
+        }
+        if (game.getVersion() != 0) {
+            size += CodedOutputStream.computeInt64Size(VERSION, game.getVersion());
+        }
+        return size;
+    }
+
+    private static GameDTO readGameFields(CodedInputStream input) throws IOException {
+        String name = null;
+        LocalDateTime creationDate = null;
+        LocalDateTime updateDate = null;
+        Boolean isActive = null;
+        long version = 0;
+        int tag;
+        while ((tag = input.readTag()) != 0) {
+            switch (WireFormat.getTagFieldNumber(tag)) {
+                case NAME:
+                    name = input.readString();
+                    break;
+                case CREATION_DATE:
+                    creationDate = EpochMillisModule.fromEpochMillis(input.readInt64());
+                    break;
+                case UPDATE_DATE:
+                    updateDate = EpochMillisModule.fromEpochMillis(input.readInt64());
+                    break;
+                case IS_ACTIVE:
+                    isActive = input.readBool();
+                    break;
+                case VERSION:
+                    version = input.readInt64();
+                    break;
+                default:
+                    input.skipField(tag);
+            }
+        }
+        return new GameDTO(name, creationDate, updateDate, isActive, version);
+    }
+
+    private static void writeBatchItemFields(CodedOutputStream output, BatchItemResult<?> result) throws IOException {
+        output.writeString(RESULT_NAME, result.getName());
+        output.writeString(RESULT_STATUS, result.getStatus().name());
+        if (result.getGame() instanceof GameDTO) {
+            GameDTO game = (GameDTO) result.getGame();
+            output.writeTag(RESULT_GAME, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+            output.writeUInt32NoTag(gameSize(game));
+            writeGameFields(output, game);
+        }
+        if (result.getMessage() != null) {
+            output.writeString(RESULT_MESSAGE, result.getMessage());
+        }
+    }
+
+    private static int batchItemSize(BatchItemResult<?> result) {
+        int size = CodedOutputStream.computeStringSize(RESULT_NAME, result.getName())
+                + CodedOutputStream.computeStringSize(RESULT_STATUS, result.getStatus().name());
+        if (result.getGame() instanceof GameDTO) {
+            int gameSize = gameSize((GameDTO) result.getGame());
+            size += CodedOutputStream.computeTagSize(RESULT_GAME) + CodedOutputStream.computeUInt32SizeNoTag(gameSize) + gameSize;
+        }
+        if (result.getMessage() != null) {
+            size += CodedOutputStream.computeStringSize(RESULT_MESSAGE, result.getMessage());
+        }
+        return size;
+    }
+
+    private static void writeErrorFields(CodedOutputStream output, ErrorResponse error) throws IOException {
+        if (error.getMessage() != null) {
+            output.writeString(ERROR_MESSAGE, error.getMessage());
+        }
+        output.writeString(ERROR_STATUS, error.getStatus().name());
+        output.writeInt64(ERROR_TIMESTAMP, EpochMillisModule.toEpochMillis(error.getTimestamp()));
+    }
+
+    private static int tag(int fieldNumber, int wireType) {
+        return fieldNumber << 3 | wireType;
+    }
+}
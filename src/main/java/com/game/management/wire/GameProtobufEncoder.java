@@ -0,0 +1,78 @@
+package com.game.management.wire;
+
+import org.reactivestreams.Publisher;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.AbstractEncoder;
+import org.springframework.core.codec.EncodingException;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.util.MimeType;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reactive counterpart of {@link GameProtobufHttpMessageConverter}. The items of a Flux are written one by one as
+ * the items of a list message, so streamed responses are encoded like the lists of the servlet mode.
+ */
+public class GameProtobufEncoder extends AbstractEncoder<Object> {
+
+    public GameProtobufEncoder() {
+        super(MimeType.valueOf(GameProtobufCodec.MEDIA_TYPE));
+    }
+
+    @Override
+    public boolean canEncode(ResolvableType elementType, MimeType mimeType) {
+        if (!super.canEncode(elementType, mimeType)) {
+            return false;
+        }
+        Class<?> elementClass = elementType.toClass();
+        if (elementClass == Object.class) {
+            // registers the encoder with the Object codecs, which come after JSON in the content negotiation
+            return true;
+        }
+        if (List.class.isAssignableFrom(elementClass)) {
+            return GameProtobufCodec.supportsListItem(elementType.asCollection().getGeneric(0).toClass());
+        }
+        return GameProtobufCodec.supports(elementClass) || GameProtobufCodec.supportsListItem(elementClass);
+    }
+
+    @Override
+    public Flux<DataBuffer> encode(Publisher<?> inputStream, DataBufferFactory bufferFactory, ResolvableType elementType,
+                                   MimeType mimeType, Map<String, Object> hints) {
+        if (inputStream instanceof Mono) {
+            return Mono.from(inputStream).map(value -> encodeValue(value, bufferFactory, elementType, mimeType, hints)).flux();
+        }
+        return Flux.from(inputStream).map(item -> encode(item, bufferFactory, true));
+    }
+
+    @Override
+    public DataBuffer encodeValue(Object value, DataBufferFactory bufferFactory, ResolvableType valueType,
+                                  MimeType mimeType, Map<String, Object> hints) {
+        return encode(value, bufferFactory, false);
+    }
+
+    private DataBuffer encode(Object value, DataBufferFactory bufferFactory, boolean listItem) {
+        DataBuffer buffer = bufferFactory.allocateBuffer();
+        boolean release = true;
+        try {
+            if (listItem) {
+                GameProtobufCodec.writeListItem(value, buffer.asOutputStream());
+            } else {
+                GameProtobufCodec.write(value, buffer.asOutputStream());
+            }
+            release = false;
+            return buffer;
+        } catch (IOException | IllegalArgumentException e) {
+            throw new EncodingException("Could not write protobuf message: " + e.getMessage(), e);
+        } finally {
+            if (release) {
+                DataBufferUtils.release(buffer);
+            }
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.game.management.wire;
+
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.List;
+
+/**
+ * Writes the /games responses in the Protobuf encoding of {@link GameProtobufCodec} for Accept: application/x-protobuf.
+ * Request bodies are not read as Protobuf, clients send them as JSON, CBOR or Smile.
+ */
+public class GameProtobufHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+    public GameProtobufHttpMessageConverter() {
+        super(MediaType.valueOf(GameProtobufCodec.MEDIA_TYPE));
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        // lists are narrowed down by their item type in canWrite(Type, Class, MediaType)
+        return GameProtobufCodec.supports(clazz) || List.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        if (!canWrite(mediaType)) {
+            return false;
+        }
+        ResolvableType bodyType = type != null ? ResolvableType.forType(type) : ResolvableType.forClass(clazz);
+        Class<?> bodyClass = bodyType.toClass();
+        if (bodyClass == Object.class && clazz != null) {
+            // ResponseEntity<Object> of the exception handlers
+            bodyType = ResolvableType.forClass(clazz);
+            bodyClass = clazz;
+        }
+        if (List.class.isAssignableFrom(bodyClass)) {
+            return GameProtobufCodec.supportsListItem(bodyType.asCollection().getGeneric(0).toClass());
+        }
+        return GameProtobufCodec.supports(bodyClass);
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected void writeInternal(Object body, Type type, HttpOutputMessage outputMessage) throws IOException {
+        GameProtobufCodec.write(body, outputMessage.getBody());
+    }
+
+    @Override
+    public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Protobuf request bodies are not supported", inputMessage);
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Protobuf request bodies are not supported", inputMessage);
+    }
+}
@@ -0,0 +1,91 @@
+package com.game.management.wire;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerCodecConfigurer;
+import org.springframework.http.codec.cbor.Jackson2CborDecoder;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.codec.json.Jackson2SmileDecoder;
+import org.springframework.http.codec.json.Jackson2SmileEncoder;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Content negotiation of the binary encodings: Protobuf (application/x-protobuf), CBOR (application/cbor) and
+ * Smile (application/x-jackson-smile), all with epoch millisecond dates. They are registered after JSON,
+ * which stays the encoding of requests without an Accept header.
+ */
+
+@Configuration
+public class WireFormatConfig {
+
+    private static final MediaType SMILE = MediaType.valueOf("application/x-jackson-smile");
+
+    public static ObjectMapper binaryObjectMapper(Jackson2ObjectMapperBuilder builder, JsonFactory factory) {
+        ObjectMapper objectMapper = builder.factory(factory).build();
+        objectMapper.registerModule(new EpochMillisModule());
+        return objectMapper;
+    }
+
+    @Configuration
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    public static class ServletWireFormatConfig implements WebMvcConfigurer {
+
+        private final ObjectMapper cborObjectMapper;
+        private final ObjectMapper smileObjectMapper;
+
+        public ServletWireFormatConfig(Jackson2ObjectMapperBuilder builder) {
+            this.cborObjectMapper = binaryObjectMapper(builder, new CBORFactory());
+            this.smileObjectMapper = binaryObjectMapper(builder, new SmileFactory());
+        }
+
+        @Override
+        public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+            // replaces the converters Spring MVC registers with ISO dates when the formats are on the classpath
+            converters.removeIf(converter -> converter instanceof MappingJackson2CborHttpMessageConverter
+                    || converter instanceof MappingJackson2SmileHttpMessageConverter);
+            converters.add(new GameProtobufHttpMessageConverter());
+            converters.add(new MappingJackson2CborHttpMessageConverter(cborObjectMapper));
+            converters.add(new MappingJackson2SmileHttpMessageConverter(smileObjectMapper));
+        }
+    }
+
+    @Configuration
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+    public static class ReactiveWireFormatConfig implements WebFluxConfigurer {
+
+        private final ObjectMapper objectMapper;
+        private final ObjectMapper cborObjectMapper;
+        private final ObjectMapper smileObjectMapper;
+
+        public ReactiveWireFormatConfig(ObjectMapper objectMapper, Jackson2ObjectMapperBuilder builder) {
+            this.objectMapper = objectMapper;
+            this.cborObjectMapper = binaryObjectMapper(builder, new CBORFactory());
+            this.smileObjectMapper = binaryObjectMapper(builder, new SmileFactory());
+        }
+
+        @Override
+        public void configureHttpMessageCodecs(ServerCodecConfigurer configurer) {
+            // custom codecs come before the default ones, so JSON is registered again to stay the first choice
+            configurer.customCodecs().registerWithDefaultConfig(new Jackson2JsonEncoder(objectMapper));
+            configurer.customCodecs().registerWithDefaultConfig(new Jackson2JsonDecoder(objectMapper));
+            configurer.customCodecs().registerWithDefaultConfig(new GameProtobufEncoder());
+            configurer.customCodecs().registerWithDefaultConfig(new CborListEncoder(cborObjectMapper));
+            configurer.customCodecs().registerWithDefaultConfig(new Jackson2CborDecoder(cborObjectMapper, MediaType.APPLICATION_CBOR));
+            configurer.defaultCodecs().jackson2SmileEncoder(new Jackson2SmileEncoder(smileObjectMapper, SMILE));
+            configurer.defaultCodecs().jackson2SmileDecoder(new Jackson2SmileDecoder(smileObjectMapper, SMILE));
+        }
+    }
+}
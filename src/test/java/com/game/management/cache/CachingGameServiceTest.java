@@ -0,0 +1,151 @@
+package com.game.management.cache;
+
+import com.game.management.exception.ResourceNotFoundException;
+import com.game.management.model.Game;
+import com.game.management.service.GameServiceImpl;
+import com.game.management.store.ShardedGameStore;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CachingGameServiceTest {
+
+    private GameServiceImpl gameServiceImpl;
+    private CachingGameService gameService;
+
+    @BeforeEach
+    void setUp() {
+        gameServiceImpl = new GameServiceImpl();
+        GameCacheProperties properties = new GameCacheProperties();
+        properties.setMaxEntries(100);
+        gameService = createCachingGameService(properties);
+        for (int i = 0; i < 10; i++) {
+            gameServiceImpl.createGame(new Game("Game" + i, true));
+        }
+    }
+
+    @Test
+    void testReadsAreServedFromCache() {
+        Game game = gameService.getGame("Game1");
+        assertSame(game, gameService.getGame("Game1"));
+        assertSame(game.toDTO(), gameService.getGame("Game1").toDTO());
+        assertThrows(ResourceNotFoundException.class, () -> gameService.getGame("Missing"));
+
+        CacheStats stats = gameService.getCache().stats();
+        assertEquals(2, stats.hitCount());
+        assertEquals(2, stats.missCount());
+    }
+
+    @Test
+    void testChangedGamesAreInvalidated() {
+        Game game = gameService.getGame("Game1");
+        gameService.getGame("Game2");
+        gameService.getGame("Game3");
+
+        gameService.updateGame(new Game("Game1", false));
+        Game renamedGame = new Game("Game2", true);
+        renamedGame.setNewName("Game2Renamed");
+        gameService.updateGame(renamedGame);
+        gameService.deleteGame("Game3");
+
+        Game updatedGame = gameService.getGame("Game1");
+        assertNotSame(game, updatedGame);
+        assertFalse(updatedGame.getIsActive());
+        assertFalse(updatedGame.toDTO().getIsActive());
+        assertThrows(ResourceNotFoundException.class, () -> gameService.getGame("Game2"));
+        assertEquals("Game2Renamed", gameService.getGame("Game2Renamed").getName());
+        assertThrows(ResourceNotFoundException.class, () -> gameService.getGame("Game3"));
+
+        // changes applied without the decorator invalidate as well
+        gameServiceImpl.updateGame(new Game("Game1", true));
+        assertTrue(gameService.getGame("Game1").getIsActive());
+    }
+
+    @Test
+    void testCacheIsBoundedInEntriesAndBytes() {
+        for (int i = 10; i < 1000; i++) {
+            gameServiceImpl.createGame(new Game("Game" + i, true));
+        }
+        GameCacheProperties properties = new GameCacheProperties();
+        properties.setMaxEntries(100);
+        properties.setMaxBytes(1024 * 1024);
+        CachingGameService byEntries = createCachingGameService(properties);
+
+        properties.setMaxEntries(1000);
+        properties.setMaxBytes(20 * CachingGameService.estimateBytes("Game100"));
+        CachingGameService byBytes = createCachingGameService(properties);
+
+        for (int round = 0; round < 3; round++) {
+            for (int i = 0; i < 1000; i++) {
+                byEntries.getGame("Game" + i);
+                byBytes.getGame("Game" + i);
+            }
+        }
+        byEntries.getCache().cleanUp();
+        byBytes.getCache().cleanUp();
+
+        assertTrue(byEntries.getCache().estimatedSize() <= 100);
+        assertTrue(byBytes.getCache().estimatedSize() <= 20);
+        assertTrue(byEntries.getCache().stats().evictionCount() > 0);
+    }
+
+    @Test
+    void testReadsRacingWithUpdatesDoNotCacheOutdatedGames() throws Exception {
+        AtomicBoolean stop = new AtomicBoolean();
+        Thread reader = new Thread(() -> {
+            while (!stop.get()) {
+                gameService.getGame("Game1");
+            }
+        });
+        reader.start();
+        try {
+            for (int i = 0; i < 2000; i++) {
+                gameService.updateGame(new Game("Game1", i % 2 == 0));
+                assertEquals(gameServiceImpl.getGame("Game1").getVersion(), gameService.getGame("Game1").getVersion());
+            }
+        } finally {
+            stop.set(true);
+            reader.join();
+        }
+        assertEquals(gameServiceImpl.getGame("Game1").getVersion(), gameService.getGame("Game1").getVersion());
+    }
+
+    @Test
+    void testChangesAppliedByShardedStoreAreInvalidated() {
+        try (ShardedGameStore store = new ShardedGameStore(2)) {
+            gameServiceImpl = new GameServiceImpl(store);
+            GameCacheProperties properties = new GameCacheProperties();
+            properties.setMaxEntries(100);
+            gameService = createCachingGameService(properties);
+            gameServiceImpl.createGame(new Game("chess", true));
+            gameServiceImpl.createGame(new Game("go", true));
+            assertTrue(gameService.getGame("chess").getIsActive());
+            gameService.getGame("go");
+
+            // the store applies the changes on its writer threads, the listener still collects them for this thread
+            gameService.updateGame(new Game("chess", false));
+            Game renamedGame = new Game("go", true);
+            renamedGame.setNewName("baduk");
+            gameServiceImpl.updateGame(renamedGame);
+
+            assertFalse(gameService.getGame("chess").getIsActive());
+            assertThrows(ResourceNotFoundException.class, () -> gameService.getGame("go"));
+            assertEquals("baduk", gameService.getGame("baduk").getName());
+        }
+    }
+
+    private CachingGameService createCachingGameService(GameCacheProperties properties) {
+        CachingGameService cachingGameService = new CachingGameService(gameServiceImpl, properties);
+        gameServiceImpl.addChangeListener(cachingGameService);
+        return cachingGameService;
+    }
+}
@@ -0,0 +1,109 @@
+package com.game.management.changes;
+
+import com.game.management.model.Game;
+import com.game.management.service.GameServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GameChangeFeedTest {
+
+    private final GameChangeLog changeLog = new GameChangeLog(1024);
+    private GameChangeFeed changeFeed;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        changeFeed.close();
+        changeLog.close();
+    }
+
+    @Test
+    void testStalledClientsDoNotDelayOtherStreamsAndAreDropped() throws InterruptedException {
+        GameServiceImpl gameService = new GameServiceImpl();
+        gameService.addChangeListener(changeLog);
+        GameChangeFeedProperties properties = new GameChangeFeedProperties();
+        properties.setStreamThreads(1);
+        properties.setStreamSendTimeoutMs(200);
+        changeFeed = new GameChangeFeed(changeLog, properties);
+
+        StalledEmitter[] stalledEmitters = {new StalledEmitter(), new StalledEmitter()};
+        for (StalledEmitter stalledEmitter : stalledEmitters) {
+            changeFeed.stream(0L, stalledEmitter);
+        }
+        gameService.createGame(new Game("Game1", true));
+        for (StalledEmitter stalledEmitter : stalledEmitters) {
+            assertTrue(stalledEmitter.sending.await(5, TimeUnit.SECONDS));
+        }
+
+        RecordingEmitter emitter = new RecordingEmitter();
+        changeFeed.stream(0L, emitter);
+        assertTrue(emitter.received.await(1, TimeUnit.SECONDS));
+
+        for (StalledEmitter stalledEmitter : stalledEmitters) {
+            assertTrue(stalledEmitter.dropped.await(5, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    void testStreamsBeyondMaxStreamThreadsAreClosed() throws InterruptedException {
+        GameServiceImpl gameService = new GameServiceImpl();
+        gameService.addChangeListener(changeLog);
+        GameChangeFeedProperties properties = new GameChangeFeedProperties();
+        properties.setStreamThreads(1);
+        properties.setMaxStreamThreads(1);
+        properties.setStreamSendTimeoutMs(60000);
+        changeFeed = new GameChangeFeed(changeLog, properties);
+
+        StalledEmitter stalledEmitter = new StalledEmitter();
+        changeFeed.stream(0L, stalledEmitter);
+        gameService.createGame(new Game("Game1", true));
+        assertTrue(stalledEmitter.sending.await(5, TimeUnit.SECONDS));
+
+        StalledEmitter rejectedEmitter = new StalledEmitter();
+        changeFeed.stream(0L, rejectedEmitter);
+        assertTrue(rejectedEmitter.dropped.await(5, TimeUnit.SECONDS));
+        assertEquals(1, rejectedEmitter.sending.getCount());
+    }
+
+    /**
+     * A client that never takes the data sent to it.
+     */
+    private static final class StalledEmitter extends SseEmitter {
+
+        private final CountDownLatch sending = new CountDownLatch(1);
+        private final CountDownLatch dropped = new CountDownLatch(1);
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            sending.countDown();
+            try {
+                new CountDownLatch(1).await();
+            } catch (InterruptedException e) {
+                throw new InterruptedIOException("Write interrupted");
+            }
+        }
+
+        @Override
+        public synchronized void completeWithError(Throwable ex) {
+            dropped.countDown();
+        }
+    }
+
+    private static final class RecordingEmitter extends SseEmitter {
+
+        private final CountDownLatch received = new CountDownLatch(1);
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            received.countDown();
+        }
+    }
+}
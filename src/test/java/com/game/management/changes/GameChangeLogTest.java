@@ -0,0 +1,102 @@
+package com.game.management.changes;
+
+import com.game.management.model.Game;
+import com.game.management.model.GameChange;
+import com.game.management.model.GameChangeBatch;
+import com.game.management.model.GameChangeType;
+import com.game.management.service.GameServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameChangeLogTest {
+
+    private final GameChangeLog changeLog = new GameChangeLog(4);
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        changeLog.close();
+    }
+
+    @Test
+    void testReadReturnsServiceChangesInSequence() {
+        GameServiceImpl gameService = new GameServiceImpl();
+        gameService.addChangeListener(changeLog);
+        gameService.createGame(new Game("Game1", true));
+        Game rename = new Game("Game1", false);
+        rename.setNewName("Game2");
+        gameService.updateGame(rename);
+        gameService.deleteGame("Game2");
+
+        GameChangeBatch batch = changeLog.read(0, 10);
+
+        assertFalse(batch.isResyncRequired());
+        assertEquals(3, batch.getLastSequence());
+        assertEquals(3, batch.getChanges().size());
+        assertEquals(GameChangeType.CREATED, batch.getChanges().get(0).getType());
+        assertEquals(GameChangeType.RENAMED, batch.getChanges().get(1).getType());
+        assertEquals("Game1", batch.getChanges().get(1).getPreviousName());
+        assertEquals(GameChangeType.DELETED, batch.getChanges().get(2).getType());
+        assertEquals(2, changeLog.read(1, 1).getLastSequence());
+        assertTrue(changeLog.read(3, 10).isEmpty());
+    }
+
+    @Test
+    void testReaderBehindCapacityHasToResync() {
+        for (int i = 0; i < 6; i++) {
+            changeLog.onChange(change("Game" + i));
+        }
+
+        GameChangeBatch lostChanges = changeLog.read(1, 10);
+        GameChangeBatch keptChanges = changeLog.read(2, 10);
+        GameChangeBatch unknownSequence = changeLog.read(100, 10);
+
+        assertTrue(lostChanges.isResyncRequired());
+        assertEquals(6, lostChanges.getLastSequence());
+        assertFalse(keptChanges.isResyncRequired());
+        assertEquals(4, keptChanges.getChanges().size());
+        assertEquals("Game2", keptChanges.getChanges().get(0).getName());
+        assertTrue(unknownSequence.isResyncRequired());
+    }
+
+    @Test
+    void testAwaitChangesCallsBackOnceOnNextChange() throws InterruptedException {
+        changeLog.onChange(change("Game1"));
+        CountDownLatch notified = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+
+        changeLog.awaitChanges(1, () -> {
+            calls.incrementAndGet();
+            notified.countDown();
+        });
+        Runnable cancelled = changeLog.awaitChanges(1, calls::incrementAndGet);
+        cancelled.run();
+        assertEquals(0, calls.get());
+
+        changeLog.onChange(change("Game2"));
+        changeLog.onChange(change("Game3"));
+
+        assertTrue(notified.await(5, TimeUnit.SECONDS));
+        changeLog.close();
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void testAwaitChangesCallsBackRightAwayWhenChangesExist() {
+        changeLog.onChange(change("Game1"));
+        AtomicInteger calls = new AtomicInteger();
+
+        changeLog.awaitChanges(0, calls::incrementAndGet);
+
+        assertEquals(1, calls.get());
+    }
+
+    private GameChange change(String name) {
+        return GameChange.of(GameChangeType.CREATED, new Game(name, true));
+    }
+}
@@ -0,0 +1,82 @@
+package com.game.management.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.paramnames.ParameterNamesModule;
+import com.game.management.exception.GlobalExceptionHandler;
+import com.game.management.model.Game;
+import com.game.management.service.GameServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.LocalDateTime;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Routing of the GET /games requests to the list, page and stream endpoints by their query parameters.
+ */
+class GameControllerMappingTest {
+
+    private GameServiceImpl gameService;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        gameService = new GameServiceImpl();
+        // the creators of the models are found by parameter names, as in the application
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().modulesToInstall(new ParameterNamesModule()).build();
+        mockMvc = MockMvcBuilders.standaloneSetup(new GameController(gameService, objectMapper))
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .setMessageConverters(new MappingJackson2HttpMessageConverter(objectMapper))
+                .build();
+        gameService.createGame(new Game("Hera", true));
+        gameService.createGame(new Game("Hermes", false));
+        gameService.createGame(new Game("Zeus", true));
+    }
+
+    @Test
+    void testRequestsWithoutParametersListTheCatalog() throws Exception {
+        mockMvc.perform(get("/games"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(3)));
+        mockMvc.perform(get("/games").param("active", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)));
+        mockMvc.perform(get("/games").param("stream", "true"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void testFiltersWithoutLimitReturnAPage() throws Exception {
+        mockMvc.perform(get("/games").param("prefix", "Her"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.games", hasSize(2)))
+                .andExpect(jsonPath("$.games[0].name").value("Hera"));
+        mockMvc.perform(get("/games").param("from", "Hermes").param("to", "Z"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.games", hasSize(1)))
+                .andExpect(jsonPath("$.games[0].name").value("Hermes"));
+        mockMvc.perform(get("/games").param("active", "true").param("prefix", "Her"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.games", hasSize(1)))
+                .andExpect(jsonPath("$.games[0].name").value("Hera"));
+    }
+
+    @Test
+    void testUpdatedAfterWithoutLimitReturnsTheTimeSlice() throws Exception {
+        LocalDateTime before = gameService.getGame("Zeus").getCreationDate();
+        gameService.updateGame(new Game("Hera", false));
+
+        mockMvc.perform(get("/games").param("updatedAfter", before.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.games", hasSize(1)))
+                .andExpect(jsonPath("$.games[0].name").value("Hera"));
+    }
+}
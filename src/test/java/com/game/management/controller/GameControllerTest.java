@@ -1,12 +1,20 @@
 package com.game.management.controller;
 
+import com.game.management.exception.PreconditionFailedException;
+import com.game.management.logging.RequestLogger;
+import com.game.management.logging.RequestLoggingProperties;
+import com.game.management.model.BatchItemResult;
+import com.game.management.model.BatchItemStatus;
 import com.game.management.model.Game;
 import com.game.management.model.GameDTO;
+import com.game.management.model.GamePage;
+import com.game.management.model.GameQuery;
 import com.game.management.service.GameService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.ResponseEntity;
 
@@ -14,7 +22,12 @@ import java.util.Arrays;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -23,6 +36,9 @@ class GameControllerTest {
     @Mock
     private GameService gameService;
 
+    @Spy
+    private RequestLogger requestLogger = new RequestLogger(new RequestLoggingProperties());
+
     @InjectMocks
     private GameController gameController;
 
@@ -32,7 +48,7 @@ class GameControllerTest {
         Game game = new Game(gameName, true);
         when(gameService.getGame(gameName)).thenReturn(game);
 
-        ResponseEntity<GameDTO> responseEntity = gameController.getGameByName(gameName);
+        ResponseEntity<GameDTO> responseEntity = gameController.getGameByName(gameName, null, null);
 
         assertEquals(200, responseEntity.getStatusCodeValue());
         assertNotNull(responseEntity.getBody());
@@ -41,12 +57,57 @@ class GameControllerTest {
         verify(gameService, times(1)).getGame(gameName);
     }
 
+    @Test
+    void testGameDTOIsReusedUntilGameChanges() {
+        String gameName = "TestGame";
+        Game game = new Game(gameName, true);
+        when(gameService.getGame(gameName)).thenReturn(game);
+
+        GameDTO firstGameDTO = gameController.getGameByName(gameName, null, null).getBody();
+        GameDTO secondGameDTO = gameController.getGameByName(gameName, null, null).getBody();
+        game.setIsActive(false);
+        GameDTO changedGameDTO = gameController.getGameByName(gameName, null, null).getBody();
+
+        assertSame(firstGameDTO, secondGameDTO);
+        assertNotSame(firstGameDTO, changedGameDTO);
+        assertFalse(changedGameDTO.getIsActive());
+    }
+
+    @Test
+    void testGetGameByNameReturnsNotModifiedForCurrentETag() {
+        String gameName = "TestGame";
+        Game game = new Game(gameName, true);
+        game.setVersion(7);
+        when(gameService.getGame(gameName)).thenReturn(game);
+
+        ResponseEntity<GameDTO> currentResponse = gameController.getGameByName(gameName, "\"7\"", null);
+        ResponseEntity<GameDTO> staleResponse = gameController.getGameByName(gameName, "\"5\", W/\"6\"", null);
+
+        assertEquals(304, currentResponse.getStatusCodeValue());
+        assertEquals("\"7\"", currentResponse.getHeaders().getETag());
+        assertNull(currentResponse.getBody());
+        assertEquals(200, staleResponse.getStatusCodeValue());
+        assertEquals("\"7\"", staleResponse.getHeaders().getETag());
+        assertEquals(7, staleResponse.getBody().getVersion());
+    }
+
+    @Test
+    void testGetAllGamesReturnsNotModifiedWithoutReadingGames() {
+        when(gameService.getCatalogVersion()).thenReturn(42L);
+
+        ResponseEntity<List<GameDTO>> responseEntity = gameController.getAllGames("W/\"42\"");
+
+        assertEquals(304, responseEntity.getStatusCodeValue());
+        assertEquals("W/\"42\"", responseEntity.getHeaders().getETag());
+        verify(gameService, never()).getAllGames();
+    }
+
     @Test
     void testGetAllGames() {
         when(gameService.getAllGames()).thenReturn(Arrays.asList(new Game("Game1", true),
                 new Game("Game2", false)));
 
-        ResponseEntity<List<GameDTO>> responseEntity = gameController.getAllGames();
+        ResponseEntity<List<GameDTO>> responseEntity = gameController.getAllGames(null);
 
         assertEquals(200, responseEntity.getStatusCodeValue());
         assertNotNull(responseEntity.getBody());
@@ -55,12 +116,53 @@ class GameControllerTest {
         verify(gameService, times(1)).getAllGames();
     }
 
+    @Test
+    void testGetGamesPage() {
+        GameQuery query = new GameQuery(2, null);
+        when(gameService.getGamesPage(query)).thenReturn(new GamePage<>(Arrays.asList(new Game("Game1", true),
+                new Game("Game2", false)), "R2FtZTI"));
+
+        ResponseEntity<GamePage<GameDTO>> responseEntity = gameController.getGamesPage(query, null);
+
+        assertEquals(200, responseEntity.getStatusCodeValue());
+        assertNotNull(responseEntity.getBody());
+        assertEquals(2, responseEntity.getBody().getGames().size());
+        assertEquals("R2FtZTI", responseEntity.getBody().getNextCursor());
+
+        verify(gameService, times(1)).getGamesPage(query);
+    }
+
+    @Test
+    void testGetGamesByStatus() {
+        when(gameService.getGamesByStatus(true)).thenReturn(Arrays.asList(new Game("Game1", true)));
+
+        ResponseEntity<List<GameDTO>> responseEntity = gameController.getGamesByStatus(true, null);
+
+        assertEquals(200, responseEntity.getStatusCodeValue());
+        assertNotNull(responseEntity.getBody());
+        assertEquals(1, responseEntity.getBody().size());
+
+        verify(gameService, times(1)).getGamesByStatus(true);
+    }
+
+    @Test
+    void testCountGames() {
+        when(gameService.countGames(false)).thenReturn(3L);
+
+        ResponseEntity<Long> responseEntity = gameController.countGames(false);
+
+        assertEquals(200, responseEntity.getStatusCodeValue());
+        assertEquals(3L, responseEntity.getBody());
+
+        verify(gameService, times(1)).countGames(false);
+    }
+
     @Test
     void testCreateGame() {
         Game game = new Game("TestGame", true);
         when(gameService.createGame(game)).thenReturn(new Game("TestGame", true));
 
-        ResponseEntity<GameDTO> responseEntity = gameController.createGame(game, null);
+        ResponseEntity<GameDTO> responseEntity = gameController.createGame(game, null, null);
 
         assertEquals(200, responseEntity.getStatusCodeValue());
         assertNotNull(responseEntity.getBody());
@@ -74,7 +176,7 @@ class GameControllerTest {
         Game game = new Game("TestGame", true);
         when(gameService.updateGame(game)).thenReturn(new Game("TestGame", true));
 
-        ResponseEntity<GameDTO> responseEntity = gameController.updateGame(game, null);
+        ResponseEntity<GameDTO> responseEntity = gameController.updateGame(game, null, null, null);
 
         assertEquals(200, responseEntity.getStatusCodeValue());
         assertNotNull(responseEntity.getBody());
@@ -83,6 +185,28 @@ class GameControllerTest {
         verify(gameService, times(1)).updateGame(game);
     }
 
+    @Test
+    void testUpdateGameWithIfMatchExpectsVersion() {
+        Game game = new Game("TestGame", false);
+        Game updatedGame = new Game("TestGame", false);
+        updatedGame.setVersion(8);
+        when(gameService.updateGame(game)).thenReturn(updatedGame);
+
+        ResponseEntity<GameDTO> responseEntity = gameController.updateGame(game, null, "\"7\"", null);
+
+        assertEquals(7L, game.getExpectedVersion());
+        assertEquals("\"8\"", responseEntity.getHeaders().getETag());
+    }
+
+    @Test
+    void testUpdateGameWithWeakIfMatchFails() {
+        Game game = new Game("TestGame", false);
+
+        assertThrows(PreconditionFailedException.class, () -> gameController.updateGame(game, null, "W/\"7\"", null));
+
+        verify(gameService, never()).updateGame(game);
+    }
+
     @Test
     void testDeleteGame() {
         String gameName = "TestGame";
@@ -93,4 +217,21 @@ class GameControllerTest {
 
         verify(gameService, times(1)).deleteGame(gameName);
     }
-}
\ No newline at end of file
+
+    @Test
+    void testCreateGames() {
+        List<Game> games = Arrays.asList(new Game("Game1", true), new Game("Game2", false));
+        when(gameService.createGames(games, false)).thenReturn(Arrays.asList(
+                BatchItemResult.success("Game1", BatchItemStatus.CREATED, new Game("Game1", true)),
+                BatchItemResult.failure("Game2", BatchItemStatus.CONFLICT, "Game with name: Game2 already exists.")));
+
+        ResponseEntity<List<BatchItemResult<GameDTO>>> responseEntity = gameController.createGames(games, false);
+
+        assertEquals(200, responseEntity.getStatusCodeValue());
+        assertNotNull(responseEntity.getBody());
+        assertEquals("Game1", responseEntity.getBody().get(0).getGame().getName());
+        assertEquals(BatchItemStatus.CONFLICT, responseEntity.getBody().get(1).getStatus());
+
+        verify(gameService, times(1)).createGames(games, false);
+    }
+}
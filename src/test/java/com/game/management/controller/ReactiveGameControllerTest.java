@@ -0,0 +1,111 @@
+package com.game.management.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.paramnames.ParameterNamesModule;
+import com.game.management.exception.GlobalExceptionHandler;
+import com.game.management.logging.RequestLogger;
+import com.game.management.logging.RequestLoggingProperties;
+import com.game.management.model.Game;
+import com.game.management.service.GameServiceImpl;
+import com.game.management.service.ReactiveGameServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.scheduler.Schedulers;
+
+import javax.validation.Validation;
+
+class ReactiveGameControllerTest {
+
+    private GameServiceImpl gameService;
+    private WebTestClient webClient;
+
+    @BeforeEach
+    void setUp() {
+        gameService = new GameServiceImpl();
+        ReactiveGameController gameController = new ReactiveGameController(
+                new ReactiveGameServiceImpl(gameService, Schedulers.immediate()),
+                Validation.buildDefaultValidatorFactory().getValidator(),
+                new RequestLogger(new RequestLoggingProperties()));
+        webClient = WebTestClient.bindToController(gameController)
+                .controllerAdvice(new GlobalExceptionHandler())
+                .httpMessageCodecs(codecs -> {
+                    // the creators of the models are found by parameter names, as in the application
+                    ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+                            .modulesToInstall(new ParameterNamesModule())
+                            .build();
+                    codecs.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(objectMapper));
+                    codecs.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(objectMapper));
+                })
+                .build();
+    }
+
+    @Test
+    void testCreateAndGetGameWithETag() {
+        String eTag = webClient.post().uri("/games").bodyValue(new Game("TestGame", true))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.name").isEqualTo("TestGame")
+                .returnResult().getResponseHeaders().getETag();
+
+        webClient.get().uri("/games/TestGame")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, eTag);
+        webClient.get().uri("/games/TestGame").header(HttpHeaders.IF_NONE_MATCH, eTag)
+                .exchange()
+                .expectStatus().isNotModified();
+        webClient.get().uri("/games/Missing")
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody().jsonPath("$.message").isEqualTo("Game with name: Missing not found.");
+    }
+
+    @Test
+    void testCreateInvalidGameFails() {
+        webClient.post().uri("/games").bodyValue(new Game("TestGame", null))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.message").isEqualTo("Game isActive field must be defined.");
+    }
+
+    @Test
+    void testUpdateGameWithStaleIfMatchFails() {
+        gameService.createGame(new Game("TestGame", true));
+        String staleETag = "\"" + gameService.getGame("TestGame").getVersion() + "\"";
+        gameService.updateGame(new Game("TestGame", false));
+
+        webClient.put().uri("/games").header(HttpHeaders.IF_MATCH, staleETag).bodyValue(new Game("TestGame", true))
+                .exchange()
+                .expectStatus().isEqualTo(412);
+    }
+
+    @Test
+    void testListsAreTaggedWithCatalogVersion() {
+        for (int i = 0; i < 3; i++) {
+            gameService.createGame(new Game("Game" + i, i % 2 == 0));
+        }
+        String catalogETag = "W/\"" + gameService.getCatalogVersion() + "\"";
+
+        webClient.get().uri("/games")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, catalogETag)
+                .expectBody().jsonPath("$.length()").isEqualTo(3);
+        webClient.get().uri("/games").header(HttpHeaders.IF_NONE_MATCH, catalogETag)
+                .exchange()
+                .expectStatus().isNotModified();
+        webClient.get().uri("/games?active=true")
+                .exchange()
+                .expectBody().jsonPath("$.length()").isEqualTo(2);
+        webClient.get().uri("/games?stream=true")
+                .exchange()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(3)
+                .jsonPath("$[2].name").isEqualTo("Game2");
+    }
+}
@@ -0,0 +1,47 @@
+package com.game.management.exception;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class ErrorResponseCacheTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private final ErrorResponseCache errorResponses = new ErrorResponseCache(clock::get);
+
+    @Test
+    void testRepeatedErrorReusesResponse() {
+        ResponseEntity<Object> first = errorResponses.get(HttpStatus.NOT_FOUND, "Game with name: Missing not found.");
+        ResponseEntity<Object> second = errorResponses.get(HttpStatus.NOT_FOUND, "Game with name: Missing not found.");
+
+        assertSame(first, second);
+        assertEquals(HttpStatus.NOT_FOUND, first.getStatusCode());
+        assertEquals("Game with name: Missing not found.", ((ErrorResponse) first.getBody()).getMessage());
+        assertNull(first.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+
+        assertNotSame(first, errorResponses.get(HttpStatus.NOT_FOUND, "Game with name: Other not found."));
+        assertNotSame(first, errorResponses.get(HttpStatus.CONFLICT, "Game with name: Missing not found."));
+    }
+
+    @Test
+    void testResponseExpiresAfterASecond() {
+        ResponseEntity<Object> first = errorResponses.get(HttpStatus.TOO_MANY_REQUESTS, "Too many requests", 2);
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(999));
+        assertSame(first, errorResponses.get(HttpStatus.TOO_MANY_REQUESTS, "Too many requests", 2));
+        assertNotSame(first, errorResponses.get(HttpStatus.TOO_MANY_REQUESTS, "Too many requests", 3));
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        ResponseEntity<Object> renewed = errorResponses.get(HttpStatus.TOO_MANY_REQUESTS, "Too many requests", 2);
+        assertNotSame(first, renewed);
+        assertEquals("2", renewed.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+    }
+}
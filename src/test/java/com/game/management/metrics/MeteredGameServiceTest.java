@@ -0,0 +1,70 @@
+package com.game.management.metrics;
+
+import com.game.management.exception.GameAlreadyExistsException;
+import com.game.management.exception.ResourceNotFoundException;
+import com.game.management.model.Game;
+import com.game.management.service.GameServiceImpl;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MeteredGameServiceTest {
+
+    private MeterRegistry registry;
+    private MeteredGameService gameService;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        gameService = new MeteredGameService(new GameServiceImpl(), registry);
+    }
+
+    @Test
+    void testOperationsAreTimedByOutcome() {
+        gameService.createGame(new Game("Game1", true));
+        assertThrows(GameAlreadyExistsException.class, () -> gameService.createGame(new Game("Game1", true)));
+        assertThrows(ResourceNotFoundException.class, () -> gameService.getGame("Missing"));
+        gameService.getGame("Game1");
+
+        assertEquals(1, operationCount("create", "success"));
+        assertEquals(1, operationCount("create", "conflict"));
+        assertEquals(1, operationCount("get", "not_found"));
+        assertEquals(1, operationCount("get", "success"));
+        assertNull(registry.find(MeteredGameService.OPERATIONS_METER)
+                .tags("operation", "delete", "outcome", "not_found").timer());
+    }
+
+    @Test
+    void testBatchItemsAreCountedByStatus() {
+        gameService.createGame(new Game("Existing", true));
+
+        gameService.createGames(Arrays.asList(new Game("Game1", true), new Game("Existing", true)), false);
+
+        assertEquals(1, registry.get(MeteredGameService.BATCH_ITEMS_METER)
+                .tags("operation", "create_batch", "status", "created").counter().count());
+        assertEquals(1, registry.get(MeteredGameService.BATCH_ITEMS_METER)
+                .tags("operation", "create_batch", "status", "conflict").counter().count());
+    }
+
+    @Test
+    void testGamesAreGaugedByStatus() {
+        gameService.createGame(new Game("Game1", true));
+        gameService.createGame(new Game("Game2", false));
+        gameService.createGame(new Game("Game3", false));
+
+        assertEquals(1, registry.get("game.catalog.games").tag("status", "active").gauge().value());
+        assertEquals(2, registry.get("game.catalog.games").tag("status", "inactive").gauge().value());
+    }
+
+    private long operationCount(String operation, String outcome) {
+        return registry.get(MeteredGameService.OPERATIONS_METER)
+                .tags("operation", operation, "outcome", outcome)
+                .timer()
+                .count();
+    }
+}
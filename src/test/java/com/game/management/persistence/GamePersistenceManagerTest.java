@@ -0,0 +1,133 @@
+package com.game.management.persistence;
+
+import com.game.management.model.Game;
+import com.game.management.service.GameServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GamePersistenceManagerTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void testRecoverFromWriteAheadLog() throws IOException {
+        GameServiceImpl gameService = new GameServiceImpl();
+        GamePersistenceManager persistenceManager = startPersistence(gameService, FsyncPolicy.ALWAYS);
+
+        gameService.createGame(new Game("Hercules", true));
+        gameService.createGame(new Game("Zeus", true));
+        gameService.createGame(new Game("Hades", false));
+
+        Game rename = new Game("Hercules", false);
+        rename.setNewName("Hercules2");
+        gameService.updateGame(rename);
+        gameService.deleteGame("Zeus");
+        persistenceManager.stop();
+
+        GameServiceImpl recoveredService = new GameServiceImpl();
+        startPersistence(recoveredService, FsyncPolicy.ALWAYS).stop();
+
+        assertEquals(2, recoveredService.countGames(null));
+        assertFalse(recoveredService.getGame("Hercules2").getIsActive());
+        assertNotNull(recoveredService.getGame("Hercules2").getUpdateDate());
+        assertEquals(gameService.getGame("Hades").getCreationDate(), recoveredService.getGame("Hades").getCreationDate());
+        assertEquals(2, recoveredService.countGames(false));
+    }
+
+    @Test
+    public void testRecoverFromSnapshotAndLogTail() throws IOException {
+        GameServiceImpl gameService = new GameServiceImpl();
+        GamePersistenceManager persistenceManager = startPersistence(gameService, FsyncPolicy.BATCHED);
+
+        gameService.createGame(new Game("Hercules", true));
+        gameService.createGame(new Game("Zeus", true));
+        persistenceManager.snapshot();
+
+        gameService.deleteGame("Zeus");
+        gameService.createGame(new Game("Hades", false));
+        persistenceManager.stop();
+
+        GameServiceImpl recoveredService = new GameServiceImpl();
+        startPersistence(recoveredService, FsyncPolicy.BATCHED).stop();
+
+        assertEquals(2, recoveredService.countGames(null));
+        assertTrue(recoveredService.getGame("Hercules").getIsActive());
+        assertFalse(recoveredService.getGame("Hades").getIsActive());
+        // the segment closed by the snapshot is replayed on top of it, the tail and the segment of the second run too
+        assertEquals(3, GameWriteAheadLog.segmentsFrom(directory, 0).size());
+
+        GameServiceImpl nextService = new GameServiceImpl();
+        GamePersistenceManager nextPersistenceManager = startPersistence(nextService, FsyncPolicy.BATCHED);
+        nextPersistenceManager.snapshot();
+        nextPersistenceManager.stop();
+        // the next snapshot deletes the segments before the one it closed
+        assertEquals(2, GameWriteAheadLog.segmentsFrom(directory, 0).size());
+    }
+
+    @Test
+    public void testChangeAppendedBeforeSnapshotButInstalledAfterItIsRecovered() throws IOException {
+        GameServiceImpl gameService = new GameServiceImpl();
+        GamePersistenceManager persistenceManager = startPersistence(gameService, FsyncPolicy.BATCHED);
+        gameService.createGame(new Game("Zeus", true));
+
+        // snapshots while the update is already in the log but not yet visible to the scan of the catalog
+        gameService.addChangeListener(change -> {
+            try {
+                persistenceManager.snapshot();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        gameService.updateGame(new Game("Zeus", false));
+        persistenceManager.stop();
+
+        GameServiceImpl recoveredService = new GameServiceImpl();
+        startPersistence(recoveredService, FsyncPolicy.BATCHED).stop();
+
+        assertFalse(recoveredService.getGame("Zeus").getIsActive());
+    }
+
+    @Test
+    public void testRecoveryStopsAtRecordWithCorruptedLength() throws IOException {
+        GameServiceImpl gameService = new GameServiceImpl();
+        GamePersistenceManager persistenceManager = startPersistence(gameService, FsyncPolicy.ALWAYS);
+        gameService.createGame(new Game("Zeus", true));
+        persistenceManager.stop();
+
+        // a torn header claiming a 2 GB record
+        Path segment = GameWriteAheadLog.segmentsFrom(directory, 0).get(0);
+        ByteBuffer header = ByteBuffer.allocate(16).putInt(Integer.MAX_VALUE).putInt(0).putLong(0);
+        header.flip();
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.APPEND)) {
+            channel.write(header);
+        }
+
+        GameServiceImpl recoveredService = new GameServiceImpl();
+        startPersistence(recoveredService, FsyncPolicy.ALWAYS).stop();
+
+        assertEquals(1, recoveredService.countGames(null));
+        assertTrue(recoveredService.getGame("Zeus").getIsActive());
+    }
+
+    private GamePersistenceManager startPersistence(GameServiceImpl gameService, FsyncPolicy fsyncPolicy)
+            throws IOException {
+        GamePersistenceProperties properties = new GamePersistenceProperties();
+        properties.setDirectory(directory.toString());
+        properties.setFsyncPolicy(fsyncPolicy);
+        properties.setSnapshotIntervalMs(0);
+
+        GamePersistenceManager persistenceManager = new GamePersistenceManager(gameService, properties);
+        persistenceManager.start();
+        return persistenceManager;
+    }
+}
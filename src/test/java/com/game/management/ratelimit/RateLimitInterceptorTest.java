@@ -0,0 +1,140 @@
+package com.game.management.ratelimit;
+
+import com.game.management.controller.GameController;
+import com.game.management.exception.GlobalExceptionHandler;
+import com.game.management.exception.RateLimitExceededException;
+import com.game.management.exception.ServerOverloadedException;
+import com.game.management.model.Game;
+import com.game.management.service.GameServiceImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.method.HandlerMethod;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class RateLimitInterceptorTest {
+
+    private SimpleMeterRegistry registry;
+    private RateLimitInterceptor rateLimitInterceptor;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setDefaultLimit(new RateLimitProperties.Limit(3, 0.001));
+        properties.getEndpoints().put("get-all-games", new RateLimitProperties.Limit(1, 0.001));
+        properties.getApiKeys().add("partner-key");
+
+        registry = new SimpleMeterRegistry();
+        rateLimitInterceptor = new RateLimitInterceptor(properties, registry);
+        GameServiceImpl gameService = new GameServiceImpl();
+        gameService.createGame(new Game("TestGame", true));
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        mockMvc = MockMvcBuilders.standaloneSetup(new GameController(gameService, objectMapper))
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .addInterceptors(rateLimitInterceptor)
+                .build();
+    }
+
+    @Test
+    void testClientOverLimitGetsTooManyRequests() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(from("10.0.0.1", get("/games/TestGame"))).andExpect(status().isOk());
+        }
+        mockMvc.perform(from("10.0.0.1", get("/games/TestGame")))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists(HttpHeaders.RETRY_AFTER))
+                .andExpect(jsonPath("$.status").value("TOO_MANY_REQUESTS"));
+
+        // other clients and known API keys have buckets of their own
+        mockMvc.perform(from("10.0.0.2", get("/games/TestGame"))).andExpect(status().isOk());
+        mockMvc.perform(from("10.0.0.1", get("/games/TestGame")).header("X-API-Key", "partner-key"))
+                .andExpect(status().isOk());
+        mockMvc.perform(from("10.0.0.1", get("/games/TestGame")).header("X-API-Key", "made-up-key"))
+                .andExpect(status().isTooManyRequests());
+
+        assertEquals(2, registry.counter("game.requests.rejected", "endpoint", "get-game-by-name", "reason", "rate_limited").count());
+        assertEquals(0, rateLimitInterceptor.getInFlightRequests());
+    }
+
+    @Test
+    void testEndpointWithOwnLimit() throws Exception {
+        mockMvc.perform(from("10.0.0.1", get("/games"))).andExpect(status().isOk());
+        mockMvc.perform(from("10.0.0.1", get("/games"))).andExpect(status().isTooManyRequests());
+        mockMvc.perform(from("10.0.0.1", get("/games/TestGame"))).andExpect(status().isOk());
+    }
+
+    @Test
+    void testConcurrencyCapShedsLoad() throws Exception {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setMaxConcurrentRequests(1);
+        RateLimitInterceptor interceptor = new RateLimitInterceptor(properties, registry);
+        HandlerMethod handler = new HandlerMethod(
+                new GameController(new GameServiceImpl(), Jackson2ObjectMapperBuilder.json().build()),
+                "countGames", Boolean.class);
+        MockHttpServletRequest first = new MockHttpServletRequest();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertTrue(interceptor.preHandle(first, response, handler));
+        assertEquals(1, interceptor.getInFlightRequests());
+        ServerOverloadedException e = assertThrows(ServerOverloadedException.class,
+                () -> interceptor.preHandle(new MockHttpServletRequest(), response, handler));
+        assertEquals(1, e.getRetryAfterSeconds());
+        assertEquals(1, registry.counter("game.requests.rejected", "endpoint", "count-games", "reason", "overloaded").count());
+
+        interceptor.afterCompletion(first, response, handler, null);
+        interceptor.afterCompletion(first, response, handler, null);
+        assertEquals(0, interceptor.getInFlightRequests());
+        assertTrue(interceptor.preHandle(new MockHttpServletRequest(), response, handler));
+    }
+
+    @Test
+    void testRequestsShedForOverloadKeepTheirTokens() throws Exception {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setMaxConcurrentRequests(1);
+        properties.setDefaultLimit(new RateLimitProperties.Limit(2, 0.001));
+        RateLimitInterceptor interceptor = new RateLimitInterceptor(properties, registry);
+        HandlerMethod handler = new HandlerMethod(
+                new GameController(new GameServiceImpl(), Jackson2ObjectMapperBuilder.json().build()),
+                "countGames", Boolean.class);
+        MockHttpServletRequest first = new MockHttpServletRequest();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertTrue(interceptor.preHandle(first, response, handler));
+        for (int i = 0; i < 3; i++) {
+            assertThrows(ServerOverloadedException.class,
+                    () -> interceptor.preHandle(new MockHttpServletRequest(), response, handler));
+        }
+        interceptor.afterCompletion(first, response, handler, null);
+
+        MockHttpServletRequest second = new MockHttpServletRequest();
+        assertTrue(interceptor.preHandle(second, response, handler));
+        interceptor.afterCompletion(second, response, handler, null);
+        assertThrows(RateLimitExceededException.class,
+                () -> interceptor.preHandle(new MockHttpServletRequest(), response, handler));
+        assertEquals(0, interceptor.getInFlightRequests());
+        assertEquals(1, registry.counter("game.requests.rejected", "endpoint", "count-games", "reason", "rate_limited").count());
+    }
+
+    private static MockHttpServletRequestBuilder from(String address, MockHttpServletRequestBuilder request) {
+        return request.with(mockRequest -> {
+            mockRequest.setRemoteAddr(address);
+            return mockRequest;
+        });
+    }
+}
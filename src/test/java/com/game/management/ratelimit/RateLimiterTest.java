@@ -0,0 +1,89 @@
+package com.game.management.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RateLimiterTest {
+
+    private final AtomicLong clock = new AtomicLong(-TimeUnit.HOURS.toNanos(1));
+
+    @Test
+    void testBurstThenRefill() {
+        RateLimiter rateLimiter = new RateLimiter(16, clock::get);
+        RateLimit limit = RateLimit.of(5, 10);
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, rateLimiter.tryAcquire("10.0.0.1", limit));
+        }
+        long wait = rateLimiter.tryAcquire("10.0.0.1", limit);
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(100), wait);
+        assertEquals(0, rateLimiter.tryAcquire("10.0.0.2", limit));
+
+        clock.addAndGet(wait);
+        assertEquals(0, rateLimiter.tryAcquire("10.0.0.1", limit));
+        assertTrue(rateLimiter.tryAcquire("10.0.0.1", limit) > 0);
+
+        // an idle bucket fills up to its capacity, not beyond
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(10));
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, rateLimiter.tryAcquire("10.0.0.1", limit));
+        }
+        assertTrue(rateLimiter.tryAcquire("10.0.0.1", limit) > 0);
+    }
+
+    @Test
+    void testTableStaysBoundedAndEvictsFullestBuckets() {
+        RateLimiter rateLimiter = new RateLimiter(1000, clock::get);
+        RateLimit limit = RateLimit.of(1000, 1);
+        assertEquals(1024, rateLimiter.capacity());
+
+        // a client that emptied its bucket keeps it while many clients taking a single token take over the table
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(0, rateLimiter.tryAcquire("10.0.0.1", limit));
+        }
+        for (int i = 0; i < 100_000; i++) {
+            assertEquals(0, rateLimiter.tryAcquire("client-" + i, limit));
+        }
+        assertTrue(rateLimiter.tryAcquire("10.0.0.1", limit) > 0);
+        assertEquals(1024, rateLimiter.capacity());
+    }
+
+    @Test
+    void testConcurrentClientsNeverTakeMoreThanTheCapacity() throws Exception {
+        RateLimiter rateLimiter = new RateLimiter(64, clock::get);
+        RateLimit limit = RateLimit.of(1000, 1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Callable<Integer>> tasks = new ArrayList<>();
+            for (int thread = 0; thread < 8; thread++) {
+                tasks.add(() -> {
+                    int admitted = 0;
+                    for (int i = 0; i < 10_000; i++) {
+                        if (rateLimiter.tryAcquire("10.0.0.1", limit) == 0) {
+                            admitted++;
+                        }
+                    }
+                    return admitted;
+                });
+            }
+            int admitted = 0;
+            for (Future<Integer> future : executor.invokeAll(tasks)) {
+                admitted += future.get();
+            }
+            assertEquals(1000, admitted);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package com.game.management.replication;
+
+import com.game.management.model.Game;
+import com.game.management.model.GameChange;
+import com.game.management.model.GameChangeType;
+import com.game.management.service.GameServiceImpl;
+import com.game.management.store.GameStore;
+import com.game.management.store.HeapGameStore;
+import com.game.management.store.ShardedGameStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+class ReplicationNodeTest {
+
+    private final LoopbackNetwork network = new LoopbackNetwork();
+    private final List<ReplicationNode> nodes = new ArrayList<>();
+    private final List<ShardedGameStore> stores = new ArrayList<>();
+
+    @AfterEach
+    void stopNodes() {
+        nodes.forEach(ReplicationNode::stop);
+        stores.forEach(ShardedGameStore::close);
+    }
+
+    @Test
+    void testChangesReachAllNodes() {
+        GameServiceImpl first = startNode("node-1");
+        GameServiceImpl second = startNode("node-2");
+        GameServiceImpl third = startNode("node-3");
+
+        first.createGame(new Game("Game1", true));
+        second.createGame(new Game("Game2", true));
+        awaitConverged(first, second, third);
+        assertEquals(2, third.countGames(true));
+
+        Game renamedGame = new Game("Game1", false);
+        renamedGame.setNewName("Game1Renamed");
+        third.updateGame(renamedGame);
+        first.deleteGame("Game2");
+        awaitConverged(first, second, third);
+        assertEquals(catalog(first), catalog(second));
+        assertEquals(1, second.countGames(null));
+        assertEquals(false, second.getGame("Game1Renamed").getIsActive());
+    }
+
+    @Test
+    void testNewNodeCatchesUpFromSnapshot() {
+        GameServiceImpl first = startNode("node-1");
+        for (int i = 0; i < 50; i++) {
+            first.createGame(new Game("Game" + i, i % 2 == 0));
+        }
+        first.deleteGame("Game0");
+
+        GameServiceImpl second = startNode("node-2");
+
+        assertEquals(catalog(first), catalog(second));
+        assertTrue(second.getDeletedVersions().containsKey("Game0"));
+    }
+
+    @Test
+    void testDisconnectedNodeConvergesAfterReconnecting() {
+        GameServiceImpl first = startNode("node-1");
+        GameServiceImpl second = startNode("node-2");
+        GameServiceImpl third = startNode("node-3");
+        first.createGame(new Game("Game1", true));
+        first.createGame(new Game("Game2", true));
+        awaitConverged(first, second, third);
+
+        // the other nodes keep serving writes while the first one is cut off, and it keeps taking writes of its own
+        network.disconnect("node-1");
+        second.updateGame(new Game("Game1", false));
+        third.deleteGame("Game2");
+        third.createGame(new Game("Game3", true));
+        first.createGame(new Game("Game4", true));
+        first.updateGame(new Game("Game1", true));
+        awaitConverged(second, third);
+
+        network.reconnect("node-1");
+        awaitConverged(first, second, third);
+        assertEquals(3, second.countGames(null));
+        assertEquals(catalog(first), catalog(third));
+    }
+
+    @Test
+    void testMergedChangesAreNotShippedBackWithShardedStore() throws InterruptedException {
+        ShardedGameStore firstStore = new ShardedGameStore(2);
+        ShardedGameStore secondStore = new ShardedGameStore(2);
+        stores.add(firstStore);
+        stores.add(secondStore);
+        GameServiceImpl first = startNode("node-1", firstStore, network.transport("node-1"));
+        AtomicInteger shippedBySecond = new AtomicInteger();
+        GameServiceImpl second = startNode("node-2", secondStore, new CountingTransport(network.transport("node-2"), shippedBySecond));
+        shippedBySecond.set(0);
+
+        for (int i = 0; i < 20; i++) {
+            first.createGame(new Game("Game" + i, true));
+        }
+        first.updateGame(new Game("Game1", false));
+        awaitConverged(first, second);
+        // merges run on the writer threads of the store, still on behalf of the merging thread
+        Thread.sleep(50);
+        assertEquals(0, shippedBySecond.get());
+
+        second.deleteGame("Game2");
+        awaitConverged(first, second);
+        assertEquals(1, shippedBySecond.get());
+    }
+
+    @Test
+    void testRejectedChangeDoesNotFailTheOthersOfItsBatch() {
+        GameServiceImpl gameService = new GameServiceImpl();
+        ReplicationNode node = new ReplicationNode("node-1", gameService, network.transport("node-1"),
+                new ReplicationProperties());
+        node.start();
+        nodes.add(node);
+        LocalDateTime now = LocalDateTime.now();
+
+        node.receive(new ReplicationBatch("node-2", Arrays.asList(
+                new GameChange(GameChangeType.CREATED, "Game1", null, true, now, null, Game.MAX_VERSION + 1),
+                new GameChange(GameChangeType.CREATED, "Game2", null, true, now, null, 1))));
+
+        assertEquals(1, gameService.countGames(null));
+        assertEquals(1, gameService.getGame("Game2").getVersion());
+    }
+
+    private GameServiceImpl startNode(String nodeId) {
+        return startNode(nodeId, new HeapGameStore(), network.transport(nodeId));
+    }
+
+    private GameServiceImpl startNode(String nodeId, GameStore gameStore, ReplicationTransport transport) {
+        ReplicationProperties properties = new ReplicationProperties();
+        properties.setFlushIntervalMs(5);
+        GameServiceImpl gameService = new GameServiceImpl(gameStore);
+        ReplicationNode node = new ReplicationNode(nodeId, gameService, transport, properties);
+        node.start();
+        nodes.add(node);
+        return gameService;
+    }
+
+    private void awaitConverged(GameServiceImpl... gameServices) {
+        await(() -> {
+            Map<String, String> expected = catalog(gameServices[0]);
+            for (GameServiceImpl gameService : gameServices) {
+                if (!expected.equals(catalog(gameService))) {
+                    return false;
+                }
+            }
+            return true;
+        });
+    }
+
+    private static Map<String, String> catalog(GameServiceImpl gameService) {
+        Map<String, String> games = new TreeMap<>();
+        for (Game game : gameService.getAllGames()) {
+            games.put(game.getName(), game.getIsActive() + "@" + game.getVersion());
+        }
+        return games;
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                fail("Nodes did not converge");
+            }
+            try {
+                Thread.sleep(5);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fail("Interrupted");
+            }
+        }
+    }
+
+    /**
+     * Counts the changes the node broadcasts.
+     */
+    private static final class CountingTransport implements ReplicationTransport {
+
+        private final ReplicationTransport transport;
+        private final AtomicInteger broadcastChanges;
+
+        private CountingTransport(ReplicationTransport transport, AtomicInteger broadcastChanges) {
+            this.transport = transport;
+            this.broadcastChanges = broadcastChanges;
+        }
+
+        @Override
+        public void start(ReplicationReceiver receiver) {
+            transport.start(receiver);
+        }
+
+        @Override
+        public void broadcast(ReplicationBatch batch) {
+            broadcastChanges.addAndGet(batch.getChanges().size());
+            transport.broadcast(batch);
+        }
+
+        @Override
+        public Optional<List<GameChange>> fetchSnapshot() {
+            return transport.fetchSnapshot();
+        }
+
+        @Override
+        public void close() {
+            transport.close();
+        }
+    }
+}
@@ -1,48 +1,77 @@
 package com.game.management.service;
 
 import com.game.management.exception.GameAlreadyExistsException;
+import com.game.management.exception.PreconditionFailedException;
 import com.game.management.exception.ResourceNotFoundException;
+import com.game.management.exception.ValidationException;
+import com.game.management.model.BatchItemResult;
+import com.game.management.model.BatchItemStatus;
 import com.game.management.model.Game;
-import org.junit.jupiter.api.Test;
-import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
-import org.mockito.Mock;
-import org.mockito.junit.jupiter.MockitoExtension;
-
+import com.game.management.model.GameChange;
+import com.game.management.model.GameChangeType;
+import com.game.management.model.GamePage;
+import com.game.management.model.GameQuery;
+import com.game.management.store.CompactGameStore;
+import com.game.management.store.FileGameStore;
+import com.game.management.store.GameStore;
+import com.game.management.store.GameStoreEngine;
+import com.game.management.store.HeapGameStore;
+import com.game.management.store.OffHeapGameStore;
+import com.game.management.store.ShardedGameStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.function.BiFunction;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.Mockito.*;
 
-@ExtendWith(MockitoExtension.class)
+/**
+ * Runs every test against every {@link GameStoreEngine}.
+ */
 public class GameServiceImplTest {
 
-    @Mock
-    private ConcurrentHashMap<String, Game> gameCache;
+    @TempDir
+    Path directory;
+
+    private final List<Closeable> stores = new ArrayList<>();
 
-    @InjectMocks
-    private GameServiceImpl gameService;
+    @AfterEach
+    public void closeStores() throws IOException {
+        for (Closeable store : stores) {
+            store.close();
+        }
+    }
 
-    @Test
-    public void testCreateGame() {
+    @ParameterizedTest
+    @EnumSource(GameStoreEngine.class)
+    public void testCreateGame(GameStoreEngine engine) {
+        GameServiceImpl gameService = createGameService(engine);
         Game newGame = new Game("NewGame", true);
 
         Game createdGame = gameService.createGame(newGame);
 
         assertEquals("NewGame", createdGame.getName());
         assertTrue(createdGame.getIsActive());
+        assertNotNull(gameService.getGame("NewGame").getCreationDate());
     }
 
-    @Test
-    public void testGetGameWhenGameExists() {
-
+    @ParameterizedTest
+    @EnumSource(GameStoreEngine.class)
+    public void testGetGameWhenGameExists(GameStoreEngine engine) {
+        GameServiceImpl gameService = createGameService(engine);
         String gameName = "ExistingGame";
-        Game existingGame = new Game(gameName, true);
-
-        when(gameCache.get(gameName)).thenReturn(existingGame);
+        gameService.createGame(new Game(gameName, true));
 
         Game retrievedGame = gameService.getGame(gameName);
 
@@ -50,8 +79,10 @@ public class GameServiceImplTest {
         assertTrue(retrievedGame.getIsActive());
     }
 
-    @Test
-    public void testGetGameWhenGameDoesNotExist() {
+    @ParameterizedTest
+    @EnumSource(GameStoreEngine.class)
+    public void testGetGameWhenGameDoesNotExist(GameStoreEngine engine) {
+        GameServiceImpl gameService = createGameService(engine);
         String nonExistingGameName = "NonExistingGame";
 
         assertThrows(ResourceNotFoundException.class, () -> {
@@ -59,88 +90,715 @@ public class GameServiceImplTest {
         });
     }
 
-    @Test
-    public void testGetAllGames() {
-        List<Game> games = new ArrayList<>();
-        games.add(new Game("Game1", true));
-        games.add(new Game("Game2", false));
-
-        when(gameCache.values()).thenReturn(games);
+    @ParameterizedTest
+    @EnumSource(GameStoreEngine.class)
+    public void testGetAllGames(GameStoreEngine engine) {
+        GameServiceImpl gameService = createGameService(engine);
+        gameService.createGame(new Game("Game1", true));
+        gameService.createGame(new Game("Game2", false));
 
         List<Game> retrievedGames = gameService.getAllGames();
 
         assertEquals(2, retrievedGames.size());
-        assertEquals("Game1", retrievedGames.get(0).getName());
-        assertTrue(retrievedGames.get(0).getIsActive());
-        assertEquals("Game2", retrievedGames.get(1).getName());
-        assertFalse(retrievedGames.get(1).getIsActive());
+        Game game1 = findByName(retrievedGames, "Game1");
+        Game game2 = findByName(retrievedGames, "Game2");
+        assertTrue(game1.getIsActive());
+        assertFalse(game2.getIsActive());
     }
 
-    @Test
-    public void testUpdateGameStatus() {
+    @ParameterizedTest
+    @EnumSource(GameStoreEngine.class)
+    public void testUpdateGameStatus(GameStoreEngine engine) {
+        GameServiceImpl gameService = createGameService(engine);
         String existingGameName = "ExistingGame";
-        Game existingGame = new Game(existingGameName, true);
-
-        when(gameCache.containsKey(existingGameName)).thenReturn(true);
-
-        when(gameCache.compute(eq(existingGameName), any(BiFunction.class)))
-                .thenAnswer(invocation -> {
-                    BiFunction<String, Game, Game> biFunction = invocation.getArgument(1);
-                    return biFunction.apply(existingGameName, existingGame);
-                });
+        gameService.createGame(new Game(existingGameName, true));
 
         // Update the status of the existingGame to false
-        existingGame.setIsActive(false);
-
-        Game updatedGame = gameService.updateGame(existingGame);
+        Game updatedGame = gameService.updateGame(new Game(existingGameName, false));
 
         assertEquals(existingGameName, updatedGame.getName());
         assertFalse(updatedGame.getIsActive());
+        assertFalse(gameService.getGame(existingGameName).getIsActive());
+        assertNotNull(gameService.getGame(existingGameName).getUpdateDate());
     }
 
-    @Test
-    public void testUpdateGameName() {
+    @ParameterizedTest
+    @EnumSource(GameStoreEngine.class)
+    public void testUpdateGameWithSameDataIsSkipped(GameStoreEngine engine) {
+        GameServiceImpl gameService = createGameService(engine);
         String existingGameName = "ExistingGame";
-        Game existingGame = new Game(existingGameName, true);
+        gameService.createGame(new Game(existingGameName, true));
 
-        when(gameCache.containsKey(existingGameName)).thenReturn(true);
+        Game updatedGame = gameService.updateGame(new Game(existingGameName, true));
 
-        // Mock the behavior for computeIfPresent
-        when(gameCache.compute(eq(existingGameName), any(BiFunction.class)))
-                .thenAnswer(invocation -> {
-                    BiFunction<String, Game, Game> biFunction = invocation.getArgument(1);
-                    return biFunction.apply(existingGameName, existingGame);
-                });
+        assertTrue(updatedGame.getIsActive());
+        assertNull(gameService.getGame(existingGameName).getUpdateDate());
+    }
+
+    @ParameterizedTest
+    @EnumSource(GameStoreEngine.class)
+    public void testUpdateGameName(GameStoreEngine engine) {
+        GameServiceImpl gameService = createGameService(engine);
+        String existingGameName = "ExistingGame";
+        gameService.createGame(new Game(existingGameName, true));
 
-        // Update the status of the existingGame to false
         String newName = "ExistingGame2";
-        existingGame.setNewName(newName);
+        Game update = new Game(existingGameName, true);
+        update.setNewName(newName);
 
-        Game updatedGame = gameService.updateGame(existingGame);
+        Game updatedGame = gameService.updateGame(update);
 
         assertEquals(newName, updatedGame.getName());
+        assertEquals(newName, gameService.getGame(newName).getName());
+        assertThrows(ResourceNotFoundException.class, () -> gameService.getGame(existingGameName));
+        assertEquals(1, gameService.countGames(null));
     }
 
-    @Test
-    public void testDeleteGame() {
-        String gameName = "GameToDelete";
-        Game gameToDelete = new Game(gameName, true);
+    @ParameterizedTest
+    @EnumSource(GameStoreEngine.class)
+    public void testUpdateGameNameToExistingName(GameStoreEngine engine) {
+        GameServiceImpl gameService = createGameService(engine);
+        gameService.createGame(new Game("Game1", true));
+        gameService.createGame(new Game("Game2", true));
+
+        Game update = new Game("Game1", false);
+        update.setNewName("Game2");
 
-        when(gameCache.remove(gameName)).thenReturn(gameToDelete);
+        assertThrows(GameAlreadyExistsException.class, () -> gameService.updateGame(update));
+        assertTrue(gameService.getGame("Game1").getIsActive());
+    }
+
+    @ParameterizedTest
+    @EnumSource(GameStoreEngine.class)
+    public void testChangesIncreaseGameAndCatalogVersions(GameStoreEngine engine) {
+        GameServiceImpl gameService = createGameService(engine);
+        long initialCatalogVersion = gameService.getCatalogVersion();
+
+        long createdVersion = gameService.createGame(new Game("Game1", true)).getVersion();
+        long catalogVersionAfterCreate = gameService.getCatalogVersion();
+        gameService.updateGame(new Game("Game1", true));
+        assertEquals(catalogVersionAfterCreate, gameService.getCatalogVersion());
+
+        long updatedVersion = gameService.updateGame(new Game("Game1", false)).getVersion();
+        Game rename = new Game("Game1", false);
+        rename.setNewName("Game2");
+        long renamedVersion = gameService.updateGame(rename).getVersion();
+
+        assertTrue(catalogVersionAfterCreate > initialCatalogVersion);
+        assertTrue(updatedVersion > createdVersion);
+        assertTrue(renamedVersion > updatedVersion);
+        assertEquals(renamedVersion, gameService.getGame("Game2").getVersion());
+        assertTrue(gameService.getCatalogVersion() > catalogVersionAfterCreate);
+    }
+
+    @ParameterizedTest
+    @EnumSource(GameStoreEngine.class)
+    public void testUpdateGameWithStaleExpectedVersionFails(GameStoreEngine engine) {
+        GameServiceImpl gameService = createGameService(engine);
+        long createdVersion = gameService.createGame(new Game("Game1", true)).getVersion();
+
+        Game firstUpdate = new Game("Game1", false);
+        firstUpdate.setExpectedVersion(createdVersion);
+        long updatedVersion = gameService.updateGame(firstUpdate).getVersion();
+
+        Game staleUpdate = new Game("Game1", true);
+        staleUpdate.setExpectedVersion(createdVersion);
+        Game staleRename = new Game("Game1", true);
+        staleRename.setNewName("Game2");
+        staleRename.setExpectedVersion(createdVersion);
+
+        assertThrows(PreconditionFailedException.class, () -> gameService.updateGame(staleUpdate));
+        assertThrows(PreconditionFailedException.class, () -> gameService.updateGame(staleRename));
+        assertEquals(updatedVersion, gameService.getGame("Game1").getVersion());
+        assertFalse(gameService.getGame("Game1").getIsActive());
+        assertThrows(ResourceNotFoundException.class, () -> gameService.getGame("Game2"));
+    }
+
+    @ParameterizedTest
+    @EnumSource(GameStoreEngine.class)
+    public void testDeleteGame(GameStoreEngine engine) {
+        GameServiceImpl gameService = createGameService(engine);
+        String gameName = "GameToDelete";
+        gameService.createGame(new Game(gameName, true));
 
         gameService.deleteGame(gameName);
 
-        verify(gameCache, times(1)).remove(gameName);
+        assertThrows(ResourceNotFoundException.class, () -> gameService.getGame(gameName));
+        assertThrows(ResourceNotFoundException.class, () -> gameService.deleteGame(gameName));
+        assertEquals(0, gameService.countGames(null));
     }
 
-    @Test
-    public void testGameAlreadyExistsException() {
+    @ParameterizedTest
+    @EnumSource(GameStoreEngine.class)
+    public void testGameAlreadyExistsException(GameStoreEngine engine) {
+        GameServiceImpl gameService = createGameService(engine);
         String existingGameName = "ExistingGame";
-
-        when(gameCache.putIfAbsent(eq(existingGameName), any(Game.class))).thenReturn(new Game(existingGameName, true));
+        gameService.createGame(new Game(existingGameName, true));
 
         assertThrows(GameAlreadyExistsException.class, () -> {
             gameService.createGame(new Game(existingGameName, true));
         });
     }
-}
\ No newline at end of file
+
+    @ParameterizedTest
+    @EnumSource(GameStoreEngine.class)
+    public void testGetGamesPage(GameStoreEngine engine) {
+        GameServiceImpl gameService = createGameService(engine);
+        gameService.createGame(new Game("Gamma", true));
+        gameService.createGame(new Game("Alpha", true));
+        gameService.createGame(new Game("Beta", false));
+
+        GamePage<Game> firstPage = gameService.getGamesPage(new GameQuery(2, null));
+
+        assertEquals(2, firstPage.getGames().size());
+        assertEquals("Alpha", firstPage.getGames().get(0).getName());
+        assertEquals("Beta", firstPage.getGames().get(1).getName());
+        assertTrue(firstPage.hasNext());
+
+        GamePage<Game> secondPage = gameService.getGamesPage(new GameQuery(2, firstPage.getNextCursor()));
+
+        assertEquals(1, secondPage.getGames().size());
+        assertEquals("Gamma", secondPage.getGames().get(0).getName());
+        assertNull(secondPage.getNextCursor());
+    }
+
+    @ParameterizedTest
+    @EnumSource(GameStoreEngine.class)
+    public void testGameNamesAreBoundedInLength(GameStoreEngine engine) {
+        GameServiceImpl gameService = createGameService(engine);
+        String longestName = String.join("", Collections.nCopies(Game.MAX_NAME_LENGTH, "x"));
+        gameService.createGame(new Game(longestName, true));
+
+        assertThrows(ValidationException.class, () -> gameService.createGame(new Game(longestName + "x", true)));
+        Game rename = new Game(longestName, true);
+        rename.setNewName(longestName + "x");
+        assertThrows(ValidationException.class, () -> gameService.updateGame(rename));
+    }
+
+    @ParameterizedTest
+    @EnumSource(GameStoreEngine.class)
+    public void testNamesOfTheGamesSubpathsAreReserved(GameStoreEngine engine) {
+        GameServiceImpl gameService = createGameService(engine);
+        gameService.createGame(new Game("Game1", true));
+
+        for (String reservedName : Arrays.asList("batch", "changes", "count", "export", "import")) {
+            assertThrows(ValidationException.class, () -> gameService.createGame(new Game(reservedName, true)));
+            Game rename = new Game("Game1", true);
+            rename.setNewName(reservedName);
+            assertThrows(ValidationException.class, () -> gameService.updateGame(rename));
+            assertEquals(BatchItemStatus.INVALID,
+                    gameService.importGames(Collections.singletonList(new Game(reservedName, true))).get(0).getStatus());
+        }
+        assertEquals(1, gameService.countGames(null));
+        assertNotNull(gameService.createGame(new Game("Count", true)));
+    }
+
+    @ParameterizedTest
+    @EnumSource(GameStoreEngine.class)
+    public void testGetGamesPageWithInvalidCursor(GameStoreEngine engine) {
+        GameServiceImpl gameService = createGameService(engine);
+
+        assertThrows(ValidationException.class, () -> {
+            gameService.getGamesPage(new GameQuery(10, "not a cursor!"));
+        });
+    }
+
+    @ParameterizedTest
+    @EnumSource(GameStoreEngine.class)
+    public void testGetGamesPageByPrefix(GameStoreEngine engine) {
+        GameServiceImpl gameService = createGameService(engine);
+        gameService.createGame(new Game("Hercules", true));
+        gameService.createGame(new Game("Hermes", true));
+        gameService.createGame(new Game("Hera", false));
+        gameService.createGame(new Game("Zeus", true));
+
+        GameQuery query = new GameQuery(2, null);
+        query.setPrefix("Her");
+
+        GamePage<Game> firstPage = gameService.getGamesPage(query);
+
+        assertEquals(2, firstPage.getGames().size());
+        assertEquals("Hera", firstPage.getGames().get(0).getName());
+        assertEquals("Hercules", firstPage.getGames().get(1).getName());
+
+        query.setCursor(firstPage.getNextCursor());
+        GamePage<Game> secondPage = gameService.getGamesPage(query);
+
+        assertEquals(1, secondPage.getGames().size());
+        assertEquals("Hermes", secondPage.getGames().get(0).getName());
+        assertFalse(secondPage.hasNext());
+    }
+
+    @ParameterizedTest
+    @EnumSource(GameStoreEngine.class)
+    public void testGetGamesPageCreatedAfter(GameStoreEngine engine) {
+        GameServiceImpl gameService = createGameService(engine);
+        gameService.createGame(new Game("Delta", true));
+        gameService.createGame(new Game("Charlie", true));
+        gameService.createGame(new Game("Bravo", false));
+        gameService.createGame(new Game("Alpha", true));
+
+        GameQuery query = new GameQuery(2, null);
+        query.setCreatedAfter(gameService.getGame("Delta").getCreationDate());
+
+        GamePage<Game> firstPage = gameService.getGamesPage(query);
+
+        assertEquals(Arrays.asList("Charlie", "Bravo"), names(firstPage));
+
+        query.setCursor(firstPage.getNextCursor());
+        GamePage<Game> secondPage = gameService.getGamesPage(query);
+
+        assertEquals(Arrays.asList("Alpha"), names(secondPage));
+        assertFalse(secondPage.hasNext());
+    }
+
+    @ParameterizedTest
+    @EnumSource(GameStoreEngine.class)
+    public void testGetGamesPageUpdatedAfterSkipsChangedGames(GameStoreEngine engine) throws InterruptedException {
+        GameServiceImpl gameService = createGameService(engine);
+        gameService.createGame(new Game("Game1", true));
+        gameService.createGame(new Game("Game2", true));
+        gameService.createGame(new Game("Game3", true));
+        gameService.createGame(new Game("Game4", true));
+        LocalDateTime created = gameService.getGame("Game4").getCreationDate();
+        Thread.sleep(2);
+
+        gameService.updateGame(new Game("Game3", false));
+        Game rename = new Game("Game2", true);
+        rename.setNewName("Game5");
+        gameService.updateGame(rename);
+        gameService.deleteGame("Game1");
+
+        GameQuery updatedQuery = new GameQuery(10, null);
+        updatedQuery.setUpdatedAfter(created);
+        assertEquals(Arrays.asList("Game3", "Game5"), names(gameService.getGamesPage(updatedQuery)));
+
+        updatedQuery.setActive(true);
+        assertEquals(Arrays.asList("Game5"), names(gameService.getGamesPage(updatedQuery)));
+
+        GameQuery createdQuery = new GameQuery(10, null);
+        createdQuery.setCreatedAfter(LocalDateTime.MIN);
+        List<String> createdNames = names(gameService.getGamesPage(createdQuery));
+        assertEquals(3, createdNames.size());
+        assertTrue(createdNames.containsAll(Arrays.asList("Game3", "Game4", "Game5")));
+
+        gameService.compactTimeIndexes();
+
+        assertEquals(createdNames, names(gameService.getGamesPage(createdQuery)));
+        updatedQuery.setActive(null);
+        assertEquals(Arrays.asList("Game3", "Game5"), names(gameService.getGamesPage(updatedQuery)));
+    }
+
+    @ParameterizedTest
+    @EnumSource(GameStoreEngine.class)
+    public void testGetGamesPageByRange(GameStoreEngine engine) {
+        GameServiceImpl gameService = createGameService(engine);
+        gameService.createGame(new Game("Apollo", true));
+        gameService.createGame(new Game("Hermes", true));
+        gameService.createGame(new Game("Zeus", true));
+
+        GameQuery query = new GameQuery(10, null);
+        query.setFrom("B");
+        query.setTo("Zeus");
+
+        GamePage<Game> page = gameService.getGamesPage(query);
+
+        assertEquals(1, page.getGames().size());
+        assertEquals("Hermes", page.getGames().get(0).getName());
+    }
+
+    @ParameterizedTest
+    @EnumSource(GameStoreEngine.class)
+    public void testRenamedGameIsIndexedUnderNewName(GameStoreEngine engine) {
+        GameServiceImpl gameService = createGameService(engine);
+        gameService.createGame(new Game("ExistingGame", true));
+
+        Game update = new Game("ExistingGame", true);
+        update.setNewName("RenamedGame");
+        gameService.updateGame(update);
+
+        GameQuery query = new GameQuery(10, null);
+        query.setPrefix("Renamed");
+        assertEquals(1, gameService.getGamesPage(query).getGames().size());
+
+        query.setPrefix("Existing");
+        assertTrue(gameService.getGamesPage(query).getGames().isEmpty());
+    }
+
+    @ParameterizedTest
+    @EnumSource(GameStoreEngine.class)
+    public void testGetGamesByStatusAndCount(GameStoreEngine engine) {
+        GameServiceImpl gameService = createGameService(engine);
+        gameService.createGame(new Game("Game1", true));
+        gameService.createGame(new Game("Game2", false));
+        gameService.createGame(new Game("Game3", true));
+
+        List<Game> activeGames = gameService.getGamesByStatus(true);
+
+        assertEquals(2, activeGames.size());
+        assertEquals("Game1", activeGames.get(0).getName());
+        assertEquals("Game3", activeGames.get(1).getName());
+        assertEquals(2, gameService.countGames(true));
+        assertEquals(1, gameService.countGames(false));
+        assertEquals(3, gameService.countGames(null));
+    }
+
+    @ParameterizedTest
+    @EnumSource(GameStoreEngine.class)
+    public void testUpdateGameStatusMovesGameBetweenPartitions(GameStoreEngine engine) {
+        GameServiceImpl gameService = createGameService(engine);
+        String existingGameName = "ExistingGame";
+        gameService.createGame(new Game(existingGameName, true));
+
+        gameService.updateGame(new Game(existingGameName, false));
+
+        assertEquals(0, gameService.countGames(true));
+        assertEquals(1, gameService.countGames(false));
+        assertTrue(gameService.getGamesByStatus(true).isEmpty());
+
+        GameQuery query = new GameQuery(10, null);
+        query.setActive(false);
+        assertEquals(existingGameName, gameService.getGamesPage(query).getGames().get(0).getName());
+    }
+
+    @ParameterizedTest
+    @EnumSource(GameStoreEngine.class)
+    public void testCreateGamesReportsResultPerItem(GameStoreEngine engine) {
+        GameServiceImpl gameService = createGameService(engine);
+        gameService.createGame(new Game("Existing", true));
+
+        List<BatchItemResult<Game>> results = gameService.createGames(Arrays.asList(new Game("Game1", true),
+                new Game("Existing", true), new Game("", true), new Game("Game2", false)), false);
+
+        assertEquals(4, results.size());
+        assertEquals(BatchItemStatus.CREATED, results.get(0).getStatus());
+        assertEquals(BatchItemStatus.CONFLICT, results.get(1).getStatus());
+        assertEquals(BatchItemStatus.INVALID, results.get(2).getStatus());
+        assertEquals(BatchItemStatus.CREATED, results.get(3).getStatus());
+        assertEquals(3, gameService.countGames(null));
+    }
+
+    @ParameterizedTest
+    @EnumSource(GameStoreEngine.class)
+    public void testCreateGamesAllOrNothingRollsBackAppliedItems(GameStoreEngine engine) {
+        GameServiceImpl gameService = createGameService(engine);
+        gameService.createGame(new Game("Existing", true));
+
+        List<BatchItemResult<Game>> results = gameService.createGames(Arrays.asList(new Game("Game1", true),
+                new Game("Existing", true), new Game("Game2", false)), true);
+
+        assertEquals(BatchItemStatus.ROLLED_BACK, results.get(0).getStatus());
+        assertEquals(BatchItemStatus.CONFLICT, results.get(1).getStatus());
+        assertEquals(BatchItemStatus.NOT_APPLIED, results.get(2).getStatus());
+        assertEquals(1, gameService.countGames(null));
+        assertThrows(ResourceNotFoundException.class, () -> gameService.getGame("Game1"));
+        assertThrows(ResourceNotFoundException.class, () -> gameService.getGame("Game2"));
+    }
+
+    @ParameterizedTest
+    @EnumSource(GameStoreEngine.class)
+    public void testUpdateGamesAllOrNothingRollsBackRename(GameStoreEngine engine) {
+        GameServiceImpl gameService = createGameService(engine);
+        gameService.createGame(new Game("Game1", true));
+
+        Game rename = new Game("Game1", false);
+        rename.setNewName("Game2");
+        List<BatchItemResult<Game>> results = gameService.updateGames(Arrays.asList(rename,
+                new Game("Missing", true)), true);
+
+        assertEquals(BatchItemStatus.ROLLED_BACK, results.get(0).getStatus());
+        assertEquals(BatchItemStatus.NOT_FOUND, results.get(1).getStatus());
+        assertTrue(gameService.getGame("Game1").getIsActive());
+        assertThrows(ResourceNotFoundException.class, () -> gameService.getGame("Game2"));
+    }
+
+    @ParameterizedTest
+    @EnumSource(GameStoreEngine.class)
+    public void testUpdateGamesReportsItemWithoutNameAsInvalid(GameStoreEngine engine) {
+        GameServiceImpl gameService = createGameService(engine);
+        gameService.createGame(new Game("Game1", true));
+
+        List<BatchItemResult<Game>> results = gameService.updateGames(Arrays.asList(new Game("Game1", false),
+                new Game(null, true)), false);
+
+        assertEquals(BatchItemStatus.UPDATED, results.get(0).getStatus());
+        assertEquals(BatchItemStatus.INVALID, results.get(1).getStatus());
+        assertFalse(gameService.getGame("Game1").getIsActive());
+    }
+
+    @ParameterizedTest
+    @EnumSource(GameStoreEngine.class)
+    public void testUpdateGamesRollbackRestoresUpdateDateAndKeepsLaterChanges(GameStoreEngine engine) {
+        GameServiceImpl gameService = createGameService(engine);
+        gameService.createGame(new Game("Game1", true));
+        gameService.createGame(new Game("Game2", true));
+
+        // another client changes Game1 once the batch updated Game2, before the batch fails
+        boolean[] game2Updated = new boolean[1];
+        long[] laterVersion = new long[1];
+        gameService.addChangeListener(new GameChangeListener() {
+            @Override
+            public void onChange(GameChange change) {
+                game2Updated[0] |= change.getName().equals("Game2") && !change.getIsActive();
+            }
+
+            @Override
+            public void onChangesVisible() {
+                if (game2Updated[0]) {
+                    game2Updated[0] = false;
+                    laterVersion[0] = gameService.updateGame(new Game("Game1", true)).getVersion();
+                }
+            }
+        });
+        List<BatchItemResult<Game>> results = gameService.updateGames(Arrays.asList(new Game("Game1", false),
+                new Game("Game2", false), new Game("Missing", true)), true);
+
+        assertEquals(BatchItemStatus.ROLLED_BACK, results.get(0).getStatus());
+        assertEquals(BatchItemStatus.ROLLED_BACK, results.get(1).getStatus());
+        assertEquals(BatchItemStatus.NOT_FOUND, results.get(2).getStatus());
+        Game game1 = gameService.getGame("Game1");
+        assertTrue(game1.getIsActive());
+        assertEquals(laterVersion[0], game1.getVersion());
+        Game game2 = gameService.getGame("Game2");
+        assertTrue(game2.getIsActive());
+        assertNull(game2.getUpdateDate());
+    }
+
+    @ParameterizedTest
+    @EnumSource(GameStoreEngine.class)
+    public void testDeleteGamesReportsNotFound(GameStoreEngine engine) {
+        GameServiceImpl gameService = createGameService(engine);
+        gameService.createGame(new Game("Game1", true));
+
+        List<BatchItemResult<Game>> results = gameService.deleteGames(Arrays.asList("Game1", "Missing"), false);
+
+        assertEquals(BatchItemStatus.DELETED, results.get(0).getStatus());
+        assertEquals(BatchItemStatus.NOT_FOUND, results.get(1).getStatus());
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = GameStoreEngine.class, names = "FILE")
+    public void testFileStoreKeepsGamesAcrossRestarts(GameStoreEngine engine) {
+        GameServiceImpl gameService = createGameService(engine);
+        gameService.createGame(new Game("Game1", true));
+        gameService.createGame(new Game("Game2", false));
+        gameService.deleteGame("Game1");
+
+        GameServiceImpl reopenedService = createGameService(engine);
+
+        assertEquals(1, reopenedService.countGames(null));
+        assertFalse(reopenedService.getGame("Game2").getIsActive());
+        assertEquals(gameService.getGame("Game2").getVersion(), reopenedService.getGame("Game2").getVersion());
+    }
+
+    @ParameterizedTest
+    @EnumSource(GameStoreEngine.class)
+    public void testMergeGameKeepsNewestVersion(GameStoreEngine engine) {
+        GameServiceImpl gameService = createGameService(engine);
+        gameService.trackDeletions();
+        Game localGame = gameService.createGame(new Game("Game1", true));
+        long localVersion = localGame.getVersion();
+
+        assertFalse(gameService.mergeGame("Game1", new Game("Game1", false), localVersion - 1));
+        assertTrue(gameService.getGame("Game1").getIsActive());
+
+        assertTrue(gameService.mergeGame("Game1", new Game("Game1", false), localVersion + 10));
+        assertFalse(gameService.getGame("Game1").getIsActive());
+        assertEquals(localVersion + 10, gameService.getGame("Game1").getVersion());
+        assertEquals(1, gameService.countGames(false));
+
+        // local changes after a merge win over it
+        Game updatedGame = new Game("Game1", true);
+        assertTrue(gameService.updateGame(updatedGame).getVersion() > localVersion + 10);
+    }
+
+    @ParameterizedTest
+    @EnumSource(GameStoreEngine.class)
+    public void testMergeGameDoesNotResurrectDeletedGame(GameStoreEngine engine) {
+        GameServiceImpl gameService = createGameService(engine);
+        gameService.trackDeletions();
+        Game createdGame = gameService.createGame(new Game("Game1", true));
+        gameService.deleteGame("Game1");
+        long deletedVersion = gameService.getDeletedVersions().get("Game1");
+        assertTrue(deletedVersion > createdGame.getVersion());
+
+        assertFalse(gameService.mergeGame("Game1", new Game("Game1", true), createdGame.getVersion()));
+        assertFalse(gameService.mergeGame("Game1", new Game("Game1", true), deletedVersion));
+        assertThrows(ResourceNotFoundException.class, () -> gameService.getGame("Game1"));
+
+        assertTrue(gameService.mergeGame("Game1", new Game("Game1", true), deletedVersion + 1));
+        assertNotNull(gameService.getGame("Game1"));
+        assertFalse(gameService.getDeletedVersions().containsKey("Game1"));
+
+        assertTrue(gameService.mergeGame("Game1", null, deletedVersion + 1));
+        assertThrows(ResourceNotFoundException.class, () -> gameService.getGame("Game1"));
+        assertEquals(0, gameService.countGames(null));
+    }
+
+    @ParameterizedTest
+    @EnumSource(GameStoreEngine.class)
+    public void testImportedAndMergedVersionsAreBounded(GameStoreEngine engine) {
+        GameServiceImpl gameService = createGameService(engine);
+        Game importedGame = new Game("Game1", true);
+        importedGame.setVersion(Long.MAX_VALUE);
+
+        BatchItemResult<Game> result = gameService.importGames(Collections.singletonList(importedGame)).get(0);
+
+        assertEquals(BatchItemStatus.INVALID, result.getStatus());
+        assertThrows(ResourceNotFoundException.class, () -> gameService.getGame("Game1"));
+        assertThrows(ValidationException.class, () -> gameService.mergeGame("Game1", new Game("Game1", true), Long.MAX_VALUE));
+
+        assertTrue(gameService.mergeGame("Game1", new Game("Game1", true), Game.MAX_VERSION));
+        assertTrue(gameService.updateGame(new Game("Game1", false)).getVersion() > Game.MAX_VERSION);
+        assertTrue(gameService.getCatalogVersion() > 0);
+    }
+
+    @ParameterizedTest
+    @EnumSource(GameStoreEngine.class)
+    public void testGamesWithDatesTheStoreCannotHoldAreRejected(GameStoreEngine engine) {
+        GameServiceImpl gameService = createGameService(engine);
+        List<GameChange> changes = new ArrayList<>();
+        gameService.addChangeListener(changes::add);
+        Game importedGame = new Game("Game1", true);
+        importedGame.setCreationDate(LocalDateTime.of(1, 1, 1, 0, 0));
+        importedGame.setVersion(1);
+
+        BatchItemResult<Game> result = gameService.importGames(Collections.singletonList(importedGame)).get(0);
+
+        if (engine == GameStoreEngine.COMPACT) {
+            assertEquals(BatchItemStatus.INVALID, result.getStatus());
+            assertThrows(ValidationException.class, () -> gameService.mergeGame("Game1", importedGame, 2));
+            assertThrows(ResourceNotFoundException.class, () -> gameService.getGame("Game1"));
+            assertEquals(0, gameService.countGames(null));
+            assertEquals(0, gameService.countGames(true));
+            assertTrue(gameService.getAllGames().isEmpty());
+            assertTrue(changes.isEmpty());
+        } else {
+            assertEquals(BatchItemStatus.CREATED, result.getStatus());
+            assertEquals(importedGame.getCreationDate(), gameService.getGame("Game1").getCreationDate());
+            assertEquals(1, changes.size());
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(GameStoreEngine.class)
+    public void testChangeRejectedByListenerLeavesIndexesMatchingStore(GameStoreEngine engine) {
+        GameServiceImpl gameService = createGameService(engine);
+        gameService.createGame(new Game("Game1", true));
+        boolean[] failing = {true};
+        gameService.addChangeListener(change -> {
+            if (failing[0]) {
+                throw new UncheckedIOException(new IOException("No space left on device"));
+            }
+        });
+
+        assertThrows(UncheckedIOException.class, () -> gameService.createGame(new Game("Game2", true)));
+        assertThrows(UncheckedIOException.class, () -> gameService.updateGame(new Game("Game1", false)));
+        assertThrows(UncheckedIOException.class, () -> gameService.deleteGame("Game1"));
+        assertThrows(UncheckedIOException.class, () -> gameService.mergeGame("Game3", new Game("Game3", false),
+                Game.MAX_VERSION));
+
+        assertEquals(1, gameService.countGames(null));
+        assertEquals(1, gameService.countGames(true));
+        assertEquals(0, gameService.countGames(false));
+        assertEquals(Collections.singletonList("Game1"), names(gameService.getGamesPage(new GameQuery(10, null))));
+        assertEquals(1, gameService.getGamesByStatus(true).size());
+        assertTrue(gameService.getGame("Game1").getIsActive());
+
+        failing[0] = false;
+        gameService.updateGame(new Game("Game1", false));
+        assertEquals(1, gameService.countGames(false));
+        assertEquals(0, gameService.countGames(true));
+    }
+
+    @ParameterizedTest
+    @EnumSource(GameStoreEngine.class)
+    public void testPendingRenameIsCountedOnceAndFailedRenameLeavesNoTrace(GameStoreEngine engine) {
+        GameServiceImpl gameService = createGameService(engine);
+        gameService.createGame(new Game("Game1", true));
+        List<Long> countsWhileRenaming = new ArrayList<>();
+        boolean[] failing = {true};
+        gameService.addChangeListener(change -> {
+            if (change.getType() == GameChangeType.RENAMED) {
+                countsWhileRenaming.add(gameService.countGames(null));
+                if (failing[0]) {
+                    throw new UncheckedIOException(new IOException("No space left on device"));
+                }
+            }
+        });
+        Game rename = new Game("Game1", false);
+        rename.setNewName("Game2");
+
+        assertThrows(UncheckedIOException.class, () -> gameService.updateGame(rename));
+        assertEquals(Collections.singletonList(1L), countsWhileRenaming);
+        assertEquals(1, gameService.countGames(null));
+        assertEquals(Collections.singletonList("Game1"), names(gameService.getGamesPage(new GameQuery(10, null))));
+        assertThrows(ResourceNotFoundException.class, () -> gameService.getGame("Game2"));
+        assertTrue(gameService.getGame("Game1").getIsActive());
+
+        failing[0] = false;
+        assertEquals("Game2", gameService.updateGame(rename).getName());
+        assertEquals(Arrays.asList(1L, 1L), countsWhileRenaming);
+        assertEquals(1, gameService.countGames(false));
+        assertEquals(0, gameService.countGames(true));
+        assertEquals(Collections.singletonList("Game2"), names(gameService.getGamesPage(new GameQuery(10, null))));
+    }
+
+    @ParameterizedTest
+    @EnumSource(GameStoreEngine.class)
+    public void testStaleTimeIndexEntriesAreCompactedInTheBackground(GameStoreEngine engine) throws InterruptedException {
+        GameServiceImpl gameService = createGameService(engine);
+        gameService.createGame(new Game("Game", true));
+        for (int i = 0; i < 1100; i++) {
+            gameService.updateGame(new Game("Game", i % 2 == 0));
+        }
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (gameService.getStaleTimeIndexEntries() >= 1024) {
+            assertTrue(System.currentTimeMillis() < deadline, "time indexes not compacted");
+            Thread.sleep(10);
+        }
+        GameQuery query = new GameQuery(10, null);
+        query.setUpdatedAfter(LocalDateTime.MIN);
+        assertEquals(Arrays.asList("Game"), names(gameService.getGamesPage(query)));
+    }
+
+    private static List<String> names(GamePage<Game> page) {
+        return page.getGames().stream().map(Game::getName).collect(Collectors.toList());
+    }
+
+    private GameServiceImpl createGameService(GameStoreEngine engine) {
+        return new GameServiceImpl(createGameStore(engine));
+    }
+
+    private GameStore createGameStore(GameStoreEngine engine) {
+        switch (engine) {
+            case OFF_HEAP:
+                return new OffHeapGameStore(16);
+            case COMPACT:
+                return new CompactGameStore();
+            case SHARDED: {
+                ShardedGameStore store = new ShardedGameStore(4);
+                stores.add(store);
+                return store;
+            }
+            case FILE:
+                try {
+                    FileGameStore store = new FileGameStore(directory.resolve("games.dat"));
+                    stores.add(store);
+                    return store;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            case HEAP:
+            default:
+                return new HeapGameStore();
+        }
+    }
+
+    private Game findByName(List<Game> games, String name) {
+        List<Game> matchingGames = games.stream().filter(game -> name.equals(game.getName())).collect(Collectors.toList());
+        assertEquals(1, matchingGames.size());
+        return matchingGames.get(0);
+    }
+}
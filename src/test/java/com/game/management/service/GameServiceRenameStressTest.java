@@ -0,0 +1,239 @@
+package com.game.management.service;
+
+import com.game.management.exception.GameAlreadyExistsException;
+import com.game.management.exception.ResourceNotFoundException;
+import com.game.management.model.Game;
+import com.game.management.store.CompactGameStore;
+import com.game.management.store.FileGameStore;
+import com.game.management.store.GameStore;
+import com.game.management.store.GameStoreEngine;
+import com.game.management.store.HeapGameStore;
+import com.game.management.store.OffHeapGameStore;
+import com.game.management.store.ShardedGameStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Races renames against reads, creates and deletes of the same names on every {@link GameStoreEngine}.
+ */
+public class GameServiceRenameStressTest {
+
+    private static final int READER_THREADS = 3;
+    private static final int RENAMES = 5000;
+    private static final int WORKER_THREADS = 8;
+    private static final int OPERATIONS_PER_WORKER = 3000;
+    private static final int NAME_POOL_SIZE = 32;
+
+    @TempDir
+    Path directory;
+
+    private final List<Closeable> stores = new ArrayList<>();
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @AfterEach
+    public void tearDown() throws IOException, InterruptedException {
+        executor.shutdownNow();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        for (Closeable store : stores) {
+            store.close();
+        }
+    }
+
+    /**
+     * A single thread renames one game back and forth between two names while readers look it up under either name.
+     * The state after k renames holds the game under the first name for even k. A read that ran between two points
+     * in time must have seen a state between the renames completed at the first point and the renames started at the
+     * second one, and the states seen by one reader can never go back.
+     */
+    @ParameterizedTest
+    @EnumSource(GameStoreEngine.class)
+    public void testRenameIsLinearizable(GameStoreEngine engine) throws Exception {
+        GameServiceImpl gameService = createGameService(engine);
+        String[] names = {"Game-A", "Game-B"};
+        gameService.createGame(new Game(names[0], true));
+
+        AtomicLong startedRenames = new AtomicLong();
+        AtomicLong completedRenames = new AtomicLong();
+        AtomicBoolean renaming = new AtomicBoolean(true);
+        CountDownLatch start = new CountDownLatch(1);
+
+        List<Callable<Void>> tasks = new ArrayList<>();
+        tasks.add(() -> {
+            start.await();
+            try {
+                for (int i = 0; i < RENAMES; i++) {
+                    Game update = new Game(names[i % 2], true);
+                    update.setNewName(names[(i + 1) % 2]);
+                    startedRenames.incrementAndGet();
+                    gameService.updateGame(update);
+                    completedRenames.incrementAndGet();
+                }
+            } finally {
+                renaming.set(false);
+            }
+            return null;
+        });
+        for (int reader = 0; reader < READER_THREADS; reader++) {
+            tasks.add(() -> {
+                start.await();
+                long lastState = 0;
+                while (renaming.get()) {
+                    int nameIndex = ThreadLocalRandom.current().nextInt(2);
+                    long completedBefore = completedRenames.get();
+                    boolean found = gameExists(gameService, names[nameIndex]);
+                    long startedAfter = startedRenames.get();
+
+                    // the parity of the state is determined by the name read and whether the game was found
+                    long parity = found ? nameIndex : 1 - nameIndex;
+                    long state = Math.max(lastState, completedBefore);
+                    if (state % 2 != parity) {
+                        state++;
+                    }
+                    assertTrue(state <= startedAfter, "Read of " + names[nameIndex] + " found=" + found
+                            + " cannot follow state " + lastState + " with " + completedBefore + " renames completed and "
+                            + startedAfter + " started");
+                    lastState = state;
+                }
+                return null;
+            });
+        }
+
+        runAll(tasks, start);
+
+        assertEquals(1, gameService.countGames(null));
+        assertEquals(1, gameService.getAllGames().size());
+        assertEquals(names[RENAMES % 2], gameService.getAllGames().get(0).getName());
+    }
+
+    /**
+     * Workers rename, create, delete and read games of a small pool of names at random. Renames neither lose
+     * nor duplicate games, so the games left are exactly the created games that were not deleted.
+     */
+    @ParameterizedTest
+    @EnumSource(GameStoreEngine.class)
+    public void testConcurrentRenamesKeepEveryGameUnderOneName(GameStoreEngine engine) throws Exception {
+        GameServiceImpl gameService = createGameService(engine);
+        AtomicLong liveGames = new AtomicLong();
+        for (int i = 0; i < NAME_POOL_SIZE; i += 2) {
+            gameService.createGame(new Game(poolName(i), true));
+            liveGames.incrementAndGet();
+        }
+
+        CountDownLatch start = new CountDownLatch(1);
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (int worker = 0; worker < WORKER_THREADS; worker++) {
+            tasks.add(() -> {
+                start.await();
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < OPERATIONS_PER_WORKER; i++) {
+                    String name = poolName(random.nextInt(NAME_POOL_SIZE));
+                    try {
+                        int operation = random.nextInt(10);
+                        if (operation < 5) {
+                            Game update = new Game(name, random.nextBoolean());
+                            update.setNewName(poolName(random.nextInt(NAME_POOL_SIZE)));
+                            gameService.updateGame(update);
+                        } else if (operation < 6) {
+                            gameService.createGame(new Game(name, true));
+                            liveGames.incrementAndGet();
+                        } else if (operation < 7) {
+                            gameService.deleteGame(name);
+                            liveGames.decrementAndGet();
+                        } else {
+                            gameService.getGame(name);
+                        }
+                    } catch (ResourceNotFoundException | GameAlreadyExistsException e) {
+                        // expected outcome of racing on the same names
+                    }
+                }
+                return null;
+            });
+        }
+
+        runAll(tasks, start);
+
+        long foundGames = 0;
+        for (int i = 0; i < NAME_POOL_SIZE; i++) {
+            if (gameExists(gameService, poolName(i))) {
+                foundGames++;
+            }
+        }
+        assertEquals(liveGames.get(), foundGames);
+        assertEquals(liveGames.get(), gameService.countGames(null));
+        assertEquals(liveGames.get(), gameService.getAllGames().size());
+        assertEquals(liveGames.get(), gameService.getGamesByStatus(true).size() + gameService.getGamesByStatus(false).size());
+    }
+
+    private void runAll(List<Callable<Void>> tasks, CountDownLatch start) throws Exception {
+        List<Future<Void>> futures = new ArrayList<>();
+        for (Callable<Void> task : tasks) {
+            futures.add(executor.submit(task));
+        }
+        start.countDown();
+        for (Future<Void> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+    }
+
+    private boolean gameExists(GameService gameService, String name) {
+        try {
+            gameService.getGame(name);
+            return true;
+        } catch (ResourceNotFoundException e) {
+            return false;
+        }
+    }
+
+    private String poolName(int index) {
+        return "Game-" + index;
+    }
+
+    private GameServiceImpl createGameService(GameStoreEngine engine) {
+        return new GameServiceImpl(createGameStore(engine));
+    }
+
+    private GameStore createGameStore(GameStoreEngine engine) {
+        switch (engine) {
+            case OFF_HEAP:
+                return new OffHeapGameStore(16);
+            case COMPACT:
+                return new CompactGameStore();
+            case SHARDED: {
+                ShardedGameStore store = new ShardedGameStore(4);
+                stores.add(store);
+                return store;
+            }
+            case FILE:
+                try {
+                    FileGameStore store = new FileGameStore(directory.resolve("games.dat"));
+                    stores.add(store);
+                    return store;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            case HEAP:
+            default:
+                return new HeapGameStore();
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.game.management.service;
+
+import com.game.management.model.Game;
+import com.game.management.store.GameStoreEngine;
+import com.game.management.store.GameStoreProperties;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReactiveGameServiceImplTest {
+
+    @ParameterizedTest
+    @EnumSource(GameStoreEngine.class)
+    void testReadsFromDiskLeaveTheSubscribingThread(GameStoreEngine engine) {
+        List<Thread> readingThreads = new CopyOnWriteArrayList<>();
+        GameService gameService = mock(GameService.class);
+        when(gameService.getGame("Game1")).thenAnswer(invocation -> {
+            readingThreads.add(Thread.currentThread());
+            return new Game("Game1", true);
+        });
+        when(gameService.getAllGames()).thenAnswer(invocation -> {
+            readingThreads.add(Thread.currentThread());
+            return Collections.singletonList(new Game("Game1", true));
+        });
+        GameStoreProperties storeProperties = new GameStoreProperties();
+        storeProperties.setEngine(engine);
+        ReactiveGameService reactiveGameService = new ReactiveGameServiceImpl(gameService, storeProperties);
+
+        assertEquals("Game1", reactiveGameService.getGame("Game1").block().getName());
+        assertEquals(1, reactiveGameService.getAllGames().collectList().block().size());
+
+        assertEquals(2, readingThreads.size());
+        for (Thread readingThread : readingThreads) {
+            assertEquals(engine.readsFromDisk(), readingThread != Thread.currentThread());
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.game.management.startup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.module.paramnames.ParameterNamesModule;
+import com.game.management.store.GameStoreEngine;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import javax.validation.Validation;
+import javax.validation.ValidatorFactory;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+
+class GameWarmupTest {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .modulesToInstall(new ParameterNamesModule())
+            .build();
+
+    @ParameterizedTest
+    @EnumSource(GameStoreEngine.class)
+    void testWarmupCyclesThroughTheScratchCatalog(GameStoreEngine engine) {
+        GameStartupProperties.Warmup properties = new GameStartupProperties.Warmup();
+        properties.setIterations(2500);
+        properties.setGames(100);
+
+        try (ValidatorFactory validatorFactory = Validation.buildDefaultValidatorFactory()) {
+            GameWarmup warmup = new GameWarmup(properties, engine, objectMapper, validatorFactory.getValidator());
+
+            assertDoesNotThrow(() -> warmup.run(null));
+        }
+    }
+}
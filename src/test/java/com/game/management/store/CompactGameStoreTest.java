@@ -0,0 +1,78 @@
+package com.game.management.store;
+
+import com.game.management.model.Game;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CompactGameStoreTest {
+
+    private final CompactGameStore store = new CompactGameStore();
+
+    @Test
+    void testGameIsDecodedAsStored() {
+        Game game = new Game("Żółw – ゲーム", null);
+        game.setCreationDate(LocalDateTime.of(1970, 1, 1, 0, 0).minusNanos(1));
+        game.setVersion(42);
+        store.putIfAbsent(game.getName(), game);
+
+        Game storedGame = store.get("Żółw – ゲーム");
+        assertEquals(game.getName(), storedGame.getName());
+        assertEquals(game.getCreationDate(), storedGame.getCreationDate());
+        assertNull(storedGame.getUpdateDate());
+        assertNull(storedGame.getIsActive());
+        assertEquals(42, storedGame.getVersion());
+    }
+
+    @Test
+    void testDateOutOfRangeLeavesStoreUnchanged() {
+        Game game = new Game("Game", true);
+        game.setCreationDate(LocalDateTime.of(2300, 1, 1, 0, 0));
+
+        assertThrows(IllegalArgumentException.class, () -> store.putIfAbsent("Game", game));
+        assertNull(store.get("Game"));
+        assertEquals(0, store.size());
+    }
+
+    /**
+     * Enough random inserts, updates and deletes to grow the tables, shift back probed records and compact the
+     * name arenas, checked against a HashMap.
+     */
+    @Test
+    void testRandomChangesMatchHashMap() {
+        Map<String, Game> expectedGames = new HashMap<>();
+        SplittableRandom random = new SplittableRandom(7);
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < 200_000; i++) {
+            String name = "Game-" + random.nextInt(20_000);
+            if (random.nextInt(3) == 0) {
+                assertEquals(expectedGames.remove(name) != null, store.remove(name) != null);
+            } else {
+                Game game = new Game(name, random.nextBoolean());
+                game.setCreationDate(now.plusNanos(i));
+                game.setVersion(i);
+                expectedGames.put(name, game);
+                store.compute(name, (key, currentGame) -> game);
+            }
+        }
+
+        assertEquals(expectedGames.size(), store.size());
+        Map<String, Game> scannedGames = new HashMap<>();
+        store.scan(game -> scannedGames.put(game.getName(), game));
+        assertEquals(expectedGames.keySet(), scannedGames.keySet());
+        for (Game expectedGame : expectedGames.values()) {
+            Game storedGame = store.get(expectedGame.getName());
+            assertEquals(expectedGame.getVersion(), storedGame.getVersion());
+            assertEquals(expectedGame.getIsActive(), storedGame.getIsActive());
+            assertEquals(expectedGame.getCreationDate(), storedGame.getCreationDate());
+            assertEquals(expectedGame.getVersion(), scannedGames.get(expectedGame.getName()).getVersion());
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.game.management.store;
+
+import com.game.management.model.Game;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ShardedGameStoreTest {
+
+    private final ShardedGameStore store = new ShardedGameStore(4);
+
+    @AfterEach
+    void tearDown() {
+        store.close();
+    }
+
+    @Test
+    void testConcurrentChangesOfOneGameAreAppliedOneAtATime() throws InterruptedException {
+        store.putIfAbsent("Game", new Game("Game", true));
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            threads.add(new Thread(() -> {
+                for (int j = 0; j < 2000; j++) {
+                    store.compute("Game", (name, game) -> {
+                        Game changedGame = new Game(name, true);
+                        changedGame.setVersion(game.getVersion() + 1);
+                        return changedGame;
+                    });
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(16000, store.get("Game").getVersion());
+    }
+
+    @Test
+    void testFailedChangeIsRethrownAndLeavesGameUnchanged() {
+        Game game = new Game("Game", true);
+        store.putIfAbsent("Game", game);
+
+        IllegalStateException failure = new IllegalStateException("rejected");
+        assertSame(failure, assertThrows(IllegalStateException.class, () -> store.compute("Game", (name, storedGame) -> {
+            throw failure;
+        })));
+        assertSame(game, store.get("Game"));
+        assertSame(game, store.remove("Game"));
+        assertNull(store.get("Game"));
+    }
+
+    @Test
+    void testInterruptedCallerWaitsForItsChangeAndKeepsTheInterrupt() {
+        Thread.currentThread().interrupt();
+        try {
+            Game game = store.compute("Game", (name, storedGame) -> {
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(50));
+                return new Game(name, true);
+            });
+            assertEquals("Game", game.getName());
+            assertTrue(Thread.currentThread().isInterrupted());
+        } finally {
+            Thread.interrupted();
+        }
+        assertEquals("Game", store.get("Game").getName());
+    }
+
+    @Test
+    void testScanCoversAllShardsAndClosedStoreRejectsChanges() {
+        for (int i = 0; i < 1000; i++) {
+            store.putIfAbsent("Game" + i, new Game("Game" + i, true));
+        }
+        List<String> names = new ArrayList<>();
+        store.scan(game -> names.add(game.getName()));
+
+        assertEquals(1000, store.size());
+        assertEquals(1000, names.size());
+
+        store.close();
+        assertThrows(IllegalStateException.class, () -> store.putIfAbsent("Late", new Game("Late", true)));
+    }
+}
@@ -0,0 +1,164 @@
+package com.game.management.transfer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.module.paramnames.ParameterNamesModule;
+import com.game.management.model.BatchItemStatus;
+import com.game.management.model.Game;
+import com.game.management.model.ImportReport;
+import com.game.management.service.GameServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class GameTransferTest {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .modulesToInstall(new ParameterNamesModule())
+            .build();
+    private final List<GameImporter> importers = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        importers.forEach(GameImporter::close);
+    }
+
+    @Test
+    void testExportedCatalogIsImportedWithDatesAndVersions() throws IOException {
+        GameServiceImpl sourceService = new GameServiceImpl();
+        for (int i = 0; i < 2500; i++) {
+            sourceService.createGame(new Game("Game" + i, i % 3 == 0));
+        }
+        sourceService.updateGame(new Game("Game7", false));
+
+        ByteArrayOutputStream exported = new ByteArrayOutputStream();
+        long exportedGames = new GameExporter(sourceService, objectMapper).exportGames(new GZIPOutputStream(exported));
+        assertEquals(2500, exportedGames);
+
+        GameServiceImpl targetService = new GameServiceImpl();
+        GameImporter importer = createImporter(targetService);
+        ImportReport report = importer.importGames(new GZIPInputStream(new ByteArrayInputStream(exported.toByteArray())));
+
+        assertEquals(2500, report.getRecords());
+        assertEquals(2500, report.getCreated());
+        assertEquals(0, report.getFailed());
+        assertEquals(2500, targetService.countGames(null));
+        for (Game sourceGame : sourceService.getAllGames()) {
+            Game importedGame = targetService.getGame(sourceGame.getName());
+            assertEquals(sourceGame.getIsActive(), importedGame.getIsActive());
+            assertEquals(sourceGame.getCreationDate(), importedGame.getCreationDate());
+            assertEquals(sourceGame.getUpdateDate(), importedGame.getUpdateDate());
+            assertEquals(sourceGame.getVersion(), importedGame.getVersion());
+        }
+
+        ImportReport repeatedReport = importer.importGames(new GZIPInputStream(new ByteArrayInputStream(exported.toByteArray())));
+        assertEquals(2500, repeatedReport.getSkipped());
+    }
+
+    @Test
+    void testFailedLinesAreReportedAndOthersApplied() throws IOException {
+        GameServiceImpl gameService = new GameServiceImpl();
+        gameService.createGame(new Game("Stored", true));
+        String ndjson = "{\"name\":\"Game1\",\"isActive\":true}\n"
+                + "{\"name\":\"Game2\",\"isActive\":\n"
+                + "\n"
+                + "{\"name\":\"Game3\"}\n"
+                + "{\"name\":\"Stored\",\"isActive\":false}\n"
+                + "{\"name\":\"Stored\",\"isActive\":true,\"version\":1}\n"
+                + "{\"name\":\"Game4\",\"isActive\":false}";
+
+        ImportReport report = createImporter(gameService)
+                .importGames(new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(6, report.getRecords());
+        assertEquals(2, report.getCreated());
+        assertEquals(1, report.getUpdated());
+        assertEquals(1, report.getSkipped());
+        assertEquals(2, report.getFailed());
+        assertEquals(2, report.getErrors().get(0).getLine());
+        assertNull(report.getErrors().get(0).getName());
+        assertEquals(4, report.getErrors().get(1).getLine());
+        assertEquals("Game3", report.getErrors().get(1).getName());
+        assertEquals(BatchItemStatus.INVALID, report.getErrors().get(1).getStatus());
+        assertFalse(gameService.getGame("Stored").getIsActive());
+        assertFalse(gameService.getGame("Game4").getIsActive());
+    }
+
+    @Test
+    void testOverLongLineIsReportedWithoutStoppingTheImport() throws IOException {
+        GameServiceImpl gameService = new GameServiceImpl();
+        StringBuilder longName = new StringBuilder();
+        for (int i = 0; i < 100000; i++) {
+            longName.append('x');
+        }
+        String ndjson = "{\"name\":\"Game1\",\"isActive\":true}\r\n"
+                + "{\"name\":\"" + longName + "\",\"isActive\":true}\n"
+                + "{\"name\":\"Game2\",\"isActive\":false}\r\n";
+
+        ImportReport report = createImporter(gameService)
+                .importGames(new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(3, report.getRecords());
+        assertEquals(2, report.getCreated());
+        assertEquals(1, report.getFailed());
+        assertEquals(2, report.getErrors().get(0).getLine());
+        assertEquals(BatchItemStatus.INVALID, report.getErrors().get(0).getStatus());
+        assertEquals(2, gameService.countGames(null));
+    }
+
+    @Test
+    void testGamesFailingToBeStoredAreReportedAndOthersApplied() throws IOException {
+        GameServiceImpl gameService = new GameServiceImpl();
+        gameService.addChangeListener(change -> {
+            if (change.getName().equals("Game3")) {
+                throw new UncheckedIOException(new IOException("No space left on device"));
+            }
+        });
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 1; i <= 9; i++) {
+            ndjson.append(i % 2 == 0 ? "{\"name\":\"\"}" : "{\"name\":\"Game" + i + "\",\"isActive\":true}").append('\n');
+        }
+
+        GameTransferProperties properties = new GameTransferProperties();
+        properties.setImportThreads(2);
+        properties.setImportBatchSize(1);
+        properties.setImportQueueCapacity(1);
+        properties.setMaxReportedErrors(2);
+        GameImporter importer = new GameImporter(gameService, objectMapper, properties);
+        importers.add(importer);
+        ImportReport report = importer.importGames(new ByteArrayInputStream(ndjson.toString().getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(9, report.getRecords());
+        assertEquals(4, report.getCreated());
+        assertEquals(5, report.getFailed());
+        assertEquals(4, gameService.countGames(null));
+        assertEquals(2, report.getErrors().get(0).getLine());
+        assertEquals(3, report.getErrors().get(1).getLine());
+        assertEquals(BatchItemStatus.FAILED, report.getErrors().get(1).getStatus());
+    }
+
+    private GameImporter createImporter(GameServiceImpl gameService) {
+        GameTransferProperties properties = new GameTransferProperties();
+        properties.setImportThreads(2);
+        properties.setImportBatchSize(2);
+        properties.setImportQueueCapacity(1);
+        GameImporter importer = new GameImporter(gameService, objectMapper, properties);
+        importers.add(importer);
+        return importer;
+    }
+}
@@ -0,0 +1,156 @@
+package com.game.management.wire;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.module.paramnames.ParameterNamesModule;
+import com.game.management.controller.GameController;
+import com.game.management.exception.GlobalExceptionHandler;
+import com.game.management.model.Game;
+import com.game.management.model.GameDTO;
+import com.game.management.model.GamePage;
+import com.game.management.service.GameServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class WireFormatConfigTest {
+
+    private static final MediaType PROTOBUF = MediaType.valueOf(GameProtobufCodec.MEDIA_TYPE);
+
+    private GameServiceImpl gameService;
+    private ObjectMapper cborObjectMapper;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        gameService = new GameServiceImpl();
+        // the creators of the models are found by parameter names, as in the application
+        ObjectMapper objectMapper = objectMapperBuilder().build();
+        List<HttpMessageConverter<?>> converters = new ArrayList<>();
+        converters.add(new MappingJackson2HttpMessageConverter(objectMapper));
+        new WireFormatConfig.ServletWireFormatConfig(objectMapperBuilder()).extendMessageConverters(converters);
+        cborObjectMapper = WireFormatConfig.binaryObjectMapper(objectMapperBuilder(), new CBORFactory());
+
+        mockMvc = MockMvcBuilders.standaloneSetup(new GameController(gameService, objectMapper))
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .setMessageConverters(converters.toArray(new HttpMessageConverter<?>[0]))
+                .build();
+        gameService.createGame(new Game("Game-A", true));
+        gameService.createGame(new Game("Game-B", false));
+    }
+
+    @Test
+    void testJsonIsDefault() throws Exception {
+        mockMvc.perform(get("/games"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$[0].name").value("Game-A"));
+    }
+
+    @Test
+    void testProtobufListAndPage() throws Exception {
+        byte[] list = mockMvc.perform(get("/games").accept(PROTOBUF))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(PROTOBUF))
+                .andReturn().getResponse().getContentAsByteArray();
+        List<GameDTO> games = GameProtobufCodec.readGames(new ByteArrayInputStream(list));
+
+        assertEquals(2, games.size());
+        GameDTO game = games.get(0);
+        GameDTO storedGame = gameService.getGame("Game-A").toDTO();
+        assertEquals("Game-A", game.getName());
+        assertTrue(game.getIsActive());
+        assertFalse(games.get(1).getIsActive());
+        assertEquals(storedGame.getVersion(), game.getVersion());
+        assertEquals(EpochMillisModule.toEpochMillis(storedGame.getCreationDate()),
+                EpochMillisModule.toEpochMillis(game.getCreationDate()));
+        assertNull(game.getUpdateDate());
+
+        byte[] page = mockMvc.perform(get("/games").param("limit", "1").accept(PROTOBUF))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+        GamePage<GameDTO> gamePage = GameProtobufCodec.readPage(new ByteArrayInputStream(page));
+
+        assertEquals(1, gamePage.getGames().size());
+        assertEquals("Game-A", gamePage.getGames().get(0).getName());
+        assertTrue(gamePage.hasNext());
+    }
+
+    @Test
+    void testCborCarriesEpochMillisAndIsReadAsRequestBody() throws Exception {
+        byte[] body = mockMvc.perform(get("/games/Game-A").accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+        JsonNode game = cborObjectMapper.readTree(body);
+
+        assertTrue(game.get("creationDate").isIntegralNumber());
+        assertEquals(EpochMillisModule.toEpochMillis(gameService.getGame("Game-A").getCreationDate()),
+                game.get("creationDate").asLong());
+
+        mockMvc.perform(post("/games").contentType(MediaType.APPLICATION_CBOR)
+                        .content(cborObjectMapper.writeValueAsBytes(new Game("Game-C", true))))
+                .andExpect(status().isOk());
+        assertTrue(gameService.getGame("Game-C").getIsActive());
+    }
+
+    @Test
+    void testProtobufErrorAndUnsupportedRequestBody() throws Exception {
+        mockMvc.perform(get("/games/Missing").accept(PROTOBUF))
+                .andExpect(status().isNotFound())
+                .andExpect(content().contentTypeCompatibleWith(PROTOBUF));
+
+        mockMvc.perform(post("/games").contentType(PROTOBUF).content(new byte[0]))
+                .andExpect(status().isUnsupportedMediaType());
+    }
+
+    @Test
+    void testEntityTagsNameTheEncoding() throws Exception {
+        long version = gameService.getGame("Game-A").getVersion();
+        String jsonETag = "\"" + version + "\"";
+        String cborETag = "\"" + version + "-cbor\"";
+
+        mockMvc.perform(get("/games/Game-A"))
+                .andExpect(header().string(HttpHeaders.ETAG, jsonETag));
+        mockMvc.perform(get("/games/Game-A").accept(MediaType.APPLICATION_CBOR))
+                .andExpect(header().string(HttpHeaders.ETAG, cborETag));
+        mockMvc.perform(get("/games/Game-A").accept(MediaType.APPLICATION_CBOR).header(HttpHeaders.IF_NONE_MATCH, jsonETag))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/games/Game-A").accept(MediaType.APPLICATION_CBOR).header(HttpHeaders.IF_NONE_MATCH, cborETag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(put("/games").header(HttpHeaders.IF_MATCH, cborETag).contentType(MediaType.APPLICATION_CBOR)
+                        .content(cborObjectMapper.writeValueAsBytes(new Game("Game-A", false))))
+                .andExpect(status().isOk());
+
+        String catalogETag = "W/\"" + gameService.getCatalogVersion() + "\"";
+        mockMvc.perform(get("/games").accept(PROTOBUF))
+                .andExpect(header().string(HttpHeaders.ETAG, catalogETag));
+    }
+
+    private static Jackson2ObjectMapperBuilder objectMapperBuilder() {
+        return Jackson2ObjectMapperBuilder.json().modulesToInstall(new ParameterNamesModule());
+    }
+}